@@ -0,0 +1,103 @@
+package com.crm.benchmarks;
+
+import com.crm.leadscontacts.analytics.domain.AnalyticsFilter;
+import com.crm.leadscontacts.analytics.domain.AnalyticsTables;
+import com.crm.leadscontacts.analytics.domain.ContactAnalyticsRow;
+import com.crm.leadscontacts.analytics.domain.LeadAnalyticsRow;
+import com.crm.leadscontacts.analytics.dto.CycleTimeReportDTO;
+import com.crm.leadscontacts.analytics.dto.FunnelReportDTO;
+import com.crm.leadscontacts.analytics.dto.LifetimeValueReportDTO;
+import com.crm.leadscontacts.analytics.dto.ScoreReportDTO;
+import com.crm.leadscontacts.analytics.service.AnalyticsQueries;
+import com.crm.leadscontacts.contact.domain.ContactType;
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rapports analytiques sur l'instantané en colonnes : un parcours séquentiel (1 worker) contre le pool complet
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class AnalyticsScanBenchmark {
+
+    @Param({"2000000"})
+    private int leads;
+
+    @Param({"1", "0"})
+    private int parallelism;  // 0 = nombre de processeurs
+
+    private ForkJoinPool pool;
+    private AnalyticsQueries queries;
+    private AnalyticsTables tables;
+    private AnalyticsFilter byAssignee;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        queries = new AnalyticsQueries(pool);
+        tables = AnalyticsTables.empty(leads + 1, leads / 4 + 1);
+
+        Random random = new Random(42);
+        LeadSource[] sources = LeadSource.values();
+        LeadStatus[] statuses = LeadStatus.values();
+        ContactType[] types = ContactType.values();
+        LocalDateTime origin = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int id = 1; id <= leads; id++) {
+            LeadStatus status = statuses[random.nextInt(statuses.length)];
+            LocalDateTime createdAt = origin.plusMinutes(random.nextInt(60 * 24 * 600));
+            boolean qualified = status == LeadStatus.QUALIFIED || status == LeadStatus.CONVERTED;
+            tables.upsert(new LeadAnalyticsRow((long) id, status, sources[random.nextInt(sources.length)],
+                    random.nextInt(101), "user" + random.nextInt(50), "Entreprise " + random.nextInt(100_000),
+                    createdAt,
+                    qualified ? createdAt.plusHours(random.nextInt(24 * 30)) : null,
+                    status == LeadStatus.CONVERTED ? createdAt.plusHours(24 * 30 + random.nextInt(24 * 60)) : null,
+                    true, createdAt));
+        }
+        for (int id = 1; id <= leads / 4; id++) {
+            tables.upsert(new ContactAnalyticsRow((long) id, types[random.nextInt(types.length)],
+                    random.nextDouble() * 100_000, "user" + random.nextInt(50), "Entreprise " + random.nextInt(100_000),
+                    origin.plusMinutes(random.nextInt(60 * 24 * 600)), true, origin));
+        }
+        byAssignee = new AnalyticsFilter(null, "user7", null, null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public FunnelReportDTO funnel() {
+        return queries.funnel(tables, AnalyticsFilter.NONE);
+    }
+
+    @Benchmark
+    public FunnelReportDTO funnelByAssignee() {
+        return queries.funnel(tables, byAssignee);
+    }
+
+    @Benchmark
+    public CycleTimeReportDTO cycleTimes() {
+        return queries.cycleTimes(tables, AnalyticsFilter.NONE);
+    }
+
+    @Benchmark
+    public ScoreReportDTO scores() {
+        return queries.scores(tables, AnalyticsFilter.NONE, null);
+    }
+
+    @Benchmark
+    public LifetimeValueReportDTO lifetimeValues() {
+        return queries.lifetimeValues(tables, AnalyticsFilter.NONE);
+    }
+}
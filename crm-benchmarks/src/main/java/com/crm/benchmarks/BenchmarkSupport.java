@@ -0,0 +1,192 @@
+package com.crm.benchmarks;
+
+import com.crm.CrmApplication;
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.contact.domain.ContactType;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.dto.LeadCreateDTO;
+import com.crm.leadscontacts.lead.dto.LeadDTO;
+import com.crm.leadscontacts.shared.domain.Address;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Outils communs aux benchmarks : contexte Spring sur H2 (mode MySQL) et jeux de données
+ */
+final class BenchmarkSupport {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Démarre l'application complète (sans serveur web) sur une base H2 en mémoire dédiée
+     */
+    static ConfigurableApplicationContext startCrm(String databaseName) {
+        return new SpringApplicationBuilder(CrmApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments(databaseName));
+    }
+
+    /**
+     * Démarre l'application avec Tomcat sur un port libre ; sources et arguments supplémentaires éventuels
+     */
+    static ConfigurableApplicationContext startCrmServer(String databaseName, Class<?>[] extraSources,
+                                                        String... extraArguments) {
+        String[] base = arguments(databaseName);
+        String[] all = Arrays.copyOf(base, base.length + extraArguments.length + 1);
+        all[base.length] = "--server.port=0";
+        System.arraycopy(extraArguments, 0, all, base.length + 1, extraArguments.length);
+        return new SpringApplicationBuilder(CrmApplication.class)
+                .sources(extraSources)
+                .web(WebApplicationType.SERVLET)
+                .run(all);
+    }
+
+    private static String[] arguments(String databaseName) {
+        Path workDir;
+        try {
+            workDir = Files.createTempDirectory("crm-bench-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String[]{
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--app.openapi.dev-url=http://localhost:8080",
+                "--crm.search.index-directory=" + workDir.resolve("search-index"),
+                "--crm.notifications.dispatcher.spill-directory=" + workDir.resolve("spill"),
+                "--crm.attachments.storage-directory=" + workDir.resolve("attachments"),
+                "--logging.level.root=WARN",
+                // application.properties trace le SQL et com.crm en DEBUG : hors mesure
+                "--logging.level.com.crm=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"};
+    }
+
+    /**
+     * Instancie un service sans ses dépendances (suffisant pour les méthodes de mapping)
+     */
+    static Object newWithoutDependencies(Class<?> type) throws ReflectiveOperationException {
+        Constructor<?> constructor = type.getDeclaredConstructors()[0];
+        constructor.setAccessible(true);
+        return constructor.newInstance(new Object[constructor.getParameterCount()]);
+    }
+
+    /**
+     * Accès à une méthode privée d'instance (mapToDTO) sans coût de réflexion à l'appel
+     */
+    static MethodHandle privateMethod(Class<?> owner, String name, Class<?> returnType, Class<?> parameterType)
+            throws ReflectiveOperationException {
+        return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                .findVirtual(owner, name, MethodType.methodType(returnType, parameterType));
+    }
+
+    static Address address() {
+        return Address.builder()
+                .street("12 rue de Marseille")
+                .city("Tunis")
+                .zipCode("1000")
+                .country("Tunisie")
+                .build();
+    }
+
+    static Lead lead(long id) {
+        Lead lead = Lead.builder()
+                .firstName("Aymen")
+                .lastName("Abid")
+                .email("lead" + id + "@example.com")
+                .phone("+21655998877")
+                .company("Techify")
+                .jobTitle("CTO")
+                .status(LeadStatus.QUALIFIED)
+                .source(LeadSource.WEBSITE)
+                .score(75)
+                .address(address())
+                .notes("Rencontré au salon, intéressé par l'offre entreprise")
+                .assignedTo("yassine.kallel")
+                .lastContactDate(NOW)
+                .qualifiedDate(NOW)
+                .build();
+        lead.setId(id);
+        lead.setCreatedAt(NOW);
+        lead.setUpdatedAt(NOW);
+        return lead;
+    }
+
+    static Contact contact(long id) {
+        Contact contact = Contact.builder()
+                .firstName("Sara")
+                .lastName("Ben Ali")
+                .email("contact" + id + "@example.com")
+                .phone("+21655123456")
+                .company("Abidjan Export")
+                .jobTitle("Directrice achats")
+                .type(ContactType.CUSTOMER)
+                .address(address())
+                .notes("Cliente depuis 2021")
+                .assignedTo("yassine.kallel")
+                .lastInteractionDate(NOW)
+                .lifetimeValue(12500.0)
+                .build();
+        contact.setId(id);
+        contact.setCreatedAt(NOW);
+        contact.setUpdatedAt(NOW);
+        return contact;
+    }
+
+    static LeadDTO leadDTO(long id) {
+        return LeadDTO.builder()
+                .id(id)
+                .firstName("Aymen")
+                .lastName("Abid")
+                .email("lead" + id + "@example.com")
+                .phone("+21655998877")
+                .company("Techify")
+                .jobTitle("CTO")
+                .status(LeadStatus.QUALIFIED)
+                .source(LeadSource.WEBSITE)
+                .score(75)
+                .address(address())
+                .notes("Rencontré au salon, intéressé par l'offre entreprise")
+                .assignedTo("yassine.kallel")
+                .lastContactDate(NOW)
+                .qualifiedDate(NOW)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .version(3L)
+                .build();
+    }
+
+    static LeadCreateDTO leadCreate(String email, String assignedTo) {
+        return LeadCreateDTO.builder()
+                .firstName("Aymen")
+                .lastName("Abid")
+                .email(email)
+                .phone("+21655998877")
+                .company("Techify")
+                .jobTitle("CTO")
+                .source(LeadSource.WEBSITE)
+                .notes("Créé par le benchmark")
+                .assignedTo(assignedTo)
+                .build();
+    }
+}
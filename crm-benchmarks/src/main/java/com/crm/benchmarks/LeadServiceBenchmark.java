@@ -0,0 +1,74 @@
+package com.crm.benchmarks;
+
+import com.crm.leadscontacts.lead.dto.LeadDTO;
+import com.crm.leadscontacts.lead.service.ILeadService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cycle de vie d'un lead (création, qualification, conversion) sur H2 en mode MySQL
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeadServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private ILeadService leadService;
+    private Long qualifiedLeadId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startCrm("lead_service");
+        leadService = context.getBean(ILeadService.class);
+        qualifiedLeadId = newLead().getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Lead qualifié neuf pour chaque conversion (préparation exclue de la mesure)
+     */
+    @State(Scope.Thread)
+    public static class QualifiedLead {
+
+        private Long id;
+
+        @Setup(Level.Invocation)
+        public void setUp(LeadServiceBenchmark benchmark) {
+            id = benchmark.newLead().getId();
+            benchmark.leadService.qualifyLead(id, 80);
+        }
+    }
+
+    @Benchmark
+    public LeadDTO createLead() {
+        return newLead();
+    }
+
+    @Benchmark
+    public LeadDTO qualifyLead() {
+        return leadService.qualifyLead(qualifiedLeadId, (int) (sequence.incrementAndGet() % 100));
+    }
+
+    @Benchmark
+    public Long convertLeadToContact(QualifiedLead lead) {
+        return leadService.convertLeadToContact(lead.id);
+    }
+
+    private LeadDTO newLead() {
+        long n = sequence.incrementAndGet();
+        return leadService.createLead(BenchmarkSupport.leadCreate("bench" + n + "@example.com", "user" + (n % 20)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.crm.benchmarks;
+
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.contact.dto.ContactDTO;
+import com.crm.leadscontacts.contact.service.ContactServiceImpl;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.dto.LeadDTO;
+import com.crm.leadscontacts.lead.service.LeadServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du mapping entité -> DTO (LeadServiceImpl.mapToDTO / ContactServiceImpl.mapToDTO)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private MethodHandle leadMapper;
+    private MethodHandle contactMapper;
+    private Lead lead;
+    private Contact contact;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        leadMapper = BenchmarkSupport.privateMethod(LeadServiceImpl.class, "mapToDTO", LeadDTO.class, Lead.class)
+                .bindTo(BenchmarkSupport.newWithoutDependencies(LeadServiceImpl.class));
+        contactMapper = BenchmarkSupport.privateMethod(ContactServiceImpl.class, "mapToDTO", ContactDTO.class, Contact.class)
+                .bindTo(BenchmarkSupport.newWithoutDependencies(ContactServiceImpl.class));
+        lead = BenchmarkSupport.lead(1);
+        contact = BenchmarkSupport.contact(1);
+    }
+
+    @Benchmark
+    public LeadDTO leadMapToDTO() throws Throwable {
+        return (LeadDTO) leadMapper.invokeExact(lead);
+    }
+
+    @Benchmark
+    public ContactDTO contactMapToDTO() throws Throwable {
+        return (ContactDTO) contactMapper.invokeExact(contact);
+    }
+}
@@ -0,0 +1,105 @@
+package com.crm.benchmarks;
+
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.dto.LeadCreateDTO;
+import com.crm.leadscontacts.lead.dto.LeadDTO;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.lead.service.ILeadService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requêtes dérivées du repository des leads, entités et projections DTO, sur H2 en mode MySQL
+ *
+ * Lancé avec -prof gc, gc.alloc.rate.norm donne les octets alloués par appel : c'est l'écart de tas
+ * entre entités gérées et projections, que le temps moyen seul ne montre pas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryQueryBenchmark {
+
+    private static final int USERS = 20;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "100000"})
+    private int leads;
+
+    private ConfigurableApplicationContext context;
+    private ILeadRepository leadRepository;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startCrm("repository_queries");
+        leadRepository = context.getBean(ILeadRepository.class);
+        ILeadService leadService = context.getBean(ILeadService.class);
+
+        List<LeadCreateDTO> batch = new ArrayList<>();
+        for (int i = 0; i < leads; i++) {
+            batch.add(BenchmarkSupport.leadCreate("seed" + i + "@example.com", "user" + (i % USERS)));
+            if (batch.size() == 5000 || i == leads - 1) {
+                leadService.createLeadsBatch(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        // Un lead sur dix qualifié
+        for (long id = 1; id <= leads; id += 10) {
+            leadService.qualifyLead(id, (int) (id % 100));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Lead> findByStatus() {
+        return leadRepository.findByStatus(LeadStatus.QUALIFIED);
+    }
+
+    @Benchmark
+    public List<LeadDTO> findDtoByStatus() {
+        return leadRepository.findDtoByStatus(LeadStatus.QUALIFIED);
+    }
+
+    @Benchmark
+    public List<Lead> findByAssignedTo() {
+        return leadRepository.findByAssignedTo("user7");
+    }
+
+    @Benchmark
+    public List<LeadDTO> findDtoByAssignedTo() {
+        return leadRepository.findDtoByAssignedTo("user7");
+    }
+
+    @Benchmark
+    public Optional<Lead> findByEmail() {
+        return leadRepository.findByEmail("seed" + (leads / 2) + "@example.com");
+    }
+
+    @Benchmark
+    public long countByStatus() {
+        return leadRepository.countByStatus(LeadStatus.QUALIFIED);
+    }
+
+    @Benchmark
+    public List<LeadDTO> firstPage() {
+        return leadRepository.findDtoByActiveTrueAfter(0L, Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<LeadDTO> deepPage() {
+        return leadRepository.findDtoByActiveTrueAfter((long) leads - PAGE_SIZE * 2, Limit.of(PAGE_SIZE));
+    }
+}
@@ -0,0 +1,137 @@
+package com.crm.benchmarks;
+
+import com.crm.leadscontacts.lead.dto.LeadCreateDTO;
+import com.crm.leadscontacts.lead.service.ILeadService;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Charge HTTP concurrente : pool de threads Tomcat (plateforme) contre threads virtuels
+ *
+ * 400 clients simultanés lisent les leads d'un commercial (requête ETag + page en base).
+ * Chaque requête attend aussi upstreamLatencyMillis dans un filtre (appel distant bloquant simulé :
+ * canal de notification, annuaire...) : en mode plateforme, les 200 threads Tomcat sont occupés
+ * à attendre ; en mode virtuel, seul le plafond JDBC borne la concurrence.
+ * Throughput donne le débit (ops/ms), SampleTime la distribution des latences (p0.99) ;
+ * le compteur auxiliaire errors rapporte les réponses autres que 200 (503 sous saturation).
+ *
+ * mvn package exec:exec -Djmh.args="RequestLoadBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class RequestLoadBenchmark {
+
+    private static final int SEEDED_LEADS = 2_000;
+    private static final int USERS = 50;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"20", "500", "2000"})
+    public int upstreamLatencyMillis;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startCrmServer("request_load_" + threads,
+                new Class<?>[]{SimulatedUpstream.class},
+                "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                "--crm.benchmark.upstream-latency=" + upstreamLatencyMillis + "ms",
+                "--server.tomcat.accept-count=1000");
+        ILeadService leadService = context.getBean(ILeadService.class);
+        List<LeadCreateDTO> leads = new ArrayList<>(SEEDED_LEADS);
+        for (int i = 0; i < SEEDED_LEADS; i++) {
+            leads.add(BenchmarkSupport.leadCreate("load" + i + "@example.com", "user" + (i % USERS)));
+        }
+        leadService.createLeadsBatch(leads);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/leads/assigned/user";
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Réponses en erreur par thread client, sommées par JMH dans le rapport (errors)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+
+        public long errors;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            errors = 0;
+        }
+    }
+
+    @Benchmark
+    public int assignedLeads(Responses responses) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + (sequence.incrementAndGet() % USERS) + "?size=20"))
+                .GET()
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            responses.errors++;
+        }
+        return status;
+    }
+
+    /**
+     * Appel distant bloquant simulé avant chaque requête API
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class SimulatedUpstream {
+
+        @Bean
+        FilterRegistrationBean<Filter> simulatedUpstreamLatency(Environment environment) {
+            long latencyMillis = environment.getProperty("crm.benchmark.upstream-latency", Duration.class,
+                    Duration.ZERO).toMillis();
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                chain.doFilter(request, response);
+            });
+            registration.addUrlPatterns("/api/*");
+            return registration;
+        }
+    }
+}
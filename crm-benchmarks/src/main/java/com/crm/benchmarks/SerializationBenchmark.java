@@ -0,0 +1,69 @@
+package com.crm.benchmarks;
+
+import com.crm.leadscontacts.lead.dto.LeadDTO;
+import com.crm.leadscontacts.shared.wire.WireFormat;
+import com.crm.leadscontacts.shared.wire.WireMappers;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation Jackson d'une liste de leads (taille d'une réponse de liste / d'un export),
+ * par encodage négociable : JSON, Smile, CBOR. Les tailles produites sont données par SerializationSizeReport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private WireFormat format;
+
+    private ObjectMapper mapper;
+    private List<LeadDTO> leads;
+
+    @Setup
+    public void setUp() {
+        mapper = mapper(format);
+        leads = leads(size);
+    }
+
+    @Benchmark
+    public byte[] serializeLeads() {
+        return mapper.writeValueAsBytes(leads);
+    }
+
+    static ObjectMapper mapper(WireFormat format) {
+        return switch (format) {
+            case JSON -> JsonMapper.builder().findAndAddModules().build();
+            case SMILE -> WireMappers.smile();
+            case CBOR -> WireMappers.cbor();
+        };
+    }
+
+    static List<LeadDTO> leads(int size) {
+        List<LeadDTO> leads = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Valeurs variées : des lignes identiques avantageraient les références partagées de Smile
+            LeadDTO lead = BenchmarkSupport.leadDTO(i);
+            lead.setFirstName("Prenom" + i % 900);
+            lead.setLastName("Nom" + i % 2_500);
+            lead.setCompany("Entreprise " + i % 3_000);
+            lead.setAssignedTo("commercial." + i % 40);
+            lead.setScore(i % 101);
+            lead.setNotes("Échange du " + (i % 28 + 1) + "/09, relance prévue (dossier " + i + ")");
+            leads.add(lead);
+        }
+        return leads;
+    }
+}
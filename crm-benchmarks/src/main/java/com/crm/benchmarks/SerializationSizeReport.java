@@ -0,0 +1,32 @@
+package com.crm.benchmarks;
+
+import com.crm.leadscontacts.lead.dto.LeadDTO;
+import com.crm.leadscontacts.shared.wire.WireFormat;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Taille des listes sérialisées par SerializationBenchmark, par encodage et par nombre de leads
+ * La taille ne dépend pas du temps de mesure : rapport unique, hors JMH.
+ *
+ * mvn package exec:exec -Dbench.launcher=com.crm.benchmarks.SerializationSizeReport [-Djmh.args="10000 100000"]
+ */
+public final class SerializationSizeReport {
+
+    private SerializationSizeReport() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? new int[]{10_000, 100_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        System.out.printf("%-6s %8s %14s %10s%n", "Format", "Leads", "Octets", "Par lead");
+        for (int size : sizes) {
+            List<LeadDTO> leads = SerializationBenchmark.leads(size);
+            for (WireFormat format : WireFormat.values()) {
+                long bytes = SerializationBenchmark.mapper(format).writeValueAsBytes(leads).length;
+                System.out.printf("%-6s %8d %14d %10d%n", format, size, bytes, bytes / size);
+            }
+        }
+    }
+}
@@ -1,5 +1,14 @@
-import { useQuery, useMutation, useQueryClient } from "@tanstack/react-query";
-import { contactService, type CreateContactData } from "../services/api";
+import {
+  useInfiniteQuery,
+  useMutation,
+  useQueryClient,
+} from "@tanstack/react-query";
+import {
+  contactService,
+  type ContactData,
+  type CreateContactData,
+  type CursorPage,
+} from "../services/api";
 import { useState } from "react";
 
 const getTypeColor = (type: string) => {
@@ -28,22 +37,36 @@ export default function ContactsPage() {
   const [selectedContact, setSelectedContact] = useState<any>(null);
   const [typeFilter, setTypeFilter] = useState<string>("ALL");
 
+  // Pages par curseur : "Load more" suit nextCursor tant que hasNext
   const {
-    data: contacts,
+    data,
     isLoading,
     error,
-  } = useQuery({
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
     queryKey: ["contacts", typeFilter],
-    queryFn: async () => {
+    initialPageParam: undefined as string | undefined,
+    queryFn: async ({ pageParam }): Promise<CursorPage<ContactData>> => {
       if (typeFilter === "ALL") {
-        const response = await contactService.fetchAll();
+        const response = await contactService.fetchAll(pageParam);
         return response.data;
       } else {
+        // Filtre par type : liste complète, une seule page
         const response = await contactService.fetchByType(typeFilter);
-        return response.data;
+        return {
+          items: response.data,
+          size: response.data.length,
+          nextCursor: null,
+          hasNext: false,
+        };
       }
     },
+    getNextPageParam: (lastPage) =>
+      lastPage.hasNext ? (lastPage.nextCursor ?? undefined) : undefined,
   });
+  const contacts = data?.pages.flatMap((page) => page.items);
 
   const stats = {
     total: contacts?.length || 0,
@@ -790,6 +813,18 @@ export default function ContactsPage() {
                         ))}
                       </tbody>
                     </table>
+                    {hasNextPage && (
+                      <div className="flex justify-center border-t border-gray-100 py-4">
+                        <button
+                          onClick={() => fetchNextPage()}
+                          disabled={isFetchingNextPage}
+                          type="button"
+                          className="inline-flex items-center px-4 py-2 border border-gray-300 shadow-sm text-sm font-medium rounded-md text-gray-700 bg-white hover:bg-gray-50 disabled:opacity-50 focus:outline-none focus:ring-2 focus:ring-offset-2 focus:ring-indigo-500"
+                        >
+                          {isFetchingNextPage ? "Loading..." : "Load more contacts"}
+                        </button>
+                      </div>
+                    )}
                   </div>
                 ) : (
                   <div className="text-center py-16 px-6">
@@ -1,4 +1,8 @@
-import { useQuery, useMutation, useQueryClient } from "@tanstack/react-query";
+import {
+  useInfiniteQuery,
+  useMutation,
+  useQueryClient,
+} from "@tanstack/react-query";
 import { leadService, type CreateLeadData } from "../services/api";
 import { useState } from "react";
 
@@ -25,22 +29,33 @@ export default function LeadsPage() {
   const [, setShowDuplicatesModal] = useState(false);
   const [, setDuplicates] = useState<any[][]>([]);
 
+  // Pages par curseur : "Load more" suit nextCursor tant que hasNext
   const {
-    data: leads,
+    data,
     isLoading,
     error,
-  } = useQuery({
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
     queryKey: ["leads", statusFilter],
-    queryFn: async () => {
+    initialPageParam: undefined as string | undefined,
+    queryFn: async ({ pageParam }) => {
       if (statusFilter === "ALL") {
-        const response = await leadService.fetchAll();
+        const response = await leadService.fetchAll(pageParam);
         return response.data;
       } else {
-        const response = await leadService.fetchByStatus(statusFilter);
+        const response = await leadService.fetchByStatus(
+          statusFilter,
+          pageParam
+        );
         return response.data;
       }
     },
+    getNextPageParam: (lastPage) =>
+      lastPage.hasNext ? (lastPage.nextCursor ?? undefined) : undefined,
   });
+  const leads = data?.pages.flatMap((page) => page.items);
 
   const stats = {
     total: leads?.length || 0,
@@ -961,6 +976,18 @@ export default function LeadsPage() {
                       ))}
                     </tbody>
                   </table>
+                  {hasNextPage && (
+                    <div className="flex justify-center border-t border-gray-100 py-4">
+                      <button
+                        onClick={() => fetchNextPage()}
+                        disabled={isFetchingNextPage}
+                        type="button"
+                        className="inline-flex items-center px-4 py-2 border border-gray-300 shadow-sm text-sm font-medium rounded-md text-gray-700 bg-white hover:bg-gray-50 disabled:opacity-50 focus:outline-none focus:ring-2 focus:ring-offset-2 focus:ring-indigo-500"
+                      >
+                        {isFetchingNextPage ? "Loading..." : "Load more leads"}
+                      </button>
+                    </div>
+                  )}
                 </div>
               ) : (
                 <div className="text-center py-16 px-6">
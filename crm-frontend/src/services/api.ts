@@ -5,6 +5,8 @@ const baseURL = import.meta.env.VITE_API_URL || "http://localhost:8080";
 export const apiClient = axios.create({
   baseURL,
   headers: { "Content-Type": "application/json" },
+  // Cookie de lecture sur le primaire après écriture (crm_primary_until) : renvoyé même cross-origin
+  withCredentials: true,
 });
 
 apiClient.interceptors.response.use(
@@ -15,6 +17,14 @@ apiClient.interceptors.response.use(
   }
 );
 
+// Page paginée par curseur (keyset)
+export interface CursorPage<T> {
+  items: T[];
+  size: number;
+  nextCursor: string | null;
+  hasNext: boolean;
+}
+
 // Lead interfaces
 export interface LeadData {
   id: number;
@@ -72,15 +82,20 @@ export interface CreateContactData {
 
 // Lead API
 export const leadService = {
-  fetchAll: () => apiClient.get<LeadData[]>("/api/leads"),
+  fetchAll: (cursor?: string, size?: number) =>
+    apiClient.get<CursorPage<LeadData>>("/api/leads", { params: { cursor, size } }),
   fetchById: (id: number) => apiClient.get<LeadData>(`/api/leads/${id}`),
-  fetchByStatus: (status: string) =>
-    apiClient.get<LeadData[]>(`/api/leads/status/${status}`),
+  fetchByStatus: (status: string, cursor?: string, size?: number) =>
+    apiClient.get<CursorPage<LeadData>>(`/api/leads/status/${status}`, {
+      params: { cursor, size },
+    }),
   fetchStats: () =>
     apiClient.get<Record<string, number>>("/api/leads/stats/count"),
   fetchDuplicates: () => apiClient.get<LeadData[][]>("/api/leads/duplicates"),
-  fetchAssigned: (userId: string) =>
-    apiClient.get<LeadData[]>(`/api/leads/assigned/${userId}`),
+  fetchAssigned: (userId: string, cursor?: string, size?: number) =>
+    apiClient.get<CursorPage<LeadData>>(`/api/leads/assigned/${userId}`, {
+      params: { cursor, size },
+    }),
   create: (data: CreateLeadData) =>
     apiClient.post<LeadData>("/api/leads", data),
   update: (id: number, data: Partial<CreateLeadData>) =>
@@ -101,7 +116,10 @@ export const leadService = {
 
 // Contact API
 export const contactService = {
-  fetchAll: () => apiClient.get<ContactData[]>("/api/contacts"),
+  fetchAll: (cursor?: string, size?: number) =>
+    apiClient.get<CursorPage<ContactData>>("/api/contacts", {
+      params: { cursor, size },
+    }),
   fetchById: (id: number) => apiClient.get<ContactData>(`/api/contacts/${id}`),
   fetchByType: (type: string) =>
     apiClient.get<ContactData[]>(`/api/contacts/type/${type}`),
@@ -0,0 +1,54 @@
+package com.crm.leadscontacts.activity.controller;
+
+import com.crm.leadscontacts.activity.domain.ActivityGranularity;
+import com.crm.leadscontacts.activity.domain.ActivityMetric;
+import com.crm.leadscontacts.activity.dto.ActivityBackfillDTO;
+import com.crm.leadscontacts.activity.dto.ActivityTrendDTO;
+import com.crm.leadscontacts.activity.service.IActivityRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/activity")
+@RequiredArgsConstructor
+@Tag(name = "Activité", description = "Courbes d'activité des leads (agrégats quotidiens)")
+public class ActivityController {
+
+    private final IActivityRollupService activityRollupService;
+
+    @GetMapping("/trends")
+    @Operation(summary = "Créations par source, entrées par statut ou conversions par commercial, par intervalle",
+            description = "Coût proportionnel au nombre de jours de la période, non au nombre de leads")
+    public ResponseEntity<ActivityTrendDTO> getTrend(
+            @RequestParam ActivityMetric metric,
+            @RequestParam(defaultValue = "DAY") ActivityGranularity granularity,
+            @Parameter(description = "Premier jour (ramené au début de son intervalle)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Fin de période (exclue)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Une seule valeur de dimension (source, statut ou commercial)")
+            @RequestParam(required = false) String dimension) {
+        return ResponseEntity.ok(activityRollupService.getTrend(metric, granularity, from, to, dimension));
+    }
+
+    @PostMapping("/backfill")
+    @Operation(summary = "Reconstruire les agrégats historiques en arrière-plan",
+            description = "Créations, qualifications et conversions des jours passés, recomptées depuis les leads")
+    public ResponseEntity<ActivityBackfillDTO> backfill() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(activityRollupService.triggerBackfill());
+    }
+
+    @GetMapping("/backfill")
+    @Operation(summary = "État et bilan du dernier rattrapage")
+    public ResponseEntity<ActivityBackfillDTO> getLastBackfill() {
+        return ResponseEntity.ok(activityRollupService.getLastBackfill());
+    }
+}
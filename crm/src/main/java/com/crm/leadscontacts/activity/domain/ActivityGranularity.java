@@ -0,0 +1,33 @@
+package com.crm.leadscontacts.activity.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Taille des intervalles d'une courbe ; les semaines commencent le lundi (ISO 8601)
+ */
+public enum ActivityGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * Premier jour de l'intervalle contenant day
+     */
+    public LocalDate bucketStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+}
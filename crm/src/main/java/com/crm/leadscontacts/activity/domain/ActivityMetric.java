@@ -0,0 +1,26 @@
+package com.crm.leadscontacts.activity.domain;
+
+/**
+ * Indicateurs d'activité agrégés par jour, et dimension associée
+ */
+public enum ActivityMetric {
+    CREATED("Leads créés", "source"),
+    STATUS_ENTERED("Entrées dans un statut", "statut"),
+    CONVERTED("Conversions", "commercial");
+
+    private final String displayName;
+    private final String dimensionName;
+
+    ActivityMetric(String displayName, String dimensionName) {
+        this.displayName = displayName;
+        this.dimensionName = dimensionName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDimensionName() {
+        return dimensionName;
+    }
+}
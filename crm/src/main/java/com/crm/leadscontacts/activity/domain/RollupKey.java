@@ -0,0 +1,15 @@
+package com.crm.leadscontacts.activity.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Clé d'un agrégat quotidien ; dimension vide lorsque la valeur est absente (lead sans source)
+ */
+public record RollupKey(ActivityMetric metric, LocalDate day, String dimension) {
+
+    public static final String NO_DIMENSION = "";
+
+    public RollupKey {
+        dimension = dimension == null ? NO_DIMENSION : dimension;
+    }
+}
@@ -0,0 +1,40 @@
+package com.crm.leadscontacts.activity.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ActivityBackfillDTO", description = "État et bilan du dernier rattrapage des agrégats d'activité")
+public class ActivityBackfillDTO {
+
+    @Schema(description = "Un rattrapage est en cours")
+    private boolean running;
+
+    @Schema(description = "Début du dernier rattrapage")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Fin du dernier rattrapage")
+    private LocalDateTime completedAt;
+
+    @Schema(description = "Durée du dernier rattrapage (ms)", example = "5400")
+    private long durationMillis;
+
+    @Schema(description = "Jours reconstruits : strictement antérieurs à cette date", example = "2026-10-17")
+    private LocalDate rebuiltBefore;
+
+    @Schema(description = "Plages d'IDs comptées", example = "100")
+    private long ranges;
+
+    @Schema(description = "Agrégats quotidiens écrits", example = "18250")
+    private long buckets;
+
+    @Schema(description = "Erreur du dernier rattrapage")
+    private String lastError;
+}
@@ -0,0 +1,21 @@
+package com.crm.leadscontacts.activity.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ActivityPointDTO", description = "Valeur d'une série sur un intervalle")
+public class ActivityPointDTO {
+
+    @Schema(description = "Premier jour de l'intervalle", example = "2026-03-02")
+    private LocalDate bucketStart;
+
+    @Schema(description = "Nombre d'événements", example = "42")
+    private long count;
+}
@@ -0,0 +1,24 @@
+package com.crm.leadscontacts.activity.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ActivitySeriesDTO", description = "Série d'une valeur de dimension (tous les intervalles, zéros compris)")
+public class ActivitySeriesDTO {
+
+    @Schema(description = "Valeur de la dimension (source, statut ou commercial ; absente si non renseignée)",
+            example = "REFERRAL")
+    private String dimension;
+
+    @Schema(description = "Total sur la période", example = "312")
+    private long total;
+
+    private List<ActivityPointDTO> points;
+}
@@ -0,0 +1,31 @@
+package com.crm.leadscontacts.activity.dto;
+
+import com.crm.leadscontacts.activity.domain.ActivityGranularity;
+import com.crm.leadscontacts.activity.domain.ActivityMetric;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ActivityTrendDTO", description = "Courbes d'activité des leads par intervalle")
+public class ActivityTrendDTO {
+
+    private ActivityMetric metric;
+
+    private ActivityGranularity granularity;
+
+    @Schema(description = "Premier jour couvert (début d'intervalle)", example = "2026-01-05")
+    private LocalDate from;
+
+    @Schema(description = "Fin de période (exclue)", example = "2026-04-06")
+    private LocalDate to;
+
+    @Schema(description = "Une série par valeur de dimension, par total décroissant")
+    private List<ActivitySeriesDTO> series;
+}
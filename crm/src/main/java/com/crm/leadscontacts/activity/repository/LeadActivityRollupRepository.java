@@ -0,0 +1,85 @@
+package com.crm.leadscontacts.activity.repository;
+
+import com.crm.leadscontacts.activity.domain.ActivityMetric;
+import com.crm.leadscontacts.activity.domain.RollupKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accès JDBC aux agrégats quotidiens (lead_activity_rollups)
+ *
+ * Les incréments sont des INSERT ... ON DUPLICATE KEY UPDATE groupés en un seul lot :
+ * aucune lecture préalable, une ligne verrouillée le temps de l'incrément seulement.
+ * L'incrément est lié deux fois plutôt que relu par VALUES(), obsolète sous MySQL 8.0.20+ ;
+ * l'alias de ligne qui le remplace (AS new) n'est pas accepté par H2.
+ *
+ * Design Pattern: Repository Pattern
+ */
+@Repository
+@RequiredArgsConstructor
+public class LeadActivityRollupRepository {
+
+    private static final String INCREMENT_SQL = "INSERT INTO lead_activity_rollups " +
+            "(metric, bucket_date, dimension, event_count) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE event_count = event_count + ?";
+
+    private static final String INSERT_SQL = "INSERT INTO lead_activity_rollups " +
+            "(metric, bucket_date, dimension, event_count) VALUES (?, ?, ?, ?)";
+
+    // Séries reconstructibles depuis les dates des leads (createdAt, qualifiedDate, convertedDate)
+    private static final String DELETE_BACKFILLED_SQL = "DELETE FROM lead_activity_rollups WHERE bucket_date < ? " +
+            "AND (metric IN ('CREATED', 'CONVERTED') " +
+            "OR (metric = 'STATUS_ENTERED' AND dimension IN ('NEW', 'QUALIFIED', 'CONVERTED')))";
+
+    private static final String SELECT_RANGE_SQL = "SELECT bucket_date, dimension, event_count " +
+            "FROM lead_activity_rollups WHERE metric = ? AND bucket_date >= ? AND bucket_date < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void increment(Map<RollupKey, Long> deltas) {
+        List<Object[]> arguments = new ArrayList<>(deltas.size());
+        deltas.forEach((key, count) -> arguments.add(
+                new Object[]{key.metric().name(), Date.valueOf(key.day()), key.dimension(), count, count}));
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, arguments);
+    }
+
+    /**
+     * Remplace les séries reconstructibles des jours antérieurs à before (même transaction requise)
+     */
+    public void replaceBackfilled(LocalDate before, Map<RollupKey, Long> buckets) {
+        jdbcTemplate.update(DELETE_BACKFILLED_SQL, Date.valueOf(before));
+        List<Object[]> arguments = new ArrayList<>(buckets.size());
+        buckets.forEach((key, count) -> {
+            if (key.day().isBefore(before)) {
+                arguments.add(new Object[]{key.metric().name(), Date.valueOf(key.day()), key.dimension(), count});
+            }
+        });
+        jdbcTemplate.batchUpdate(INSERT_SQL, arguments);
+    }
+
+    /**
+     * Agrégats d'un indicateur sur [from, to) ; dimension null pour toutes
+     */
+    public List<Bucket> findRange(ActivityMetric metric, LocalDate from, LocalDate to, String dimension) {
+        String sql = dimension == null ? SELECT_RANGE_SQL : SELECT_RANGE_SQL + " AND dimension = ?";
+        Object[] arguments = dimension == null
+                ? new Object[]{metric.name(), Date.valueOf(from), Date.valueOf(to)}
+                : new Object[]{metric.name(), Date.valueOf(from), Date.valueOf(to), dimension};
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new Bucket(
+                rs.getDate(1).toLocalDate(), rs.getString(2), rs.getLong(3)), arguments);
+    }
+
+    public boolean isEmpty() {
+        return jdbcTemplate.queryForList("SELECT 1 FROM lead_activity_rollups LIMIT 1").isEmpty();
+    }
+
+    public record Bucket(LocalDate day, String dimension, long count) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.crm.leadscontacts.activity.service;
+
+import com.crm.leadscontacts.activity.domain.ActivityMetric;
+import com.crm.leadscontacts.activity.domain.RollupKey;
+import com.crm.leadscontacts.activity.repository.LeadActivityRollupRepository;
+import com.crm.leadscontacts.lead.domain.LeadActivityEvent;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Incréments d'activité en attente, regroupés en mémoire puis écrits périodiquement
+ *
+ * Chaque transition validée (LeadActivityEvent, après commit) incrémente un compteur par
+ * (indicateur, jour, dimension) sans accès à la base ; le vidage écrit un seul lot d'UPDATE,
+ * quel que soit le nombre de transitions. Les écritures concurrentes ne se disputent donc pas
+ * la ligne du jour. En cas d'arrêt brutal, au plus un intervalle d'incréments est perdu ;
+ * le rattrapage reconstruit les séries datées (créations, qualifications, conversions).
+ *
+ * Design Pattern: Observer Pattern
+ * Principe SOLID: SRP - alimentation des agrégats uniquement (lecture dans ActivityRollupService)
+ */
+@Slf4j
+@Component
+public class ActivityRollupBuffer {
+
+    private final LeadActivityRollupRepository rollupRepository;
+    private final TransactionTemplate writeTransaction;
+
+    private final Map<RollupKey, LongAdder> pending = new ConcurrentHashMap<>();
+    // Vidages sérialisés (planificateur, rattrapage, arrêt)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ActivityRollupBuffer(LeadActivityRollupRepository rollupRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeadActivity(LeadActivityEvent event) {
+        if (event.to() == null || event.count() <= 0) {
+            return;
+        }
+        LocalDate day = event.at().toLocalDate();
+        if (event.from() == null) {
+            add(new RollupKey(ActivityMetric.CREATED, day, event.source() != null ? event.source().name() : null),
+                    event.count());
+        }
+        add(new RollupKey(ActivityMetric.STATUS_ENTERED, day, event.to().name()), event.count());
+        if (event.to() == LeadStatus.CONVERTED) {
+            add(new RollupKey(ActivityMetric.CONVERTED, day, event.assignedTo()), event.count());
+        }
+    }
+
+    private void add(RollupKey key, long count) {
+        pending.computeIfAbsent(key, k -> new LongAdder()).add(count);
+    }
+
+    @PreDestroy
+    void close() {
+        flush();
+    }
+
+    /**
+     * Écrit les incréments accumulés ; en cas d'échec ils sont remis en attente
+     */
+    @Scheduled(fixedDelayString = "${crm.activity.flush-interval:PT5S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<RollupKey, Long> deltas = new HashMap<>();
+            pending.forEach((key, adder) -> {
+                long count = adder.sumThenReset();
+                if (count != 0) {
+                    deltas.put(key, count);
+                }
+            });
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                writeTransaction.executeWithoutResult(status -> rollupRepository.increment(deltas));
+                log.debug("{} agrégats d'activité incrémentés", deltas.size());
+            } catch (DataAccessException e) {
+                deltas.forEach(this::add);
+                log.warn("Écriture des agrégats d'activité reportée: {}", e.getMostSpecificCause().getMessage());
+            }
+            // Les jours passés ne reçoivent plus d'incréments : leurs compteurs (à zéro) sont retirés
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            pending.entrySet().removeIf(entry -> entry.getKey().day().isBefore(yesterday) && entry.getValue().sum() == 0);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.crm.leadscontacts.activity.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Paramètres des agrégats d'activité des leads (préfixe crm.activity)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.activity")
+public class ActivityRollupProperties {
+
+    /**
+     * Rattrapage historique au démarrage lorsque la table des agrégats est vide
+     */
+    private boolean backfillOnStartup = true;
+
+    /**
+     * Largeur (en IDs) d'une plage comptée par une requête GROUP BY lors du rattrapage
+     */
+    private int backfillChunkSize = 50_000;
+
+    /**
+     * Plages comptées en parallèle lors du rattrapage (borné par le pool de connexions)
+     */
+    private int backfillParallelism = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Nombre maximal de jours couverts par une requête de tendance
+     */
+    private int maxRangeDays = 3660;
+}
@@ -0,0 +1,286 @@
+package com.crm.leadscontacts.activity.service;
+
+import com.crm.leadscontacts.activity.domain.ActivityGranularity;
+import com.crm.leadscontacts.activity.domain.ActivityMetric;
+import com.crm.leadscontacts.activity.domain.RollupKey;
+import com.crm.leadscontacts.activity.dto.ActivityBackfillDTO;
+import com.crm.leadscontacts.activity.dto.ActivityPointDTO;
+import com.crm.leadscontacts.activity.dto.ActivitySeriesDTO;
+import com.crm.leadscontacts.activity.dto.ActivityTrendDTO;
+import com.crm.leadscontacts.activity.repository.LeadActivityRollupRepository;
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.scoring.domain.LeadIdRange;
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Courbes d'activité des leads, lues dans les agrégats quotidiens
+ *
+ * Une courbe lit au plus (jours x valeurs de dimension) lignes, indépendamment du nombre de leads ;
+ * semaines et mois sont des sommes de jours. Les incréments des dernières secondes
+ * (ActivityRollupBuffer) ne sont visibles qu'après leur vidage.
+ *
+ * Le rattrapage historique compte en base, par plages d'IDs traitées en parallèle, les créations
+ * (createdAt, par source), qualifications (qualifiedDate) et conversions (convertedDate, par commercial),
+ * puis remplace ces séries pour les jours antérieurs au jour courant. Les entrées en CONTACTED et
+ * UNQUALIFIED ne sont pas datées sur le lead : elles ne proviennent que des incréments.
+ * Une conversion rattrapée est attribuée au commercial actuellement assigné (assignedTo), pas à
+ * celui qui l'a réalisée : un rattrapage après réaffectation réécrit donc la série par commercial.
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: SRP - lecture et reconstruction des agrégats (alimentation dans ActivityRollupBuffer)
+ */
+@Slf4j
+@Service
+@Timed(value = "crm.service", histogram = true)
+public class ActivityRollupService implements IActivityRollupService {
+
+    private final LeadActivityRollupRepository rollupRepository;
+    private final ILeadRepository leadRepository;
+    private final ActivityRollupBuffer buffer;
+    private final ActivityRollupProperties properties;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "activity-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ActivityBackfillDTO lastBackfill = ActivityBackfillDTO.builder().build();
+
+    public ActivityRollupService(LeadActivityRollupRepository rollupRepository,
+                                 ILeadRepository leadRepository,
+                                 ActivityRollupBuffer buffer,
+                                 ActivityRollupProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.leadRepository = leadRepository;
+        this.buffer = buffer;
+        this.properties = properties;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (properties.isBackfillOnStartup()
+                && Boolean.TRUE.equals(readOnlyTransaction.execute(status -> rollupRepository.isEmpty()))) {
+            triggerBackfill();
+        }
+    }
+
+    @Override
+    public ActivityTrendDTO getTrend(ActivityMetric metric, ActivityGranularity granularity,
+                                     LocalDate from, LocalDate to, String dimension) {
+        if (metric == null || granularity == null || from == null || to == null) {
+            throw new BusinessException("Les paramètres metric, granularity, from et to sont obligatoires");
+        }
+        LocalDate start = granularity.bucketStart(from);
+        if (!start.isBefore(to)) {
+            throw new BusinessException("from doit précéder to");
+        }
+        if (ChronoUnit.DAYS.between(start, to) > properties.getMaxRangeDays()) {
+            throw new BusinessException("La période est limitée à " + properties.getMaxRangeDays() + " jours");
+        }
+
+        List<LeadActivityRollupRepository.Bucket> days = readOnlyTransaction.execute(status ->
+                rollupRepository.findRange(metric, start, to, dimension));
+
+        // Index des intervalles : une position par début d'intervalle, zéros compris
+        Map<LocalDate, Integer> positions = new HashMap<>();
+        List<LocalDate> bucketStarts = new ArrayList<>();
+        for (LocalDate bucket = start; bucket.isBefore(to); bucket = granularity.next(bucket)) {
+            positions.put(bucket, bucketStarts.size());
+            bucketStarts.add(bucket);
+        }
+        Map<String, long[]> counts = new HashMap<>();
+        for (LeadActivityRollupRepository.Bucket day : days) {
+            long[] series = counts.computeIfAbsent(day.dimension(), d -> new long[bucketStarts.size()]);
+            series[positions.get(granularity.bucketStart(day.day()))] += day.count();
+        }
+
+        List<ActivitySeriesDTO> series = new ArrayList<>(counts.size());
+        counts.forEach((value, values) -> {
+            List<ActivityPointDTO> points = new ArrayList<>(values.length);
+            long total = 0;
+            for (int i = 0; i < values.length; i++) {
+                points.add(ActivityPointDTO.builder().bucketStart(bucketStarts.get(i)).count(values[i]).build());
+                total += values[i];
+            }
+            series.add(ActivitySeriesDTO.builder()
+                    .dimension(RollupKey.NO_DIMENSION.equals(value) ? null : value)
+                    .total(total)
+                    .points(points)
+                    .build());
+        });
+        series.sort(Comparator.comparingLong(ActivitySeriesDTO::getTotal).reversed());
+
+        return ActivityTrendDTO.builder()
+                .metric(metric)
+                .granularity(granularity)
+                .from(start)
+                .to(to)
+                .series(series)
+                .build();
+    }
+
+    @Override
+    public ActivityBackfillDTO triggerBackfill() {
+        if (running.compareAndSet(false, true)) {
+            backfillExecutor.submit(this::runBackfill);
+        }
+        return getLastBackfill();
+    }
+
+    @Override
+    public ActivityBackfillDTO getLastBackfill() {
+        return lastBackfill.toBuilder().running(running.get()).build();
+    }
+
+    private void runBackfill() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDate before = startedAt.toLocalDate();
+        long start = System.nanoTime();
+        try {
+            // Incréments antérieurs écrits avant le remplacement : ils ne sont pas comptés deux fois
+            buffer.flush();
+            LongAdder ranges = new LongAdder();
+            Map<RollupKey, Long> buckets = Map.of();
+            LeadIdRange range = readOnlyTransaction.execute(status -> leadRepository.findIdRange());
+            if (range != null && range.minId() != null) {
+                ForkJoinPool pool = new ForkJoinPool(properties.getBackfillParallelism(), workerFactory(), null, false);
+                try {
+                    buckets = pool.invoke(new RangeTask(range.minId() - 1, range.maxId(), ranges));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+            Map<RollupKey, Long> rebuilt = buckets;
+            writeTransaction.executeWithoutResult(status -> rollupRepository.replaceBackfilled(before, rebuilt));
+
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            lastBackfill = ActivityBackfillDTO.builder()
+                    .startedAt(startedAt)
+                    .completedAt(LocalDateTime.now())
+                    .durationMillis(durationMillis)
+                    .rebuiltBefore(before)
+                    .ranges(ranges.sum())
+                    .buckets(rebuilt.keySet().stream().filter(key -> key.day().isBefore(before)).count())
+                    .build();
+            log.info("Agrégats d'activité reconstruits avant le {}: {} agrégats, {} plages en {} ms",
+                    before, lastBackfill.getBuckets(), ranges.sum(), durationMillis);
+        } catch (RuntimeException e) {
+            lastBackfill = lastBackfill.toBuilder().lastError(e.getMessage()).build();
+            log.error("Échec du rattrapage des agrégats d'activité", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Comptages d'une plage (afterId, toId] : trois GROUP BY sur la clé primaire, une transaction
+     */
+    private Map<RollupKey, Long> countRange(long afterId, long toId) {
+        return readOnlyTransaction.execute(status -> {
+            Map<RollupKey, Long> buckets = new HashMap<>();
+            for (Object[] row : leadRepository.countCreatedByDayAndSource(afterId, toId)) {
+                LocalDate day = (LocalDate) row[0];
+                LeadSource source = (LeadSource) row[1];
+                long count = ((Number) row[2]).longValue();
+                buckets.merge(new RollupKey(ActivityMetric.CREATED, day, source != null ? source.name() : null),
+                        count, Long::sum);
+                // Un lead est créé au statut NEW
+                buckets.merge(new RollupKey(ActivityMetric.STATUS_ENTERED, day, LeadStatus.NEW.name()),
+                        count, Long::sum);
+            }
+            for (Object[] row : leadRepository.countQualifiedByDay(afterId, toId)) {
+                buckets.merge(new RollupKey(ActivityMetric.STATUS_ENTERED, (LocalDate) row[0],
+                        LeadStatus.QUALIFIED.name()), ((Number) row[1]).longValue(), Long::sum);
+            }
+            for (Object[] row : leadRepository.countConvertedByDayAndAssignee(afterId, toId)) {
+                LocalDate day = (LocalDate) row[0];
+                long count = ((Number) row[2]).longValue();
+                buckets.merge(new RollupKey(ActivityMetric.CONVERTED, day, (String) row[1]), count, Long::sum);
+                buckets.merge(new RollupKey(ActivityMetric.STATUS_ENTERED, day, LeadStatus.CONVERTED.name()),
+                        count, Long::sum);
+            }
+            return buckets;
+        });
+    }
+
+    private static Map<RollupKey, Long> merge(Map<RollupKey, Long> left, Map<RollupKey, Long> right) {
+        Map<RollupKey, Long> target = left.size() >= right.size() ? left : right;
+        Map<RollupKey, Long> source = target == left ? right : left;
+        source.forEach((key, count) -> target.merge(key, count, Long::sum));
+        return target;
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory workerFactory() {
+        return pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("activity-backfill-" + thread.getPoolIndex());
+            // Les workers fork/join n'héritent pas du class loader de l'application (jar exécutable)
+            thread.setContextClassLoader(ActivityRollupService.class.getClassLoader());
+            return thread;
+        };
+    }
+
+    /**
+     * Découpe récursive de la plage d'IDs jusqu'à la taille d'un paquet, comptages fusionnés en remontant
+     */
+    private final class RangeTask extends RecursiveTask<Map<RollupKey, Long>> {
+
+        private final long afterId;
+        private final long toId;
+        private final LongAdder ranges;
+
+        RangeTask(long afterId, long toId, LongAdder ranges) {
+            this.afterId = afterId;
+            this.toId = toId;
+            this.ranges = ranges;
+        }
+
+        @Override
+        protected Map<RollupKey, Long> compute() {
+            if (toId - afterId <= properties.getBackfillChunkSize()) {
+                ranges.increment();
+                return countRange(afterId, toId);
+            }
+            long middle = afterId + (toId - afterId) / 2;
+            RangeTask left = new RangeTask(afterId, middle, ranges);
+            left.fork();
+            Map<RollupKey, Long> right = new RangeTask(middle, toId, ranges).compute();
+            return merge(left.join(), right);
+        }
+    }
+}
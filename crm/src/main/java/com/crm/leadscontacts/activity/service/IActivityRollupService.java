@@ -0,0 +1,32 @@
+package com.crm.leadscontacts.activity.service;
+
+import com.crm.leadscontacts.activity.domain.ActivityGranularity;
+import com.crm.leadscontacts.activity.domain.ActivityMetric;
+import com.crm.leadscontacts.activity.dto.ActivityBackfillDTO;
+import com.crm.leadscontacts.activity.dto.ActivityTrendDTO;
+
+import java.time.LocalDate;
+
+/**
+ * Interface des courbes d'activité des leads
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: ISP - interface focalisée sur les tendances
+ */
+public interface IActivityRollupService {
+
+    /**
+     * Séries de l'indicateur sur [from, to) ; from est ramené au début de son intervalle
+     *
+     * @param dimension valeur de dimension à retenir, null pour toutes
+     */
+    ActivityTrendDTO getTrend(ActivityMetric metric, ActivityGranularity granularity,
+                              LocalDate from, LocalDate to, String dimension);
+
+    /**
+     * Lance le rattrapage historique en arrière-plan si aucun n'est déjà en cours
+     */
+    ActivityBackfillDTO triggerBackfill();
+
+    ActivityBackfillDTO getLastBackfill();
+}
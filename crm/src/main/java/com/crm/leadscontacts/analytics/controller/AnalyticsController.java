@@ -0,0 +1,91 @@
+package com.crm.leadscontacts.analytics.controller;
+
+import com.crm.leadscontacts.analytics.domain.AnalyticsFilter;
+import com.crm.leadscontacts.analytics.dto.*;
+import com.crm.leadscontacts.analytics.service.IAnalyticsService;
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rapports de pipeline et d'entonnoir, calculés sur l'instantané en mémoire
+ *
+ * Filtres communs : assignedTo, company, createdFrom (inclus), createdTo (exclu) ;
+ * source pour les rapports sur les leads.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytique", description = "Rapports d'entonnoir, délais, scores et valeur client")
+public class AnalyticsController {
+
+    private final IAnalyticsService analyticsService;
+
+    @GetMapping("/funnel")
+    @Operation(summary = "Taux de qualification et de conversion par source d'acquisition")
+    public ResponseEntity<FunnelReportDTO> getFunnel(
+            @RequestParam(required = false) String assignedTo,
+            @RequestParam(required = false) String company,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        return ResponseEntity.ok(analyticsService.getFunnel(
+                new AnalyticsFilter(null, assignedTo, company, createdFrom, createdTo)));
+    }
+
+    @GetMapping("/cycle-times")
+    @Operation(summary = "Délais création → qualification et création → conversion (heures)")
+    public ResponseEntity<CycleTimeReportDTO> getCycleTimes(
+            @RequestParam(required = false) LeadSource source,
+            @RequestParam(required = false) String assignedTo,
+            @RequestParam(required = false) String company,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        return ResponseEntity.ok(analyticsService.getCycleTimes(
+                new AnalyticsFilter(source, assignedTo, company, createdFrom, createdTo)));
+    }
+
+    @GetMapping("/scores")
+    @Operation(summary = "Distribution et histogramme des scores des leads")
+    public ResponseEntity<ScoreReportDTO> getScores(
+            @Parameter(description = "Statut des leads retenus (tous si absent)") @RequestParam(required = false) LeadStatus status,
+            @RequestParam(required = false) LeadSource source,
+            @RequestParam(required = false) String assignedTo,
+            @RequestParam(required = false) String company,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        return ResponseEntity.ok(analyticsService.getScores(
+                new AnalyticsFilter(source, assignedTo, company, createdFrom, createdTo), status));
+    }
+
+    @GetMapping("/lifetime-value")
+    @Operation(summary = "Centiles de la valeur vie client par type de contact")
+    public ResponseEntity<LifetimeValueReportDTO> getLifetimeValues(
+            @RequestParam(required = false) String assignedTo,
+            @RequestParam(required = false) String company,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        return ResponseEntity.ok(analyticsService.getLifetimeValues(
+                new AnalyticsFilter(null, assignedTo, company, createdFrom, createdTo)));
+    }
+
+    @GetMapping("/snapshot")
+    @Operation(summary = "État de l'instantané en mémoire")
+    public ResponseEntity<AnalyticsSnapshotDTO> getSnapshot() {
+        return ResponseEntity.ok(analyticsService.getSnapshot());
+    }
+
+    @PostMapping("/snapshot/reload")
+    @Operation(summary = "Recharger l'instantané complet en arrière-plan")
+    public ResponseEntity<AnalyticsSnapshotDTO> reloadSnapshot() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(analyticsService.reloadSnapshot());
+    }
+}
@@ -0,0 +1,52 @@
+package com.crm.leadscontacts.analytics.domain;
+
+import com.crm.leadscontacts.lead.domain.LeadSource;
+
+import java.time.LocalDateTime;
+
+/**
+ * Critères communs aux rapports analytiques (tous optionnels)
+ *
+ * La source ne s'applique qu'aux leads. createdFrom inclus, createdTo exclu.
+ */
+public record AnalyticsFilter(LeadSource source,
+                              String assignedTo,
+                              String company,
+                              LocalDateTime createdFrom,
+                              LocalDateTime createdTo) {
+
+    public static final AnalyticsFilter NONE = new AnalyticsFilter(null, null, null, null, null);
+
+    /**
+     * Traduit les critères en codes de colonnes (dictionnaires de l'instantané courant)
+     */
+    public RowFilter compile(AnalyticsTables tables) {
+        return new RowFilter(
+                source == null ? RowFilter.ANY : source.ordinal(),
+                assignedTo == null ? RowFilter.ANY : tables.assignees().lookup(assignedTo),
+                company == null ? RowFilter.ANY : tables.companies().lookup(company),
+                createdFrom == null ? Integer.MIN_VALUE : Columns.toMinutes(createdFrom),
+                createdTo == null ? Integer.MAX_VALUE : Columns.toMinutes(createdTo));
+    }
+
+    /**
+     * Critères compilés : comparaisons d'entiers uniquement pendant le parcours
+     */
+    public record RowFilter(int source, int assignee, int company, int createdFrom, int createdTo) {
+
+        public static final int ANY = Integer.MIN_VALUE;
+
+        public boolean matches(LeadColumns leads, int i) {
+            return (source == ANY || leads.source(i) == source)
+                    && (assignee == ANY || leads.assignee(i) == assignee)
+                    && (company == ANY || leads.company(i) == company)
+                    && leads.createdAt(i) >= createdFrom && leads.createdAt(i) < createdTo;
+        }
+
+        public boolean matches(ContactColumns contacts, int i) {
+            return (assignee == ANY || contacts.assignee(i) == assignee)
+                    && (company == ANY || contacts.company(i) == company)
+                    && contacts.createdAt(i) >= createdFrom && contacts.createdAt(i) < createdTo;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.crm.leadscontacts.analytics.domain;
+
+/**
+ * Contenu d'un instantané analytique : tables en colonnes et dictionnaires partagés
+ *
+ * Les deux tables partagent les mêmes dictionnaires (un commercial ou une société a le même code
+ * côté leads et côté contacts).
+ */
+public record AnalyticsTables(LeadColumns leads,
+                              ContactColumns contacts,
+                              Dictionary assignees,
+                              Dictionary companies) {
+
+    public static AnalyticsTables empty(int leadCapacity, int contactCapacity) {
+        return new AnalyticsTables(new LeadColumns(leadCapacity), new ContactColumns(contactCapacity),
+                new Dictionary(), new Dictionary());
+    }
+
+    public void upsert(LeadAnalyticsRow row) {
+        leads.upsert(row, assignees, companies);
+    }
+
+    public void upsert(ContactAnalyticsRow row) {
+        contacts.upsert(row, assignees, companies);
+    }
+}
@@ -0,0 +1,52 @@
+package com.crm.leadscontacts.analytics.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Outils communs aux tables en colonnes de l'instantané analytique
+ *
+ * Les lignes sont rangées à l'indice égal à leur identifiant (clé auto-incrémentée, peu de trous) :
+ * une mise à jour incrémentale écrit directement à sa place, sans table de correspondance.
+ * Les dates sont stockées en minutes depuis l'époque (int : suffisant jusqu'en 6053).
+ */
+public final class Columns {
+
+    /**
+     * Date absente
+     */
+    public static final int NO_TIME = Integer.MIN_VALUE;
+
+    private Columns() {
+    }
+
+    public static int toMinutes(LocalDateTime time) {
+        return time == null ? NO_TIME : (int) (time.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    public static LocalDateTime fromMinutes(int minutes) {
+        return minutes == NO_TIME ? null : LocalDateTime.ofEpochSecond(minutes * 60L, 0, ZoneOffset.UTC);
+    }
+
+    static int index(Long id) {
+        if (id == null || id < 0 || id >= Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Identifiant hors de la plage de l'instantané: " + id);
+        }
+        return id.intValue();
+    }
+
+    /**
+     * Nouvelle capacité (croissance x1,5) couvrant l'indice demandé
+     */
+    static int grow(int capacity, int index) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(index + 1L, capacity + (capacity >> 1) + 16L));
+    }
+
+    static byte[] grow(byte[] column, int capacity, byte absent) {
+        int length = column.length;
+        byte[] grown = Arrays.copyOf(column, capacity);
+        Arrays.fill(grown, length, capacity, absent);
+        return grown;
+    }
+}
@@ -0,0 +1,18 @@
+package com.crm.leadscontacts.analytics.domain;
+
+import com.crm.leadscontacts.contact.domain.ContactType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'un contact limitée aux colonnes de l'instantané analytique
+ */
+public record ContactAnalyticsRow(Long id,
+                                  ContactType type,
+                                  Double lifetimeValue,
+                                  String assignedTo,
+                                  String company,
+                                  LocalDateTime createdAt,
+                                  Boolean active,
+                                  LocalDateTime updatedAt) {
+}
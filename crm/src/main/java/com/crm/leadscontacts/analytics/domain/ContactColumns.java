@@ -0,0 +1,110 @@
+package com.crm.leadscontacts.analytics.domain;
+
+import java.util.Arrays;
+
+/**
+ * Contacts de l'instantané analytique, une colonne de type primitif par attribut
+ *
+ * Indice = identifiant du contact ; type == ABSENT pour un identifiant inexistant ou un contact désactivé.
+ * lifetimeValue vaut NaN lorsqu'elle n'est pas renseignée.
+ * Non synchronisé : écritures et lectures passent par le verrou de l'instantané (AnalyticsStore).
+ */
+public final class ContactColumns {
+
+    public static final byte ABSENT = -1;
+
+    private byte[] type;
+    private double[] lifetimeValue;
+    private int[] assignee;
+    private int[] company;
+    private int[] createdAt;
+
+    private int upperBound;
+    private int rows;
+
+    public ContactColumns(int capacity) {
+        type = new byte[capacity];
+        Arrays.fill(type, ABSENT);
+        lifetimeValue = new double[capacity];
+        assignee = new int[capacity];
+        company = new int[capacity];
+        createdAt = new int[capacity];
+    }
+
+    /**
+     * Insère ou remplace la ligne ; un contact désactivé est retiré
+     */
+    public void upsert(ContactAnalyticsRow row, Dictionary assignees, Dictionary companies) {
+        int i = Columns.index(row.id());
+        if (!Boolean.TRUE.equals(row.active())) {
+            remove(i);
+            return;
+        }
+        if (i >= type.length) {
+            ensureCapacity(i);
+        }
+        if (type[i] == ABSENT) {
+            rows++;
+        }
+        type[i] = (byte) row.type().ordinal();
+        lifetimeValue[i] = row.lifetimeValue() == null ? Double.NaN : row.lifetimeValue();
+        assignee[i] = assignees.encode(row.assignedTo());
+        company[i] = companies.encode(row.company());
+        createdAt[i] = Columns.toMinutes(row.createdAt());
+        upperBound = Math.max(upperBound, i + 1);
+    }
+
+    private void remove(int i) {
+        if (i < type.length && type[i] != ABSENT) {
+            type[i] = ABSENT;
+            rows--;
+        }
+    }
+
+    private void ensureCapacity(int index) {
+        int capacity = Columns.grow(type.length, index);
+        type = Columns.grow(type, capacity, ABSENT);
+        lifetimeValue = Arrays.copyOf(lifetimeValue, capacity);
+        assignee = Arrays.copyOf(assignee, capacity);
+        company = Arrays.copyOf(company, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+    }
+
+    /**
+     * Borne (exclusive) des indices à parcourir
+     */
+    public int upperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Contacts actifs présents
+     */
+    public int rows() {
+        return rows;
+    }
+
+    public long memoryBytes() {
+        return type.length * 21L;
+    }
+
+    public byte type(int i) {
+        return type[i];
+    }
+
+    public double lifetimeValue(int i) {
+        return lifetimeValue[i];
+    }
+
+    public int assignee(int i) {
+        return assignee[i];
+    }
+
+    public int company(int i) {
+        return company[i];
+    }
+
+    public int createdAt(int i) {
+        return createdAt[i];
+    }
+}
@@ -0,0 +1,57 @@
+package com.crm.leadscontacts.analytics.domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodage par dictionnaire d'une colonne texte : chaque valeur distincte reçoit un code entier
+ *
+ * Les colonnes stockent le code (int) au lieu de la chaîne ; un filtre compare des entiers.
+ * Les codes ne sont jamais réattribués (dictionnaire en ajout seul, reconstruit au rechargement complet).
+ * Non synchronisé : les accès passent par le verrou de l'instantané (AnalyticsStore).
+ */
+public final class Dictionary {
+
+    /**
+     * Valeur absente (null en base)
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Résultat de lookup() pour une valeur jamais vue : ne correspond à aucune ligne
+     */
+    public static final int UNKNOWN = -2;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    public int lookup(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        return codes.getOrDefault(value, UNKNOWN);
+    }
+
+    public String decode(int code) {
+        return code >= 0 ? values.get(code) : null;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,22 @@
+package com.crm.leadscontacts.analytics.domain;
+
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'un lead limitée aux colonnes de l'instantané analytique
+ */
+public record LeadAnalyticsRow(Long id,
+                               LeadStatus status,
+                               LeadSource source,
+                               Integer score,
+                               String assignedTo,
+                               String company,
+                               LocalDateTime createdAt,
+                               LocalDateTime qualifiedDate,
+                               LocalDateTime convertedDate,
+                               Boolean active,
+                               LocalDateTime updatedAt) {
+}
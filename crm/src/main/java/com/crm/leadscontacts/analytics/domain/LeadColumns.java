@@ -0,0 +1,136 @@
+package com.crm.leadscontacts.analytics.domain;
+
+import java.util.Arrays;
+
+/**
+ * Leads de l'instantané analytique, une colonne de type primitif par attribut
+ *
+ * Une ligne occupe 24 octets (contre plusieurs centaines pour une entité Lead) et un parcours
+ * ne lit que les colonnes dont la requête a besoin. Indice = identifiant du lead ;
+ * status == ABSENT pour un identifiant inexistant ou un lead désactivé.
+ * Non synchronisé : écritures et lectures passent par le verrou de l'instantané (AnalyticsStore).
+ */
+public final class LeadColumns {
+
+    public static final byte ABSENT = -1;
+    public static final byte NO_SOURCE = -1;
+
+    private byte[] status;
+    private byte[] source;
+    private short[] score;
+    private int[] assignee;
+    private int[] company;
+    private int[] createdAt;
+    private int[] qualifiedAt;
+    private int[] convertedAt;
+
+    private int upperBound;
+    private int rows;
+
+    public LeadColumns(int capacity) {
+        status = new byte[capacity];
+        Arrays.fill(status, ABSENT);
+        source = new byte[capacity];
+        score = new short[capacity];
+        assignee = new int[capacity];
+        company = new int[capacity];
+        createdAt = new int[capacity];
+        qualifiedAt = new int[capacity];
+        convertedAt = new int[capacity];
+    }
+
+    /**
+     * Insère ou remplace la ligne ; un lead désactivé est retiré
+     */
+    public void upsert(LeadAnalyticsRow row, Dictionary assignees, Dictionary companies) {
+        int i = Columns.index(row.id());
+        if (!Boolean.TRUE.equals(row.active())) {
+            remove(i);
+            return;
+        }
+        if (i >= status.length) {
+            ensureCapacity(i);
+        }
+        if (status[i] == ABSENT) {
+            rows++;
+        }
+        status[i] = (byte) row.status().ordinal();
+        source[i] = row.source() == null ? NO_SOURCE : (byte) row.source().ordinal();
+        score[i] = row.score() == null ? 0 : row.score().shortValue();
+        assignee[i] = assignees.encode(row.assignedTo());
+        company[i] = companies.encode(row.company());
+        createdAt[i] = Columns.toMinutes(row.createdAt());
+        qualifiedAt[i] = Columns.toMinutes(row.qualifiedDate());
+        convertedAt[i] = Columns.toMinutes(row.convertedDate());
+        upperBound = Math.max(upperBound, i + 1);
+    }
+
+    private void remove(int i) {
+        if (i < status.length && status[i] != ABSENT) {
+            status[i] = ABSENT;
+            rows--;
+        }
+    }
+
+    private void ensureCapacity(int index) {
+        int capacity = Columns.grow(status.length, index);
+        status = Columns.grow(status, capacity, ABSENT);
+        source = Arrays.copyOf(source, capacity);
+        score = Arrays.copyOf(score, capacity);
+        assignee = Arrays.copyOf(assignee, capacity);
+        company = Arrays.copyOf(company, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        qualifiedAt = Arrays.copyOf(qualifiedAt, capacity);
+        convertedAt = Arrays.copyOf(convertedAt, capacity);
+    }
+
+    /**
+     * Borne (exclusive) des indices à parcourir
+     */
+    public int upperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Leads actifs présents
+     */
+    public int rows() {
+        return rows;
+    }
+
+    public long memoryBytes() {
+        return status.length * 24L;
+    }
+
+    public byte status(int i) {
+        return status[i];
+    }
+
+    public byte source(int i) {
+        return source[i];
+    }
+
+    public short score(int i) {
+        return score[i];
+    }
+
+    public int assignee(int i) {
+        return assignee[i];
+    }
+
+    public int company(int i) {
+        return company[i];
+    }
+
+    public int createdAt(int i) {
+        return createdAt[i];
+    }
+
+    public int qualifiedAt(int i) {
+        return qualifiedAt[i];
+    }
+
+    public int convertedAt(int i) {
+        return convertedAt[i];
+    }
+}
@@ -0,0 +1,39 @@
+package com.crm.leadscontacts.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "AnalyticsSnapshotDTO", description = "État de l'instantané analytique en mémoire")
+public class AnalyticsSnapshotDTO {
+
+    @Schema(description = "Chargement initial terminé", example = "true")
+    private boolean loaded;
+
+    @Schema(description = "Dernière mise à jour (rafraîchissement incrémental ou rechargement)")
+    private LocalDateTime asOf;
+
+    @Schema(description = "Dernier rechargement complet")
+    private LocalDateTime lastFullLoadAt;
+
+    @Schema(description = "Leads actifs chargés", example = "250000")
+    private long leads;
+
+    @Schema(description = "Contacts actifs chargés", example = "80000")
+    private long contacts;
+
+    @Schema(description = "Valeurs distinctes de assignedTo", example = "45")
+    private int assignees;
+
+    @Schema(description = "Valeurs distinctes de company", example = "31000")
+    private int companies;
+
+    @Schema(description = "Taille des colonnes (octets, hors dictionnaires)", example = "7680000")
+    private long columnBytes;
+}
@@ -0,0 +1,24 @@
+package com.crm.leadscontacts.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "CycleTimeReportDTO", description = "Délais du cycle de vente, en heures")
+public class CycleTimeReportDTO {
+
+    @Schema(description = "Dernière mise à jour de l'instantané")
+    private LocalDateTime asOf;
+
+    @Schema(description = "De la création à la qualification (heures)")
+    private DistributionDTO toQualified;
+
+    @Schema(description = "De la création à la conversion (heures)")
+    private DistributionDTO toConverted;
+}
@@ -0,0 +1,34 @@
+package com.crm.leadscontacts.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "DistributionDTO", description = "Distribution d'une mesure (valeurs absentes si aucun échantillon)")
+public class DistributionDTO {
+
+    @Schema(description = "Nombre d'échantillons", example = "1840")
+    private long count;
+
+    @Schema(description = "Minimum", example = "0.5")
+    private Double min;
+
+    @Schema(description = "Maximum", example = "2160.0")
+    private Double max;
+
+    @Schema(description = "Moyenne", example = "96.4")
+    private Double mean;
+
+    @Schema(description = "Médiane", example = "48.0")
+    private Double p50;
+
+    @Schema(description = "90e centile", example = "240.0")
+    private Double p90;
+
+    @Schema(description = "99e centile", example = "1020.0")
+    private Double p99;
+}
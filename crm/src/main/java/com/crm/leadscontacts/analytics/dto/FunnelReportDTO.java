@@ -0,0 +1,25 @@
+package com.crm.leadscontacts.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "FunnelReportDTO", description = "Entonnoir de conversion par source d'acquisition")
+public class FunnelReportDTO {
+
+    @Schema(description = "Dernière mise à jour de l'instantané")
+    private LocalDateTime asOf;
+
+    @Schema(description = "Toutes sources confondues")
+    private SourceFunnelDTO total;
+
+    @Schema(description = "Par source, par volume décroissant")
+    private List<SourceFunnelDTO> sources;
+}
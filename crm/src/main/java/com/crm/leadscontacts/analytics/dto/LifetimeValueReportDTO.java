@@ -0,0 +1,26 @@
+package com.crm.leadscontacts.analytics.dto;
+
+import com.crm.leadscontacts.contact.domain.ContactType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "LifetimeValueReportDTO", description = "Distribution de la valeur vie client des contacts")
+public class LifetimeValueReportDTO {
+
+    @Schema(description = "Dernière mise à jour de l'instantané")
+    private LocalDateTime asOf;
+
+    @Schema(description = "Tous types confondus")
+    private DistributionDTO overall;
+
+    @Schema(description = "Par type de contact")
+    private Map<ContactType, DistributionDTO> byType;
+}
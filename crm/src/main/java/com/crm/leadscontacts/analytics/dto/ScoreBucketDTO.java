@@ -0,0 +1,22 @@
+package com.crm.leadscontacts.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ScoreBucketDTO", description = "Tranche de l'histogramme des scores")
+public class ScoreBucketDTO {
+
+    @Schema(description = "Borne basse (incluse)", example = "40")
+    private int from;
+
+    @Schema(description = "Borne haute (incluse)", example = "49")
+    private int to;
+
+    @Schema(description = "Leads dans la tranche", example = "812")
+    private long count;
+}
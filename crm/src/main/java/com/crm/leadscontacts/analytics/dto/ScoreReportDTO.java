@@ -0,0 +1,25 @@
+package com.crm.leadscontacts.analytics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ScoreReportDTO", description = "Distribution des scores des leads")
+public class ScoreReportDTO {
+
+    @Schema(description = "Dernière mise à jour de l'instantané")
+    private LocalDateTime asOf;
+
+    @Schema(description = "Distribution (centiles exacts)")
+    private DistributionDTO distribution;
+
+    @Schema(description = "Histogramme par tranches de 10 points")
+    private List<ScoreBucketDTO> histogram;
+}
@@ -0,0 +1,32 @@
+package com.crm.leadscontacts.analytics.dto;
+
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "SourceFunnelDTO", description = "Entonnoir de conversion d'une source d'acquisition")
+public class SourceFunnelDTO {
+
+    @Schema(description = "Source (absente pour les leads sans source ou pour le total)", example = "REFERRAL")
+    private LeadSource source;
+
+    @Schema(description = "Leads actifs", example = "5200")
+    private long leads;
+
+    @Schema(description = "Leads ayant atteint la qualification (qualifiés ou convertis)", example = "1450")
+    private long qualified;
+
+    @Schema(description = "Leads convertis en contacts", example = "610")
+    private long converted;
+
+    @Schema(description = "Taux de qualification (0..1)", example = "0.28")
+    private double qualificationRate;
+
+    @Schema(description = "Taux de conversion (0..1)", example = "0.12")
+    private double conversionRate;
+}
@@ -0,0 +1,34 @@
+package com.crm.leadscontacts.analytics.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Paramètres de l'instantané analytique en mémoire (préfixe crm.analytics)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.analytics")
+public class AnalyticsProperties {
+
+    /**
+     * Marge relue avant le début du rafraîchissement précédent
+     * (couvre les transactions validées après ce point, updatedAt étant posé avant le commit)
+     */
+    private Duration refreshMargin = Duration.ofSeconds(30);
+
+    /**
+     * Nombre de lignes lues par requête lors d'un chargement ou d'un rafraîchissement
+     */
+    private int loadPageSize = 5000;
+
+    /**
+     * Workers du pool de parcours des colonnes (calcul pur, sans connexion)
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+}
@@ -0,0 +1,349 @@
+package com.crm.leadscontacts.analytics.service;
+
+import com.crm.leadscontacts.analytics.domain.AnalyticsFilter;
+import com.crm.leadscontacts.analytics.domain.AnalyticsTables;
+import com.crm.leadscontacts.analytics.domain.Columns;
+import com.crm.leadscontacts.analytics.domain.ContactColumns;
+import com.crm.leadscontacts.analytics.domain.LeadColumns;
+import com.crm.leadscontacts.analytics.dto.*;
+import com.crm.leadscontacts.contact.domain.ContactType;
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Rapports calculés par parcours parallèle des colonnes de l'instantané
+ *
+ * Chaque rapport est un seul passage sur les colonnes utiles ; les centiles sont exacts
+ * (tri des échantillons retenus, ou comptage par valeur pour les scores).
+ * Aucune dépendance Spring : l'appelant fournit les tables (sous verrou de lecture) et le pool.
+ */
+public final class AnalyticsQueries {
+
+    private static final LeadSource[] SOURCES = LeadSource.values();
+    private static final ContactType[] CONTACT_TYPES = ContactType.values();
+    private static final byte QUALIFIED = (byte) LeadStatus.QUALIFIED.ordinal();
+    private static final byte CONVERTED = (byte) LeadStatus.CONVERTED.ordinal();
+    private static final int MAX_SCORE = 100;
+    private static final int SCORE_BUCKET = 10;
+    private static final double MINUTES_PER_HOUR = 60.0;
+
+    private final ForkJoinPool pool;
+
+    public AnalyticsQueries(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Leads, qualifiés et convertis par source
+     */
+    public FunnelReportDTO funnel(AnalyticsTables tables, AnalyticsFilter filter) {
+        LeadColumns leads = tables.leads();
+        AnalyticsFilter.RowFilter rows = filter.compile(tables);
+        // 3 compteurs par source, indice 0 pour les leads sans source
+        int width = (SOURCES.length + 1) * 3;
+        long[] counts = ParallelScan.scan(pool, leads.upperBound(), () -> new long[width], (acc, from, to) -> {
+            for (int i = from; i < to; i++) {
+                byte status = leads.status(i);
+                if (status == LeadColumns.ABSENT || !rows.matches(leads, i)) {
+                    continue;
+                }
+                int base = (leads.source(i) + 1) * 3;
+                acc[base]++;
+                if (status == CONVERTED || status == QUALIFIED || leads.qualifiedAt(i) != Columns.NO_TIME) {
+                    acc[base + 1]++;
+                }
+                if (status == CONVERTED) {
+                    acc[base + 2]++;
+                }
+            }
+        }, AnalyticsQueries::sum);
+
+        List<SourceFunnelDTO> sources = new ArrayList<>();
+        long[] total = new long[3];
+        for (int s = 0; s <= SOURCES.length; s++) {
+            int base = s * 3;
+            total[0] += counts[base];
+            total[1] += counts[base + 1];
+            total[2] += counts[base + 2];
+            if (counts[base] > 0) {
+                sources.add(funnelOf(s == 0 ? null : SOURCES[s - 1], counts[base], counts[base + 1], counts[base + 2]));
+            }
+        }
+        sources.sort(Comparator.comparingLong(SourceFunnelDTO::getLeads).reversed());
+        return FunnelReportDTO.builder()
+                .total(funnelOf(null, total[0], total[1], total[2]))
+                .sources(sources)
+                .build();
+    }
+
+    /**
+     * Délais création → qualification et création → conversion
+     */
+    public CycleTimeReportDTO cycleTimes(AnalyticsTables tables, AnalyticsFilter filter) {
+        LeadColumns leads = tables.leads();
+        AnalyticsFilter.RowFilter rows = filter.compile(tables);
+        IntList[] minutes = ParallelScan.scan(pool, leads.upperBound(),
+                () -> new IntList[]{new IntList(), new IntList()}, (acc, from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        if (leads.status(i) == LeadColumns.ABSENT || !rows.matches(leads, i)) {
+                            continue;
+                        }
+                        int created = leads.createdAt(i);
+                        int qualified = leads.qualifiedAt(i);
+                        if (qualified != Columns.NO_TIME && qualified >= created) {
+                            acc[0].add(qualified - created);
+                        }
+                        int converted = leads.convertedAt(i);
+                        if (converted != Columns.NO_TIME && converted >= created) {
+                            acc[1].add(converted - created);
+                        }
+                    }
+                }, (left, right) -> new IntList[]{left[0].addAll(right[0]), left[1].addAll(right[1])});
+
+        return CycleTimeReportDTO.builder()
+                .toQualified(hours(minutes[0]))
+                .toConverted(hours(minutes[1]))
+                .build();
+    }
+
+    /**
+     * Distribution des scores ; status null pour tous les statuts
+     */
+    public ScoreReportDTO scores(AnalyticsTables tables, AnalyticsFilter filter, LeadStatus status) {
+        LeadColumns leads = tables.leads();
+        AnalyticsFilter.RowFilter rows = filter.compile(tables);
+        byte wanted = status == null ? LeadColumns.ABSENT : (byte) status.ordinal();
+        long[] counts = ParallelScan.scan(pool, leads.upperBound(), () -> new long[MAX_SCORE + 1], (acc, from, to) -> {
+            for (int i = from; i < to; i++) {
+                byte current = leads.status(i);
+                if (current == LeadColumns.ABSENT || (status != null && current != wanted)
+                        || !rows.matches(leads, i)) {
+                    continue;
+                }
+                acc[Math.clamp(leads.score(i), 0, MAX_SCORE)]++;
+            }
+        }, AnalyticsQueries::sum);
+
+        List<ScoreBucketDTO> histogram = new ArrayList<>();
+        for (int from = 0; from <= MAX_SCORE; from += SCORE_BUCKET) {
+            // La dernière tranche inclut 100
+            int to = from + SCORE_BUCKET >= MAX_SCORE ? MAX_SCORE : from + SCORE_BUCKET - 1;
+            long count = 0;
+            for (int score = from; score <= to; score++) {
+                count += counts[score];
+            }
+            histogram.add(ScoreBucketDTO.builder().from(from).to(to).count(count).build());
+            if (to == MAX_SCORE) {
+                break;
+            }
+        }
+        return ScoreReportDTO.builder()
+                .distribution(distribution(counts))
+                .histogram(histogram)
+                .build();
+    }
+
+    /**
+     * Valeur vie client par type de contact (contacts sans valeur ignorés)
+     */
+    public LifetimeValueReportDTO lifetimeValues(AnalyticsTables tables, AnalyticsFilter filter) {
+        ContactColumns contacts = tables.contacts();
+        AnalyticsFilter.RowFilter rows = filter.compile(tables);
+        DoubleList[] values = ParallelScan.scan(pool, contacts.upperBound(), AnalyticsQueries::doubleLists,
+                (acc, from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        byte type = contacts.type(i);
+                        double value = contacts.lifetimeValue(i);
+                        if (type == ContactColumns.ABSENT || Double.isNaN(value) || !rows.matches(contacts, i)) {
+                            continue;
+                        }
+                        acc[type].add(value);
+                    }
+                }, (left, right) -> {
+                    for (int t = 0; t < left.length; t++) {
+                        left[t].addAll(right[t]);
+                    }
+                    return left;
+                });
+
+        Map<ContactType, DistributionDTO> byType = new EnumMap<>(ContactType.class);
+        DoubleList all = new DoubleList();
+        for (ContactType type : CONTACT_TYPES) {
+            DoubleList list = values[type.ordinal()];
+            all.addAll(list);
+            byType.put(type, distribution(list.sorted()));
+        }
+        return LifetimeValueReportDTO.builder()
+                .overall(distribution(all.sorted()))
+                .byType(byType)
+                .build();
+    }
+
+    private static DoubleList[] doubleLists() {
+        DoubleList[] lists = new DoubleList[CONTACT_TYPES.length];
+        for (int t = 0; t < lists.length; t++) {
+            lists[t] = new DoubleList();
+        }
+        return lists;
+    }
+
+    private static long[] sum(long[] left, long[] right) {
+        for (int i = 0; i < left.length; i++) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    private static SourceFunnelDTO funnelOf(LeadSource source, long leads, long qualified, long converted) {
+        return SourceFunnelDTO.builder()
+                .source(source)
+                .leads(leads)
+                .qualified(qualified)
+                .converted(converted)
+                .qualificationRate(leads == 0 ? 0 : (double) qualified / leads)
+                .conversionRate(leads == 0 ? 0 : (double) converted / leads)
+                .build();
+    }
+
+    private static DistributionDTO hours(IntList minutes) {
+        int[] sorted = minutes.sorted();
+        double[] values = new double[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            values[i] = sorted[i] / MINUTES_PER_HOUR;
+        }
+        return distribution(values);
+    }
+
+    /**
+     * Distribution d'échantillons triés ; centile au rang le plus proche
+     */
+    static DistributionDTO distribution(double[] sorted) {
+        int n = sorted.length;
+        if (n == 0) {
+            return DistributionDTO.builder().count(0).build();
+        }
+        double sum = 0;
+        for (double value : sorted) {
+            sum += value;
+        }
+        return DistributionDTO.builder()
+                .count(n)
+                .min(sorted[0])
+                .max(sorted[n - 1])
+                .mean(sum / n)
+                .p50(sorted[rank(n, 0.50)])
+                .p90(sorted[rank(n, 0.90)])
+                .p99(sorted[rank(n, 0.99)])
+                .build();
+    }
+
+    /**
+     * Distribution à partir d'un comptage par valeur (indice = valeur)
+     */
+    static DistributionDTO distribution(long[] counts) {
+        long n = 0;
+        long sum = 0;
+        int min = -1;
+        int max = -1;
+        for (int value = 0; value < counts.length; value++) {
+            if (counts[value] > 0) {
+                n += counts[value];
+                sum += counts[value] * value;
+                min = min < 0 ? value : min;
+                max = value;
+            }
+        }
+        if (n == 0) {
+            return DistributionDTO.builder().count(0).build();
+        }
+        return DistributionDTO.builder()
+                .count(n)
+                .min((double) min)
+                .max((double) max)
+                .mean((double) sum / n)
+                .p50((double) valueAtRank(counts, rank(n, 0.50)))
+                .p90((double) valueAtRank(counts, rank(n, 0.90)))
+                .p99((double) valueAtRank(counts, rank(n, 0.99)))
+                .build();
+    }
+
+    private static int rank(long n, double percentile) {
+        return (int) Math.max(0, (long) Math.ceil(percentile * n) - 1);
+    }
+
+    private static int valueAtRank(long[] counts, long rank) {
+        long seen = 0;
+        for (int value = 0; value < counts.length; value++) {
+            seen += counts[value];
+            if (seen > rank) {
+                return value;
+            }
+        }
+        return counts.length - 1;
+    }
+
+    /**
+     * Tableau d'int extensible (échantillons d'une tranche)
+     */
+    static final class IntList {
+
+        private int[] values = new int[256];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        IntList addAll(IntList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        int[] sorted() {
+            int[] result = Arrays.copyOf(values, size);
+            Arrays.parallelSort(result);
+            return result;
+        }
+    }
+
+    /**
+     * Tableau de double extensible (échantillons d'une tranche)
+     */
+    static final class DoubleList {
+
+        private double[] values = new double[256];
+        private int size;
+
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        DoubleList addAll(DoubleList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        double[] sorted() {
+            double[] result = Arrays.copyOf(values, size);
+            Arrays.parallelSort(result);
+            return result;
+        }
+    }
+}
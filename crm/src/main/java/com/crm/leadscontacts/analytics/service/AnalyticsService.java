@@ -0,0 +1,108 @@
+package com.crm.leadscontacts.analytics.service;
+
+import com.crm.leadscontacts.analytics.domain.AnalyticsFilter;
+import com.crm.leadscontacts.analytics.dto.*;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Rapports analytiques sur l'instantané en colonnes
+ *
+ * Les parcours s'exécutent sur un pool fork/join dédié : un rapport lourd n'occupe ni le pool
+ * commun ni les threads de requêtes, et n'emprunte aucune connexion.
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: SRP - exposition des rapports (chargement dans AnalyticsStore, calculs dans AnalyticsQueries)
+ */
+@Service
+@Timed(value = "crm.service", histogram = true)
+public class AnalyticsService implements IAnalyticsService {
+
+    private final AnalyticsStore store;
+    private final ForkJoinPool pool;
+    private final AnalyticsQueries queries;
+
+    public AnalyticsService(AnalyticsStore store, AnalyticsProperties properties) {
+        this.store = store;
+        this.pool = new ForkJoinPool(Math.max(1, properties.getParallelism()), workerFactory(), null, false);
+        this.queries = new AnalyticsQueries(pool);
+    }
+
+    @PreDestroy
+    void close() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public FunnelReportDTO getFunnel(AnalyticsFilter filter) {
+        validate(filter);
+        return store.read((tables, asOf) -> {
+            FunnelReportDTO report = queries.funnel(tables, filter);
+            report.setAsOf(asOf);
+            return report;
+        });
+    }
+
+    @Override
+    public CycleTimeReportDTO getCycleTimes(AnalyticsFilter filter) {
+        validate(filter);
+        return store.read((tables, asOf) -> {
+            CycleTimeReportDTO report = queries.cycleTimes(tables, filter);
+            report.setAsOf(asOf);
+            return report;
+        });
+    }
+
+    @Override
+    public ScoreReportDTO getScores(AnalyticsFilter filter, LeadStatus status) {
+        validate(filter);
+        return store.read((tables, asOf) -> {
+            ScoreReportDTO report = queries.scores(tables, filter, status);
+            report.setAsOf(asOf);
+            return report;
+        });
+    }
+
+    @Override
+    public LifetimeValueReportDTO getLifetimeValues(AnalyticsFilter filter) {
+        validate(filter);
+        return store.read((tables, asOf) -> {
+            LifetimeValueReportDTO report = queries.lifetimeValues(tables, filter);
+            report.setAsOf(asOf);
+            return report;
+        });
+    }
+
+    @Override
+    public AnalyticsSnapshotDTO getSnapshot() {
+        return store.describe();
+    }
+
+    @Override
+    public AnalyticsSnapshotDTO reloadSnapshot() {
+        store.requestFullReload();
+        return store.describe();
+    }
+
+    private static void validate(AnalyticsFilter filter) {
+        if (filter.createdFrom() != null && filter.createdTo() != null
+                && !filter.createdFrom().isBefore(filter.createdTo())) {
+            throw new BusinessException("createdFrom doit précéder createdTo");
+        }
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory workerFactory() {
+        return pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("analytics-scan-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,279 @@
+package com.crm.leadscontacts.analytics.service;
+
+import com.crm.leadscontacts.analytics.domain.AnalyticsTables;
+import com.crm.leadscontacts.analytics.domain.ContactAnalyticsRow;
+import com.crm.leadscontacts.analytics.domain.LeadAnalyticsRow;
+import com.crm.leadscontacts.analytics.dto.AnalyticsSnapshotDTO;
+import com.crm.leadscontacts.contact.repository.IContactRepository;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.shared.handlers.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.*;
+
+/**
+ * Instantané en colonnes des leads et contacts, tenu à jour par relecture périodique
+ *
+ * - Démarrage : chargement complet en arrière-plan (pages d'id) ; les rapports répondent 503 d'ici là.
+ * - Rafraîchissement incrémental : relit les lignes modifiées depuis le début du rafraîchissement
+ *   précédent (moins une marge) et les applique en place, sous verrou d'écriture, page par page.
+ *   Relire une ligne déjà appliquée est sans effet (upsert idempotent).
+ * - Rechargement complet planifié : nouvelles tables construites hors verrou puis substituées ;
+ *   il élimine les lignes supprimées physiquement, invisibles pour le rafraîchissement incrémental.
+ *
+ * Les rapports lisent sous verrou de lecture : ils voient toujours une page entière ou pas du tout.
+ *
+ * Principe SOLID: SRP - chargement et cohérence de l'instantané (calculs dans AnalyticsQueries)
+ */
+@Slf4j
+@Component
+public class AnalyticsStore {
+
+    private final ILeadRepository leadRepository;
+    private final IContactRepository contactRepository;
+    private final AnalyticsProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Un seul chargement ou rafraîchissement à la fois
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final ExecutorService loadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "analytics-load");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean reloadRequested = new AtomicBoolean();
+
+    // Remplacées sous verrou d'écriture ; null tant que le premier chargement n'est pas terminé
+    private volatile AnalyticsTables tables;
+    private volatile LocalDateTime asOf;
+    private volatile LocalDateTime lastFullLoadAt;
+    // Début du dernier chargement ou rafraîchissement réussi (modifié sous refreshLock)
+    private LocalDateTime watermark;
+
+    private final Timer fullLoadTimer;
+    private final Timer refreshTimer;
+
+    public AnalyticsStore(ILeadRepository leadRepository,
+                          IContactRepository contactRepository,
+                          AnalyticsProperties properties,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.leadRepository = leadRepository;
+        this.contactRepository = contactRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        gauge(meterRegistry, "leads", snapshot -> snapshot.leads().rows());
+        gauge(meterRegistry, "contacts", snapshot -> snapshot.contacts().rows());
+        this.fullLoadTimer = Timer.builder("crm.analytics.refresh")
+                .tag("type", "full")
+                .description("Chargements complets de l'instantané analytique")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("crm.analytics.refresh")
+                .tag("type", "incremental")
+                .description("Rafraîchissements incrémentaux de l'instantané analytique")
+                .register(meterRegistry);
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String table, ToDoubleFunction<AnalyticsTables> rows) {
+        Gauge.builder("crm.analytics.rows", this, store -> store.tables == null ? 0 : rows.applyAsDouble(store.tables))
+                .tag("table", table)
+                .description("Lignes actives de l'instantané analytique")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void close() {
+        loadExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startInitialLoad() {
+        requestFullReload();
+    }
+
+    /**
+     * Rechargement complet en arrière-plan ; les demandes reçues avant son début sont regroupées
+     */
+    public void requestFullReload() {
+        if (reloadRequested.compareAndSet(false, true)) {
+            loadExecutor.submit(() -> {
+                reloadRequested.set(false);
+                fullReload();
+            });
+        }
+    }
+
+    @Scheduled(cron = "${crm.analytics.full-reload-cron:0 30 3 * * *}")
+    public void scheduledFullReload() {
+        requestFullReload();
+    }
+
+    /**
+     * Exécute un calcul sur l'instantané courant, sous verrou de lecture
+     *
+     * @throws ServiceUnavailableException tant que le premier chargement n'est pas terminé
+     */
+    public <R> R read(BiFunction<AnalyticsTables, LocalDateTime, R> query) {
+        lock.readLock().lock();
+        try {
+            AnalyticsTables current = tables;
+            if (current == null) {
+                throw new ServiceUnavailableException("Instantané analytique en cours de chargement, veuillez réessayer");
+            }
+            return query.apply(current, asOf);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public AnalyticsSnapshotDTO describe() {
+        lock.readLock().lock();
+        try {
+            AnalyticsTables current = tables;
+            AnalyticsSnapshotDTO.AnalyticsSnapshotDTOBuilder snapshot = AnalyticsSnapshotDTO.builder()
+                    .loaded(current != null)
+                    .asOf(asOf)
+                    .lastFullLoadAt(lastFullLoadAt);
+            if (current != null) {
+                snapshot.leads(current.leads().rows())
+                        .contacts(current.contacts().rows())
+                        .assignees(current.assignees().size())
+                        .companies(current.companies().size())
+                        .columnBytes(current.leads().memoryBytes() + current.contacts().memoryBytes());
+            }
+            return snapshot.build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applique les lignes modifiées depuis le rafraîchissement précédent
+     */
+    @Scheduled(fixedDelayString = "${crm.analytics.refresh-interval:PT10S}")
+    public void refresh() {
+        // Chargement complet en cours : il inclura ces modifications
+        if (tables == null || !refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime since = watermark.minus(properties.getRefreshMargin());
+            long count = refreshTimer.record(() ->
+                    readUpdatedAfter(since, leadRepository::findAnalyticsRowsUpdatedAfter, LeadAnalyticsRow::id,
+                            LeadAnalyticsRow::updatedAt, (current, row) -> current.upsert(row))
+                    + readUpdatedAfter(since, contactRepository::findAnalyticsRowsUpdatedAfter, ContactAnalyticsRow::id,
+                            ContactAnalyticsRow::updatedAt, (current, row) -> current.upsert(row)));
+            watermark = startedAt;
+            asOf = startedAt;
+            log.debug("Instantané analytique rafraîchi depuis {}: {} lignes relues", since, count);
+        } catch (RuntimeException e) {
+            log.warn("Échec du rafraîchissement de l'instantané analytique", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void fullReload() {
+        refreshLock.lock();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            int pageSize = properties.getLoadPageSize();
+            // Construites hors verrou : les rapports continuent de lire l'instantané précédent
+            AnalyticsTables loaded = AnalyticsTables.empty(pageSize, pageSize);
+            fullLoadTimer.record(() -> {
+                readAll(leadRepository::findActiveAnalyticsRowsAfter, LeadAnalyticsRow::id, loaded::upsert);
+                readAll(contactRepository::findActiveAnalyticsRowsAfter, ContactAnalyticsRow::id, loaded::upsert);
+            });
+
+            lock.writeLock().lock();
+            try {
+                tables = loaded;
+                asOf = startedAt;
+                lastFullLoadAt = startedAt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            watermark = startedAt;
+            log.info("Instantané analytique chargé: {} leads, {} contacts, {} Ko de colonnes",
+                    loaded.leads().rows(), loaded.contacts().rows(),
+                    (loaded.leads().memoryBytes() + loaded.contacts().memoryBytes()) / 1024);
+        } catch (RuntimeException e) {
+            log.error("Échec du chargement de l'instantané analytique", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private <T> void readAll(BiFunction<Long, Limit, List<T>> pageLoader,
+                             ToLongFunction<T> idOf, Consumer<T> sink) {
+        Limit limit = Limit.of(properties.getLoadPageSize());
+        long afterId = 0;
+        List<T> rows;
+        do {
+            long from = afterId;
+            rows = readOnlyTransaction.execute(status -> pageLoader.apply(from, limit));
+            rows.forEach(sink);
+            afterId = rows.isEmpty() ? afterId : idOf.applyAsLong(rows.get(rows.size() - 1));
+        } while (rows.size() == limit.max());
+    }
+
+    private <T> long readUpdatedAfter(LocalDateTime since, UpdatedAfterLoader<T> pageLoader,
+                                      ToLongFunction<T> idOf,
+                                      Function<T, LocalDateTime> updatedAtOf,
+                                      BiConsumer<AnalyticsTables, T> apply) {
+        Limit limit = Limit.of(properties.getLoadPageSize());
+        LocalDateTime afterUpdatedAt = since;
+        long afterId = 0;
+        long count = 0;
+        List<T> rows;
+        do {
+            LocalDateTime fromUpdatedAt = afterUpdatedAt;
+            long fromId = afterId;
+            // Lecture hors verrou, application de la page sous verrou d'écriture
+            rows = readOnlyTransaction.execute(status -> pageLoader.load(fromUpdatedAt, fromId, limit));
+            lock.writeLock().lock();
+            try {
+                AnalyticsTables current = tables;
+                for (T row : rows) {
+                    apply.accept(current, row);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            count += rows.size();
+            if (!rows.isEmpty()) {
+                T last = rows.get(rows.size() - 1);
+                afterUpdatedAt = updatedAtOf.apply(last);
+                afterId = idOf.applyAsLong(last);
+            }
+        } while (rows.size() == limit.max());
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface UpdatedAfterLoader<T> {
+        List<T> load(LocalDateTime since, Long afterId, Limit limit);
+    }
+}
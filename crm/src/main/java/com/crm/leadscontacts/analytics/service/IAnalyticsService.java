@@ -0,0 +1,34 @@
+package com.crm.leadscontacts.analytics.service;
+
+import com.crm.leadscontacts.analytics.domain.AnalyticsFilter;
+import com.crm.leadscontacts.analytics.dto.*;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+
+/**
+ * Interface des rapports de pipeline et d'entonnoir
+ *
+ * Les rapports sont calculés sur l'instantané en mémoire (quelques secondes de retard sur la base)
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: ISP - interface focalisée sur les rapports analytiques
+ */
+public interface IAnalyticsService {
+
+    FunnelReportDTO getFunnel(AnalyticsFilter filter);
+
+    CycleTimeReportDTO getCycleTimes(AnalyticsFilter filter);
+
+    /**
+     * @param status statut des leads retenus, null pour tous
+     */
+    ScoreReportDTO getScores(AnalyticsFilter filter, LeadStatus status);
+
+    LifetimeValueReportDTO getLifetimeValues(AnalyticsFilter filter);
+
+    AnalyticsSnapshotDTO getSnapshot();
+
+    /**
+     * Recharge l'instantané complet en arrière-plan
+     */
+    AnalyticsSnapshotDTO reloadSnapshot();
+}
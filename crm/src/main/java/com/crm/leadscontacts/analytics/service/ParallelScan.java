@@ -0,0 +1,68 @@
+package com.crm.leadscontacts.analytics.service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Parcours parallèle d'une plage d'indices : découpe récursive, un accumulateur par tranche, fusion
+ *
+ * Chaque tranche écrit dans son propre accumulateur (aucun partage entre workers), puis les
+ * accumulateurs sont fusionnés deux à deux en remontant.
+ */
+final class ParallelScan {
+
+    // ~32K lignes : quelques dizaines de µs de parcours, largement au-dessus du coût d'un fork
+    static final int LEAF_ROWS = 1 << 15;
+
+    @FunctionalInterface
+    interface RangeScanner<A> {
+        void scan(A accumulator, int from, int to);
+    }
+
+    private ParallelScan() {
+    }
+
+    static <A> A scan(ForkJoinPool pool, int upperBound, Supplier<A> accumulator,
+                      RangeScanner<A> scanner, BinaryOperator<A> merge) {
+        if (upperBound <= LEAF_ROWS) {
+            // Petite table : parcours direct dans le thread appelant
+            A result = accumulator.get();
+            scanner.scan(result, 0, upperBound);
+            return result;
+        }
+        return pool.invoke(new ScanTask<>(0, upperBound, accumulator, scanner, merge));
+    }
+
+    private static final class ScanTask<A> extends RecursiveTask<A> {
+
+        private final int from;
+        private final int to;
+        private final Supplier<A> accumulator;
+        private final RangeScanner<A> scanner;
+        private final BinaryOperator<A> merge;
+
+        ScanTask(int from, int to, Supplier<A> accumulator, RangeScanner<A> scanner, BinaryOperator<A> merge) {
+            this.from = from;
+            this.to = to;
+            this.accumulator = accumulator;
+            this.scanner = scanner;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= LEAF_ROWS) {
+                A result = accumulator.get();
+                scanner.scan(result, from, to);
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask<A> left = new ScanTask<>(from, middle, accumulator, scanner, merge);
+            left.fork();
+            A right = new ScanTask<>(middle, to, accumulator, scanner, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.crm.leadscontacts.assignment.controller;
+
+import com.crm.leadscontacts.assignment.dto.ReassignmentRequestDTO;
+import com.crm.leadscontacts.assignment.dto.ReassignmentResultDTO;
+import com.crm.leadscontacts.assignment.service.IReassignmentService;
+import com.crm.leadscontacts.shared.idempotency.IdempotencyStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/assignments")
+@RequiredArgsConstructor
+@Tag(name = "Portefeuilles", description = "Réaffectation des leads et contacts entre commerciaux")
+public class ReassignmentController {
+
+    private final IReassignmentService reassignmentService;
+    private final IdempotencyStore idempotencyStore;
+
+    @PostMapping("/reassignments")
+    @Operation(summary = "Transférer le portefeuille d'un commercial",
+            description = "Leads et contacts assignés au commercial d'origine, répartis tour à tour ou par score " +
+                    "entre les destinataires ; une notification par destinataire")
+    public ResponseEntity<ReassignmentResultDTO> reassign(
+            @Valid @RequestBody ReassignmentRequestDTO request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () ->
+                ResponseEntity.ok(reassignmentService.reassign(request)));
+    }
+}
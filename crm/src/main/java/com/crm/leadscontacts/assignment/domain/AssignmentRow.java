@@ -0,0 +1,7 @@
+package com.crm.leadscontacts.assignment.domain;
+
+/**
+ * Ligne verrouillée avant réaffectation, encore assignée à l'ancien commercial
+ */
+public record AssignmentRow(Long id, Long version) {
+}
@@ -0,0 +1,53 @@
+package com.crm.leadscontacts.assignment.domain;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Répartition d'un portefeuille entre plusieurs commerciaux
+ *
+ * Design Pattern: Strategy Pattern
+ */
+public enum AssignmentStrategy {
+
+    /** Tour à tour, dans l'ordre des IDs : effectifs égaux à une unité près */
+    ROUND_ROBIN {
+        @Override
+        public String[] assign(List<ReassignmentCandidate> candidates, List<String> assignees) {
+            String[] result = new String[candidates.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = assignees.get(i % assignees.size());
+            }
+            return result;
+        }
+    },
+
+    /**
+     * Par poids décroissant, en serpentin (A B C C B A ...) : effectifs égaux à une unité près
+     * et totaux de score (ou de valeur) proches
+     */
+    BY_SCORE {
+        @Override
+        public String[] assign(List<ReassignmentCandidate> candidates, List<String> assignees) {
+            Integer[] order = new Integer[candidates.size()];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, Comparator.comparingDouble((Integer i) -> candidates.get(i).weight()).reversed()
+                    .thenComparing(i -> candidates.get(i).id()));
+
+            int n = assignees.size();
+            String[] result = new String[candidates.size()];
+            for (int rank = 0; rank < order.length; rank++) {
+                int round = rank / n;
+                int position = rank % n;
+                result[order[rank]] = assignees.get(round % 2 == 0 ? position : n - 1 - position);
+            }
+            return result;
+        }
+    };
+
+    /**
+     * Destinataire de chaque élément, dans l'ordre de la liste reçue
+     */
+    public abstract String[] assign(List<ReassignmentCandidate> candidates, List<String> assignees);
+}
@@ -0,0 +1,11 @@
+package com.crm.leadscontacts.assignment.domain;
+
+/**
+ * Élément d'un portefeuille à réaffecter : ID et poids (score du lead, valeur du contact)
+ */
+public record ReassignmentCandidate(Long id, double weight) {
+
+    public ReassignmentCandidate(Long id, Number weight) {
+        this(id, weight == null ? 0 : weight.doubleValue());
+    }
+}
@@ -0,0 +1,39 @@
+package com.crm.leadscontacts.assignment.dto;
+
+import com.crm.leadscontacts.assignment.domain.AssignmentStrategy;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ReassignmentRequestDTO",
+        description = "Transfert du portefeuille d'un commercial (leads et contacts) vers un ou plusieurs commerciaux")
+public class ReassignmentRequestDTO {
+
+    @Schema(description = "Commercial dont le portefeuille est transféré", example = "yassine.kallel")
+    @NotBlank(message = "Le commercial d'origine est obligatoire")
+    private String fromUser;
+
+    @Schema(description = "Commerciaux destinataires", example = "[\"sarah.ben.ali\", \"karim.jaziri\"]")
+    @NotEmpty(message = "Au moins un destinataire est obligatoire")
+    private List<String> toUsers;
+
+    @Schema(description = "Répartition entre plusieurs destinataires", example = "ROUND_ROBIN")
+    @Builder.Default
+    private AssignmentStrategy strategy = AssignmentStrategy.ROUND_ROBIN;
+
+    @Schema(description = "Transférer les leads (par défaut oui)", example = "true")
+    @Builder.Default
+    private Boolean includeLeads = true;
+
+    @Schema(description = "Transférer les contacts (par défaut oui)", example = "true")
+    @Builder.Default
+    private Boolean includeContacts = true;
+}
@@ -0,0 +1,40 @@
+package com.crm.leadscontacts.assignment.dto;
+
+import com.crm.leadscontacts.assignment.domain.AssignmentStrategy;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ReassignmentResultDTO", description = "Bilan du transfert d'un portefeuille")
+public class ReassignmentResultDTO {
+
+    @Schema(description = "Commercial d'origine", example = "yassine.kallel")
+    private String fromUser;
+
+    @Schema(description = "Répartition appliquée", example = "ROUND_ROBIN")
+    private AssignmentStrategy strategy;
+
+    @Schema(description = "Leads réaffectés", example = "240")
+    private int leadsReassigned;
+
+    @Schema(description = "Contacts réaffectés", example = "90")
+    private int contactsReassigned;
+
+    @Schema(description = "Éléments déjà réaffectés par une autre écriture entre la lecture et le verrou", example = "0")
+    private int skipped;
+
+    @Schema(description = "Éléments de paquets annulés, toujours assignés au commercial d'origine", example = "0")
+    private int failed;
+
+    @Schema(description = "Durée totale du traitement en millisecondes", example = "180")
+    private long elapsedMillis;
+
+    @Schema(description = "Part reçue par chaque destinataire, dans l'ordre de la requête")
+    private List<ReassignmentShareDTO> assignments;
+}
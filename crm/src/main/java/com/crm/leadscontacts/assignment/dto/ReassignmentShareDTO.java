@@ -0,0 +1,28 @@
+package com.crm.leadscontacts.assignment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ReassignmentShareDTO", description = "Part du portefeuille reçue par un commercial")
+public class ReassignmentShareDTO {
+
+    @Schema(description = "Commercial destinataire", example = "sarah.ben.ali")
+    private String assignedTo;
+
+    @Schema(description = "Leads reçus", example = "120")
+    private int leads;
+
+    @Schema(description = "Contacts reçus", example = "45")
+    private int contacts;
+
+    @Schema(description = "Somme des scores des leads reçus", example = "6240")
+    private long leadScoreTotal;
+
+    @Schema(description = "Somme des valeurs des contacts reçus", example = "185000.0")
+    private double contactValueTotal;
+}
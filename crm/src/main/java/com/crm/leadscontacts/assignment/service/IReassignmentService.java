@@ -0,0 +1,18 @@
+package com.crm.leadscontacts.assignment.service;
+
+import com.crm.leadscontacts.assignment.dto.ReassignmentRequestDTO;
+import com.crm.leadscontacts.assignment.dto.ReassignmentResultDTO;
+
+/**
+ * Transfert de portefeuilles entre commerciaux
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: ISP - séparé des opérations unitaires de ILeadService et IContactService
+ */
+public interface IReassignmentService {
+
+    /**
+     * Réaffecte les leads et contacts du commercial d'origine, par paquets ; une notification par destinataire
+     */
+    ReassignmentResultDTO reassign(ReassignmentRequestDTO request);
+}
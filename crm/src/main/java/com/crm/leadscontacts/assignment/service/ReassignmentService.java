@@ -0,0 +1,260 @@
+package com.crm.leadscontacts.assignment.service;
+
+import com.crm.leadscontacts.assignment.domain.AssignmentRow;
+import com.crm.leadscontacts.assignment.domain.AssignmentStrategy;
+import com.crm.leadscontacts.assignment.domain.ReassignmentCandidate;
+import com.crm.leadscontacts.assignment.dto.ReassignmentRequestDTO;
+import com.crm.leadscontacts.assignment.dto.ReassignmentResultDTO;
+import com.crm.leadscontacts.assignment.dto.ReassignmentShareDTO;
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.contact.repository.IContactRepository;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.shared.domain.BaseEntity;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import com.crm.leadscontacts.shared.notification.INotifier;
+import com.crm.leadscontacts.shared.notification.NotificationType;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Transfert du portefeuille d'un commercial vers un ou plusieurs commerciaux
+ *
+ * Le plan (destinataire de chaque élément) est calculé sur une projection (id, poids) des lignes
+ * actives assignées au commercial d'origine ; les lignes désactivées lui restent attribuées. Il est ensuite appliqué par paquets, chacun dans sa transaction :
+ * une lecture verrouillée des lignes encore assignées, puis un UPDATE ensembliste par destinataire
+ * qui incrémente la version. Les UPDATE ensemblistes échappent aux listeners Hibernate :
+ * cache, index de recherche et flux de modifications sont prévenus explicitement.
+ *
+ * Les éléments assignés au commercial d'origine après la lecture du plan ne sont pas transférés ;
+ * relancer l'opération les reprend.
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: SRP - réaffectation uniquement (répartition déléguée à AssignmentStrategy)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "crm.service", histogram = true)
+public class ReassignmentService implements IReassignmentService {
+
+    // Taille d'un paquet : une lecture verrouillée + un UPDATE par destinataire + une transaction
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ASSIGNEES = 50;
+
+    private final ILeadRepository leadRepository;
+    private final IContactRepository contactRepository;
+    private final INotifier notifier;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public ReassignmentResultDTO reassign(ReassignmentRequestDTO request) {
+        String fromUser = request.getFromUser().strip();
+        List<String> assignees = resolveAssignees(request, fromUser);
+        AssignmentStrategy strategy = request.getStrategy() != null
+                ? request.getStrategy() : AssignmentStrategy.ROUND_ROBIN;
+        boolean includeLeads = !Boolean.FALSE.equals(request.getIncludeLeads());
+        boolean includeContacts = !Boolean.FALSE.equals(request.getIncludeContacts());
+        if (!includeLeads && !includeContacts) {
+            throw new BusinessException("Indiquer au moins les leads ou les contacts à transférer");
+        }
+
+        long start = System.nanoTime();
+        Map<String, Share> shares = new LinkedHashMap<>();
+        assignees.forEach(assignee -> shares.put(assignee, new Share()));
+        Tally tally = new Tally();
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+
+        if (includeLeads) {
+            List<ReassignmentCandidate> candidates = leadRepository.findReassignmentCandidates(fromUser);
+            apply(Portfolio.LEADS, fromUser, candidates, strategy.assign(candidates, assignees),
+                    shares, tally, chunkTransaction);
+        }
+        if (includeContacts) {
+            // Les contacts commencent où les leads se sont arrêtés : effectifs cumulés équilibrés
+            int leads = shares.values().stream().mapToInt(share -> share.leads).sum();
+            List<String> rotated = new ArrayList<>(assignees);
+            Collections.rotate(rotated, -(leads % assignees.size()));
+            List<ReassignmentCandidate> candidates = contactRepository.findReassignmentCandidates(fromUser);
+            apply(Portfolio.CONTACTS, fromUser, candidates, strategy.assign(candidates, rotated),
+                    shares, tally, chunkTransaction);
+        }
+        notifyAssignees(fromUser, shares);
+
+        int leads = shares.values().stream().mapToInt(share -> share.leads).sum();
+        int contacts = shares.values().stream().mapToInt(share -> share.contacts).sum();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Portefeuille de {} transféré vers {} commercial(aux) ({}): {} leads, {} contacts, " +
+                        "{} ignorés, {} en échec en {} ms",
+                fromUser, assignees.size(), strategy, leads, contacts, tally.skipped, tally.failed, elapsedMillis);
+
+        return ReassignmentResultDTO.builder()
+                .fromUser(fromUser)
+                .strategy(strategy)
+                .leadsReassigned(leads)
+                .contactsReassigned(contacts)
+                .skipped(tally.skipped)
+                .failed(tally.failed)
+                .elapsedMillis(elapsedMillis)
+                .assignments(shares.entrySet().stream()
+                        .map(entry -> ReassignmentShareDTO.builder()
+                                .assignedTo(entry.getKey())
+                                .leads(entry.getValue().leads)
+                                .contacts(entry.getValue().contacts)
+                                .leadScoreTotal(Math.round(entry.getValue().leadWeight))
+                                .contactValueTotal(entry.getValue().contactWeight)
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Destinataires nettoyés et dédoublonnés, dans l'ordre reçu
+     */
+    private static List<String> resolveAssignees(ReassignmentRequestDTO request, String fromUser) {
+        List<String> assignees = request.getToUsers().stream()
+                .filter(Objects::nonNull)
+                .map(String::strip)
+                .filter(user -> !user.isEmpty())
+                .distinct()
+                .toList();
+        if (assignees.isEmpty()) {
+            throw new BusinessException("Au moins un destinataire est obligatoire");
+        }
+        if (assignees.size() > MAX_ASSIGNEES) {
+            throw new BusinessException("Un portefeuille ne peut pas être réparti entre plus de "
+                    + MAX_ASSIGNEES + " commerciaux");
+        }
+        if (assignees.contains(fromUser)) {
+            throw new BusinessException("Le commercial d'origine ne peut pas être destinataire");
+        }
+        return assignees;
+    }
+
+    private void apply(Portfolio portfolio, String fromUser, List<ReassignmentCandidate> candidates,
+                       String[] targets, Map<String, Share> shares, Tally tally,
+                       TransactionTemplate chunkTransaction) {
+        for (int from = 0; from < candidates.size(); from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, candidates.size());
+            List<ReassignmentCandidate> chunk = candidates.subList(from, to);
+            String[] chunkTargets = Arrays.copyOfRange(targets, from, to);
+            try {
+                Set<Long> moved = chunkTransaction.execute(status ->
+                        applyChunk(portfolio, fromUser, chunk, chunkTargets));
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (moved.contains(chunk.get(i).id())) {
+                        shares.get(chunkTargets[i]).credit(portfolio, chunk.get(i).weight());
+                    } else {
+                        tally.skipped++;
+                    }
+                }
+            } catch (DataAccessException e) {
+                log.warn("Paquet de réaffectation ({}) annulé: {}", portfolio, e.getMostSpecificCause().getMessage());
+                tally.failed += chunk.size();
+            }
+        }
+    }
+
+    /**
+     * Transfère les lignes du paquet encore actives et assignées au commercial d'origine ; renvoie leurs IDs
+     */
+    private Set<Long> applyChunk(Portfolio portfolio, String fromUser,
+                                 List<ReassignmentCandidate> chunk, String[] targets) {
+        List<Long> ids = chunk.stream().map(ReassignmentCandidate::id).toList();
+        Map<Long, Long> versions = (portfolio == Portfolio.LEADS
+                ? leadRepository.findAssignmentRowsForUpdate(ids, fromUser)
+                : contactRepository.findAssignmentRowsForUpdate(ids, fromUser)).stream()
+                .collect(Collectors.toMap(AssignmentRow::id, AssignmentRow::version));
+
+        Map<String, List<Long>> idsPerAssignee = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (versions.containsKey(ids.get(i))) {
+                idsPerAssignee.computeIfAbsent(targets[i], assignee -> new ArrayList<>()).add(ids.get(i));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        idsPerAssignee.forEach((assignee, assigneeIds) -> {
+            int updated = portfolio == Portfolio.LEADS
+                    ? leadRepository.bulkReassign(assigneeIds, assignee, now)
+                    : contactRepository.bulkReassign(assigneeIds, assignee, now);
+            if (updated != assigneeIds.size()) {
+                // Lignes verrouillées : un écart signale une écriture qui a contourné le verrou
+                throw new OptimisticLockingFailureException(
+                        updated + " lignes modifiées sur " + assigneeIds.size() + " attendues");
+            }
+        });
+
+        versions.forEach((id, version) -> eventPublisher.publishEvent(new EntityChangedEvent(
+                portfolio.entityType, id, version + 1, EntityChangedEvent.ChangeKind.UPDATED)));
+        log.debug("Paquet {}: {} lignes transférées depuis {}", portfolio, versions.size(), fromUser);
+        return versions.keySet();
+    }
+
+    /**
+     * Une seule notification par destinataire ; un appel par message distinct
+     * (en tour à tour, les parts sont presque égales : un ou deux appels au total)
+     */
+    private void notifyAssignees(String fromUser, Map<String, Share> shares) {
+        Map<String, List<String>> recipientsByMessage = new LinkedHashMap<>();
+        shares.forEach((assignee, share) -> {
+            if (share.leads + share.contacts > 0) {
+                String message = "Portefeuille de " + fromUser + " : " + share.leads + " lead(s) et "
+                        + share.contacts + " contact(s) vous ont été réassignés";
+                recipientsByMessage.computeIfAbsent(message, key -> new ArrayList<>()).add(assignee);
+            }
+        });
+        recipientsByMessage.forEach((message, recipients) ->
+                notifier.notifyUsers(recipients, message, NotificationType.TASK_ASSIGNED));
+    }
+
+    private enum Portfolio {
+        LEADS(Lead.class),
+        CONTACTS(Contact.class);
+
+        private final Class<? extends BaseEntity> entityType;
+
+        Portfolio(Class<? extends BaseEntity> entityType) {
+            this.entityType = entityType;
+        }
+    }
+
+    /**
+     * Part d'un destinataire, complétée après le commit de chaque paquet
+     */
+    private static final class Share {
+        private int leads;
+        private int contacts;
+        private double leadWeight;
+        private double contactWeight;
+
+        private void credit(Portfolio portfolio, double weight) {
+            if (portfolio == Portfolio.LEADS) {
+                leads++;
+                leadWeight += weight;
+            } else {
+                contacts++;
+                contactWeight += weight;
+            }
+        }
+    }
+
+    private static final class Tally {
+        private int skipped;
+        private int failed;
+    }
+}
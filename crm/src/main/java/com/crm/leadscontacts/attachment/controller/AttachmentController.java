@@ -0,0 +1,100 @@
+package com.crm.leadscontacts.attachment.controller;
+
+import com.crm.leadscontacts.attachment.domain.AttachmentContent;
+import com.crm.leadscontacts.attachment.dto.AttachmentDTO;
+import com.crm.leadscontacts.attachment.service.IAttachmentService;
+import com.crm.leadscontacts.shared.domain.AttachmentOwner;
+import com.crm.leadscontacts.shared.http.ETags;
+import com.crm.leadscontacts.shared.http.FileDownloads;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Pièces jointes des leads et contacts : /api/leads/{id}/attachments, /api/contacts/{id}/attachments
+ *
+ * Envoi en flux : corps brut (application/octet-stream, le plus économe) ou multipart/form-data.
+ * Téléchargement : Range / If-Range, ETag fort dérivé de l'empreinte du contenu.
+ */
+@RestController
+@RequestMapping("/api/{owner:leads|contacts}/{ownerId}/attachments")
+@RequiredArgsConstructor
+@Tag(name = "Pièces jointes", description = "Fichiers rattachés aux leads et contacts")
+public class AttachmentController {
+
+    private final IAttachmentService attachmentService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Ajouter une pièce jointe (corps brut, reçu en flux sans mise en mémoire)")
+    public ResponseEntity<AttachmentDTO> uploadRaw(
+            @PathVariable String owner,
+            @PathVariable Long ownerId,
+            @Parameter(description = "Nom du fichier") @RequestParam String fileName,
+            @Parameter(description = "Type MIME, déduit de l'extension si absent") @RequestParam(required = false) String fileType,
+            @RequestParam(required = false) String description,
+            HttpServletRequest request) throws IOException {
+        // Le corps n'est lu qu'ici, par blocs, directement depuis la connexion
+        try (InputStream content = request.getInputStream()) {
+            AttachmentDTO created = attachmentService.upload(AttachmentOwner.fromPathSegment(owner), ownerId,
+                    fileName, fileType, description, content);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        }
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Ajouter une pièce jointe (formulaire multipart)")
+    public ResponseEntity<AttachmentDTO> uploadMultipart(
+            @PathVariable String owner,
+            @PathVariable Long ownerId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String description) throws IOException {
+        // La partie est déjà sur disque (conteneur) : relue en flux, jamais via getBytes()
+        try (InputStream content = file.getInputStream()) {
+            AttachmentDTO created = attachmentService.upload(AttachmentOwner.fromPathSegment(owner), ownerId,
+                    file.getOriginalFilename(), file.getContentType(), description, content);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        }
+    }
+
+    @GetMapping
+    @Operation(summary = "Lister les pièces jointes")
+    public ResponseEntity<List<AttachmentDTO>> getAttachments(@PathVariable String owner, @PathVariable Long ownerId) {
+        return ResponseEntity.ok(attachmentService.getAttachments(AttachmentOwner.fromPathSegment(owner), ownerId));
+    }
+
+    @GetMapping("/{attachmentId}/content")
+    @Operation(summary = "Télécharger une pièce jointe (requêtes partielles Range acceptées)")
+    public void download(
+            @PathVariable String owner,
+            @PathVariable Long ownerId,
+            @PathVariable Long attachmentId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        AttachmentContent content = attachmentService.getContent(
+                AttachmentOwner.fromPathSegment(owner), ownerId, attachmentId);
+        FileDownloads.write(request, response, content.file(), content.size(), content.fileType(),
+                content.fileName(), ETags.ofContent(content.contentHash()));
+    }
+
+    @DeleteMapping("/{attachmentId}")
+    @Operation(summary = "Supprimer une pièce jointe (soft delete)")
+    public ResponseEntity<Void> deleteAttachment(
+            @PathVariable String owner,
+            @PathVariable Long ownerId,
+            @PathVariable Long attachmentId) {
+        attachmentService.deleteAttachment(AttachmentOwner.fromPathSegment(owner), ownerId, attachmentId);
+        return ResponseEntity.noContent().build();
+    }
+}
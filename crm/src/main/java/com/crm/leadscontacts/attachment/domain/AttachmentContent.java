@@ -0,0 +1,9 @@
+package com.crm.leadscontacts.attachment.domain;
+
+import java.nio.file.Path;
+
+/**
+ * Fichier à servir pour un téléchargement (métadonnées lues, aucune connexion conservée)
+ */
+public record AttachmentContent(Path file, String fileName, String fileType, long size, String contentHash) {
+}
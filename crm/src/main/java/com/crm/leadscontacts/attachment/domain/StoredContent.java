@@ -0,0 +1,11 @@
+package com.crm.leadscontacts.attachment.domain;
+
+/**
+ * Contenu écrit dans le stockage adressé par empreinte
+ *
+ * @param contentHash   empreinte SHA-256 en hexadécimal
+ * @param storagePath   chemin relatif à la racine du stockage
+ * @param deduplicated  true si un contenu identique était déjà stocké (rien n'a été conservé de l'envoi)
+ */
+public record StoredContent(String contentHash, long size, String storagePath, boolean deduplicated) {
+}
@@ -0,0 +1,66 @@
+package com.crm.leadscontacts.attachment.dto;
+
+import com.crm.leadscontacts.shared.domain.AttachmentOwner;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Schema(name = "AttachmentDTO", description = "Métadonnées d'une pièce jointe (le contenu est servi par /content)")
+public class AttachmentDTO {
+
+    @Schema(description = "Identifiant de la pièce jointe", example = "7")
+    private Long id;
+
+    @Schema(description = "Type de l'entité propriétaire", example = "LEAD")
+    private AttachmentOwner ownerType;
+
+    @Schema(description = "Identifiant du lead ou du contact", example = "15")
+    private Long ownerId;
+
+    @Schema(description = "Nom du fichier", example = "proposition-commerciale.pdf")
+    private String fileName;
+
+    @Schema(description = "Type MIME", example = "application/pdf")
+    private String fileType;
+
+    @Schema(description = "Taille en octets", example = "20971520")
+    private Long fileSize;
+
+    @Schema(description = "Empreinte SHA-256 du contenu (hexadécimal)")
+    private String contentHash;
+
+    @Schema(description = "Description libre", example = "Proposition v2")
+    private String description;
+
+    @Schema(description = "Date d'envoi")
+    private LocalDateTime uploadedAt;
+
+    /**
+     * Constructeur de projection JPQL ({@code IAttachmentRepository.findDtoByOwner}) : l'ordre des paramètres
+     * est celui du {@code SELECT new} et ne dépend pas de l'ordre de déclaration des champs.
+     */
+    @Builder
+    public AttachmentDTO(Long id,
+                         AttachmentOwner ownerType,
+                         Long ownerId,
+                         String fileName,
+                         String fileType,
+                         Long fileSize,
+                         String contentHash,
+                         String description,
+                         LocalDateTime uploadedAt) {
+        this.id = id;
+        this.ownerType = ownerType;
+        this.ownerId = ownerId;
+        this.fileName = fileName;
+        this.fileType = fileType;
+        this.fileSize = fileSize;
+        this.contentHash = contentHash;
+        this.description = description;
+        this.uploadedAt = uploadedAt;
+    }
+}
@@ -0,0 +1,29 @@
+package com.crm.leadscontacts.attachment.repository;
+
+import com.crm.leadscontacts.attachment.dto.AttachmentDTO;
+import com.crm.leadscontacts.shared.domain.Attachment;
+import com.crm.leadscontacts.shared.domain.AttachmentOwner;
+import com.crm.leadscontacts.shared.domain.IRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository pour les pièces jointes (métadonnées ; le contenu est dans ContentAddressedStore)
+ *
+ * Design Pattern: Repository Pattern
+ */
+@Repository
+public interface IAttachmentRepository extends IRepository<Attachment> {
+
+    // Projection DTO pour les listes, index (owner_type, owner_id, active, id)
+    @Query("SELECT new com.crm.leadscontacts.attachment.dto.AttachmentDTO(a.id, a.ownerType, a.ownerId, a.fileName, " +
+            "a.fileType, a.fileSize, a.contentHash, a.description, a.uploadedAt) FROM Attachment a " +
+            "WHERE a.ownerType = :ownerType AND a.ownerId = :ownerId AND a.active = true ORDER BY a.id")
+    List<AttachmentDTO> findDtoByOwner(@Param("ownerType") AttachmentOwner ownerType, @Param("ownerId") Long ownerId);
+
+    Optional<Attachment> findByIdAndOwnerTypeAndOwnerIdAndActiveTrue(Long id, AttachmentOwner ownerType, Long ownerId);
+}
@@ -0,0 +1,171 @@
+package com.crm.leadscontacts.attachment.service;
+
+import com.crm.leadscontacts.attachment.domain.AttachmentContent;
+import com.crm.leadscontacts.attachment.domain.StoredContent;
+import com.crm.leadscontacts.attachment.dto.AttachmentDTO;
+import com.crm.leadscontacts.attachment.repository.IAttachmentRepository;
+import com.crm.leadscontacts.contact.repository.IContactRepository;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.shared.domain.Attachment;
+import com.crm.leadscontacts.shared.domain.AttachmentOwner;
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import com.crm.leadscontacts.shared.handlers.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Implémentation du service des pièces jointes
+ *
+ * Aucune transaction n'est ouverte pendant la réception ou l'envoi d'un fichier : une connexion
+ * n'est empruntée que pour vérifier le propriétaire puis enregistrer les métadonnées.
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: SRP - métadonnées des pièces jointes (contenu délégué à ContentAddressedStore)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Timed(value = "crm.service", histogram = true)
+public class AttachmentServiceImpl implements IAttachmentService {
+
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+
+    private final IAttachmentRepository attachmentRepository;
+    private final ILeadRepository leadRepository;
+    private final IContactRepository contactRepository;
+    private final ContentAddressedStore store;
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // pas de connexion pendant la réception
+    public AttachmentDTO upload(AttachmentOwner ownerType, Long ownerId, String fileName, String fileType,
+                                String description, InputStream content) {
+        requireOwner(ownerType, ownerId);
+        String name = sanitizeFileName(fileName);
+        String type = resolveFileType(name, fileType);
+
+        StoredContent stored;
+        try {
+            stored = store.store(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la réception du fichier " + name, e);
+        }
+
+        Attachment attachment = Attachment.builder()
+                .ownerType(ownerType)
+                .ownerId(ownerId)
+                .fileName(name)
+                .fileType(type)
+                .fileSize(stored.size())
+                .storagePath(stored.storagePath())
+                .contentHash(stored.contentHash())
+                .description(description)
+                .build();
+        Attachment saved = attachmentRepository.save(attachment);
+        log.info("Pièce jointe {} ajoutée à {} {} ({} octets{})", saved.getId(), ownerType, ownerId,
+                stored.size(), stored.deduplicated() ? ", contenu déjà stocké" : "");
+
+        return mapToDTO(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AttachmentDTO> getAttachments(AttachmentOwner ownerType, Long ownerId) {
+        requireOwner(ownerType, ownerId);
+        return attachmentRepository.findDtoByOwner(ownerType, ownerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AttachmentContent getContent(AttachmentOwner ownerType, Long ownerId, Long attachmentId) {
+        Attachment attachment = findAttachmentOrThrow(ownerType, ownerId, attachmentId);
+        Path file = store.resolve(attachment.getStoragePath());
+        if (!Files.isReadable(file)) {
+            throw new IllegalStateException("Contenu de la pièce jointe " + attachmentId + " introuvable: " + file);
+        }
+        return new AttachmentContent(file, attachment.getFileName(), attachment.getFileType(),
+                attachment.getFileSize(), attachment.getContentHash());
+    }
+
+    @Override
+    public void deleteAttachment(AttachmentOwner ownerType, Long ownerId, Long attachmentId) {
+        Attachment attachment = findAttachmentOrThrow(ownerType, ownerId, attachmentId);
+        attachment.setActive(false);
+        attachmentRepository.save(attachment);
+        log.info("Pièce jointe {} supprimée de {} {}", attachmentId, ownerType, ownerId);
+    }
+
+    private void requireOwner(AttachmentOwner ownerType, Long ownerId) {
+        boolean exists = switch (ownerType) {
+            case LEAD -> leadRepository.existsByIdAndActiveTrue(ownerId);
+            case CONTACT -> contactRepository.existsByIdAndActiveTrue(ownerId);
+        };
+        if (!exists) {
+            throw new ResourceNotFoundException(ownerType.getResourceName(), ownerId);
+        }
+    }
+
+    private Attachment findAttachmentOrThrow(AttachmentOwner ownerType, Long ownerId, Long attachmentId) {
+        return attachmentRepository.findByIdAndOwnerTypeAndOwnerIdAndActiveTrue(attachmentId, ownerType, ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Pièce jointe", attachmentId));
+    }
+
+    /**
+     * Nom de fichier sans chemin (certains navigateurs envoient le chemin complet du poste client)
+     */
+    private static String sanitizeFileName(String fileName) {
+        String name = fileName == null ? "" : fileName.replaceAll(".*[/\\\\]", "").strip();
+        if (name.isEmpty()) {
+            throw new BusinessException("Le nom du fichier est obligatoire");
+        }
+        if (name.length() > MAX_FILE_NAME_LENGTH) {
+            throw new BusinessException("Le nom du fichier dépasse " + MAX_FILE_NAME_LENGTH + " caractères");
+        }
+        return name;
+    }
+
+    /**
+     * Type MIME déclaré, sinon déduit de l'extension
+     */
+    private static String resolveFileType(String fileName, String fileType) {
+        if (fileType == null || fileType.isBlank()
+                || MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(fileType)) {
+            return MediaTypeFactory.getMediaType(fileName)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                    .toString();
+        }
+        try {
+            return MediaType.parseMediaType(fileType).toString();
+        } catch (InvalidMediaTypeException e) {
+            throw new BusinessException("Type de fichier invalide: " + fileType);
+        }
+    }
+
+    private AttachmentDTO mapToDTO(Attachment attachment) {
+        return AttachmentDTO.builder()
+                .id(attachment.getId())
+                .ownerType(attachment.getOwnerType())
+                .ownerId(attachment.getOwnerId())
+                .fileName(attachment.getFileName())
+                .fileType(attachment.getFileType())
+                .fileSize(attachment.getFileSize())
+                .contentHash(attachment.getContentHash())
+                .description(attachment.getDescription())
+                .uploadedAt(attachment.getUploadedAt())
+                .build();
+    }
+}
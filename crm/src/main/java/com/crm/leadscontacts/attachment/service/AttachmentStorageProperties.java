@@ -0,0 +1,32 @@
+package com.crm.leadscontacts.attachment.service;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Paramètres du stockage des pièces jointes (préfixe crm.attachments)
+ */
+@Getter
+@Setter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "crm.attachments")
+public class AttachmentStorageProperties {
+
+    /**
+     * Répertoire local du stockage adressé par empreinte, obligatoire et sans valeur par défaut :
+     * les fichiers sont des données utilisateur, il doit survivre aux redémarrages (volume monté)
+     */
+    @NotBlank(message = "crm.attachments.storage-directory doit désigner un répertoire durable (volume monté)")
+    private String storageDirectory;
+
+    /**
+     * Taille maximale d'un fichier ; vérifiée pendant la réception, sans attendre la fin de l'envoi
+     */
+    private DataSize maxFileSize = DataSize.ofMegabytes(50);
+}
@@ -0,0 +1,154 @@
+package com.crm.leadscontacts.attachment.service;
+
+import com.crm.leadscontacts.attachment.domain.StoredContent;
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Stockage local adressé par empreinte : un contenu est écrit une seule fois, sous objects/ab/cd/{sha256}
+ *
+ * Le flux reçu est copié par blocs dans un fichier temporaire tout en calculant l'empreinte :
+ * la mémoire utilisée ne dépend pas de la taille du fichier. Le fichier temporaire est ensuite
+ * renommé (atomiquement) vers son emplacement définitif, ou supprimé si ce contenu existe déjà.
+ * Un fichier présent sous objects/ est donc toujours complet.
+ *
+ * Les contenus ne sont jamais supprimés ici : plusieurs pièces jointes peuvent partager le même fichier.
+ *
+ * Principe SOLID: SRP - écriture et localisation des contenus, sans métadonnées
+ */
+@Slf4j
+@Component
+public class ContentAddressedStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String OBJECTS = "objects";
+    private static final String INCOMING = "incoming";
+
+    private final Path root;
+    private final Path incoming;
+    private final long maxFileSize;
+
+    private final Counter stored;
+    private final Counter deduplicated;
+    private final DistributionSummary uploadedBytes;
+
+    public ContentAddressedStore(AttachmentStorageProperties properties, MeterRegistry meterRegistry) {
+        this.root = Path.of(properties.getStorageDirectory()).toAbsolutePath().normalize();
+        this.incoming = root.resolve(INCOMING);
+        this.maxFileSize = properties.getMaxFileSize().toBytes();
+        if (root.startsWith(Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize())) {
+            log.warn("Pièces jointes stockées dans le répertoire temporaire ({}) : contenus perdus au nettoyage " +
+                    "ou au redémarrage du conteneur", root);
+        }
+        try {
+            Files.createDirectories(root.resolve(OBJECTS));
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Répertoire des pièces jointes inaccessible: " + root, e);
+        }
+
+        this.stored = Counter.builder("crm.attachments.uploads")
+                .tag("outcome", "stored")
+                .description("Contenus reçus et conservés")
+                .register(meterRegistry);
+        this.deduplicated = Counter.builder("crm.attachments.uploads")
+                .tag("outcome", "deduplicated")
+                .description("Contenus reçus déjà présents dans le stockage")
+                .register(meterRegistry);
+        this.uploadedBytes = DistributionSummary.builder("crm.attachments.upload.size")
+                .baseUnit("bytes")
+                .description("Taille des fichiers reçus")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Copie le flux dans le stockage ; le flux n'est pas fermé
+     *
+     * @throws MaxUploadSizeExceededException dès que la taille maximale est dépassée
+     */
+    public StoredContent store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            long size = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxFileSize) {
+                        throw new MaxUploadSizeExceededException(maxFileSize);
+                    }
+                    digest.update(buffer, 0, read);
+                    wrapper.clear().limit(read);
+                    while (wrapper.hasRemaining()) {
+                        channel.write(wrapper);
+                    }
+                }
+                // Contenu durable avant le renommage : le chemin définitif ne désigne jamais un fichier partiel
+                channel.force(false);
+            }
+            if (size == 0) {
+                throw new BusinessException("Le fichier envoyé est vide");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String storagePath = OBJECTS + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+            Path target = root.resolve(storagePath);
+            uploadedBytes.record(size);
+
+            if (Files.exists(target)) {
+                deduplicated.increment();
+                return new StoredContent(hash, size, storagePath, true);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Même contenu reçu en parallèle par une autre requête
+                deduplicated.increment();
+                return new StoredContent(hash, size, storagePath, true);
+            }
+            stored.increment();
+            log.debug("Contenu {} stocké ({} octets)", hash, size);
+            return new StoredContent(hash, size, storagePath, false);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Fichier correspondant à un chemin enregistré par store()
+     */
+    public Path resolve(String storagePath) {
+        Path file = root.resolve(storagePath).normalize();
+        if (!file.startsWith(root.resolve(OBJECTS))) {
+            throw new IllegalStateException("Chemin de pièce jointe hors du stockage: " + storagePath);
+        }
+        return file;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.crm.leadscontacts.attachment.service;
+
+import com.crm.leadscontacts.attachment.domain.AttachmentContent;
+import com.crm.leadscontacts.attachment.dto.AttachmentDTO;
+import com.crm.leadscontacts.shared.domain.AttachmentOwner;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Interface du service des pièces jointes de leads et contacts
+ *
+ * Design Pattern: Service Layer Pattern
+ */
+public interface IAttachmentService {
+
+    /**
+     * Enregistre un fichier reçu en flux ; le contenu n'est jamais chargé entièrement en mémoire
+     */
+    AttachmentDTO upload(AttachmentOwner ownerType, Long ownerId, String fileName, String fileType,
+                         String description, InputStream content);
+
+    List<AttachmentDTO> getAttachments(AttachmentOwner ownerType, Long ownerId);
+
+    /**
+     * Fichier à servir pour un téléchargement
+     */
+    AttachmentContent getContent(AttachmentOwner ownerType, Long ownerId, Long attachmentId);
+
+    /**
+     * Suppression logique ; le contenu reste stocké (partagé avec d'autres pièces jointes identiques)
+     */
+    void deleteAttachment(AttachmentOwner ownerType, Long ownerId, Long attachmentId);
+}
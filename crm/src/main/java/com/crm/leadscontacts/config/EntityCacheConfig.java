@@ -0,0 +1,29 @@
+package com.crm.leadscontacts.config;
+
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.contact.dto.ContactDTO;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.dto.LeadDTO;
+import com.crm.leadscontacts.shared.cache.EntityCacheProperties;
+import com.crm.leadscontacts.shared.cache.VersionedEntityCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Déclaration des caches de lecture des leads et contacts
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    @Bean
+    public VersionedEntityCache<LeadDTO> leadCache(EntityCacheProperties properties) {
+        return new VersionedEntityCache<>("leads", Lead.class,
+                properties.getMaximumSize(), properties.getTimeToLive());
+    }
+
+    @Bean
+    public VersionedEntityCache<ContactDTO> contactCache(EntityCacheProperties properties) {
+        return new VersionedEntityCache<>("contacts", Contact.class,
+                properties.getMaximumSize(), properties.getTimeToLive());
+    }
+}
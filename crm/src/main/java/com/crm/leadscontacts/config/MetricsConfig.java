@@ -0,0 +1,21 @@
+package com.crm.leadscontacts.config;
+
+import com.crm.leadscontacts.shared.metrics.RepositoryRowCountPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métriques applicatives complémentaires à celles de Spring Boot Actuator
+ * (HTTP, services @Timed, Hibernate, Hikari, repositories), exposées sur /actuator/prometheus
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static RepositoryRowCountPostProcessor repositoryRowCountPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryRowCountPostProcessor(meterRegistry);
+    }
+}
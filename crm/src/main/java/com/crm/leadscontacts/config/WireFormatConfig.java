@@ -0,0 +1,37 @@
+package com.crm.leadscontacts.config;
+
+import com.crm.leadscontacts.shared.wire.WireMappers;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Encodages binaires négociés par l'en-tête Accept (application/x-jackson-smile, application/cbor)
+ *
+ * JSON reste le premier convertisseur : Accept absent ou * / * renvoie toujours du JSON.
+ * Les convertisseurs Smile et CBOR enregistrés par défaut sont remplacés par ceux de WireMappers.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public SmileMapper smileMapper() {
+        return WireMappers.smile();
+    }
+
+    @Bean
+    public CBORMapper cborMapper() {
+        return WireMappers.cbor();
+    }
+
+    @Bean
+    public ServerHttpMessageConvertersCustomizer binaryWireFormats(SmileMapper smileMapper, CBORMapper cborMapper) {
+        return builder -> builder
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper))
+                .withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
@@ -4,13 +4,19 @@ import com.crm.leadscontacts.contact.service.IContactService;
 import com.crm.leadscontacts.contact.domain.ContactType;
 import com.crm.leadscontacts.contact.dto.ContactCreateDTO;
 import com.crm.leadscontacts.contact.dto.ContactDTO;
+import com.crm.leadscontacts.shared.export.ExportStreamer;
+import com.crm.leadscontacts.shared.http.ETags;
+import com.crm.leadscontacts.shared.pagination.CursorPage;
+import com.crm.leadscontacts.shared.sync.DeltaPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,6 +27,7 @@ import java.util.List;
 public class ContactController {
 
     private final IContactService contactService;
+    private final ExportStreamer exportStreamer;
 
     @PostMapping
     @Operation(summary = "Créer un nouveau contact")
@@ -31,28 +38,70 @@ public class ContactController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Obtenir un contact par ID")
-    public ResponseEntity<ContactDTO> getContactById(@PathVariable Long id) {
-        return ResponseEntity.ok(contactService.getContactById(id));
+    public ResponseEntity<ContactDTO> getContactById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 304 décidé sur la seule version, avant toute lecture complète ou sérialisation
+        if (ifNoneMatch != null) {
+            String current = ETags.ofVersion(contactService.getContactVersion(id));
+            if (ETags.matches(ifNoneMatch, current)) {
+                return ETags.notModified(current);
+            }
+        }
+        ContactDTO contact = contactService.getContactById(id);
+        return ETags.ok(ETags.ofVersion(contact.getVersion()), contact);
     }
 
     @GetMapping
-    @Operation(summary = "Lister tous les contacts")
-    public ResponseEntity<List<ContactDTO>> getAllContacts() {
-        return ResponseEntity.ok(contactService.getAllContacts());
+    @Operation(summary = "Lister les contacts actifs (pagination par curseur)")
+    public ResponseEntity<CursorPage<ContactDTO>> getAllContacts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Empreinte lue avant la page : une écriture concurrente ne peut que rendre l'ETag plus ancien
+        String etag = ETags.ofCollection(contactService.getActiveContactsVersion());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        return ETags.ok(etag, contactService.getContactsPage(cursor, size));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Synchronisation incrémentale des contacts (désactivés inclus, voir deletedIds)")
+    public ResponseEntity<DeltaPage<ContactDTO>> getContactChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(contactService.getContactChanges(since, size));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exporter tous les contacts actifs (NDJSON, Smile ou CBOR selon Accept, en flux)")
+    public ResponseEntity<StreamingResponseBody> exportContacts(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return exportStreamer.<ContactDTO>export("contacts", accept, contactService::streamActiveContacts);
     }
 
     @GetMapping("/type/{type}")
     @Operation(summary = "Filtrer par type de contact")
-    public ResponseEntity<List<ContactDTO>> getContactsByType(@PathVariable ContactType type) {
-        return ResponseEntity.ok(contactService.getContactsByType(type));
+    public ResponseEntity<List<ContactDTO>> getContactsByType(
+            @PathVariable ContactType type,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.ofCollection(contactService.getContactsByTypeVersion(type));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        return ETags.ok(etag, contactService.getContactsByType(type));
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Mettre à jour un contact")
+    @Operation(summary = "Mettre à jour un contact",
+            description = "If-Match (ETag du GET) optionnel : 412 si le contact a été modifié entre-temps")
     public ResponseEntity<ContactDTO> updateContact(
             @PathVariable Long id,
-            @Valid @RequestBody ContactCreateDTO updateDTO) {
-        return ResponseEntity.ok(contactService.updateContact(id, updateDTO));
+            @Valid @RequestBody ContactCreateDTO updateDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ContactDTO updated = contactService.updateContact(id, updateDTO, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.forRepresentation(ETags.ofVersion(updated.getVersion()))).body(updated);
     }
 
     @DeleteMapping("/{id}")
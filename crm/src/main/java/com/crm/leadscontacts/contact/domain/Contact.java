@@ -2,8 +2,10 @@ package com.crm.leadscontacts.contact.domain;
 
 import com.crm.leadscontacts.shared.domain.Address;
 import com.crm.leadscontacts.shared.domain.BaseEntity;
+import com.crm.leadscontacts.shared.sync.SyncedEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -13,13 +15,22 @@ import java.time.LocalDateTime;
  * Principe SOLID: SRP - gère uniquement les données d'un contact
  */
 @Entity
-@Table(name = "contacts")
+// Index créés par les migrations (db/migration), repris ici pour les schémas générés
+@Table(name = "contacts", indexes = {
+        @Index(name = "idx_contacts_type_active_interaction", columnList = "type, active, lastInteractionDate"),
+        @Index(name = "idx_contacts_assigned_to", columnList = "assignedTo, id"),
+        @Index(name = "idx_contacts_company", columnList = "company"),
+        @Index(name = "idx_contacts_last_interaction_date", columnList = "lastInteractionDate"),
+        @Index(name = "idx_contacts_active_updated", columnList = "active, updatedAt"),
+        @Index(name = "idx_contacts_updated_at", columnList = "updatedAt, id"),
+        @Index(name = "idx_contacts_change_seq", columnList = "changeSeq, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Contact extends BaseEntity {
+public class Contact extends BaseEntity implements SyncedEntity {
     @Column(nullable = false)
     private String firstName;
 
@@ -51,6 +62,14 @@ public class Contact extends BaseEntity {
     @Column(nullable = false)
     private String assignedTo;
 
+    /**
+     * Séquence de la dernière transaction ayant écrit la ligne (ChangeSequencer), posée juste avant
+     * son commit : jamais écrite par Hibernate
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long changeSeq;
+
     private Double lifetimeValue;
 
     @PrePersist
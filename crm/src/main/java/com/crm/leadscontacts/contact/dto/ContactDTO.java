@@ -8,9 +8,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Setter
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 @Schema(name = "ContactDTO", description = "Représentation complète d'un contact")
 public class ContactDTO {
 
@@ -58,4 +56,46 @@ public class ContactDTO {
 
     @Schema(description = "Date de la dernière mise à jour", example = "2024-12-10T18:30:00")
     private LocalDateTime updatedAt;
+
+    @Schema(description = "Version (verrouillage optimiste), reprise dans l'ETag", example = "3")
+    private Long version;
+
+    /**
+     * Constructeur de projection JPQL ({@code IContactRepository.SELECT_CONTACT_DTO}) : l'ordre des paramètres
+     * est celui du {@code SELECT new} et ne dépend pas de l'ordre de déclaration des champs.
+     */
+    @Builder
+    public ContactDTO(Long id,
+                      String firstName,
+                      String lastName,
+                      String email,
+                      String phone,
+                      String company,
+                      String jobTitle,
+                      ContactType type,
+                      Address address,
+                      String notes,
+                      String assignedTo,
+                      LocalDateTime lastInteractionDate,
+                      Double lifetimeValue,
+                      LocalDateTime createdAt,
+                      LocalDateTime updatedAt,
+                      Long version) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.company = company;
+        this.jobTitle = jobTitle;
+        this.type = type;
+        this.address = address;
+        this.notes = notes;
+        this.assignedTo = assignedTo;
+        this.lastInteractionDate = lastInteractionDate;
+        this.lifetimeValue = lifetimeValue;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
 }
@@ -0,0 +1,19 @@
+package com.crm.leadscontacts.contact.repository;
+
+import com.crm.leadscontacts.contact.domain.Contact;
+
+import java.util.List;
+
+/**
+ * Opérations en lot sur les contacts, hors du cycle d'insertion ligne à ligne de JPA
+ * (la génération IDENTITY empêche Hibernate de regrouper les INSERT)
+ *
+ * Design Pattern: Repository Pattern (fragment personnalisé)
+ */
+public interface IContactBatchRepository {
+
+    /**
+     * Insère les contacts en lots JDBC et renseigne leur ID généré
+     */
+    void insertBatch(List<Contact> contacts);
+}
@@ -0,0 +1,100 @@
+package com.crm.leadscontacts.contact.repository;
+
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.contact.domain.ContactType;
+import com.crm.leadscontacts.shared.domain.Address;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation JDBC du fragment IContactBatchRepository
+ * Reproduit les valeurs par défaut de Contact.onCreate() et de l'audit JPA
+ */
+@RequiredArgsConstructor
+public class IContactBatchRepositoryImpl implements IContactBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO contacts (" +
+            "first_name, last_name, email, phone, company, job_title, type, " +
+            "street, city, state, zip_code, country, notes, last_interaction_date, assigned_to, lifetime_value, " +
+            "created_at, updated_at, version, active) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<Contact> contacts) {
+        if (contacts.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        contacts.forEach(contact -> applyDefaults(contact, now));
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, contacts.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return contacts.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < contacts.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            contacts.get(i).setId(id.longValue());
+        }
+    }
+
+    private void applyDefaults(Contact contact, LocalDateTime now) {
+        if (contact.getType() == null) contact.setType(ContactType.LEAD);
+        if (contact.getLastInteractionDate() == null) contact.setLastInteractionDate(now);
+        if (contact.getLifetimeValue() == null) contact.setLifetimeValue(0.0);
+        if (contact.getActive() == null) contact.setActive(true);
+        contact.setCreatedAt(now);
+        contact.setUpdatedAt(now);
+        contact.setVersion(0L);
+    }
+
+    private void bind(PreparedStatement ps, Contact contact) throws SQLException {
+        Address address = contact.getAddress() != null ? contact.getAddress() : new Address();
+
+        ps.setString(1, contact.getFirstName());
+        ps.setString(2, contact.getLastName());
+        ps.setString(3, contact.getEmail());
+        ps.setString(4, contact.getPhone());
+        ps.setString(5, contact.getCompany());
+        ps.setString(6, contact.getJobTitle());
+        ps.setString(7, contact.getType().name());
+        ps.setString(8, address.getStreet());
+        ps.setString(9, address.getCity());
+        ps.setString(10, address.getState());
+        ps.setString(11, address.getZipCode());
+        ps.setString(12, address.getCountry());
+        ps.setString(13, contact.getNotes());
+        ps.setTimestamp(14, Timestamp.valueOf(contact.getLastInteractionDate()));
+        ps.setString(15, contact.getAssignedTo());
+        ps.setDouble(16, contact.getLifetimeValue());
+        ps.setTimestamp(17, Timestamp.valueOf(contact.getCreatedAt()));
+        ps.setTimestamp(18, Timestamp.valueOf(contact.getUpdatedAt()));
+        ps.setLong(19, contact.getVersion());
+        ps.setBoolean(20, contact.getActive());
+    }
+}
@@ -1,20 +1,45 @@
 package com.crm.leadscontacts.contact.repository;
 
+import com.crm.leadscontacts.analytics.domain.ContactAnalyticsRow;
+import com.crm.leadscontacts.assignment.domain.AssignmentRow;
+import com.crm.leadscontacts.assignment.domain.ReassignmentCandidate;
 import com.crm.leadscontacts.contact.domain.Contact;
 import com.crm.leadscontacts.contact.domain.ContactType;
+import com.crm.leadscontacts.contact.dto.ContactDTO;
+import com.crm.leadscontacts.search.domain.SearchDocument;
+import com.crm.leadscontacts.shared.domain.CollectionVersion;
 import com.crm.leadscontacts.shared.domain.IRepository;
+import com.crm.leadscontacts.shared.sync.ChangedRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository pour les Contacts
  * Design Pattern: Repository Pattern
  */
 @Repository
-public interface IContactRepository extends IRepository<Contact> {
+public interface IContactRepository extends IRepository<Contact>, IContactBatchRepository {
+
+    // Projection DTO pour les lectures : pas d'entité gérée, pas de snapshot de dirty checking
+    String CONTACT_DTO = "new com.crm.leadscontacts.contact.dto.ContactDTO(" +
+            "c.id, c.firstName, c.lastName, c.email, c.phone, c.company, c.jobTitle, c.type, c.address, " +
+            "c.notes, c.assignedTo, c.lastInteractionDate, c.lifetimeValue, c.createdAt, c.updatedAt, c.version)";
+
+    String SELECT_CONTACT_DTO = "SELECT " + CONTACT_DTO + " FROM Contact c ";
 
     Optional<Contact> findByEmail(String email);
 
@@ -29,4 +54,110 @@ public interface IContactRepository extends IRepository<Contact> {
     List<Contact> findByTypeAndActiveTrueOrderByLastInteractionDateDesc(ContactType type);
 
     long countByType(ContactType type);
+
+    // Lectures en projection DTO (mêmes critères que les méthodes sur entités)
+    @Query(SELECT_CONTACT_DTO + "WHERE c.active = true")
+    List<ContactDTO> findDtoByActiveTrue();
+
+    @Query(SELECT_CONTACT_DTO + "WHERE c.type = :type")
+    List<ContactDTO> findDtoByType(@Param("type") ContactType type);
+
+    @Query(SELECT_CONTACT_DTO + "WHERE c.assignedTo = :userId")
+    List<ContactDTO> findDtoByAssignedTo(@Param("userId") String userId);
+
+    @Query(SELECT_CONTACT_DTO + "WHERE c.active = true AND c.id > :afterId ORDER BY c.id")
+    List<ContactDTO> findDtoByActiveTrueAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Synchronisation incrémentale : actifs et désactivés, dans l'ordre des commits (change_seq, id),
+    // parcours de plage sur l'index (change_seq, id) ; sans modification, une seule sonde d'index vide
+    @Query("SELECT new com.crm.leadscontacts.shared.sync.ChangedRow(c.changeSeq, " + CONTACT_DTO + ") FROM Contact c " +
+            "WHERE c.changeSeq >= :sinceSeq AND (c.changeSeq > :sinceSeq OR c.id > :afterId) " +
+            "ORDER BY c.changeSeq, c.id")
+    List<ChangedRow<ContactDTO>> findDtoChangedAfter(@Param("sinceSeq") Long sinceSeq,
+                                                     @Param("afterId") Long afterId,
+                                                     Limit limit);
+
+    @Query("SELECT c.id FROM Contact c WHERE c.id IN :ids AND c.active = false")
+    List<Long> findInactiveIdsIn(@Param("ids") Collection<Long> ids);
+
+    // Requêtes conditionnelles (ETag) : version / empreinte lues sans charger les lignes
+    String SELECT_CONTACT_COLLECTION_VERSION =
+            "SELECT new com.crm.leadscontacts.shared.domain.CollectionVersion(COUNT(c), MAX(c.updatedAt)) FROM Contact c ";
+
+    @Query("SELECT c.version FROM Contact c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_CONTACT_COLLECTION_VERSION + "WHERE c.active = true")
+    CollectionVersion findActiveCollectionVersion();
+
+    @Query(SELECT_CONTACT_COLLECTION_VERSION + "WHERE c.type = :type")
+    CollectionVersion findCollectionVersionByType(@Param("type") ContactType type);
+
+    // Conversion de leads en lot : une seule requête IN par paquet
+    @Query("SELECT c.email FROM Contact c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Détection de doublons floue : colonnes utiles uniquement, par pages keyset
+    @Query("SELECT c.id, c.firstName, c.lastName, c.email, c.phone, c.company FROM Contact c " +
+            "WHERE c.active = true AND c.id > :afterId ORDER BY c.id")
+    List<Object[]> findDuplicateScanRows(@Param("afterId") Long afterId, Limit limit);
+
+    // Export en flux : curseur JDBC lu par lots, projection DTO
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SELECT_CONTACT_DTO + "WHERE c.active = true ORDER BY c.id")
+    Stream<ContactDTO> streamDtoByActiveTrue();
+
+    // Index de recherche : colonnes indexées uniquement
+    String SELECT_SEARCH_DOCUMENT = "SELECT new com.crm.leadscontacts.search.domain.SearchDocument(" +
+            "c.id, c.firstName, c.lastName, c.email, c.company, c.jobTitle, c.notes, c.active, c.updatedAt) " +
+            "FROM Contact c ";
+
+    @Query(SELECT_SEARCH_DOCUMENT + "WHERE c.id IN :ids")
+    List<SearchDocument> findSearchDocumentsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_SEARCH_DOCUMENT + "WHERE c.active = true AND c.id > :afterId ORDER BY c.id")
+    List<SearchDocument> findActiveSearchDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Rattrapage après redémarrage : actifs et désactivés, par pages keyset (updatedAt, id) ;
+    // la borne updatedAt >= :since permet un parcours de plage sur l'index (updated_at, id)
+    @Query(SELECT_SEARCH_DOCUMENT + "WHERE c.updatedAt >= :since AND (c.updatedAt > :since OR c.id > :afterId) " +
+            "ORDER BY c.updatedAt, c.id")
+    List<SearchDocument> findSearchDocumentsUpdatedAfter(@Param("since") LocalDateTime since,
+                                                         @Param("afterId") Long afterId,
+                                                         Limit limit);
+
+    // Instantané analytique : chargement complet par pages d'id, puis rafraîchissement keyset (updatedAt, id)
+    String SELECT_ANALYTICS_ROW = "SELECT new com.crm.leadscontacts.analytics.domain.ContactAnalyticsRow(" +
+            "c.id, c.type, c.lifetimeValue, c.assignedTo, c.company, c.createdAt, c.active, c.updatedAt) " +
+            "FROM Contact c ";
+
+    @Query(SELECT_ANALYTICS_ROW + "WHERE c.active = true AND c.id > :afterId ORDER BY c.id")
+    List<ContactAnalyticsRow> findActiveAnalyticsRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SELECT_ANALYTICS_ROW + "WHERE c.updatedAt >= :since AND (c.updatedAt > :since OR c.id > :afterId) " +
+            "ORDER BY c.updatedAt, c.id")
+    List<ContactAnalyticsRow> findAnalyticsRowsUpdatedAfter(@Param("since") LocalDateTime since,
+                                                            @Param("afterId") Long afterId,
+                                                            Limit limit);
+
+    // Transfert de portefeuille : plan calculé sur (id, valeur) des contacts actifs, puis UPDATE ensemblistes par destinataire
+    @Query("SELECT new com.crm.leadscontacts.assignment.domain.ReassignmentCandidate(c.id, c.lifetimeValue) " +
+            "FROM Contact c WHERE c.assignedTo = :userId AND c.active = true ORDER BY c.id")
+    List<ReassignmentCandidate> findReassignmentCandidates(@Param("userId") String userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.crm.leadscontacts.assignment.domain.AssignmentRow(c.id, c.version) " +
+            "FROM Contact c WHERE c.id IN :ids AND c.assignedTo = :userId AND c.active = true")
+    List<AssignmentRow> findAssignmentRowsForUpdate(@Param("ids") Collection<Long> ids,
+                                                    @Param("userId") String userId);
+
+    // UPDATE ensembliste : ni audit ni listeners Hibernate, version et updatedAt sont mis à jour ici
+    @Modifying
+    @Query("UPDATE Contact c SET c.assignedTo = :assignee, c.updatedAt = :now, c.version = c.version + 1 " +
+            "WHERE c.id IN :ids")
+    int bulkReassign(@Param("ids") Collection<Long> ids, @Param("assignee") String assignee,
+                     @Param("now") LocalDateTime now);
 }
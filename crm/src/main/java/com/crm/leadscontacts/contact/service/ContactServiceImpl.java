@@ -5,15 +5,28 @@ import com.crm.leadscontacts.contact.domain.ContactType;
 import com.crm.leadscontacts.contact.dto.ContactCreateDTO;
 import com.crm.leadscontacts.contact.dto.ContactDTO;
 import com.crm.leadscontacts.contact.repository.IContactRepository;
+import com.crm.leadscontacts.shared.cache.Versioned;
+import com.crm.leadscontacts.shared.cache.VersionedEntityCache;
+import com.crm.leadscontacts.shared.datasource.ReadRoutingContext;
+import com.crm.leadscontacts.shared.domain.CollectionVersion;
 import com.crm.leadscontacts.shared.handlers.BusinessException;
+import com.crm.leadscontacts.shared.handlers.PreconditionFailedException;
 import com.crm.leadscontacts.shared.handlers.ResourceNotFoundException;
+import com.crm.leadscontacts.shared.pagination.CursorPage;
+import com.crm.leadscontacts.shared.pagination.KeysetCursor;
+import com.crm.leadscontacts.shared.sync.DeltaPage;
+import com.crm.leadscontacts.shared.sync.SyncToken;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implémentation du service Contact
@@ -24,9 +37,11 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "crm.service", histogram = true)
 public class ContactServiceImpl implements IContactService {
 
     private final IContactRepository contactRepository;
+    private final VersionedEntityCache<ContactDTO> contactCache;
 
     @Override
     public ContactDTO createContact(ContactCreateDTO createDTO) {
@@ -55,8 +70,12 @@ public class ContactServiceImpl implements IContactService {
     }
 
     @Override
-    public ContactDTO updateContact(Long id, ContactCreateDTO updateDTO) {
+    public ContactDTO updateContact(Long id, ContactCreateDTO updateDTO, Long expectedVersion) {
         Contact contact = findContactOrThrow(id);
+        // If-Match : la version attendue devient celle vérifiée par le verrou optimiste au flush
+        if (expectedVersion != null && !expectedVersion.equals(contact.getVersion())) {
+            throw new PreconditionFailedException("Contact", id, expectedVersion, contact.getVersion());
+        }
 
         contact.setFirstName(updateDTO.getFirstName());
         contact.setLastName(updateDTO.getLastName());
@@ -67,40 +86,94 @@ public class ContactServiceImpl implements IContactService {
         contact.setAddress(updateDTO.getAddress());
         contact.setNotes(updateDTO.getNotes());
 
-        Contact updated = contactRepository.save(contact);
+        // Flush immédiat : la version et la date renvoyées (ETag) sont celles écrites en base
+        Contact updated = contactRepository.saveAndFlush(contact);
         log.info("Contact {} mis à jour", id);
 
         return mapToDTO(updated);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)  // pas de connexion sur un succès du cache
     public ContactDTO getContactById(Long id) {
-        return mapToDTO(findContactOrThrow(id));
+        // Lecture via le cache ; invalidé après commit par EntityChangedEvent
+        return contactCache.get(id, () -> {
+            Contact contact = findContactOrThrow(id);
+            return new Versioned<>(contact.getVersion(), mapToDTO(contact));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Long getContactVersion(Long id) {
+        Long cached = contactCache.peekVersion(id);
+        if (cached != null) {
+            return cached;
+        }
+        return contactRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Contact", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion getActiveContactsVersion() {
+        return contactRepository.findActiveCollectionVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion getContactsByTypeVersion(ContactType type) {
+        return contactRepository.findCollectionVersionByType(type);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ContactDTO> getAllContacts() {
-        return contactRepository.findByActiveTrue().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return contactRepository.findDtoByActiveTrue();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ContactDTO> getContactsPage(String cursor, Integer size) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        List<ContactDTO> rows = contactRepository.findDtoByActiveTrueAfter(
+                after != null ? after.getId() : 0L, Limit.of(pageSize + 1));
+
+        return CursorPage.of(rows, pageSize, contact -> KeysetCursor.ofId(contact.getId()), contact -> contact);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DeltaPage<ContactDTO> getContactChanges(String since, Integer size) {
+        int pageSize = CursorPage.clampSize(size);
+        SyncToken from = SyncToken.decode(since);
+
+        // Primaire : un réplica (réplication parallèle) peut exposer une séquence avant la précédente
+        return ReadRoutingContext.onPrimary(() -> DeltaPage.of(
+                contactRepository.findDtoChangedAfter(from.getChangeSeq(), from.getId(), Limit.of(pageSize + 1)),
+                pageSize, from, ContactDTO::getId, contactRepository::findInactiveIdsIn));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamActiveContacts(Consumer<ContactDTO> consumer) {
+        try (Stream<ContactDTO> contacts = contactRepository.streamDtoByActiveTrue()) {
+            contacts.forEach(consumer);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ContactDTO> getContactsByType(ContactType type) {
-        return contactRepository.findByType(type).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return contactRepository.findDtoByType(type);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ContactDTO> getContactsByAssignedUser(String userId) {
-        return contactRepository.findByAssignedTo(userId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return contactRepository.findDtoByAssignedTo(userId);
     }
 
     @Override
@@ -139,6 +212,7 @@ public class ContactServiceImpl implements IContactService {
                 .lifetimeValue(contact.getLifetimeValue())
                 .createdAt(contact.getCreatedAt())
                 .updatedAt(contact.getUpdatedAt())
+                .version(contact.getVersion())
                 .build();
     }
 }
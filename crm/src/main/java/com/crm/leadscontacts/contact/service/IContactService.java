@@ -3,8 +3,12 @@ package com.crm.leadscontacts.contact.service;
 import com.crm.leadscontacts.contact.domain.ContactType;
 import com.crm.leadscontacts.contact.dto.ContactCreateDTO;
 import com.crm.leadscontacts.contact.dto.ContactDTO;
+import com.crm.leadscontacts.shared.domain.CollectionVersion;
+import com.crm.leadscontacts.shared.pagination.CursorPage;
+import com.crm.leadscontacts.shared.sync.DeltaPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface du service Contact
@@ -14,12 +18,36 @@ public interface IContactService {
 
     ContactDTO createContact(ContactCreateDTO createDTO);
 
-    ContactDTO updateContact(Long id, ContactCreateDTO updateDTO);
+    /**
+     * Mise à jour ; expectedVersion (If-Match) est comparée à la version courante, null = sans précondition
+     */
+    ContactDTO updateContact(Long id, ContactCreateDTO updateDTO, Long expectedVersion);
 
     ContactDTO getContactById(Long id);
 
+    /**
+     * Version courante du contact, sans mapping (décision du 304 sur If-None-Match)
+     */
+    Long getContactVersion(Long id);
+
+    CollectionVersion getActiveContactsVersion();
+
+    CollectionVersion getContactsByTypeVersion(ContactType type);
+
     List<ContactDTO> getAllContacts();
 
+    CursorPage<ContactDTO> getContactsPage(String cursor, Integer size);
+
+    /**
+     * Contacts modifiés ou désactivés depuis le jeton since (null = première synchronisation)
+     */
+    DeltaPage<ContactDTO> getContactChanges(String since, Integer size);
+
+    /**
+     * Parcourt tous les contacts actifs sans les charger en mémoire (export)
+     */
+    void streamActiveContacts(Consumer<ContactDTO> consumer);
+
     List<ContactDTO> getContactsByType(ContactType type);
 
     List<ContactDTO> getContactsByAssignedUser(String userId);
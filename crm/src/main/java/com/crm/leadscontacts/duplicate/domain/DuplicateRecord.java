@@ -0,0 +1,13 @@
+package com.crm.leadscontacts.duplicate.domain;
+
+/**
+ * Vue normalisée d'un lead ou d'un contact, telle que comparée par le moteur de doublons
+ * Les champs sont déjà normalisés (null si absents ou inexploitables)
+ */
+public record DuplicateRecord(DuplicateSourceType type,
+                              Long id,
+                              String email,
+                              String phone,
+                              String name,
+                              String company) {
+}
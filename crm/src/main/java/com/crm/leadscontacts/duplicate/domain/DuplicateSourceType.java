@@ -0,0 +1,9 @@
+package com.crm.leadscontacts.duplicate.domain;
+
+/**
+ * Origine d'un enregistrement analysé par la détection de doublons
+ */
+public enum DuplicateSourceType {
+    LEAD,
+    CONTACT
+}
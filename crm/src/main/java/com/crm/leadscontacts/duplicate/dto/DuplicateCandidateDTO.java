@@ -0,0 +1,57 @@
+package com.crm.leadscontacts.duplicate.dto;
+
+import com.crm.leadscontacts.contact.domain.ContactType;
+import com.crm.leadscontacts.duplicate.domain.DuplicateSourceType;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "DuplicateCandidateDTO", description = "Lead ou contact appartenant à un groupe de doublons")
+public class DuplicateCandidateDTO {
+
+    @Schema(description = "Origine de l'enregistrement", example = "LEAD")
+    private DuplicateSourceType sourceType;
+
+    @Schema(description = "Identifiant du lead ou du contact", example = "15")
+    private Long id;
+
+    @Schema(description = "Prénom", example = "Aymen")
+    private String firstName;
+
+    @Schema(description = "Nom", example = "Abid")
+    private String lastName;
+
+    @Schema(description = "Adresse email", example = "aymen.abid@example.com")
+    private String email;
+
+    @Schema(description = "Numéro de téléphone", example = "+21655998877")
+    private String phone;
+
+    @Schema(description = "Entreprise", example = "Techify")
+    private String company;
+
+    @Schema(description = "Poste", example = "CTO")
+    private String jobTitle;
+
+    @Schema(description = "Statut (leads uniquement)", example = "NEW")
+    private LeadStatus status;
+
+    @Schema(description = "Type de contact (contacts uniquement)", example = "CUSTOMER")
+    private ContactType contactType;
+
+    @Schema(description = "Utilisateur assigné", example = "yassine.kallel")
+    private String assignedTo;
+
+    @Schema(description = "Date de création")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Date de mise à jour")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.crm.leadscontacts.duplicate.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "DuplicateScanStatusDTO", description = "État de la tâche de détection de doublons")
+public class DuplicateScanStatusDTO {
+
+    @Schema(description = "Une analyse est en cours")
+    private boolean running;
+
+    @Schema(description = "Fin de la dernière analyse réussie")
+    private LocalDateTime lastCompletedAt;
+
+    @Schema(description = "Durée de la dernière analyse (ms)", example = "5320")
+    private long lastDurationMillis;
+
+    @Schema(description = "Enregistrements analysés (leads + contacts)", example = "1200000")
+    private int scannedRecords;
+
+    @Schema(description = "Nombre de groupes de doublons trouvés", example = "842")
+    private int clusterCount;
+
+    @Schema(description = "Erreur de la dernière tentative, le cas échéant")
+    private String lastError;
+}
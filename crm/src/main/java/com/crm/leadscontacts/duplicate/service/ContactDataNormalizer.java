@@ -0,0 +1,105 @@
+package com.crm.leadscontacts.duplicate.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation des coordonnées avant comparaison :
+ * emails canoniques, téléphones au format E.164, noms et entreprises sans accents ni ponctuation
+ */
+public final class ContactDataNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+    private static final Set<String> GMAIL_DOMAINS = Set.of("gmail.com", "googlemail.com");
+    private static final Set<String> COMPANY_SUFFIXES = Set.of(
+            "sa", "sarl", "sas", "sasu", "eurl", "suarl", "inc", "ltd", "llc", "gmbh", "corp",
+            "corporation", "company", "co", "group", "groupe", "plc", "ag", "bv", "srl");
+
+    private ContactDataNormalizer() {
+    }
+
+    /**
+     * Email en minuscules, sans étiquette +tag ; points ignorés pour Gmail
+     */
+    public static String email(String email) {
+        if (email == null) {
+            return null;
+        }
+        String value = email.trim().toLowerCase(Locale.ROOT);
+        int at = value.lastIndexOf('@');
+        if (at <= 0 || at == value.length() - 1) {
+            return null;
+        }
+        String local = value.substring(0, at);
+        String domain = value.substring(at + 1);
+        int plus = local.indexOf('+');
+        if (plus > 0) {
+            local = local.substring(0, plus);
+        }
+        if (GMAIL_DOMAINS.contains(domain)) {
+            local = local.replace(".", "");
+            domain = "gmail.com";
+        }
+        return local + "@" + domain;
+    }
+
+    /**
+     * Téléphone au format E.164 (+indicatif puis chiffres), null s'il est trop court pour être fiable
+     *
+     * @param defaultCountryCode indicatif appliqué aux numéros nationaux (ex: "216")
+     */
+    public static String phone(String phone, String defaultCountryCode) {
+        if (phone == null) {
+            return null;
+        }
+        String value = phone.trim();
+        boolean international = value.startsWith("+");
+        String digits = value.replaceAll("\\D", "");
+        if (!international && digits.startsWith("00")) {
+            digits = digits.substring(2);
+            international = true;
+        }
+        if (!international) {
+            if (digits.startsWith("0")) {
+                digits = digits.substring(1);
+            }
+            digits = defaultCountryCode + digits;
+        }
+        return digits.length() >= 8 ? "+" + digits : null;
+    }
+
+    /**
+     * Prénom + nom en minuscules, sans accents ni ponctuation
+     */
+    public static String name(String firstName, String lastName) {
+        String value = text((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : ""));
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Nom d'entreprise sans forme juridique (SARL, Inc, GmbH...)
+     */
+    public static String company(String company) {
+        if (company == null) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder();
+        for (String token : text(company).split(" ")) {
+            if (!token.isEmpty() && !COMPANY_SUFFIXES.contains(token)) {
+                if (!result.isEmpty()) {
+                    result.append(' ');
+                }
+                result.append(token);
+            }
+        }
+        return result.isEmpty() ? null : result.toString();
+    }
+
+    private static String text(String value) {
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALNUM.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
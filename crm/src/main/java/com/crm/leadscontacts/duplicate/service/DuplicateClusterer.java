@@ -0,0 +1,240 @@
+package com.crm.leadscontacts.duplicate.service;
+
+import com.crm.leadscontacts.duplicate.domain.DuplicateRecord;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Regroupement des doublons sans comparer toutes les paires
+ *
+ * 1. Blocage exact : même email normalisé -> même cluster ; même téléphone E.164 -> paire candidate
+ * 2. MinHash/LSH sur les trigrammes du nom : seuls les enregistrements partageant une bande sont comparés
+ * 3. Score (Jaccard sur les trigrammes du nom et de l'entreprise) puis union-find
+ *
+ * Chaque étape est parallélisée ; le coût reste proportionnel au nombre d'enregistrements
+ * tant que les blocs restent petits (les blocs trop gros sont ignorés).
+ */
+public class DuplicateClusterer {
+
+    private static final int NGRAM = 3;
+    private static final int BANDS = 5;
+    private static final int ROWS_PER_BAND = 4;
+    private static final int HASHES = BANDS * ROWS_PER_BAND;
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(HASHES).toArray();
+
+    // Un téléphone partagé (standard d'entreprise) ne suffit pas : le nom doit aussi se ressembler
+    private static final double PHONE_MATCH_NAME_SIMILARITY = 0.5;
+
+    private final double matchThreshold;
+    private final int maxBlockSize;
+
+    public DuplicateClusterer(double matchThreshold, int maxBlockSize) {
+        this.matchThreshold = matchThreshold;
+        this.maxBlockSize = maxBlockSize;
+    }
+
+    /**
+     * @return les clusters (indices dans records) d'au moins deux enregistrements
+     */
+    public List<int[]> cluster(List<DuplicateRecord> records) {
+        int n = records.size();
+        int[][] nameGrams = new int[n][];
+        int[][] companyGrams = new int[n][];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            nameGrams[i] = ngrams(records.get(i).name());
+            companyGrams[i] = ngrams(records.get(i).company());
+        });
+
+        Queue<long[]> matches = new ConcurrentLinkedQueue<>();
+        Map<String, Integer> firstByEmail = new ConcurrentHashMap<>();
+        Map<String, IntBag> phoneBlocks = new ConcurrentHashMap<>();
+        Map<Long, IntBag> nameBlocks = new ConcurrentHashMap<>();
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            DuplicateRecord record = records.get(i);
+            if (record.email() != null) {
+                Integer first = firstByEmail.putIfAbsent(record.email(), i);
+                if (first != null) {
+                    matches.add(new long[]{first, i});
+                }
+            }
+            if (record.phone() != null) {
+                phoneBlocks.computeIfAbsent(record.phone(), k -> new IntBag()).add(i);
+            }
+            if (nameGrams[i].length > 0) {
+                long[] signature = minHash(nameGrams[i]);
+                for (int band = 0; band < BANDS; band++) {
+                    nameBlocks.computeIfAbsent(bandKey(signature, band), k -> new IntBag()).add(i);
+                }
+            }
+        });
+
+        phoneBlocks.values().parallelStream().forEach(block -> compareBlock(block, (i, j) ->
+                jaccard(nameGrams[i], nameGrams[j]) >= PHONE_MATCH_NAME_SIMILARITY, matches));
+        nameBlocks.values().parallelStream().forEach(block -> compareBlock(block, (i, j) ->
+                score(nameGrams, companyGrams, i, j) >= matchThreshold, matches));
+
+        UnionFind unionFind = new UnionFind(n);
+        for (long[] pair : matches) {
+            unionFind.union((int) pair[0], (int) pair[1]);
+        }
+        return unionFind.groups();
+    }
+
+    private void compareBlock(IntBag block, PairPredicate isMatch, Queue<long[]> matches) {
+        int[] members = block.toArray();
+        if (members.length < 2 || members.length > maxBlockSize) {
+            return;
+        }
+        for (int a = 0; a < members.length; a++) {
+            for (int b = a + 1; b < members.length; b++) {
+                if (isMatch.test(members[a], members[b])) {
+                    matches.add(new long[]{members[a], members[b]});
+                }
+            }
+        }
+    }
+
+    private static double score(int[][] nameGrams, int[][] companyGrams, int i, int j) {
+        double name = jaccard(nameGrams[i], nameGrams[j]);
+        if (companyGrams[i].length == 0 || companyGrams[j].length == 0) {
+            return name;
+        }
+        return 0.7 * name + 0.3 * jaccard(companyGrams[i], companyGrams[j]);
+    }
+
+    /**
+     * Empreintes triées et dédoublonnées des trigrammes (avec bornes de mot)
+     */
+    static int[] ngrams(String value) {
+        if (value == null || value.isEmpty()) {
+            return new int[0];
+        }
+        String padded = " " + value + " ";
+        if (padded.length() < NGRAM) {
+            return new int[]{padded.hashCode()};
+        }
+        int[] grams = new int[padded.length() - NGRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = padded.substring(i, i + NGRAM).hashCode();
+        }
+        return Arrays.stream(grams).sorted().distinct().toArray();
+    }
+
+    static double jaccard(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        int i = 0, j = 0, common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    private static long[] minHash(int[] grams) {
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int gram : grams) {
+            for (int h = 0; h < HASHES; h++) {
+                long value = mix(gram ^ SEEDS[h]);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int r = 0; r < ROWS_PER_BAND; r++) {
+            key = mix(key * 31 + signature[band * ROWS_PER_BAND + r]);
+        }
+        return key;
+    }
+
+    // Finaliseur de MurmurHash3 (64 bits)
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface PairPredicate {
+        boolean test(int i, int j);
+    }
+
+    /**
+     * Liste d'entiers extensible, sûre en accès concurrent
+     */
+    private static final class IntBag {
+        private int[] values = new int[2];
+        private int size;
+
+        synchronized void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        synchronized int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class UnionFind {
+        private final int[] parent;
+
+        UnionFind(int size) {
+            parent = IntStream.range(0, size).toArray();
+        }
+
+        int find(int i) {
+            while (parent[i] != i) {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
+        }
+
+        void union(int a, int b) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA != rootB) {
+                parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+            }
+        }
+
+        List<int[]> groups() {
+            int[] sizes = new int[parent.length];
+            for (int i = 0; i < parent.length; i++) {
+                sizes[find(i)]++;
+            }
+            Map<Integer, IntBag> byRoot = new HashMap<>();
+            for (int i = 0; i < parent.length; i++) {
+                int root = find(i);
+                if (sizes[root] > 1) {
+                    byRoot.computeIfAbsent(root, k -> new IntBag()).add(i);
+                }
+            }
+            return byRoot.values().stream().map(IntBag::toArray).toList();
+        }
+    }
+}
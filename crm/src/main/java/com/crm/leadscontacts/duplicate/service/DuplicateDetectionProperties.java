@@ -0,0 +1,36 @@
+package com.crm.leadscontacts.duplicate.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Paramètres du moteur de détection de doublons (préfixe crm.duplicates)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.duplicates")
+public class DuplicateDetectionProperties {
+
+    /**
+     * Indicatif pays appliqué aux numéros saisis au format national
+     */
+    private String defaultCountryCode = "216";
+
+    /**
+     * Score minimal (0..1) pour considérer deux enregistrements comme doublons
+     */
+    private double matchThreshold = 0.85;
+
+    /**
+     * Au-delà de cette taille, un bloc est jugé non discriminant et n'est pas comparé
+     */
+    private int maxBlockSize = 200;
+
+    /**
+     * Nombre de lignes lues par requête lors du chargement
+     */
+    private int pageSize = 5000;
+}
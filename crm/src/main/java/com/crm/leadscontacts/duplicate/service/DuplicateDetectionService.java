@@ -0,0 +1,260 @@
+package com.crm.leadscontacts.duplicate.service;
+
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.contact.repository.IContactRepository;
+import com.crm.leadscontacts.duplicate.domain.DuplicateRecord;
+import com.crm.leadscontacts.duplicate.domain.DuplicateSourceType;
+import com.crm.leadscontacts.duplicate.dto.DuplicateCandidateDTO;
+import com.crm.leadscontacts.duplicate.dto.DuplicateScanStatusDTO;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Détection de doublons en tâche de fond sur l'ensemble des leads et contacts actifs
+ * Les groupes calculés sont conservés en mémoire et servis tels quels par l'API
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: SRP - orchestration de l'analyse (le regroupement est délégué à DuplicateClusterer)
+ */
+@Slf4j
+@Service
+public class DuplicateDetectionService implements IDuplicateDetectionService {
+
+    private static final int FETCH_CHUNK = 1000;
+
+    private final ILeadRepository leadRepository;
+    private final IContactRepository contactRepository;
+    private final DuplicateDetectionProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ExecutorService scanExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duplicate-scan");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile ScanResult lastResult = ScanResult.EMPTY;
+    private volatile String lastError;
+
+    public DuplicateDetectionService(ILeadRepository leadRepository,
+                                     IContactRepository contactRepository,
+                                     DuplicateDetectionProperties properties,
+                                     PlatformTransactionManager transactionManager) {
+        this.leadRepository = leadRepository;
+        this.contactRepository = contactRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<List<DuplicateCandidateDTO>> getClusters(String email, String phone) {
+        List<List<DuplicateCandidateDTO>> clusters = lastResult.clusters();
+        String normalizedEmail = ContactDataNormalizer.email(email);
+        String normalizedPhone = ContactDataNormalizer.phone(phone, properties.getDefaultCountryCode());
+        if (normalizedEmail == null && normalizedPhone == null) {
+            return clusters;
+        }
+        return clusters.stream()
+                .filter(cluster -> cluster.stream().anyMatch(member ->
+                        (normalizedEmail != null && normalizedEmail.equals(ContactDataNormalizer.email(member.getEmail())))
+                                || (normalizedPhone != null && normalizedPhone.equals(
+                                ContactDataNormalizer.phone(member.getPhone(), properties.getDefaultCountryCode())))))
+                .toList();
+    }
+
+    @Override
+    public DuplicateScanStatusDTO triggerScan() {
+        if (running.compareAndSet(false, true)) {
+            scanExecutor.submit(this::runScan);
+        }
+        return getScanStatus();
+    }
+
+    @Scheduled(initialDelayString = "${crm.duplicates.initial-delay:PT30S}",
+            fixedDelayString = "${crm.duplicates.scan-interval:PT1H}")
+    public void scheduledScan() {
+        triggerScan();
+    }
+
+    @Override
+    public DuplicateScanStatusDTO getScanStatus() {
+        ScanResult result = lastResult;
+        return DuplicateScanStatusDTO.builder()
+                .running(running.get())
+                .lastCompletedAt(result.completedAt())
+                .lastDurationMillis(result.durationMillis())
+                .scannedRecords(result.scannedRecords())
+                .clusterCount(result.clusters().size())
+                .lastError(lastError)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scanExecutor.shutdownNow();
+    }
+
+    private void runScan() {
+        long start = System.nanoTime();
+        try {
+            List<DuplicateRecord> records = loadRecords();
+            List<int[]> groups = new DuplicateClusterer(properties.getMatchThreshold(), properties.getMaxBlockSize())
+                    .cluster(records);
+            List<List<DuplicateCandidateDTO>> clusters = resolveClusters(records, groups);
+
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            lastResult = new ScanResult(clusters, LocalDateTime.now(), durationMillis, records.size());
+            lastError = null;
+            log.info("Détection de doublons: {} enregistrements, {} groupes en {} ms",
+                    records.size(), clusters.size(), durationMillis);
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.error("Échec de la détection de doublons", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Charge les colonnes utiles par pages keyset et les normalise en parallèle
+     */
+    private List<DuplicateRecord> loadRecords() {
+        List<DuplicateRecord> records = new ArrayList<>();
+        Limit page = Limit.of(properties.getPageSize());
+        String countryCode = properties.getDefaultCountryCode();
+
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            long from = afterId;
+            rows = readOnlyTransaction.execute(status -> leadRepository.findDuplicateScanRows(from, page));
+            records.addAll(rows.parallelStream().map(row -> toRecord(DuplicateSourceType.LEAD, row, countryCode)).toList());
+            afterId = rows.isEmpty() ? afterId : (Long) rows.get(rows.size() - 1)[0];
+        } while (rows.size() == properties.getPageSize());
+
+        afterId = 0;
+        do {
+            long from = afterId;
+            rows = readOnlyTransaction.execute(status -> contactRepository.findDuplicateScanRows(from, page));
+            records.addAll(rows.parallelStream().map(row -> toRecord(DuplicateSourceType.CONTACT, row, countryCode)).toList());
+            afterId = rows.isEmpty() ? afterId : (Long) rows.get(rows.size() - 1)[0];
+        } while (rows.size() == properties.getPageSize());
+
+        return records;
+    }
+
+    // Colonnes : id, firstName, lastName, email, phone, company
+    private static DuplicateRecord toRecord(DuplicateSourceType type, Object[] row, String countryCode) {
+        return new DuplicateRecord(type,
+                (Long) row[0],
+                ContactDataNormalizer.email((String) row[3]),
+                ContactDataNormalizer.phone((String) row[4], countryCode),
+                ContactDataNormalizer.name((String) row[1], (String) row[2]),
+                ContactDataNormalizer.company((String) row[5]));
+    }
+
+    /**
+     * Recharge uniquement les membres des groupes pour construire la réponse
+     */
+    private List<List<DuplicateCandidateDTO>> resolveClusters(List<DuplicateRecord> records, List<int[]> groups) {
+        List<Long> leadIds = new ArrayList<>();
+        List<Long> contactIds = new ArrayList<>();
+        for (int[] group : groups) {
+            for (int index : group) {
+                DuplicateRecord record = records.get(index);
+                (record.type() == DuplicateSourceType.LEAD ? leadIds : contactIds).add(record.id());
+            }
+        }
+
+        Map<Long, DuplicateCandidateDTO> leads = fetch(leadIds, leadRepository::findAllById, this::fromLead);
+        Map<Long, DuplicateCandidateDTO> contacts = fetch(contactIds, contactRepository::findAllById, this::fromContact);
+
+        List<List<DuplicateCandidateDTO>> clusters = new ArrayList<>();
+        for (int[] group : groups) {
+            List<DuplicateCandidateDTO> cluster = new ArrayList<>();
+            for (int index : group) {
+                DuplicateRecord record = records.get(index);
+                DuplicateCandidateDTO member = (record.type() == DuplicateSourceType.LEAD ? leads : contacts).get(record.id());
+                if (member != null) {
+                    cluster.add(member);
+                }
+            }
+            if (cluster.size() > 1) {
+                clusters.add(List.copyOf(cluster));
+            }
+        }
+        clusters.sort(Comparator.comparingInt((List<DuplicateCandidateDTO> c) -> c.size()).reversed());
+        return List.copyOf(clusters);
+    }
+
+    private <E> Map<Long, DuplicateCandidateDTO> fetch(List<Long> ids,
+                                                       Function<List<Long>, List<E>> finder,
+                                                       Function<E, DuplicateCandidateDTO> mapper) {
+        Map<Long, DuplicateCandidateDTO> result = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + FETCH_CHUNK, ids.size()));
+            readOnlyTransaction.executeWithoutResult(status ->
+                    finder.apply(chunk).stream().map(mapper).forEach(dto -> result.put(dto.getId(), dto)));
+        }
+        return result;
+    }
+
+    private DuplicateCandidateDTO fromLead(Lead lead) {
+        return DuplicateCandidateDTO.builder()
+                .sourceType(DuplicateSourceType.LEAD)
+                .id(lead.getId())
+                .firstName(lead.getFirstName())
+                .lastName(lead.getLastName())
+                .email(lead.getEmail())
+                .phone(lead.getPhone())
+                .company(lead.getCompany())
+                .jobTitle(lead.getJobTitle())
+                .status(lead.getStatus())
+                .assignedTo(lead.getAssignedTo())
+                .createdAt(lead.getCreatedAt())
+                .updatedAt(lead.getUpdatedAt())
+                .build();
+    }
+
+    private DuplicateCandidateDTO fromContact(Contact contact) {
+        return DuplicateCandidateDTO.builder()
+                .sourceType(DuplicateSourceType.CONTACT)
+                .id(contact.getId())
+                .firstName(contact.getFirstName())
+                .lastName(contact.getLastName())
+                .email(contact.getEmail())
+                .phone(contact.getPhone())
+                .company(contact.getCompany())
+                .jobTitle(contact.getJobTitle())
+                .contactType(contact.getType())
+                .assignedTo(contact.getAssignedTo())
+                .createdAt(contact.getCreatedAt())
+                .updatedAt(contact.getUpdatedAt())
+                .build();
+    }
+
+    private record ScanResult(List<List<DuplicateCandidateDTO>> clusters,
+                              LocalDateTime completedAt,
+                              long durationMillis,
+                              int scannedRecords) {
+
+        static final ScanResult EMPTY = new ScanResult(List.of(), null, 0, 0);
+    }
+}
@@ -0,0 +1,27 @@
+package com.crm.leadscontacts.duplicate.service;
+
+import com.crm.leadscontacts.duplicate.dto.DuplicateCandidateDTO;
+import com.crm.leadscontacts.duplicate.dto.DuplicateScanStatusDTO;
+
+import java.util.List;
+
+/**
+ * Interface du service de détection de doublons (leads et contacts)
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: ISP - interface focalisée sur la détection de doublons
+ */
+public interface IDuplicateDetectionService {
+
+    /**
+     * Groupes de doublons issus de la dernière analyse, éventuellement filtrés sur un email / téléphone
+     */
+    List<List<DuplicateCandidateDTO>> getClusters(String email, String phone);
+
+    /**
+     * Lance une analyse en arrière-plan si aucune n'est déjà en cours
+     */
+    DuplicateScanStatusDTO triggerScan();
+
+    DuplicateScanStatusDTO getScanStatus();
+}
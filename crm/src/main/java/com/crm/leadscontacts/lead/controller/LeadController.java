@@ -1,17 +1,31 @@
 package com.crm.leadscontacts.lead.controller;
+import com.crm.leadscontacts.duplicate.dto.DuplicateCandidateDTO;
+import com.crm.leadscontacts.duplicate.dto.DuplicateScanStatusDTO;
+import com.crm.leadscontacts.duplicate.service.IDuplicateDetectionService;
 import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.dto.LeadBatchResultDTO;
+import com.crm.leadscontacts.lead.dto.LeadBulkTransitionDTO;
+import com.crm.leadscontacts.lead.dto.LeadBulkTransitionResultDTO;
 import com.crm.leadscontacts.lead.dto.LeadCreateDTO;
 import com.crm.leadscontacts.lead.dto.LeadDTO;
 import com.crm.leadscontacts.lead.dto.LeadUpdateDTO;
+import com.crm.leadscontacts.lead.service.ILeadBulkService;
 import com.crm.leadscontacts.lead.service.ILeadService;
+import com.crm.leadscontacts.shared.export.ExportStreamer;
+import com.crm.leadscontacts.shared.http.ETags;
+import com.crm.leadscontacts.shared.idempotency.IdempotencyStore;
+import com.crm.leadscontacts.shared.pagination.CursorPage;
+import com.crm.leadscontacts.shared.sync.DeltaPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -20,6 +34,7 @@ import java.util.Map;
  * Contrôleur REST pour la gestion des Leads
  *
  * Endpoints conformes aux User Stories de l'EPIC 3
+ * Les écritures acceptent un en-tête Idempotency-Key : un rejeu reçoit la réponse d'origine
  */
 @RestController
 @RequestMapping("/api/leads")
@@ -28,47 +43,133 @@ import java.util.Map;
 public class LeadController {
 
     private final ILeadService leadService;
+    private final ILeadBulkService leadBulkService;
+    private final ExportStreamer exportStreamer;
+    private final IDuplicateDetectionService duplicateDetectionService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
     @Operation(summary = "Créer un nouveau lead",
             description = "User Story: En tant que Responsable Commercial, je peux créer et qualifier un lead")
-    public ResponseEntity<LeadDTO> createLead(@Valid @RequestBody LeadCreateDTO createDTO) {
-        LeadDTO created = leadService.createLead(createDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public ResponseEntity<LeadDTO> createLead(
+            @Valid @RequestBody LeadCreateDTO createDTO,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () ->
+                ResponseEntity.status(HttpStatus.CREATED).body(leadService.createLead(createDTO)));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Créer des leads en lot",
+            description = "Import massif (salons, campagnes) : résultat détaillé par élément et débit mesuré")
+    public ResponseEntity<LeadBatchResultDTO> createLeadsBatch(
+            @RequestBody List<LeadCreateDTO> createDTOs,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () ->
+                ResponseEntity.ok(leadService.createLeadsBatch(createDTOs)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obtenir un lead par ID",
             description = "User Story: je peux consulter l'historique d'un lead")
     public ResponseEntity<LeadDTO> getLeadById(
-            @Parameter(description = "ID du lead") @PathVariable Long id) {
-        return ResponseEntity.ok(leadService.getLeadById(id));
+            @Parameter(description = "ID du lead") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 304 décidé sur la seule version, avant toute lecture complète ou sérialisation
+        if (ifNoneMatch != null) {
+            String current = ETags.ofVersion(leadService.getLeadVersion(id));
+            if (ETags.matches(ifNoneMatch, current)) {
+                return ETags.notModified(current);
+            }
+        }
+        LeadDTO lead = leadService.getLeadById(id);
+        return ETags.ok(ETags.ofVersion(lead.getVersion()), lead);
     }
 
     @GetMapping
-    @Operation(summary = "Lister tous les leads actifs")
-    public ResponseEntity<List<LeadDTO>> getAllLeads() {
-        return ResponseEntity.ok(leadService.getAllLeads());
+    @Operation(summary = "Lister les leads actifs (pagination par curseur)")
+    public ResponseEntity<CursorPage<LeadDTO>> getAllLeads(
+            @Parameter(description = "Jeton nextCursor de la page précédente") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de la page (max 500)") @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Empreinte lue avant la page : une écriture concurrente ne peut que rendre l'ETag plus ancien
+        String etag = ETags.ofCollection(leadService.getActiveLeadsVersion());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        return ETags.ok(etag, leadService.getLeadsPage(cursor, size));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Synchronisation incrémentale des leads",
+            description = "Leads modifiés depuis le jeton since, désactivés inclus (deletedIds) ; " +
+                    "renvoyer nextToken à l'appel suivant, immédiatement tant que hasMore est vrai")
+    public ResponseEntity<DeltaPage<LeadDTO>> getLeadChanges(
+            @Parameter(description = "Jeton nextToken de la synchronisation précédente, absent la première fois")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Nombre maximal de modifications (max 500)") @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(leadService.getLeadChanges(since, size));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exporter tous les leads actifs (NDJSON, Smile ou CBOR selon Accept, en flux)",
+            description = "Un document par lead, mémoire constante quelle que soit la taille de la table")
+    public ResponseEntity<StreamingResponseBody> exportLeads(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return exportStreamer.<LeadDTO>export("leads", accept, leadService::streamActiveLeads);
     }
 
     @GetMapping("/status/{status}")
-    @Operation(summary = "Filtrer les leads par statut")
-    public ResponseEntity<List<LeadDTO>> getLeadsByStatus(@PathVariable LeadStatus status) {
-        return ResponseEntity.ok(leadService.getLeadsByStatus(status));
+    @Operation(summary = "Filtrer les leads actifs par statut, triés par score décroissant")
+    public ResponseEntity<CursorPage<LeadDTO>> getLeadsByStatus(
+            @PathVariable LeadStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.ofCollection(leadService.getLeadsByStatusVersion(status));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        return ETags.ok(etag, leadService.getLeadsByStatusPage(status, cursor, size));
     }
 
     @GetMapping("/assigned/{userId}")
     @Operation(summary = "Obtenir les leads assignés à un utilisateur")
-    public ResponseEntity<List<LeadDTO>> getLeadsByUser(@PathVariable String userId) {
-        return ResponseEntity.ok(leadService.getLeadsByAssignedUser(userId));
+    public ResponseEntity<CursorPage<LeadDTO>> getLeadsByUser(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.ofCollection(leadService.getLeadsByAssignedUserVersion(userId));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+        return ETags.ok(etag, leadService.getLeadsByAssignedUserPage(userId, cursor, size));
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Mettre à jour un lead")
+    @Operation(summary = "Mettre à jour un lead",
+            description = "If-Match (ETag du GET) optionnel : 412 si le lead a été modifié entre-temps")
     public ResponseEntity<LeadDTO> updateLead(
             @PathVariable Long id,
-            @Valid @RequestBody LeadUpdateDTO updateDTO) {
-        return ResponseEntity.ok(leadService.updateLead(id, updateDTO));
+            @Valid @RequestBody LeadUpdateDTO updateDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        Long expectedVersion = ETags.expectedVersion(ifMatch);
+        return idempotencyStore.execute(idempotencyKey, () -> {
+            LeadDTO updated = leadService.updateLead(id, updateDTO, expectedVersion);
+            return ResponseEntity.ok().eTag(ETags.forRepresentation(ETags.ofVersion(updated.getVersion()))).body(updated);
+        });
+    }
+
+    @PostMapping("/batch/transitions")
+    @Operation(summary = "Appliquer une transition à un ensemble de leads",
+            description = "Qualification, disqualification, contact, désactivation ou conversion en lot, " +
+                    "sur une liste d'IDs ou les leads actifs d'un filtre ; résultat détaillé par lead")
+    public ResponseEntity<LeadBulkTransitionResultDTO> applyBulkTransition(
+            @Valid @RequestBody LeadBulkTransitionDTO request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () ->
+                ResponseEntity.ok(leadBulkService.applyTransition(request)));
     }
 
     @PostMapping("/{id}/qualify")
@@ -76,68 +177,93 @@ public class LeadController {
             description = "User Story: je peux ajouter un score et un statut afin de prioriser le suivi")
     public ResponseEntity<LeadDTO> qualifyLead(
             @PathVariable Long id,
-            @RequestParam Integer score) {
-        return ResponseEntity.ok(leadService.qualifyLead(id, score));
+            @RequestParam Integer score,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () ->
+                ResponseEntity.ok(leadService.qualifyLead(id, score)));
     }
 
     @PostMapping("/{id}/disqualify")
     @Operation(summary = "Disqualifier un lead")
     public ResponseEntity<LeadDTO> disqualifyLead(
             @PathVariable Long id,
-            @RequestParam String reason) {
-        return ResponseEntity.ok(leadService.disqualifyLead(id, reason));
+            @RequestParam String reason,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () ->
+                ResponseEntity.ok(leadService.disqualifyLead(id, reason)));
     }
 
     @PostMapping("/{id}/contact")
     @Operation(summary = "Marquer le lead comme contacté")
-    public ResponseEntity<LeadDTO> markAsContacted(@PathVariable Long id) {
-        return ResponseEntity.ok(leadService.markLeadAsContacted(id));
+    public ResponseEntity<LeadDTO> markAsContacted(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () ->
+                ResponseEntity.ok(leadService.markLeadAsContacted(id)));
     }
 
     @PostMapping("/{id}/convert")
     @Operation(summary = "Convertir un lead en contact",
             description = "User Story: je peux convertir un lead en contact afin de le faire évoluer")
-    public ResponseEntity<Map<String, Long>> convertToContact(@PathVariable Long id) {
-        Long contactId = leadService.convertLeadToContact(id);
-        return ResponseEntity.ok(Map.of("leadId", id, "contactId", contactId));
+    public ResponseEntity<Map<String, Long>> convertToContact(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () -> {
+            Long contactId = leadService.convertLeadToContact(id);
+            return ResponseEntity.ok(Map.of("leadId", id, "contactId", contactId));
+        });
     }
 
     @GetMapping("/duplicates")
-    @Operation(summary = "Trouver les leads en doublon",
-            description = "User Story: je peux détecter et fusionner les doublons")
-    public ResponseEntity<List<LeadDTO>> findDuplicates(
-            @RequestParam String email,
+    @Operation(summary = "Groupes de doublons (leads et contacts)",
+            description = "User Story: je peux détecter et fusionner les doublons. " +
+                    "Groupes précalculés par la dernière analyse, filtrables par email ou téléphone")
+    public ResponseEntity<List<List<DuplicateCandidateDTO>>> findDuplicates(
+            @RequestParam(required = false) String email,
             @RequestParam(required = false) String phone) {
-        return ResponseEntity.ok(leadService.findDuplicates(email, phone));
+        return ResponseEntity.ok(duplicateDetectionService.getClusters(email, phone));
+    }
+
+    @PostMapping("/duplicates/scan")
+    @Operation(summary = "Lancer une analyse des doublons en arrière-plan")
+    public ResponseEntity<DuplicateScanStatusDTO> scanDuplicates() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(duplicateDetectionService.triggerScan());
+    }
+
+    @GetMapping("/duplicates/scan")
+    @Operation(summary = "État de la dernière analyse des doublons")
+    public ResponseEntity<DuplicateScanStatusDTO> getDuplicateScanStatus() {
+        return ResponseEntity.ok(duplicateDetectionService.getScanStatus());
     }
 
     @PostMapping("/merge")
     @Operation(summary = "Fusionner deux leads en doublon")
     public ResponseEntity<Void> mergeDuplicates(
             @RequestParam Long keepId,
-            @RequestParam Long deleteId) {
-        leadService.mergeDuplicates(keepId, deleteId);
-        return ResponseEntity.ok().build();
+            @RequestParam Long deleteId,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () -> {
+            leadService.mergeDuplicates(keepId, deleteId);
+            return ResponseEntity.ok().build();
+        });
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Supprimer un lead (soft delete)")
-    public ResponseEntity<Void> deleteLead(@PathVariable Long id) {
-        leadService.deleteLead(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> deleteLead(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, () -> {
+            leadService.deleteLead(id);
+            return ResponseEntity.noContent().build();
+        });
     }
 
     @GetMapping("/stats/count")
-    @Operation(summary = "Compter les leads par statut")
+    @Operation(summary = "Compter les leads actifs par statut",
+            description = "Servi depuis des compteurs en mémoire, sans requête en base")
     public ResponseEntity<Map<LeadStatus, Long>> countByStatus() {
-        Map<LeadStatus, Long> stats = Map.of(
-                LeadStatus.NEW, leadService.countLeadsByStatus(LeadStatus.NEW),
-                LeadStatus.CONTACTED, leadService.countLeadsByStatus(LeadStatus.CONTACTED),
-                LeadStatus.QUALIFIED, leadService.countLeadsByStatus(LeadStatus.QUALIFIED),
-                LeadStatus.UNQUALIFIED, leadService.countLeadsByStatus(LeadStatus.UNQUALIFIED),
-                LeadStatus.CONVERTED, leadService.countLeadsByStatus(LeadStatus.CONVERTED)
-        );
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(leadService.getStatusStatistics());
     }
 }
 
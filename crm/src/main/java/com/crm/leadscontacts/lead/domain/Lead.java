@@ -2,8 +2,11 @@ package com.crm.leadscontacts.lead.domain;
 
 import com.crm.leadscontacts.shared.domain.Address;
 import com.crm.leadscontacts.shared.domain.BaseEntity;
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import com.crm.leadscontacts.shared.sync.SyncedEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -14,13 +17,28 @@ import java.time.LocalDateTime;
  * Principe SOLID: SRP - gère uniquement les données d'un lead
  */
 @Entity
-@Table(name = "leads")
+// Index créés par les migrations (db/migration), repris ici pour les schémas générés
+@Table(name = "leads", indexes = {
+        @Index(name = "idx_leads_status_active_score", columnList = "status, active, score DESC, id"),
+        @Index(name = "idx_leads_assigned_to", columnList = "assignedTo, id"),
+        @Index(name = "idx_leads_active_status_updated", columnList = "active, status, updatedAt"),
+        @Index(name = "idx_leads_score", columnList = "score"),
+        @Index(name = "idx_leads_last_contact_date", columnList = "lastContactDate"),
+        @Index(name = "idx_leads_phone", columnList = "phone"),
+        @Index(name = "idx_leads_updated_at", columnList = "updatedAt, id"),
+        @Index(name = "idx_leads_change_seq", columnList = "changeSeq, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Lead extends BaseEntity {
+public class Lead extends BaseEntity implements SyncedEntity {
+
+    /**
+     * Séparateur des entrées ajoutées aux notes (repris tel quel par les transitions en lot)
+     */
+    public static final String NOTES_SEPARATOR = "\\n";
 
     @Column(nullable = false)
     private String firstName;
@@ -66,6 +84,14 @@ public class Lead extends BaseEntity {
     @Column(nullable = false)
     private String assignedTo;
 
+    /**
+     * Séquence de la dernière transaction ayant écrit la ligne (ChangeSequencer), posée juste avant
+     * son commit : jamais écrite par Hibernate
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long changeSeq;
+
     @PrePersist
     protected void onCreate() {
         if (status == null) {
@@ -81,6 +107,7 @@ public class Lead extends BaseEntity {
      * User Story: ajouter un score et un statut afin de prioriser le suivi
      */
     public void qualify(Integer newScore) {
+        checkTransition(LeadTransition.QUALIFY);
         this.score = newScore;
         this.status = LeadStatus.QUALIFIED;
         this.qualifiedDate = LocalDateTime.now();
@@ -90,15 +117,21 @@ public class Lead extends BaseEntity {
      * Marquer le lead comme non qualifié
      */
     public void disqualify(String reason) {
+        checkTransition(LeadTransition.DISQUALIFY);
         this.status = LeadStatus.UNQUALIFIED;
-        this.notes = (this.notes != null ? this.notes + "\\n" : "") +
-                "Disqualifié: " + reason;
+        this.notes = (this.notes != null ? this.notes + NOTES_SEPARATOR : "") +
+                disqualificationNote(reason);
+    }
+
+    public static String disqualificationNote(String reason) {
+        return "Disqualifié: " + reason;
     }
 
     /**
      * Marquer le lead comme contacté
      */
     public void markAsContacted() {
+        checkTransition(LeadTransition.MARK_CONTACTED);
         this.status = LeadStatus.CONTACTED;
         this.lastContactDate = LocalDateTime.now();
     }
@@ -108,11 +141,22 @@ public class Lead extends BaseEntity {
      * User Story: je peux convertir un lead en contact afin de le faire évoluer
      */
     public void convertToContact(Long contactId) {
+        checkTransition(LeadTransition.CONVERT);
         this.status = LeadStatus.CONVERTED;
         this.convertedDate = LocalDateTime.now();
         this.convertedToContactId = contactId;
     }
 
+    /**
+     * Refuse une transition interdite depuis le statut courant (mêmes règles que les traitements en lot)
+     */
+    public void checkTransition(LeadTransition transition) {
+        String refusal = transition.refusalFrom(status);
+        if (refusal != null) {
+            throw new BusinessException(refusal);
+        }
+    }
+
     public String getFullName() {
         return firstName + " " + lastName;
     }
@@ -0,0 +1,27 @@
+package com.crm.leadscontacts.lead.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement publié lorsque des leads entrent dans un statut, création comprise
+ * Alimente les agrégats d'activité quotidiens ; une désactivation n'est pas une activité
+ *
+ * @param from       statut précédent (null pour une création)
+ * @param to         statut atteint
+ * @param source     source des leads créés (null si absente ou hors création)
+ * @param assignedTo commercial des leads (null pour un lot multi-commerciaux hors conversion)
+ * @param at         date de l'activité
+ * @param count      nombre de leads concernés
+ */
+public record LeadActivityEvent(LeadStatus from,
+                                LeadStatus to,
+                                LeadSource source,
+                                String assignedTo,
+                                LocalDateTime at,
+                                long count) {
+
+    public static LeadActivityEvent created(LeadStatus status, LeadSource source, String assignedTo,
+                                            LocalDateTime at, long count) {
+        return new LeadActivityEvent(null, status, source, assignedTo, at, count);
+    }
+}
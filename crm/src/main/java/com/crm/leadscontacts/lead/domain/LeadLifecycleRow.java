@@ -0,0 +1,7 @@
+package com.crm.leadscontacts.lead.domain;
+
+/**
+ * Colonnes d'un lead nécessaires pour décider d'une transition en lot (sans charger l'entité)
+ */
+public record LeadLifecycleRow(Long id, LeadStatus status, Boolean active, Long version, String assignedTo) {
+}
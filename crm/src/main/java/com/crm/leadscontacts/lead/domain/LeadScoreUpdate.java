@@ -0,0 +1,7 @@
+package com.crm.leadscontacts.lead.domain;
+
+/**
+ * Nouveau score d'un lead, appliqué seulement si sa version n'a pas changé depuis la lecture
+ */
+public record LeadScoreUpdate(Long id, Long expectedVersion, Integer score) {
+}
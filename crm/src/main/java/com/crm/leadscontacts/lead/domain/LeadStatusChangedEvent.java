@@ -0,0 +1,16 @@
+package com.crm.leadscontacts.lead.domain;
+
+/**
+ * Événement publié lorsqu'un ou plusieurs leads actifs changent de statut
+ * Un lead inactif (soft delete) ou supprimé n'a pas de statut compté : from/to vaut alors null
+ *
+ * @param from  statut compté avant la transition (null pour une création ou une réactivation)
+ * @param to    statut compté après la transition (null pour une désactivation ou une suppression)
+ * @param count nombre de leads concernés
+ */
+public record LeadStatusChangedEvent(LeadStatus from, LeadStatus to, long count) {
+
+    public static LeadStatusChangedEvent created(LeadStatus status, long count) {
+        return new LeadStatusChangedEvent(null, status, count);
+    }
+}
@@ -0,0 +1,29 @@
+package com.crm.leadscontacts.lead.domain;
+
+/**
+ * Transitions du cycle de vie d'un lead applicables en lot
+ *
+ * Les règles de statut sont communes à l'API unitaire (méthodes de Lead) et aux traitements en lot
+ */
+public enum LeadTransition {
+    QUALIFY,
+    DISQUALIFY,
+    MARK_CONTACTED,
+    DEACTIVATE,
+    CONVERT;
+
+    /**
+     * Motif de refus de la transition depuis ce statut, null si elle est autorisée
+     */
+    public String refusalFrom(LeadStatus status) {
+        return switch (this) {
+            case QUALIFY -> status == LeadStatus.CONVERTED
+                    ? "Un lead converti ne peut pas être requalifié" : null;
+            case DISQUALIFY, MARK_CONTACTED -> status == LeadStatus.CONVERTED
+                    ? "Un lead converti ne peut plus changer de statut" : null;
+            case CONVERT -> status == LeadStatus.CONVERTED ? "Ce lead a déjà été converti"
+                    : status != LeadStatus.QUALIFIED ? "Seuls les leads qualifiés peuvent être convertis" : null;
+            case DEACTIVATE -> null;
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.crm.leadscontacts.lead.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "LeadBatchItemResultDTO", description = "Résultat de la création d'un lead dans un lot")
+public class LeadBatchItemResultDTO {
+
+    public enum Outcome {
+        CREATED,
+        REJECTED
+    }
+
+    @Schema(description = "Position de l'élément dans le lot soumis", example = "0")
+    private int index;
+
+    @Schema(description = "Adresse email du lead", example = "aymen.abid@example.com")
+    private String email;
+
+    @Schema(description = "Résultat pour cet élément", example = "CREATED")
+    private Outcome outcome;
+
+    @Schema(description = "ID du lead créé", example = "15")
+    private Long leadId;
+
+    @Schema(description = "Motif du rejet", example = "Un lead avec cet email existe déjà")
+    private String reason;
+}
@@ -0,0 +1,33 @@
+package com.crm.leadscontacts.lead.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "LeadBatchResultDTO", description = "Bilan d'une création de leads en lot")
+public class LeadBatchResultDTO {
+
+    @Schema(description = "Nombre d'éléments soumis", example = "5000")
+    private int total;
+
+    @Schema(description = "Nombre de leads créés", example = "4980")
+    private int created;
+
+    @Schema(description = "Nombre d'éléments rejetés", example = "20")
+    private int rejected;
+
+    @Schema(description = "Durée totale du traitement en millisecondes", example = "1850")
+    private long elapsedMillis;
+
+    @Schema(description = "Débit obtenu en leads créés par seconde", example = "2691.9")
+    private double leadsPerSecond;
+
+    @Schema(description = "Résultat détaillé par élément, dans l'ordre de soumission")
+    private List<LeadBatchItemResultDTO> items;
+}
@@ -0,0 +1,35 @@
+package com.crm.leadscontacts.lead.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "LeadBulkItemResultDTO", description = "Résultat d'une transition en lot pour un lead")
+public class LeadBulkItemResultDTO {
+
+    public enum Outcome {
+        UPDATED,
+        SKIPPED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    @Schema(description = "ID du lead", example = "15")
+    private Long leadId;
+
+    @Schema(description = "Résultat pour ce lead", example = "UPDATED")
+    private Outcome outcome;
+
+    @Schema(description = "Version du lead après la transition", example = "4")
+    private Long version;
+
+    @Schema(description = "ID du contact créé (CONVERT)", example = "42")
+    private Long contactId;
+
+    @Schema(description = "Motif du refus ou de l'échec", example = "Seuls les leads qualifiés peuvent être convertis")
+    private String reason;
+}
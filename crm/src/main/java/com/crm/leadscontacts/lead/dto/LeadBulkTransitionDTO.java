@@ -0,0 +1,38 @@
+package com.crm.leadscontacts.lead.dto;
+
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.domain.LeadTransition;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "LeadBulkTransitionDTO",
+        description = "Transition appliquée en lot, à une liste d'IDs ou aux leads actifs d'un filtre")
+public class LeadBulkTransitionDTO {
+
+    @Schema(description = "Transition à appliquer", example = "QUALIFY")
+    @NotNull(message = "La transition est obligatoire")
+    private LeadTransition action;
+
+    @Schema(description = "IDs des leads (prioritaire sur le filtre)", example = "[15, 16, 17]")
+    private List<Long> ids;
+
+    @Schema(description = "Filtre : statut actuel des leads actifs", example = "CONTACTED")
+    private LeadStatus status;
+
+    @Schema(description = "Filtre : utilisateur assigné", example = "yassine.kallel")
+    private String assignedTo;
+
+    @Schema(description = "Score attribué (QUALIFY)", example = "80")
+    private Integer score;
+
+    @Schema(description = "Motif (DISQUALIFY)", example = "Budget insuffisant")
+    private String reason;
+}
@@ -0,0 +1,34 @@
+package com.crm.leadscontacts.lead.dto;
+
+import com.crm.leadscontacts.lead.domain.LeadTransition;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "LeadBulkTransitionResultDTO", description = "Bilan d'une transition appliquée en lot")
+public class LeadBulkTransitionResultDTO {
+
+    @Schema(description = "Transition appliquée", example = "QUALIFY")
+    private LeadTransition action;
+
+    @Schema(description = "Nombre de leads visés", example = "300")
+    private int total;
+
+    @Schema(description = "Nombre de leads modifiés", example = "280")
+    private int updated;
+
+    @Schema(description = "Nombre de leads ignorés (règle métier, introuvables ou paquet annulé)", example = "20")
+    private int skipped;
+
+    @Schema(description = "Durée totale du traitement en millisecondes", example = "120")
+    private long elapsedMillis;
+
+    @Schema(description = "Résultat détaillé par lead, dans l'ordre des IDs")
+    private List<LeadBulkItemResultDTO> items;
+}
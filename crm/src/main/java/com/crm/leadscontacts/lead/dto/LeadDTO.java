@@ -9,9 +9,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Setter
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 @Schema(name = "LeadDTO", description = "Représentation complète d'un lead")
 public class LeadDTO {
 
@@ -71,4 +69,54 @@ public class LeadDTO {
 
     @Schema(description = "Date de mise à jour")
     private LocalDateTime updatedAt;
+
+    @Schema(description = "Version (verrouillage optimiste), reprise dans l'ETag", example = "3")
+    private Long version;
+
+    /**
+     * Constructeur de projection JPQL ({@code ILeadRepository.SELECT_LEAD_DTO}) : l'ordre des paramètres
+     * est celui du {@code SELECT new} et ne dépend pas de l'ordre de déclaration des champs.
+     */
+    @Builder
+    public LeadDTO(Long id,
+                   String firstName,
+                   String lastName,
+                   String email,
+                   String phone,
+                   String company,
+                   String jobTitle,
+                   LeadStatus status,
+                   LeadSource source,
+                   Integer score,
+                   Address address,
+                   String notes,
+                   String assignedTo,
+                   LocalDateTime lastContactDate,
+                   LocalDateTime qualifiedDate,
+                   LocalDateTime convertedDate,
+                   Long convertedToContactId,
+                   LocalDateTime createdAt,
+                   LocalDateTime updatedAt,
+                   Long version) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.company = company;
+        this.jobTitle = jobTitle;
+        this.status = status;
+        this.source = source;
+        this.score = score;
+        this.address = address;
+        this.notes = notes;
+        this.assignedTo = assignedTo;
+        this.lastContactDate = lastContactDate;
+        this.qualifiedDate = qualifiedDate;
+        this.convertedDate = convertedDate;
+        this.convertedToContactId = convertedToContactId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
 }
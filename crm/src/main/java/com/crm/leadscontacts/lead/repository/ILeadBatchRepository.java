@@ -0,0 +1,32 @@
+package com.crm.leadscontacts.lead.repository;
+
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadScoreUpdate;
+
+import java.util.List;
+
+/**
+ * Opérations en lot sur les leads, hors du cycle d'insertion ligne à ligne de JPA
+ * (la génération IDENTITY empêche Hibernate de regrouper les INSERT)
+ *
+ * Design Pattern: Repository Pattern (fragment personnalisé)
+ */
+public interface ILeadBatchRepository {
+
+    /**
+     * Insère les leads en lots JDBC et renseigne leur ID généré
+     */
+    void insertBatch(List<Lead> leads);
+
+    /**
+     * Applique les scores en lots JDBC (version et updatedAt incrémentés) ;
+     * renvoie, pour chaque élément, false si la version avait changé entre-temps
+     */
+    boolean[] updateScores(List<LeadScoreUpdate> updates);
+
+    /**
+     * Applique les scores sans toucher à la version ni à updatedAt : réservé à la transaction
+     * qui vient de modifier (et de versionner) ces mêmes lignes
+     */
+    void updateScoresInPlace(List<LeadScoreUpdate> updates);
+}
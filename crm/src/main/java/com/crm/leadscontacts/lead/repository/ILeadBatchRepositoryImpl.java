@@ -0,0 +1,163 @@
+package com.crm.leadscontacts.lead.repository;
+
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadScoreUpdate;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.shared.domain.Address;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation JDBC du fragment ILeadBatchRepository
+ * Reproduit les valeurs par défaut de Lead.onCreate() et de l'audit JPA
+ */
+@RequiredArgsConstructor
+public class ILeadBatchRepositoryImpl implements ILeadBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO leads (" +
+            "first_name, last_name, email, phone, company, job_title, status, source, score, " +
+            "street, city, state, zip_code, country, notes, last_contact_date, assigned_to, " +
+            "created_at, updated_at, version, active) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SCORE_SQL = "UPDATE leads SET score = ?, updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND version = ?";
+
+    private static final String UPDATE_SCORE_IN_PLACE_SQL = "UPDATE leads SET score = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBatch(List<Lead> leads) {
+        if (leads.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        leads.forEach(lead -> applyDefaults(lead, now));
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, leads.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return leads.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < leads.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            leads.get(i).setId(id.longValue());
+        }
+    }
+
+    @Override
+    public boolean[] updateScores(List<LeadScoreUpdate> updates) {
+        boolean[] applied = new boolean[updates.size()];
+        if (updates.isEmpty()) {
+            return applied;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                LeadScoreUpdate update = updates.get(i);
+                ps.setInt(1, update.score());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, update.id());
+                ps.setLong(4, update.expectedVersion());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+
+        // SUCCESS_NO_INFO (-2) : pilote sans compte par ligne (MySQL avec rewriteBatchedStatements)
+        for (int i = 0; i < counts.length; i++) {
+            applied[i] = counts[i] != 0;
+        }
+        return applied;
+    }
+
+    @Override
+    public void updateScoresInPlace(List<LeadScoreUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_SCORE_IN_PLACE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, updates.get(i).score());
+                ps.setLong(2, updates.get(i).id());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+    }
+
+    private void applyDefaults(Lead lead, LocalDateTime now) {
+        if (lead.getStatus() == null) lead.setStatus(LeadStatus.NEW);
+        if (lead.getScore() == null) lead.setScore(0);
+        if (lead.getLastContactDate() == null) lead.setLastContactDate(now);
+        if (lead.getActive() == null) lead.setActive(true);
+        lead.setCreatedAt(now);
+        lead.setUpdatedAt(now);
+        lead.setVersion(0L);
+    }
+
+    private void bind(PreparedStatement ps, Lead lead) throws SQLException {
+        Address address = lead.getAddress() != null ? lead.getAddress() : new Address();
+
+        ps.setString(1, lead.getFirstName());
+        ps.setString(2, lead.getLastName());
+        ps.setString(3, lead.getEmail());
+        ps.setString(4, lead.getPhone());
+        ps.setString(5, lead.getCompany());
+        ps.setString(6, lead.getJobTitle());
+        ps.setString(7, lead.getStatus().name());
+        if (lead.getSource() != null) {
+            ps.setString(8, lead.getSource().name());
+        } else {
+            ps.setNull(8, Types.VARCHAR);
+        }
+        ps.setInt(9, lead.getScore());
+        ps.setString(10, address.getStreet());
+        ps.setString(11, address.getCity());
+        ps.setString(12, address.getState());
+        ps.setString(13, address.getZipCode());
+        ps.setString(14, address.getCountry());
+        ps.setString(15, lead.getNotes());
+        ps.setTimestamp(16, Timestamp.valueOf(lead.getLastContactDate()));
+        ps.setString(17, lead.getAssignedTo());
+        ps.setTimestamp(18, Timestamp.valueOf(lead.getCreatedAt()));
+        ps.setTimestamp(19, Timestamp.valueOf(lead.getUpdatedAt()));
+        ps.setLong(20, lead.getVersion());
+        ps.setBoolean(21, lead.getActive());
+    }
+}
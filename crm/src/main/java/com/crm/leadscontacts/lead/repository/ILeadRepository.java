@@ -1,13 +1,34 @@
 package com.crm.leadscontacts.lead.repository;
 
+import com.crm.leadscontacts.analytics.domain.LeadAnalyticsRow;
+import com.crm.leadscontacts.assignment.domain.AssignmentRow;
+import com.crm.leadscontacts.assignment.domain.ReassignmentCandidate;
 import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadLifecycleRow;
 import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.dto.LeadDTO;
+import com.crm.leadscontacts.scoring.domain.LeadIdRange;
+import com.crm.leadscontacts.scoring.domain.LeadScoringRow;
+import com.crm.leadscontacts.search.domain.SearchDocument;
+import com.crm.leadscontacts.shared.domain.CollectionVersion;
 import com.crm.leadscontacts.shared.domain.IRepository;
+import com.crm.leadscontacts.shared.sync.ChangedRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository pour les Leads
@@ -16,7 +37,15 @@ import java.util.Optional;
  * Principe SOLID: ISP - interface spécialisée pour Lead
  */
 @Repository
-public interface ILeadRepository extends IRepository<Lead> {
+public interface ILeadRepository extends IRepository<Lead>, ILeadBatchRepository {
+
+    // Projection DTO pour les lectures : pas d'entité gérée, pas de snapshot de dirty checking
+    String LEAD_DTO = "new com.crm.leadscontacts.lead.dto.LeadDTO(" +
+            "l.id, l.firstName, l.lastName, l.email, l.phone, l.company, l.jobTitle, l.status, l.source, " +
+            "l.score, l.address, l.notes, l.assignedTo, l.lastContactDate, l.qualifiedDate, l.convertedDate, " +
+            "l.convertedToContactId, l.createdAt, l.updatedAt, l.version)";
+
+    String SELECT_LEAD_DTO = "SELECT " + LEAD_DTO + " FROM Lead l ";
 
     List<Lead> findByStatus(LeadStatus status);
 
@@ -34,6 +63,216 @@ public interface ILeadRepository extends IRepository<Lead> {
 
     long countByStatus(LeadStatus status);
 
-    // Détection de doublons
-    List<Lead> findByEmailOrPhone(String email, String phone);
+    // Statistiques : tous les statuts en une seule requête
+    @Query("SELECT l.status, COUNT(l) FROM Lead l WHERE l.active = true GROUP BY l.status")
+    List<Object[]> countActiveGroupByStatus();
+
+    // Détection de doublons : UNION de deux recherches indexées (un OR sur deux colonnes parcourt la table)
+    String WHERE_EMAIL_OR_PHONE = "WHERE l.id IN (SELECT e.id FROM Lead e WHERE e.email = :email " +
+            "UNION SELECT p.id FROM Lead p WHERE p.phone = :phone)";
+
+    @Query("SELECT l FROM Lead l " + WHERE_EMAIL_OR_PHONE)
+    List<Lead> findByEmailOrPhone(@Param("email") String email, @Param("phone") String phone);
+
+    // Lectures en projection DTO (mêmes critères que les méthodes sur entités)
+    @Query(SELECT_LEAD_DTO + "WHERE l.active = true")
+    List<LeadDTO> findDtoByActiveTrue();
+
+    @Query(SELECT_LEAD_DTO + "WHERE l.status = :status")
+    List<LeadDTO> findDtoByStatus(@Param("status") LeadStatus status);
+
+    @Query(SELECT_LEAD_DTO + "WHERE l.assignedTo = :userId")
+    List<LeadDTO> findDtoByAssignedTo(@Param("userId") String userId);
+
+    @Query(SELECT_LEAD_DTO + WHERE_EMAIL_OR_PHONE)
+    List<LeadDTO> findDtoByEmailOrPhone(@Param("email") String email, @Param("phone") String phone);
+
+    @Query(SELECT_LEAD_DTO + "WHERE l.active = true AND l.id > :afterId ORDER BY l.id")
+    List<LeadDTO> findDtoByActiveTrueAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SELECT_LEAD_DTO + "WHERE l.status = :status AND l.active = true " +
+            "AND (l.score < :score OR (l.score = :score AND l.id > :afterId)) " +
+            "ORDER BY l.score DESC, l.id ASC")
+    List<LeadDTO> findDtoByStatusAndActiveTrueAfter(@Param("status") LeadStatus status,
+                                                    @Param("score") Integer score,
+                                                    @Param("afterId") Long afterId,
+                                                    Limit limit);
+
+    @Query(SELECT_LEAD_DTO + "WHERE l.assignedTo = :userId AND l.id > :afterId ORDER BY l.id")
+    List<LeadDTO> findDtoByAssignedToAfter(@Param("userId") String userId,
+                                           @Param("afterId") Long afterId,
+                                           Limit limit);
+
+    // Synchronisation incrémentale : actifs et désactivés, dans l'ordre des commits (change_seq, id),
+    // parcours de plage sur l'index (change_seq, id) ; sans modification, une seule sonde d'index vide
+    @Query("SELECT new com.crm.leadscontacts.shared.sync.ChangedRow(l.changeSeq, " + LEAD_DTO + ") FROM Lead l " +
+            "WHERE l.changeSeq >= :sinceSeq AND (l.changeSeq > :sinceSeq OR l.id > :afterId) " +
+            "ORDER BY l.changeSeq, l.id")
+    List<ChangedRow<LeadDTO>> findDtoChangedAfter(@Param("sinceSeq") Long sinceSeq,
+                                                  @Param("afterId") Long afterId,
+                                                  Limit limit);
+
+    @Query("SELECT l.id FROM Lead l WHERE l.id IN :ids AND l.active = false")
+    List<Long> findInactiveIdsIn(@Param("ids") Collection<Long> ids);
+
+    // Requêtes conditionnelles (ETag) : version / empreinte lues sans charger les lignes
+    String SELECT_LEAD_COLLECTION_VERSION =
+            "SELECT new com.crm.leadscontacts.shared.domain.CollectionVersion(COUNT(l), MAX(l.updatedAt)) FROM Lead l ";
+
+    @Query("SELECT l.version FROM Lead l WHERE l.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_LEAD_COLLECTION_VERSION + "WHERE l.active = true")
+    CollectionVersion findActiveCollectionVersion();
+
+    @Query(SELECT_LEAD_COLLECTION_VERSION + "WHERE l.status = :status AND l.active = true")
+    CollectionVersion findCollectionVersionByStatus(@Param("status") LeadStatus status);
+
+    @Query(SELECT_LEAD_COLLECTION_VERSION + "WHERE l.assignedTo = :userId")
+    CollectionVersion findCollectionVersionByAssignedTo(@Param("userId") String userId);
+
+    // Export en flux : curseur JDBC lu par lots
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SELECT_LEAD_DTO + "WHERE l.active = true ORDER BY l.id")
+    Stream<LeadDTO> streamDtoByActiveTrue();
+
+    // Détection de doublons floue : colonnes utiles uniquement, par pages keyset (leads convertis exclus)
+    @Query("SELECT l.id, l.firstName, l.lastName, l.email, l.phone, l.company FROM Lead l " +
+            "WHERE l.active = true AND l.status <> com.crm.leadscontacts.lead.domain.LeadStatus.CONVERTED " +
+            "AND l.id > :afterId ORDER BY l.id")
+    List<Object[]> findDuplicateScanRows(@Param("afterId") Long afterId, Limit limit);
+
+    // Transitions en lot : lignes verrouillées jusqu'au commit du paquet, puis UPDATE ensemblistes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.crm.leadscontacts.lead.domain.LeadLifecycleRow(l.id, l.status, l.active, l.version, l.assignedTo) " +
+            "FROM Lead l WHERE l.id IN :ids")
+    List<LeadLifecycleRow> findLifecycleRowsForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Lead l WHERE l.id IN :ids")
+    List<Lead> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT l.id FROM Lead l WHERE l.active = true " +
+            "AND (:status IS NULL OR l.status = :status) AND (:userId IS NULL OR l.assignedTo = :userId) ORDER BY l.id")
+    List<Long> findActiveIdsByFilter(@Param("status") LeadStatus status, @Param("userId") String userId, Limit limit);
+
+    // UPDATE ensemblistes : ni audit ni listeners Hibernate, version et updatedAt sont mis à jour ici
+    @Modifying
+    @Query("UPDATE Lead l SET l.status = com.crm.leadscontacts.lead.domain.LeadStatus.QUALIFIED, " +
+            "l.score = :score, l.qualifiedDate = :now, l.updatedAt = :now, l.version = l.version + 1 " +
+            "WHERE l.id IN :ids")
+    int bulkQualify(@Param("ids") Collection<Long> ids, @Param("score") Integer score, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Lead l SET l.status = com.crm.leadscontacts.lead.domain.LeadStatus.UNQUALIFIED, " +
+            "l.notes = CASE WHEN l.notes IS NULL THEN :note ELSE CONCAT(l.notes, :separator, :note) END, " +
+            "l.updatedAt = :now, l.version = l.version + 1 WHERE l.id IN :ids")
+    int bulkDisqualify(@Param("ids") Collection<Long> ids, @Param("note") String note,
+                       @Param("separator") String separator, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Lead l SET l.status = com.crm.leadscontacts.lead.domain.LeadStatus.CONTACTED, " +
+            "l.lastContactDate = :now, l.updatedAt = :now, l.version = l.version + 1 WHERE l.id IN :ids")
+    int bulkMarkContacted(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Lead l SET l.active = false, l.updatedAt = :now, l.version = l.version + 1 WHERE l.id IN :ids")
+    int bulkDeactivate(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Transfert de portefeuille : plan calculé sur (id, score) des leads actifs, puis UPDATE ensemblistes par destinataire
+    @Query("SELECT new com.crm.leadscontacts.assignment.domain.ReassignmentCandidate(l.id, l.score) " +
+            "FROM Lead l WHERE l.assignedTo = :userId AND l.active = true ORDER BY l.id")
+    List<ReassignmentCandidate> findReassignmentCandidates(@Param("userId") String userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.crm.leadscontacts.assignment.domain.AssignmentRow(l.id, l.version) " +
+            "FROM Lead l WHERE l.id IN :ids AND l.assignedTo = :userId AND l.active = true")
+    List<AssignmentRow> findAssignmentRowsForUpdate(@Param("ids") Collection<Long> ids,
+                                                    @Param("userId") String userId);
+
+    @Modifying
+    @Query("UPDATE Lead l SET l.assignedTo = :assignee, l.updatedAt = :now, l.version = l.version + 1 " +
+            "WHERE l.id IN :ids")
+    int bulkReassign(@Param("ids") Collection<Long> ids, @Param("assignee") String assignee,
+                     @Param("now") LocalDateTime now);
+
+    // Moteur de scoring : colonnes utiles uniquement, statuts recalculables uniquement
+    String SELECT_SCORING_ROW = "SELECT new com.crm.leadscontacts.scoring.domain.LeadScoringRow(" +
+            "l.id, l.version, l.score, l.source, l.jobTitle, l.company, l.email, l.phone, l.address.country, " +
+            "l.lastContactDate) FROM Lead l ";
+
+    @Query("SELECT new com.crm.leadscontacts.scoring.domain.LeadIdRange(MIN(l.id), MAX(l.id)) FROM Lead l " +
+            "WHERE l.active = true AND l.status IN :statuses")
+    LeadIdRange findScoringIdRange(@Param("statuses") Collection<LeadStatus> statuses);
+
+    @Query(SELECT_SCORING_ROW + "WHERE l.active = true AND l.status IN :statuses " +
+            "AND l.id > :afterId AND l.id <= :toId ORDER BY l.id")
+    List<LeadScoringRow> findScoringRowsInRange(@Param("statuses") Collection<LeadStatus> statuses,
+                                                @Param("afterId") Long afterId,
+                                                @Param("toId") Long toId,
+                                                Limit limit);
+
+    @Query(SELECT_SCORING_ROW + "WHERE l.active = true AND l.status IN :statuses AND l.id IN :ids")
+    List<LeadScoringRow> findScoringRowsByIds(@Param("statuses") Collection<LeadStatus> statuses,
+                                              @Param("ids") Collection<Long> ids);
+
+    // Détection de doublons en lot : une seule requête IN par paquet
+    @Query("SELECT l.email FROM Lead l WHERE l.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Index de recherche : colonnes indexées uniquement
+    String SELECT_SEARCH_DOCUMENT = "SELECT new com.crm.leadscontacts.search.domain.SearchDocument(" +
+            "l.id, l.firstName, l.lastName, l.email, l.company, l.jobTitle, l.notes, l.active, l.updatedAt) " +
+            "FROM Lead l ";
+
+    @Query(SELECT_SEARCH_DOCUMENT + "WHERE l.id IN :ids")
+    List<SearchDocument> findSearchDocumentsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_SEARCH_DOCUMENT + "WHERE l.active = true AND l.id > :afterId ORDER BY l.id")
+    List<SearchDocument> findActiveSearchDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Rattrapage après redémarrage : actifs et désactivés, par pages keyset (updatedAt, id) ;
+    // la borne updatedAt >= :since permet un parcours de plage sur l'index (updated_at, id)
+    @Query(SELECT_SEARCH_DOCUMENT + "WHERE l.updatedAt >= :since AND (l.updatedAt > :since OR l.id > :afterId) " +
+            "ORDER BY l.updatedAt, l.id")
+    List<SearchDocument> findSearchDocumentsUpdatedAfter(@Param("since") LocalDateTime since,
+                                                         @Param("afterId") Long afterId,
+                                                         Limit limit);
+
+    // Instantané analytique : chargement complet par pages d'id, puis rafraîchissement keyset (updatedAt, id)
+    String SELECT_ANALYTICS_ROW = "SELECT new com.crm.leadscontacts.analytics.domain.LeadAnalyticsRow(" +
+            "l.id, l.status, l.source, l.score, l.assignedTo, l.company, l.createdAt, l.qualifiedDate, l.convertedDate, " +
+            "l.active, l.updatedAt) " +
+            "FROM Lead l ";
+
+    @Query(SELECT_ANALYTICS_ROW + "WHERE l.active = true AND l.id > :afterId ORDER BY l.id")
+    List<LeadAnalyticsRow> findActiveAnalyticsRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SELECT_ANALYTICS_ROW + "WHERE l.updatedAt >= :since AND (l.updatedAt > :since OR l.id > :afterId) " +
+            "ORDER BY l.updatedAt, l.id")
+    List<LeadAnalyticsRow> findAnalyticsRowsUpdatedAfter(@Param("since") LocalDateTime since,
+                                                         @Param("afterId") Long afterId,
+                                                         Limit limit);
+
+    // Rattrapage des agrégats d'activité : comptages par jour, par plage d'IDs (actifs et désactivés)
+    // Borne explicite sur la clé primaire : MIN/MAX lus aux extrémités de l'index, jamais par l'index email
+    @Query("SELECT new com.crm.leadscontacts.scoring.domain.LeadIdRange(MIN(l.id), MAX(l.id)) FROM Lead l WHERE l.id > 0")
+    LeadIdRange findIdRange();
+
+    @Query("SELECT CAST(l.createdAt AS LocalDate), l.source, COUNT(l) FROM Lead l " +
+            "WHERE l.id > :afterId AND l.id <= :toId GROUP BY CAST(l.createdAt AS LocalDate), l.source")
+    List<Object[]> countCreatedByDayAndSource(@Param("afterId") Long afterId, @Param("toId") Long toId);
+
+    @Query("SELECT CAST(l.qualifiedDate AS LocalDate), COUNT(l) FROM Lead l " +
+            "WHERE l.id > :afterId AND l.id <= :toId AND l.qualifiedDate IS NOT NULL " +
+            "GROUP BY CAST(l.qualifiedDate AS LocalDate)")
+    List<Object[]> countQualifiedByDay(@Param("afterId") Long afterId, @Param("toId") Long toId);
+
+    @Query("SELECT CAST(l.convertedDate AS LocalDate), l.assignedTo, COUNT(l) FROM Lead l " +
+            "WHERE l.id > :afterId AND l.id <= :toId AND l.convertedDate IS NOT NULL " +
+            "GROUP BY CAST(l.convertedDate AS LocalDate), l.assignedTo")
+    List<Object[]> countConvertedByDayAndAssignee(@Param("afterId") Long afterId, @Param("toId") Long toId);
 }
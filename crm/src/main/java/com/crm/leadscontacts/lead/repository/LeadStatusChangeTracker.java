@@ -0,0 +1,113 @@
+package com.crm.leadscontacts.lead.repository;
+
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadActivityEvent;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.domain.LeadStatusChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Observe les INSERT/UPDATE/DELETE de leads au niveau d'Hibernate et publie un LeadStatusChangedEvent
+ * dès que le statut compté change (Lead.qualify, disqualify, markAsContacted, convertToContact,
+ * BaseEntity.deactivate/activate, création, suppression), et un LeadActivityEvent lorsqu'un lead
+ * actif est créé ou change de statut
+ *
+ * Design Pattern: Observer Pattern
+ * Principe SOLID: OCP - le domaine Lead n'a pas à connaître ses observateurs
+ */
+@Component
+@RequiredArgsConstructor
+public class LeadStatusChangeTracker implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Lead lead) {
+            publish(null, countedStatus(lead.getStatus(), lead.getActive()));
+            if (Boolean.TRUE.equals(lead.getActive())) {
+                eventPublisher.publishEvent(LeadActivityEvent.created(lead.getStatus(), lead.getSource(),
+                        lead.getAssignedTo(), lead.getCreatedAt() != null ? lead.getCreatedAt() : LocalDateTime.now(), 1));
+            }
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Lead lead) || event.getOldState() == null) {
+            // État précédent inconnu : la réconciliation périodique corrigera l'écart éventuel
+            return;
+        }
+        LeadStatus before = countedStatus(event.getOldState(), event.getPersister());
+        publish(before, countedStatus(lead.getStatus(), lead.getActive()));
+
+        // Activité : transition d'un lead actif (une réactivation n'est pas une entrée dans le statut)
+        LeadStatus previous = (LeadStatus) property(event.getOldState(), event.getPersister(), "status");
+        if (Boolean.TRUE.equals(lead.getActive()) && previous != lead.getStatus()) {
+            eventPublisher.publishEvent(new LeadActivityEvent(previous, lead.getStatus(), null,
+                    lead.getAssignedTo(), LocalDateTime.now(), 1));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Lead lead) {
+            LeadStatus before = event.getDeletedState() != null
+                    ? countedStatus(event.getDeletedState(), event.getPersister())
+                    : countedStatus(lead.getStatus(), lead.getActive());
+            publish(before, null);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void publish(LeadStatus from, LeadStatus to) {
+        if (!Objects.equals(from, to)) {
+            eventPublisher.publishEvent(new LeadStatusChangedEvent(from, to, 1));
+        }
+    }
+
+    private static LeadStatus countedStatus(Object[] state, EntityPersister persister) {
+        return countedStatus((LeadStatus) property(state, persister, "status"),
+                (Boolean) property(state, persister, "active"));
+    }
+
+    private static Object property(Object[] state, EntityPersister persister, String name) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (name.equals(names[i])) {
+                return state[i];
+            }
+        }
+        return null;
+    }
+
+    private static LeadStatus countedStatus(LeadStatus status, Boolean active) {
+        return Boolean.TRUE.equals(active) ? status : null;
+    }
+}
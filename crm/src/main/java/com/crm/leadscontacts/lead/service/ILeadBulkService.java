@@ -0,0 +1,18 @@
+package com.crm.leadscontacts.lead.service;
+
+import com.crm.leadscontacts.lead.dto.LeadBulkTransitionDTO;
+import com.crm.leadscontacts.lead.dto.LeadBulkTransitionResultDTO;
+
+/**
+ * Transitions du cycle de vie appliquées à un ensemble de leads
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: ISP - séparé des opérations unitaires de ILeadService
+ */
+public interface ILeadBulkService {
+
+    /**
+     * Applique la transition par paquets, chacun dans sa propre transaction ; résultat détaillé par lead
+     */
+    LeadBulkTransitionResultDTO applyTransition(LeadBulkTransitionDTO request);
+}
@@ -1,11 +1,17 @@
 package com.crm.leadscontacts.lead.service;
 
 import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.dto.LeadBatchResultDTO;
 import com.crm.leadscontacts.lead.dto.LeadCreateDTO;
 import com.crm.leadscontacts.lead.dto.LeadDTO;
 import com.crm.leadscontacts.lead.dto.LeadUpdateDTO;
+import com.crm.leadscontacts.shared.domain.CollectionVersion;
+import com.crm.leadscontacts.shared.pagination.CursorPage;
+import com.crm.leadscontacts.shared.sync.DeltaPage;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interface du service Lead
@@ -18,16 +24,51 @@ public interface ILeadService {
 
     LeadDTO createLead(LeadCreateDTO createDTO);
 
-    LeadDTO updateLead(Long id, LeadUpdateDTO updateDTO);
+    /**
+     * Création en lot : doublons vérifiés et INSERT regroupés par paquet
+     */
+    LeadBatchResultDTO createLeadsBatch(List<LeadCreateDTO> createDTOs);
+
+    /**
+     * Mise à jour ; expectedVersion (If-Match) est comparée à la version courante, null = sans précondition
+     */
+    LeadDTO updateLead(Long id, LeadUpdateDTO updateDTO, Long expectedVersion);
 
     LeadDTO getLeadById(Long id);
 
+    /**
+     * Version courante du lead, sans mapping (décision du 304 sur If-None-Match)
+     */
+    Long getLeadVersion(Long id);
+
+    CollectionVersion getActiveLeadsVersion();
+
+    CollectionVersion getLeadsByStatusVersion(LeadStatus status);
+
+    CollectionVersion getLeadsByAssignedUserVersion(String userId);
+
     List<LeadDTO> getAllLeads();
 
     List<LeadDTO> getLeadsByStatus(LeadStatus status);
 
     List<LeadDTO> getLeadsByAssignedUser(String userId);
 
+    CursorPage<LeadDTO> getLeadsPage(String cursor, Integer size);
+
+    CursorPage<LeadDTO> getLeadsByStatusPage(LeadStatus status, String cursor, Integer size);
+
+    CursorPage<LeadDTO> getLeadsByAssignedUserPage(String userId, String cursor, Integer size);
+
+    /**
+     * Leads modifiés ou désactivés depuis le jeton since (null = première synchronisation)
+     */
+    DeltaPage<LeadDTO> getLeadChanges(String since, Integer size);
+
+    /**
+     * Parcourt tous les leads actifs sans les charger en mémoire (export)
+     */
+    void streamActiveLeads(Consumer<LeadDTO> consumer);
+
     LeadDTO qualifyLead(Long id, Integer score);
 
     LeadDTO disqualifyLead(Long id, String reason);
@@ -43,4 +84,9 @@ public interface ILeadService {
     void deleteLead(Long id);
 
     long countLeadsByStatus(LeadStatus status);
+
+    /**
+     * Nombre de leads actifs par statut, servi depuis les compteurs en mémoire
+     */
+    Map<LeadStatus, Long> getStatusStatistics();
 }
@@ -0,0 +1,322 @@
+package com.crm.leadscontacts.lead.service;
+
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.contact.repository.IContactRepository;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadActivityEvent;
+import com.crm.leadscontacts.lead.domain.LeadLifecycleRow;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.domain.LeadStatusChangedEvent;
+import com.crm.leadscontacts.lead.domain.LeadTransition;
+import com.crm.leadscontacts.lead.dto.LeadBulkItemResultDTO;
+import com.crm.leadscontacts.lead.dto.LeadBulkTransitionDTO;
+import com.crm.leadscontacts.lead.dto.LeadBulkTransitionResultDTO;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.scoring.service.IScoringService;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import com.crm.leadscontacts.shared.notification.INotifier;
+import com.crm.leadscontacts.shared.notification.NotificationType;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transitions en lot (qualification, disqualification, contact, désactivation, conversion)
+ *
+ * Chaque paquet coûte un nombre constant d'allers-retours : une lecture des lignes visées
+ * (verrouillées jusqu'au commit), puis un UPDATE ensembliste qui incrémente la version.
+ * La conversion crée des contacts : INSERT JDBC groupés puis mise à jour des leads via l'entité.
+ * Les UPDATE ensemblistes échappent aux listeners Hibernate : compteurs de statut, cache
+ * et index de recherche sont prévenus explicitement.
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: SRP - transitions en lot uniquement (règles métier de Lead réappliquées)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "crm.service", histogram = true)
+public class LeadBulkServiceImpl implements ILeadBulkService {
+
+    // Taille d'un paquet : une lecture verrouillée + un UPDATE + une transaction
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ITEMS = 10_000;
+
+    private final ILeadRepository leadRepository;
+    private final IContactRepository contactRepository;
+    private final INotifier notifier;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IScoringService scoringService;
+
+    @Override
+    public LeadBulkTransitionResultDTO applyTransition(LeadBulkTransitionDTO request) {
+        validate(request);
+        List<Long> ids = resolveIds(request);
+
+        long start = System.nanoTime();
+        Map<Long, LeadBulkItemResultDTO> results = new HashMap<>();
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            applyChunk(request, chunk, results, chunkTransaction);
+        }
+
+        List<LeadBulkItemResultDTO> items = ids.stream().map(results::get).toList();
+        int updated = (int) items.stream()
+                .filter(item -> item.getOutcome() == LeadBulkItemResultDTO.Outcome.UPDATED)
+                .count();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        log.info("Transition {} en lot: {} leads visés, {} modifiés, {} ignorés en {} ms",
+                request.getAction(), ids.size(), updated, ids.size() - updated, elapsedMillis);
+
+        return LeadBulkTransitionResultDTO.builder()
+                .action(request.getAction())
+                .total(ids.size())
+                .updated(updated)
+                .skipped(ids.size() - updated)
+                .elapsedMillis(elapsedMillis)
+                .items(items)
+                .build();
+    }
+
+    private void validate(LeadBulkTransitionDTO request) {
+        if (request.getAction() == LeadTransition.QUALIFY && request.getScore() == null) {
+            throw new BusinessException("Le score est obligatoire pour qualifier des leads");
+        }
+        if (request.getAction() == LeadTransition.DISQUALIFY
+                && (request.getReason() == null || request.getReason().isBlank())) {
+            throw new BusinessException("Le motif est obligatoire pour disqualifier des leads");
+        }
+    }
+
+    /**
+     * IDs explicites (dédoublonnés, dans l'ordre reçu) ou leads actifs du filtre, triés par ID
+     */
+    private List<Long> resolveIds(LeadBulkTransitionDTO request) {
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            if (request.getIds().size() > MAX_ITEMS) {
+                throw new BusinessException("Un lot ne peut pas dépasser " + MAX_ITEMS + " leads");
+            }
+            return request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        }
+        if (request.getStatus() == null && request.getAssignedTo() == null) {
+            throw new BusinessException("Indiquer des IDs ou au moins un critère de filtre (statut, utilisateur)");
+        }
+        List<Long> ids = leadRepository.findActiveIdsByFilter(
+                request.getStatus(), request.getAssignedTo(), Limit.of(MAX_ITEMS + 1));
+        if (ids.size() > MAX_ITEMS) {
+            throw new BusinessException("Le filtre sélectionne plus de " + MAX_ITEMS + " leads");
+        }
+        return ids;
+    }
+
+    /**
+     * Traite un paquet dans sa propre transaction.
+     * Si l'écriture échoue, tout le paquet est marqué en échec et les paquets suivants continuent.
+     */
+    private void applyChunk(LeadBulkTransitionDTO request, List<Long> chunk,
+                            Map<Long, LeadBulkItemResultDTO> results, TransactionTemplate chunkTransaction) {
+        Map<String, Integer> updatedPerAssignee = new HashMap<>();
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                if (request.getAction() == LeadTransition.CONVERT) {
+                    convertChunk(chunk, results, updatedPerAssignee);
+                } else {
+                    updateChunk(request, chunk, results, updatedPerAssignee);
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Paquet de transitions {} annulé: {}", request.getAction(), e.getMostSpecificCause().getMessage());
+            for (Long id : chunk) {
+                results.put(id, outcome(id, LeadBulkItemResultDTO.Outcome.FAILED,
+                        "Paquet annulé: " + e.getMostSpecificCause().getMessage()));
+            }
+            return;
+        }
+
+        // Une seule notification par commercial et par paquet
+        NotificationType type = switch (request.getAction()) {
+            case QUALIFY -> NotificationType.LEAD_QUALIFIED;
+            case CONVERT -> NotificationType.LEAD_CONVERTED;
+            default -> null;
+        };
+        if (type != null) {
+            String label = type == NotificationType.LEAD_QUALIFIED ? "qualifié(s)" : "converti(s) en contact";
+            updatedPerAssignee.forEach((assignee, count) ->
+                    notifier.sendNotification(assignee, count + " lead(s) " + label, type));
+        }
+    }
+
+    private void updateChunk(LeadBulkTransitionDTO request, List<Long> chunk,
+                             Map<Long, LeadBulkItemResultDTO> results, Map<String, Integer> updatedPerAssignee) {
+        LeadTransition action = request.getAction();
+        Map<Long, LeadLifecycleRow> rows = leadRepository.findLifecycleRowsForUpdate(chunk).stream()
+                .collect(Collectors.toMap(LeadLifecycleRow::id, Function.identity()));
+
+        List<LeadLifecycleRow> eligible = new ArrayList<>();
+        for (Long id : chunk) {
+            LeadLifecycleRow row = rows.get(id);
+            String refusal = row == null ? null : refusal(action, row.status(), row.active());
+            if (row == null) {
+                results.put(id, outcome(id, LeadBulkItemResultDTO.Outcome.NOT_FOUND, "Lead introuvable"));
+            } else if (refusal != null) {
+                results.put(id, outcome(id, LeadBulkItemResultDTO.Outcome.SKIPPED, refusal));
+            } else {
+                eligible.add(row);
+            }
+        }
+        if (eligible.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = eligible.stream().map(LeadLifecycleRow::id).toList();
+        LocalDateTime now = LocalDateTime.now();
+        int updated = switch (action) {
+            case QUALIFY -> leadRepository.bulkQualify(ids, request.getScore(), now);
+            case DISQUALIFY -> leadRepository.bulkDisqualify(
+                    ids, Lead.disqualificationNote(request.getReason()), Lead.NOTES_SEPARATOR, now);
+            case MARK_CONTACTED -> leadRepository.bulkMarkContacted(ids, now);
+            case DEACTIVATE -> leadRepository.bulkDeactivate(ids, now);
+            case CONVERT -> throw new IllegalStateException("La conversion n'est pas ensembliste");
+        };
+        if (updated != ids.size()) {
+            // Lignes verrouillées : un écart signale une écriture qui a contourné le verrou
+            throw new OptimisticLockingFailureException(
+                    updated + " leads modifiés sur " + ids.size() + " attendus");
+        }
+        if (action == LeadTransition.MARK_CONTACTED) {
+            // Date de contact modifiée : score recalculé sous la version que cet UPDATE vient de poser
+            scoringService.rescoreWritten(ids);
+        }
+
+        LeadStatus target = targetStatus(action);
+        EntityChangedEvent.ChangeKind kind = action == LeadTransition.DEACTIVATE
+                ? EntityChangedEvent.ChangeKind.DEACTIVATED
+                : EntityChangedEvent.ChangeKind.TRANSITIONED;
+        Map<LeadStatus, Long> fromCounts = new EnumMap<>(LeadStatus.class);
+        for (LeadLifecycleRow row : eligible) {
+            long version = row.version() + 1;
+            results.put(row.id(), LeadBulkItemResultDTO.builder()
+                    .leadId(row.id())
+                    .outcome(LeadBulkItemResultDTO.Outcome.UPDATED)
+                    .version(version)
+                    .build());
+            fromCounts.merge(row.status(), 1L, Long::sum);
+            updatedPerAssignee.merge(row.assignedTo(), 1, Integer::sum);
+            eventPublisher.publishEvent(new EntityChangedEvent(
+                    Lead.class, row.id(), version, kind));
+        }
+        fromCounts.forEach((from, count) -> {
+            if (from != target) {
+                eventPublisher.publishEvent(new LeadStatusChangedEvent(from, target, count));
+                if (target != null) {
+                    eventPublisher.publishEvent(new LeadActivityEvent(from, target, null, null, now, count));
+                }
+            }
+        });
+        log.debug("Paquet {}: {} leads passés à {}", action, ids.size(), target);
+    }
+
+    /**
+     * Conversion : chaque lead reçoit l'ID de son contact, la mise à jour passe donc par l'entité
+     * (UPDATE regroupés par Hibernate, listeners de statut et d'invalidation déclenchés)
+     */
+    private void convertChunk(List<Long> chunk, Map<Long, LeadBulkItemResultDTO> results,
+                              Map<String, Integer> updatedPerAssignee) {
+        Map<Long, Lead> leads = leadRepository.findAllByIdForUpdate(chunk).stream()
+                .collect(Collectors.toMap(Lead::getId, Function.identity()));
+        // Emails comparés en minuscules : la collation de la colonne ne doit pas décider du doublon
+        Set<String> existingContacts = new HashSet<>();
+        contactRepository.findExistingEmails(leads.values().stream().map(Lead::getEmail).toList())
+                .forEach(email -> existingContacts.add(email.toLowerCase(Locale.ROOT)));
+
+        List<Lead> eligible = new ArrayList<>();
+        for (Long id : chunk) {
+            Lead lead = leads.get(id);
+            String refusal = lead == null ? null : refusal(LeadTransition.CONVERT, lead.getStatus(), lead.getActive());
+            if (refusal == null && lead != null && !existingContacts.add(lead.getEmail().toLowerCase(Locale.ROOT))) {
+                refusal = "Un contact avec cet email existe déjà";
+            }
+            if (lead == null) {
+                results.put(id, outcome(id, LeadBulkItemResultDTO.Outcome.NOT_FOUND, "Lead introuvable"));
+            } else if (refusal != null) {
+                results.put(id, outcome(id, LeadBulkItemResultDTO.Outcome.SKIPPED, refusal));
+            } else {
+                eligible.add(lead);
+            }
+        }
+        if (eligible.isEmpty()) {
+            return;
+        }
+
+        List<Contact> contacts = eligible.stream().map(LeadServiceImpl::toContact).toList();
+        contactRepository.insertBatch(contacts);
+        // INSERT JDBC : invisibles pour Hibernate, l'index de recherche est prévenu explicitement
+        contacts.forEach(contact -> eventPublisher.publishEvent(new EntityChangedEvent(
+                Contact.class, contact.getId(), contact.getVersion(), EntityChangedEvent.ChangeKind.CREATED)));
+
+        for (int i = 0; i < eligible.size(); i++) {
+            eligible.get(i).convertToContact(contacts.get(i).getId());
+        }
+        leadRepository.flush();
+
+        for (int i = 0; i < eligible.size(); i++) {
+            Lead lead = eligible.get(i);
+            results.put(lead.getId(), LeadBulkItemResultDTO.builder()
+                    .leadId(lead.getId())
+                    .outcome(LeadBulkItemResultDTO.Outcome.UPDATED)
+                    .version(lead.getVersion())
+                    .contactId(contacts.get(i).getId())
+                    .build());
+            updatedPerAssignee.merge(lead.getAssignedTo(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Règles de statut de Lead (LeadTransition) ; un lead désactivé ne change plus de statut
+     */
+    private static String refusal(LeadTransition action, LeadStatus status, Boolean active) {
+        if (!Boolean.TRUE.equals(active)) {
+            return action == LeadTransition.DEACTIVATE ? "Lead déjà désactivé" : "Lead désactivé";
+        }
+        return action.refusalFrom(status);
+    }
+
+    /**
+     * Statut compté après la transition (null pour une désactivation)
+     */
+    private static LeadStatus targetStatus(LeadTransition action) {
+        return switch (action) {
+            case QUALIFY -> LeadStatus.QUALIFIED;
+            case DISQUALIFY -> LeadStatus.UNQUALIFIED;
+            case MARK_CONTACTED -> LeadStatus.CONTACTED;
+            case CONVERT -> LeadStatus.CONVERTED;
+            case DEACTIVATE -> null;
+        };
+    }
+
+    private static LeadBulkItemResultDTO outcome(Long id, LeadBulkItemResultDTO.Outcome outcome, String reason) {
+        return LeadBulkItemResultDTO.builder()
+                .leadId(id)
+                .outcome(outcome)
+                .reason(reason)
+                .build();
+    }
+}
@@ -5,21 +5,51 @@ import com.crm.leadscontacts.contact.domain.ContactType;
 import com.crm.leadscontacts.contact.repository.IContactRepository;
 import com.crm.leadscontacts.lead.domain.LeadStatus;
 import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadActivityEvent;
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.lead.domain.LeadStatusChangedEvent;
+import com.crm.leadscontacts.lead.domain.LeadTransition;
+import com.crm.leadscontacts.lead.dto.LeadBatchItemResultDTO;
+import com.crm.leadscontacts.lead.dto.LeadBatchResultDTO;
 import com.crm.leadscontacts.lead.dto.LeadCreateDTO;
 import com.crm.leadscontacts.lead.dto.LeadDTO;
 import com.crm.leadscontacts.lead.dto.LeadUpdateDTO;
 import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.scoring.service.IScoringService;
+import com.crm.leadscontacts.shared.cache.Versioned;
+import com.crm.leadscontacts.shared.cache.VersionedEntityCache;
+import com.crm.leadscontacts.shared.datasource.ReadRoutingContext;
+import com.crm.leadscontacts.shared.domain.CollectionVersion;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
 import com.crm.leadscontacts.shared.handlers.BusinessException;
+import com.crm.leadscontacts.shared.handlers.PreconditionFailedException;
 import com.crm.leadscontacts.shared.handlers.ResourceNotFoundException;
 import com.crm.leadscontacts.shared.notification.INotifier;
 import com.crm.leadscontacts.shared.notification.NotificationType;
+import com.crm.leadscontacts.shared.pagination.CursorPage;
+import com.crm.leadscontacts.shared.pagination.KeysetCursor;
+import com.crm.leadscontacts.shared.retry.OptimisticLockRetry;
+import com.crm.leadscontacts.shared.sync.DeltaPage;
+import com.crm.leadscontacts.shared.sync.SyncToken;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implémentation du service Lead
@@ -32,11 +62,23 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "crm.service", histogram = true)
 public class LeadServiceImpl implements ILeadService {
 
+    // Taille d'un paquet : une requête de doublons + un lot d'INSERT + une transaction
+    private static final int BATCH_CHUNK_SIZE = 500;
+    private static final int BATCH_MAX_ITEMS = 10_000;
+
     private final ILeadRepository leadRepository;
     private final IContactRepository contactRepository;
     private final INotifier notifier;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LeadStatusStatistics statusStatistics;
+    private final VersionedEntityCache<LeadDTO> leadCache;
+    private final OptimisticLockRetry lockRetry;
+    private final IScoringService scoringService;
 
     @Override
     public LeadDTO createLead(LeadCreateDTO createDTO) {
@@ -48,18 +90,8 @@ public class LeadServiceImpl implements ILeadService {
                     throw new BusinessException("Un lead avec cet email existe déjà");
                 });
 
-        Lead lead = Lead.builder()
-                .firstName(createDTO.getFirstName())
-                .lastName(createDTO.getLastName())
-                .email(createDTO.getEmail())
-                .phone(createDTO.getPhone())
-                .company(createDTO.getCompany())
-                .jobTitle(createDTO.getJobTitle())
-                .source(createDTO.getSource())
-                .assignedTo(createDTO.getAssignedTo())
-                .notes(createDTO.getNotes())
-                .address(createDTO.getAddress())
-                .build();
+        Lead lead = mapToEntity(createDTO);
+        scoringService.applyScore(lead);
 
         Lead saved = leadRepository.save(lead);
 
@@ -73,173 +105,431 @@ public class LeadServiceImpl implements ILeadService {
     }
 
     @Override
-    public LeadDTO updateLead(Long id, LeadUpdateDTO updateDTO) {
-        Lead lead = findLeadOrThrow(id);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LeadBatchResultDTO createLeadsBatch(List<LeadCreateDTO> createDTOs) {
+        if (createDTOs == null || createDTOs.isEmpty()) {
+            throw new BusinessException("Le lot de leads est vide");
+        }
+        if (createDTOs.size() > BATCH_MAX_ITEMS) {
+            throw new BusinessException("Un lot ne peut pas dépasser " + BATCH_MAX_ITEMS + " leads");
+        }
 
-        if (updateDTO.getFirstName() != null) lead.setFirstName(updateDTO.getFirstName());
-        if (updateDTO.getLastName() != null) lead.setLastName(updateDTO.getLastName());
-        if (updateDTO.getPhone() != null) lead.setPhone(updateDTO.getPhone());
-        if (updateDTO.getCompany() != null) lead.setCompany(updateDTO.getCompany());
-        if (updateDTO.getJobTitle() != null) lead.setJobTitle(updateDTO.getJobTitle());
-        if (updateDTO.getNotes() != null) lead.setNotes(updateDTO.getNotes());
-        if (updateDTO.getAddress() != null) lead.setAddress(updateDTO.getAddress());
+        long start = System.nanoTime();
+        LeadBatchItemResultDTO[] results = new LeadBatchItemResultDTO[createDTOs.size()];
+        Set<String> seenEmails = new HashSet<>();
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
 
-        Lead updated = leadRepository.save(lead);
-        log.info("Lead {} mis à jour", id);
+        for (int from = 0; from < createDTOs.size(); from += BATCH_CHUNK_SIZE) {
+            int to = Math.min(from + BATCH_CHUNK_SIZE, createDTOs.size());
+            createChunk(createDTOs, from, to, seenEmails, results, chunkTransaction);
+        }
 
-        return mapToDTO(updated);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int created = (int) Arrays.stream(results)
+                .filter(r -> r.getOutcome() == LeadBatchItemResultDTO.Outcome.CREATED)
+                .count();
+        double leadsPerSecond = elapsedMillis > 0 ? created * 1000.0 / elapsedMillis : created;
+
+        log.info("Lot de {} leads traité en {} ms: {} créés, {} rejetés ({} leads/s)",
+                createDTOs.size(), elapsedMillis, created, createDTOs.size() - created,
+                String.format(Locale.ROOT, "%.1f", leadsPerSecond));
+
+        return LeadBatchResultDTO.builder()
+                .total(createDTOs.size())
+                .created(created)
+                .rejected(createDTOs.size() - created)
+                .elapsedMillis(elapsedMillis)
+                .leadsPerSecond(leadsPerSecond)
+                .items(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Traite un paquet [from, to) dans sa propre transaction.
+     * Si l'insertion échoue, tout le paquet est rejeté et les paquets suivants continuent.
+     */
+    private void createChunk(List<LeadCreateDTO> createDTOs, int from, int to, Set<String> seenEmails,
+                             LeadBatchItemResultDTO[] results, TransactionTemplate chunkTransaction) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            LeadCreateDTO dto = createDTOs.get(i);
+            String reason = validateBatchItem(dto);
+            if (reason == null && !seenEmails.add(dto.getEmail().toLowerCase(Locale.ROOT))) {
+                reason = "Email en double dans le lot";
+            }
+            if (reason != null) {
+                results[i] = rejected(i, dto, reason);
+            } else {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> createdPerAssignee = new HashMap<>();
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                // Comparaison insensible à la casse, quelle que soit la collation de la colonne
+                Set<String> existing = new HashSet<>();
+                leadRepository.findExistingEmails(candidates.stream().map(i -> createDTOs.get(i).getEmail()).toList())
+                        .forEach(email -> existing.add(email.toLowerCase(Locale.ROOT)));
+
+                List<Integer> insertedIndexes = new ArrayList<>();
+                List<Lead> toInsert = new ArrayList<>();
+                for (Integer i : candidates) {
+                    LeadCreateDTO dto = createDTOs.get(i);
+                    if (existing.contains(dto.getEmail().toLowerCase(Locale.ROOT))) {
+                        results[i] = rejected(i, dto, "Un lead avec cet email existe déjà");
+                    } else {
+                        insertedIndexes.add(i);
+                        Lead lead = mapToEntity(dto);
+                        scoringService.applyScore(lead);
+                        toInsert.add(lead);
+                    }
+                }
+
+                leadRepository.insertBatch(toInsert);
+                // INSERT JDBC : invisibles pour Hibernate, les compteurs et l'index sont prévenus explicitement
+                eventPublisher.publishEvent(LeadStatusChangedEvent.created(LeadStatus.NEW, toInsert.size()));
+                Map<LeadSource, Long> createdPerSource = new HashMap<>();
+                toInsert.forEach(lead -> createdPerSource.merge(lead.getSource(), 1L, Long::sum));
+                createdPerSource.forEach((source, count) -> eventPublisher.publishEvent(LeadActivityEvent.created(
+                        LeadStatus.NEW, source, null, toInsert.get(0).getCreatedAt(), count)));
+                toInsert.forEach(lead -> eventPublisher.publishEvent(new EntityChangedEvent(
+                        Lead.class, lead.getId(), lead.getVersion(), EntityChangedEvent.ChangeKind.CREATED)));
+
+                for (int k = 0; k < toInsert.size(); k++) {
+                    int i = insertedIndexes.get(k);
+                    Lead lead = toInsert.get(k);
+                    results[i] = LeadBatchItemResultDTO.builder()
+                            .index(i)
+                            .email(lead.getEmail())
+                            .outcome(LeadBatchItemResultDTO.Outcome.CREATED)
+                            .leadId(lead.getId())
+                            .build();
+                    createdPerAssignee.merge(lead.getAssignedTo(), 1, Integer::sum);
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Paquet de leads [{}, {}) annulé: {}", from, to, e.getMostSpecificCause().getMessage());
+            for (Integer i : candidates) {
+                results[i] = rejected(i, createDTOs.get(i),
+                        "Paquet annulé: " + e.getMostSpecificCause().getMessage());
+            }
+            return;
+        }
+
+        // Une seule notification par commercial et par paquet
+        createdPerAssignee.forEach((assignee, count) -> notifier.sendNotification(
+                assignee,
+                count + " nouveau(x) lead(s) assigné(s)",
+                NotificationType.INFO
+        ));
+    }
+
+    private String validateBatchItem(LeadCreateDTO dto) {
+        if (dto == null) {
+            return "Élément vide";
+        }
+        Set<ConstraintViolation<LeadCreateDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private LeadBatchItemResultDTO rejected(int index, LeadCreateDTO dto, String reason) {
+        return LeadBatchItemResultDTO.builder()
+                .index(index)
+                .email(dto != null ? dto.getEmail() : null)
+                .outcome(LeadBatchItemResultDTO.Outcome.REJECTED)
+                .reason(reason)
+                .build();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // transaction par tentative
+    public LeadDTO updateLead(Long id, LeadUpdateDTO updateDTO, Long expectedVersion) {
+        return lockRetry.execute("updateLead", () -> {
+            Lead lead = findLeadOrThrow(id);
+            // If-Match : la version attendue devient celle vérifiée par le verrou optimiste au flush
+            if (expectedVersion != null && !expectedVersion.equals(lead.getVersion())) {
+                throw new PreconditionFailedException("Lead", id, expectedVersion, lead.getVersion());
+            }
+
+            if (updateDTO.getFirstName() != null) lead.setFirstName(updateDTO.getFirstName());
+            if (updateDTO.getLastName() != null) lead.setLastName(updateDTO.getLastName());
+            if (updateDTO.getPhone() != null) lead.setPhone(updateDTO.getPhone());
+            if (updateDTO.getCompany() != null) lead.setCompany(updateDTO.getCompany());
+            if (updateDTO.getJobTitle() != null) lead.setJobTitle(updateDTO.getJobTitle());
+            if (updateDTO.getNotes() != null) lead.setNotes(updateDTO.getNotes());
+            if (updateDTO.getAddress() != null) lead.setAddress(updateDTO.getAddress());
+            // Critères de scoring modifiés : le score part avec cette version, pas dans une écriture ultérieure
+            if (updateDTO.getPhone() != null || updateDTO.getCompany() != null
+                    || updateDTO.getJobTitle() != null || updateDTO.getAddress() != null) {
+                scoringService.applyScore(lead);
+            }
+
+            // Flush immédiat : la version et la date renvoyées (ETag) sont celles écrites en base
+            Lead updated = leadRepository.saveAndFlush(lead);
+            log.info("Lead {} mis à jour", id);
+
+            return mapToDTO(updated);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)  // pas de connexion sur un succès du cache
     public LeadDTO getLeadById(Long id) {
-        Lead lead = findLeadOrThrow(id);
-        return mapToDTO(lead);
+        // Lecture via le cache ; invalidé après commit par EntityChangedEvent
+        return leadCache.get(id, () -> {
+            Lead lead = findLeadOrThrow(id);
+            return new Versioned<>(lead.getVersion(), mapToDTO(lead));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Long getLeadVersion(Long id) {
+        Long cached = leadCache.peekVersion(id);
+        if (cached != null) {
+            return cached;
+        }
+        return leadRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Lead", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion getActiveLeadsVersion() {
+        return leadRepository.findActiveCollectionVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion getLeadsByStatusVersion(LeadStatus status) {
+        return leadRepository.findCollectionVersionByStatus(status);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion getLeadsByAssignedUserVersion(String userId) {
+        return leadRepository.findCollectionVersionByAssignedTo(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LeadDTO> getAllLeads() {
-        return leadRepository.findByActiveTrue().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return leadRepository.findDtoByActiveTrue();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LeadDTO> getLeadsByStatus(LeadStatus status) {
-        return leadRepository.findByStatus(status).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return leadRepository.findDtoByStatus(status);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LeadDTO> getLeadsByAssignedUser(String userId) {
-        return leadRepository.findByAssignedTo(userId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return leadRepository.findDtoByAssignedTo(userId);
     }
 
     @Override
-    public LeadDTO qualifyLead(Long id, Integer score) {
-        Lead lead = findLeadOrThrow(id);
-
-        if (lead.getStatus() == LeadStatus.CONVERTED) {
-            throw new BusinessException("Un lead converti ne peut pas être requalifié");
-        }
-
-        lead.qualify(score);
-        Lead saved = leadRepository.save(lead);
+    @Transactional(readOnly = true)
+    public CursorPage<LeadDTO> getLeadsPage(String cursor, Integer size) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
 
-        notifier.sendNotification(
-                lead.getAssignedTo(),
-                "Lead qualifié: " + lead.getFullName() + " (Score: " + score + ")",
-                NotificationType.LEAD_QUALIFIED
-        );
+        List<LeadDTO> rows = leadRepository.findDtoByActiveTrueAfter(
+                after != null ? after.getId() : 0L, Limit.of(pageSize + 1));
 
-        log.info("Lead {} qualifié avec score {}", id, score);
-        return mapToDTO(saved);
+        return CursorPage.of(rows, pageSize, lead -> KeysetCursor.ofId(lead.getId()), lead -> lead);
     }
 
     @Override
-    public LeadDTO disqualifyLead(Long id, String reason) {
-        Lead lead = findLeadOrThrow(id);
-        lead.disqualify(reason);
-        Lead saved = leadRepository.save(lead);
+    @Transactional(readOnly = true)
+    public CursorPage<LeadDTO> getLeadsByStatusPage(LeadStatus status, String cursor, Integer size) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
 
-        log.info("Lead {} disqualifié: {}", id, reason);
-        return mapToDTO(saved);
+        // Tri (score DESC, id ASC) : la première page part du score maximal
+        int score = after != null && after.getSortKey() != null
+                ? after.getSortKey().intValue() : Integer.MAX_VALUE;
+        long afterId = after != null ? after.getId() : 0L;
+
+        List<LeadDTO> rows = leadRepository.findDtoByStatusAndActiveTrueAfter(
+                status, score, afterId, Limit.of(pageSize + 1));
+
+        return CursorPage.of(rows, pageSize,
+                lead -> new KeysetCursor(lead.getScore().longValue(), lead.getId()),
+                lead -> lead);
     }
 
     @Override
-    public LeadDTO markLeadAsContacted(Long id) {
-        Lead lead = findLeadOrThrow(id);
-        lead.markAsContacted();
-        Lead saved = leadRepository.save(lead);
+    @Transactional(readOnly = true)
+    public CursorPage<LeadDTO> getLeadsByAssignedUserPage(String userId, String cursor, Integer size) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
 
-        log.info("Lead {} marqué comme contacté", id);
-        return mapToDTO(saved);
+        List<LeadDTO> rows = leadRepository.findDtoByAssignedToAfter(
+                userId, after != null ? after.getId() : 0L, Limit.of(pageSize + 1));
+
+        return CursorPage.of(rows, pageSize, lead -> KeysetCursor.ofId(lead.getId()), lead -> lead);
     }
 
     @Override
-    public Long convertLeadToContact(Long leadId) {
-        Lead lead = findLeadOrThrow(leadId);
-        System.out.println("Lead " + lead.getFullName() + " convertin");
-
-        if (lead.getStatus() == LeadStatus.CONVERTED) {
-            throw new BusinessException("Ce lead a déjà été converti");
-        }
+    @Transactional(readOnly = true)
+    public DeltaPage<LeadDTO> getLeadChanges(String since, Integer size) {
+        int pageSize = CursorPage.clampSize(size);
+        SyncToken from = SyncToken.decode(since);
+
+        // Primaire : un réplica (réplication parallèle) peut exposer une séquence avant la précédente
+        return ReadRoutingContext.onPrimary(() -> DeltaPage.of(
+                leadRepository.findDtoChangedAfter(from.getChangeSeq(), from.getId(), Limit.of(pageSize + 1)),
+                pageSize, from, LeadDTO::getId, leadRepository::findInactiveIdsIn));
+    }
 
-        if (lead.getStatus() != LeadStatus.QUALIFIED) {
-            throw new BusinessException("Seuls les leads qualifiés peuvent être convertis");
+    @Override
+    @Transactional(readOnly = true)
+    public void streamActiveLeads(Consumer<LeadDTO> consumer) {
+        // Projection DTO : rien n'est enregistré dans le contexte de persistance
+        try (Stream<LeadDTO> leads = leadRepository.streamDtoByActiveTrue()) {
+            leads.forEach(consumer);
         }
+    }
 
-        // Créer le contact
-        Contact contact = Contact.builder()
-                .firstName(lead.getFirstName())
-                .lastName(lead.getLastName())
-                .email(lead.getEmail())
-                .phone(lead.getPhone())
-                .company(lead.getCompany())
-                .jobTitle(lead.getJobTitle())
-                .address(lead.getAddress())
-                .type(ContactType.CUSTOMER)
-                .assignedTo(lead.getAssignedTo())
-                .notes("Converti depuis lead ID: " + leadId + "\\n" + lead.getNotes())
-                .build();
-
-        Contact savedContact = contactRepository.save(contact);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // transaction par tentative
+    public LeadDTO qualifyLead(Long id, Integer score) {
+        return lockRetry.execute("qualifyLead", () -> {
+            Lead lead = findLeadOrThrow(id);
+            lead.qualify(score);
+            Lead saved = leadRepository.save(lead);
+
+            notifier.sendNotification(
+                    lead.getAssignedTo(),
+                    "Lead qualifié: " + lead.getFullName() + " (Score: " + score + ")",
+                    NotificationType.LEAD_QUALIFIED
+            );
+
+            log.info("Lead {} qualifié avec score {}", id, score);
+            return mapToDTO(saved);
+        });
+    }
 
-        // Marquer le lead comme converti
-        lead.convertToContact(savedContact.getId());
-        leadRepository.save(lead);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // transaction par tentative
+    public LeadDTO disqualifyLead(Long id, String reason) {
+        return lockRetry.execute("disqualifyLead", () -> {
+            Lead lead = findLeadOrThrow(id);
+            lead.disqualify(reason);
+            Lead saved = leadRepository.save(lead);
+
+            log.info("Lead {} disqualifié: {}", id, reason);
+            return mapToDTO(saved);
+        });
+    }
 
-        notifier.sendNotification(
-                lead.getAssignedTo(),
-                "Lead converti en contact: " + lead.getFullName(),
-                NotificationType.LEAD_CONVERTED
-        );
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // transaction par tentative
+    public LeadDTO markLeadAsContacted(Long id) {
+        return lockRetry.execute("markLeadAsContacted", () -> {
+            Lead lead = findLeadOrThrow(id);
+            lead.markAsContacted();
+            scoringService.applyScore(lead);
+            Lead saved = leadRepository.save(lead);
+
+            log.info("Lead {} marqué comme contacté", id);
+            return mapToDTO(saved);
+        });
+    }
 
-        log.info("Lead {} converti en contact {}", leadId, savedContact.getId());
-        return savedContact.getId();
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // transaction par tentative
+    public Long convertLeadToContact(Long leadId) {
+        return lockRetry.execute("convertLeadToContact", () -> {
+            // Verrou de ligne : une conversion concurrente attend puis voit le lead converti
+            Lead lead = leadRepository.findAllByIdForUpdate(List.of(leadId)).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Lead", leadId));
+            log.debug("Conversion du lead {} ({})", leadId, lead.getFullName());
+
+            // Vérifiée avant la création du contact (convertToContact la vérifie aussi)
+            lead.checkTransition(LeadTransition.CONVERT);
+
+            if (contactRepository.findByEmail(lead.getEmail()).isPresent()) {
+                throw new BusinessException("Un contact existe déjà avec l'email " + lead.getEmail());
+            }
+
+            // Créer le contact
+            Contact contact = toContact(lead);
+
+            Contact savedContact = contactRepository.save(contact);
+
+            // Statut et contact rattaché dans le même UPDATE versionné (une seule incrémentation)
+            lead.convertToContact(savedContact.getId());
+            leadRepository.save(lead);
+
+            notifier.sendNotification(
+                    lead.getAssignedTo(),
+                    "Lead converti en contact: " + lead.getFullName(),
+                    NotificationType.LEAD_CONVERTED
+            );
+
+            log.info("Lead {} converti en contact {}", leadId, savedContact.getId());
+            return savedContact.getId();
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<LeadDTO> findDuplicates(String email, String phone) {
-        return leadRepository.findByEmailOrPhone(email, phone).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return leadRepository.findDtoByEmailOrPhone(email, phone);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // transaction par tentative
     public void mergeDuplicates(Long keepId, Long deleteId) {
-        Lead keepLead = findLeadOrThrow(keepId);
-        Lead deleteLead = findLeadOrThrow(deleteId);
-
-        // Fusionner les notes
-        String mergedNotes = keepLead.getNotes() + "\\n\\n--- Fusionné avec lead " +
-                deleteId + " ---\\n" + deleteLead.getNotes();
-        keepLead.setNotes(mergedNotes);
-
-        // Garder le meilleur score
-        if (deleteLead.getScore() > keepLead.getScore()) {
-            keepLead.setScore(deleteLead.getScore());
-        }
-
-        leadRepository.save(keepLead);
-        leadRepository.delete(deleteLead);
-
-        log.info("Leads fusionnés: {} (gardé) et {} (supprimé)", keepId, deleteId);
+        lockRetry.execute("mergeDuplicates", () -> {
+            Lead keepLead = findLeadOrThrow(keepId);
+            Lead deleteLead = findLeadOrThrow(deleteId);
+
+            // Fusionner les notes
+            String mergedNotes = keepLead.getNotes() + "\\n\\n--- Fusionné avec lead " +
+                    deleteId + " ---\\n" + deleteLead.getNotes();
+            keepLead.setNotes(mergedNotes);
+
+            // Garder le meilleur score
+            if (deleteLead.getScore() > keepLead.getScore()) {
+                keepLead.setScore(deleteLead.getScore());
+            }
+
+            leadRepository.save(keepLead);
+            // Suppression logique : updatedAt avancé par l'audit, le lead fusionné reste visible
+            // comme tombstone (deletedIds) pour la synchronisation incrémentale
+            deleteLead.deactivate();
+            leadRepository.save(deleteLead);
+
+            log.info("Leads fusionnés: {} (gardé) et {} (désactivé)", keepId, deleteId);
+            return null;
+        });
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // transaction par tentative
     public void deleteLead(Long id) {
-        Lead lead = findLeadOrThrow(id);
-        lead.deactivate();
-        leadRepository.save(lead);
-        log.info("Lead {} désactivé", id);
+        lockRetry.execute("deleteLead", () -> {
+            Lead lead = findLeadOrThrow(id);
+            lead.deactivate();
+            leadRepository.save(lead);
+            log.info("Lead {} désactivé", id);
+            return null;
+        });
     }
 
     @Override
@@ -248,11 +538,49 @@ public class LeadServiceImpl implements ILeadService {
         return leadRepository.countByStatus(status);
     }
 
+    @Override
+    public Map<LeadStatus, Long> getStatusStatistics() {
+        return statusStatistics.snapshot();
+    }
+
     private Lead findLeadOrThrow(Long id) {
         return leadRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Lead", id));
     }
 
+    private Lead mapToEntity(LeadCreateDTO createDTO) {
+        return Lead.builder()
+                .firstName(createDTO.getFirstName())
+                .lastName(createDTO.getLastName())
+                .email(createDTO.getEmail())
+                .phone(createDTO.getPhone())
+                .company(createDTO.getCompany())
+                .jobTitle(createDTO.getJobTitle())
+                .source(createDTO.getSource())
+                .assignedTo(createDTO.getAssignedTo())
+                .notes(createDTO.getNotes())
+                .address(createDTO.getAddress())
+                .build();
+    }
+
+    /**
+     * Contact issu de la conversion d'un lead (partagé avec les conversions en lot)
+     */
+    static Contact toContact(Lead lead) {
+        return Contact.builder()
+                .firstName(lead.getFirstName())
+                .lastName(lead.getLastName())
+                .email(lead.getEmail())
+                .phone(lead.getPhone())
+                .company(lead.getCompany())
+                .jobTitle(lead.getJobTitle())
+                .address(lead.getAddress())
+                .type(ContactType.CUSTOMER)
+                .assignedTo(lead.getAssignedTo())
+                .notes("Converti depuis lead ID: " + lead.getId() + "\\n" + lead.getNotes())
+                .build();
+    }
+
     private LeadDTO mapToDTO(Lead lead) {
         return LeadDTO.builder()
                 .id(lead.getId())
@@ -274,6 +602,7 @@ public class LeadServiceImpl implements ILeadService {
                 .convertedToContactId(lead.getConvertedToContactId())
                 .createdAt(lead.getCreatedAt())
                 .updatedAt(lead.getUpdatedAt())
+                .version(lead.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,88 @@
+package com.crm.leadscontacts.lead.service;
+
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.domain.LeadStatusChangedEvent;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compteurs en mémoire des leads actifs par statut
+ *
+ * Initialisés par une seule requête GROUP BY au démarrage, puis tenus à jour après chaque commit
+ * à partir des transitions de statut. Une réconciliation périodique corrige la dérive
+ * (écritures SQL directes, état précédent inconnu) en appliquant l'écart entre la base et les
+ * compteurs relevés avant la requête : les transitions appliquées pendant la requête sont conservées.
+ * Seule une transition validée avant la requête mais dont l'événement arrive après le relevé est
+ * comptée deux fois ; la réconciliation suivante la corrige.
+ *
+ * Design Pattern: Observer Pattern
+ * Principe SOLID: SRP - statistiques de statut uniquement
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeadStatusStatistics {
+
+    private static final LeadStatus[] STATUSES = LeadStatus.values();
+
+    private final ILeadRepository leadRepository;
+
+    // Indexé par LeadStatus.ordinal(), sans verrou
+    private final AtomicLongArray counters = new AtomicLongArray(STATUSES.length);
+
+    @PostConstruct
+    void seed() {
+        reconcile();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(LeadStatusChangedEvent event) {
+        if (event.from() != null) {
+            counters.addAndGet(event.from().ordinal(), -event.count());
+        }
+        if (event.to() != null) {
+            counters.addAndGet(event.to().ordinal(), event.count());
+        }
+    }
+
+    /**
+     * Recalcule les compteurs depuis la base et applique l'écart avec le relevé pris avant la requête
+     */
+    @Scheduled(initialDelayString = "${crm.leads.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${crm.leads.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        long[] before = new long[STATUSES.length];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = counters.get(i);
+        }
+        long[] actual = new long[STATUSES.length];
+        for (Object[] row : leadRepository.countActiveGroupByStatus()) {
+            actual[((LeadStatus) row[0]).ordinal()] = ((Number) row[1]).longValue();
+        }
+
+        for (LeadStatus status : STATUSES) {
+            long drift = actual[status.ordinal()] - before[status.ordinal()];
+            if (drift != 0) {
+                long reconciled = counters.addAndGet(status.ordinal(), drift);
+                log.debug("Compteur {} réconcilié: {} -> {}", status, reconciled - drift, reconciled);
+            }
+        }
+    }
+
+    public Map<LeadStatus, Long> snapshot() {
+        Map<LeadStatus, Long> snapshot = new EnumMap<>(LeadStatus.class);
+        for (LeadStatus status : STATUSES) {
+            snapshot.put(status, Math.max(0, counters.get(status.ordinal())));
+        }
+        return snapshot;
+    }
+}
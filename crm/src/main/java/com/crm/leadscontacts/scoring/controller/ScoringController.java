@@ -0,0 +1,35 @@
+package com.crm.leadscontacts.scoring.controller;
+
+import com.crm.leadscontacts.scoring.dto.ScoringRunDTO;
+import com.crm.leadscontacts.scoring.service.IScoringService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/scoring")
+@RequiredArgsConstructor
+@Tag(name = "Scoring", description = "Calcul automatique du score des leads")
+public class ScoringController {
+
+    private final IScoringService scoringService;
+
+    @PostMapping("/rescore")
+    @Operation(summary = "Recalculer le score de tous les leads en arrière-plan",
+            description = "En simulation (dryRun=true), seule l'évolution de la répartition des scores est calculée. "
+                    + "Sinon chaque lead rescoré change de version : son ETag est invalidé")
+    public ResponseEntity<ScoringRunDTO> rescore(
+            @Parameter(description = "Simulation sans écriture") @RequestParam(defaultValue = "false") boolean dryRun) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(scoringService.triggerRescore(dryRun));
+    }
+
+    @GetMapping("/rescore")
+    @Operation(summary = "État et bilan du dernier recalcul des scores")
+    public ResponseEntity<ScoringRunDTO> getLastRun() {
+        return ResponseEntity.ok(scoringService.getLastRun());
+    }
+}
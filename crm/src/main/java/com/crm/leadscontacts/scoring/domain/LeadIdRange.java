@@ -0,0 +1,7 @@
+package com.crm.leadscontacts.scoring.domain;
+
+/**
+ * Bornes des IDs à parcourir (null si aucun lead à scorer)
+ */
+public record LeadIdRange(Long minId, Long maxId) {
+}
@@ -0,0 +1,20 @@
+package com.crm.leadscontacts.scoring.domain;
+
+import com.crm.leadscontacts.lead.domain.LeadSource;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colonnes d'un lead lues par le moteur de scoring (sans charger l'entité)
+ */
+public record LeadScoringRow(Long id,
+                             Long version,
+                             Integer score,
+                             LeadSource source,
+                             String jobTitle,
+                             String company,
+                             String email,
+                             String phone,
+                             String country,
+                             LocalDateTime lastContactDate) {
+}
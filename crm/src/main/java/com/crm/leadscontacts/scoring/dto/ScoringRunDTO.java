@@ -0,0 +1,61 @@
+package com.crm.leadscontacts.scoring.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ScoringRunDTO", description = "État et bilan du dernier recalcul complet des scores")
+public class ScoringRunDTO {
+
+    @Schema(description = "Un recalcul est en cours")
+    private boolean running;
+
+    @Schema(description = "Simulation : scores calculés mais non enregistrés")
+    private boolean dryRun;
+
+    @Schema(description = "Début du dernier recalcul")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Fin du dernier recalcul")
+    private LocalDateTime completedAt;
+
+    @Schema(description = "Durée du dernier recalcul (ms)", example = "184000")
+    private long durationMillis;
+
+    @Schema(description = "Leads évalués", example = "5000000")
+    private long scanned;
+
+    @Schema(description = "Leads dont le score change (enregistrés, sauf simulation)", example = "1250000")
+    private long changed;
+
+    @Schema(description = "Leads dont le score augmente", example = "800000")
+    private long increased;
+
+    @Schema(description = "Leads dont le score baisse", example = "450000")
+    private long decreased;
+
+    @Schema(description = "Leads modifiés entre lecture et écriture (déjà scorés par leur modification)", example = "12")
+    private long conflicts;
+
+    @Schema(description = "Score moyen avant recalcul", example = "31.4")
+    private double averageBefore;
+
+    @Schema(description = "Score moyen après recalcul", example = "38.9")
+    private double averageAfter;
+
+    @Schema(description = "Répartition des scores avant recalcul, par tranche de 10 (0-9, 10-19 ... 90-100)")
+    private List<Long> distributionBefore;
+
+    @Schema(description = "Répartition des scores après recalcul, par tranche de 10 (0-9, 10-19 ... 90-100)")
+    private List<Long> distributionAfter;
+
+    @Schema(description = "Erreur de la dernière tentative, le cas échéant")
+    private String lastError;
+}
@@ -0,0 +1,35 @@
+package com.crm.leadscontacts.scoring.service;
+
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.scoring.dto.ScoringRunDTO;
+
+import java.util.Collection;
+
+/**
+ * Interface du moteur de scoring des leads
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: ISP - interface focalisée sur le scoring
+ */
+public interface IScoringService {
+
+    /**
+     * Lance un recalcul complet en arrière-plan si aucun n'est déjà en cours
+     * En simulation (dryRun), les scores sont calculés et comparés mais rien n'est écrit
+     */
+    ScoringRunDTO triggerRescore(boolean dryRun);
+
+    ScoringRunDTO getLastRun();
+
+    /**
+     * Calcule le score d'un lead avant son écriture, dans la transaction de la modification :
+     * le score part avec la version de l'édition (les leads aux statuts figés gardent le leur)
+     */
+    void applyScore(Lead lead);
+
+    /**
+     * Recalcule, dans la transaction courante, le score de leads que celle-ci vient de modifier
+     * par un UPDATE ensembliste ; la version déjà incrémentée par cet UPDATE n'est pas touchée
+     */
+    void rescoreWritten(Collection<Long> ids);
+}
@@ -0,0 +1,117 @@
+package com.crm.leadscontacts.scoring.service;
+
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.scoring.domain.LeadScoringRow;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Règles de scoring compilées à partir de ScoringProperties
+ * Immuable et sans état : partagée par tous les threads d'un recalcul parallèle
+ *
+ * Design Pattern: Strategy (règles interchangeables par configuration)
+ */
+final class LeadScoringRules {
+
+    static final int MIN_SCORE = 0;
+    static final int MAX_SCORE = 100;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+
+    private final Map<LeadSource, Integer> sourcePoints;
+    private final Map<String, Integer> jobTitlePoints;
+    private final int companyPoints;
+    private final int businessEmailPoints;
+    private final Set<String> freeEmailDomains;
+    private final int phonePoints;
+    private final Set<String> targetCountries;
+    private final int targetCountryPoints;
+    private final int recencyPoints;
+    private final long recencyWindowSeconds;
+
+    LeadScoringRules(ScoringProperties properties) {
+        this.sourcePoints = properties.getSourcePoints().isEmpty()
+                ? Map.of() : new EnumMap<>(properties.getSourcePoints());
+        Map<String, Integer> keywords = new HashMap<>();
+        properties.getJobTitlePoints().forEach((keyword, points) -> keywords.put(normalize(keyword), points));
+        this.jobTitlePoints = Map.copyOf(keywords);
+        this.companyPoints = properties.getCompanyPoints();
+        this.businessEmailPoints = properties.getBusinessEmailPoints();
+        this.freeEmailDomains = lowerCase(properties.getFreeEmailDomains());
+        this.phonePoints = properties.getPhonePoints();
+        this.targetCountries = lowerCase(properties.getTargetCountries());
+        this.targetCountryPoints = properties.getTargetCountryPoints();
+        this.recencyPoints = properties.getRecencyPoints();
+        this.recencyWindowSeconds = Math.max(1, properties.getRecencyWindow().toSeconds());
+    }
+
+    int score(LeadScoringRow row, LocalDateTime now) {
+        int score = 0;
+        if (row.source() != null) {
+            score += sourcePoints.getOrDefault(row.source(), 0);
+        }
+        score += jobTitle(row.jobTitle());
+        if (hasText(row.company())) {
+            score += companyPoints;
+        }
+        if (isBusinessEmail(row.email())) {
+            score += businessEmailPoints;
+        }
+        if (hasText(row.phone())) {
+            score += phonePoints;
+        }
+        if (row.country() != null && targetCountries.contains(row.country().trim().toLowerCase(Locale.ROOT))) {
+            score += targetCountryPoints;
+        }
+        score += recency(row.lastContactDate(), now);
+        return Math.max(MIN_SCORE, Math.min(MAX_SCORE, score));
+    }
+
+    private int jobTitle(String jobTitle) {
+        if (!hasText(jobTitle) || jobTitlePoints.isEmpty()) {
+            return 0;
+        }
+        int best = 0;
+        for (String word : NON_ALNUM.split(normalize(jobTitle))) {
+            best = Math.max(best, jobTitlePoints.getOrDefault(word, 0));
+        }
+        return best;
+    }
+
+    private boolean isBusinessEmail(String email) {
+        int at = email != null ? email.lastIndexOf('@') : -1;
+        return at > 0 && at < email.length() - 1
+                && !freeEmailDomains.contains(email.substring(at + 1).trim().toLowerCase(Locale.ROOT));
+    }
+
+    private int recency(LocalDateTime lastContactDate, LocalDateTime now) {
+        if (lastContactDate == null || recencyPoints == 0) {
+            return 0;
+        }
+        long age = Math.max(0, Duration.between(lastContactDate, now).toSeconds());
+        if (age >= recencyWindowSeconds) {
+            return 0;
+        }
+        return (int) Math.round(recencyPoints * (1.0 - (double) age / recencyWindowSeconds));
+    }
+
+    private static String normalize(String value) {
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static Set<String> lowerCase(Set<String> values) {
+        Set<String> result = new HashSet<>();
+        values.forEach(value -> result.add(value.trim().toLowerCase(Locale.ROOT)));
+        return Set.copyOf(result);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
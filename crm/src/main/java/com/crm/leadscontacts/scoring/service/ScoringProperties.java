@@ -0,0 +1,90 @@
+package com.crm.leadscontacts.scoring.service;
+
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Règles et paramètres du moteur de scoring des leads (préfixe crm.scoring)
+ * Le score est la somme des points obtenus, bornée à 0..100
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.scoring")
+public class ScoringProperties {
+
+    /**
+     * Statuts dont le score n'est pas recalculé (score posé à la qualification, lead clos)
+     */
+    private Set<LeadStatus> frozenStatuses = EnumSet.of(
+            LeadStatus.QUALIFIED, LeadStatus.UNQUALIFIED, LeadStatus.CONVERTED);
+
+    /**
+     * Points par source d'acquisition
+     */
+    private Map<LeadSource, Integer> sourcePoints = new EnumMap<>(Map.of(
+            LeadSource.REFERRAL, 25,
+            LeadSource.PARTNER, 20,
+            LeadSource.TRADE_SHOW, 15,
+            LeadSource.WEBSITE, 10,
+            LeadSource.EMAIL_CAMPAIGN, 8,
+            LeadSource.PHONE_CALL, 8,
+            LeadSource.SOCIAL_MEDIA, 5));
+
+    /**
+     * Points par mot-clé du poste (insensible à la casse et aux accents) ; le meilleur mot-clé l'emporte
+     */
+    private Map<String, Integer> jobTitlePoints = new LinkedHashMap<>(Map.of(
+            "ceo", 30, "cto", 30, "founder", 25, "fondateur", 25, "director", 20,
+            "directeur", 20, "head", 15, "vp", 20, "manager", 10, "responsable", 10));
+
+    /**
+     * Points si l'entreprise est renseignée
+     */
+    private int companyPoints = 10;
+
+    /**
+     * Points pour une adresse email professionnelle (domaine hors messageries grand public)
+     */
+    private int businessEmailPoints = 10;
+
+    private Set<String> freeEmailDomains = new HashSet<>(Set.of(
+            "gmail.com", "yahoo.com", "yahoo.fr", "hotmail.com", "hotmail.fr", "outlook.com", "live.com",
+            "icloud.com", "gmx.com", "laposte.net", "orange.fr", "free.fr"));
+
+    /**
+     * Points si un téléphone est renseigné
+     */
+    private int phonePoints = 5;
+
+    /**
+     * Pays cibles (insensible à la casse) et points associés
+     */
+    private Set<String> targetCountries = new HashSet<>(Set.of("tunisie", "tunisia", "france"));
+
+    private int targetCountryPoints = 10;
+
+    /**
+     * Points d'un contact du jour, décroissant linéairement jusqu'à 0 au bout de recencyWindow
+     */
+    private int recencyPoints = 20;
+
+    private Duration recencyWindow = Duration.ofDays(90);
+
+    /**
+     * Nombre de leads lus et mis à jour par paquet (une lecture + un lot d'UPDATE)
+     */
+    private int chunkSize = 2000;
+
+    /**
+     * Paquets traités en parallèle lors d'un recalcul complet (borné par le pool de connexions)
+     */
+    private int parallelism = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+}
@@ -0,0 +1,341 @@
+package com.crm.leadscontacts.scoring.service;
+
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadScoreUpdate;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.scoring.domain.LeadIdRange;
+import com.crm.leadscontacts.scoring.domain.LeadScoringRow;
+import com.crm.leadscontacts.scoring.dto.ScoringRunDTO;
+import com.crm.leadscontacts.shared.domain.Address;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moteur de scoring des leads à base de règles (ScoringProperties)
+ *
+ * - à l'écriture : un lead créé ou dont les critères changent reçoit son score dans la transaction
+ *   de la modification (applyScore, rescoreWritten), sans écriture ni version supplémentaire ;
+ * - recalcul complet (récence) : la plage d'IDs est découpée (fork/join) en paquets lus par pages
+ *   keyset, chaque page est recalculée puis écrite par un lot d'UPDATE dans sa propre transaction ;
+ *   un score inchangé n'est pas réécrit.
+ *
+ * Seul le recalcul complet écrit hors d'une édition : la récence décroît sans modification du lead.
+ * Ses écritures sont conditionnées à la version lue (un lead modifié entre-temps a déjà reçu son score)
+ * et incrémentent la version : l'ETag des leads rescorés change, un If-Match antérieur reçoit 412.
+ * Chaque score réécrit publie un EntityChangedEvent RESCORED (cache, index, flux de changements).
+ *
+ * Design Pattern: Service Layer Pattern
+ * Principe SOLID: SRP - orchestration (les règles sont portées par LeadScoringRules)
+ */
+@Slf4j
+@Service
+public class ScoringService implements IScoringService {
+
+    private static final int BUCKETS = 10;
+
+    private final ILeadRepository leadRepository;
+    private final ScoringProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LeadScoringRules rules;
+    private final Set<LeadStatus> scorableStatuses;
+
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lead-rescore");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile ScoringRunDTO lastRun = ScoringRunDTO.builder().build();
+    private volatile boolean currentDryRun;
+
+    public ScoringService(ILeadRepository leadRepository,
+                          ScoringProperties properties,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager) {
+        this.leadRepository = leadRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rules = new LeadScoringRules(properties);
+        EnumSet<LeadStatus> statuses = EnumSet.allOf(LeadStatus.class);
+        statuses.removeAll(properties.getFrozenStatuses());
+        this.scorableStatuses = Collections.unmodifiableSet(statuses);
+    }
+
+    @Override
+    public ScoringRunDTO triggerRescore(boolean dryRun) {
+        if (running.compareAndSet(false, true)) {
+            currentDryRun = dryRun;
+            runExecutor.submit(() -> runRescore(dryRun));
+        }
+        return getLastRun();
+    }
+
+    @Scheduled(cron = "${crm.scoring.full-rescore-cron:0 0 3 * * *}")
+    public void scheduledRescore() {
+        // La récence décroît sans qu'aucun lead ne soit modifié : recalcul complet périodique
+        triggerRescore(false);
+    }
+
+    @Override
+    public ScoringRunDTO getLastRun() {
+        ScoringRunDTO run = lastRun;
+        return run.toBuilder()
+                .running(running.get())
+                .dryRun(running.get() ? currentDryRun : run.isDryRun())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runExecutor.shutdownNow();
+    }
+
+    @Override
+    public void applyScore(Lead lead) {
+        LeadStatus status = lead.getStatus() != null ? lead.getStatus() : LeadStatus.NEW;
+        if (scorableStatuses.contains(status)) {
+            lead.setScore(rules.score(toRow(lead), LocalDateTime.now()));
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rescoreWritten(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> remaining = new ArrayList<>(ids);
+        for (int from = 0; from < remaining.size(); from += properties.getChunkSize()) {
+            List<Long> chunk = remaining.subList(from, Math.min(from + properties.getChunkSize(), remaining.size()));
+            List<LeadScoringRow> rows = leadRepository.findScoringRowsByIds(scorableStatuses, chunk);
+            leadRepository.updateScoresInPlace(changedScores(rows, now, null));
+        }
+    }
+
+    /**
+     * Colonnes de scoring d'une entité ; un lead pas encore inséré est contacté à sa création (Lead.onCreate)
+     */
+    private static LeadScoringRow toRow(Lead lead) {
+        Address address = lead.getAddress();
+        return new LeadScoringRow(lead.getId(), lead.getVersion(), lead.getScore(), lead.getSource(),
+                lead.getJobTitle(), lead.getCompany(), lead.getEmail(), lead.getPhone(),
+                address != null ? address.getCountry() : null,
+                lead.getLastContactDate() != null ? lead.getLastContactDate() : LocalDateTime.now());
+    }
+
+    private void runRescore(boolean dryRun) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        RunStats stats = new RunStats();
+        try {
+            LeadIdRange range = readOnlyTransaction.execute(status -> leadRepository.findScoringIdRange(scorableStatuses));
+            if (range != null && range.minId() != null) {
+                ForkJoinPool pool = new ForkJoinPool(properties.getParallelism(), workerFactory(), null, false);
+                try {
+                    pool.invoke(new RangeTask(range.minId() - 1, range.maxId(), startedAt, dryRun, stats));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            lastRun = stats.toDTO(dryRun, startedAt, durationMillis);
+            log.info("Recalcul des scores{}: {} leads évalués, {} modifiés, {} conflits en {} ms",
+                    dryRun ? " (simulation)" : "", stats.scanned.sum(), stats.changed.sum(),
+                    stats.conflicts.sum(), durationMillis);
+        } catch (RuntimeException e) {
+            lastRun = lastRun.toBuilder().lastError(e.getMessage()).build();
+            log.error("Échec du recalcul des scores", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Paquet (afterId, toId] : pages keyset recalculées puis écrites, une transaction par page
+     */
+    private void rescoreRange(long afterId, long toId, LocalDateTime now, boolean dryRun, RunStats stats) {
+        Limit limit = Limit.of(properties.getChunkSize());
+        TransactionTemplate transaction = dryRun ? readOnlyTransaction : writeTransaction;
+        long cursor = afterId;
+        while (cursor < toId) {
+            long from = cursor;
+            PageResult page = transaction.execute(status -> {
+                List<LeadScoringRow> rows = leadRepository.findScoringRowsInRange(scorableStatuses, from, toId, limit);
+                List<LeadScoreUpdate> updates = changedScores(rows, now, stats);
+                boolean[] applied = dryRun ? null : leadRepository.updateScores(updates);
+                if (applied != null) {
+                    publishRescored(updates, applied);
+                }
+                return new PageResult(rows, updates, applied);
+            });
+            if (page.applied() != null) {
+                for (boolean applied : page.applied()) {
+                    if (!applied) {
+                        stats.conflicts.increment();
+                    }
+                }
+            }
+            if (page.rows().size() < limit.max()) {
+                break;
+            }
+            cursor = page.rows().get(page.rows().size() - 1).id();
+        }
+    }
+
+    /**
+     * Événements publiés dans la transaction de la page : livrés après son commit, abandonnés au rollback
+     */
+    private void publishRescored(List<LeadScoreUpdate> updates, boolean[] applied) {
+        for (int i = 0; i < updates.size(); i++) {
+            if (applied[i]) {
+                eventPublisher.publishEvent(new EntityChangedEvent(Lead.class, updates.get(i).id(),
+                        updates.get(i).expectedVersion() + 1, EntityChangedEvent.ChangeKind.RESCORED));
+            }
+        }
+    }
+
+    /**
+     * Nouveaux scores différents des scores actuels ; alimente les statistiques si stats != null
+     */
+    private List<LeadScoreUpdate> changedScores(List<LeadScoringRow> rows, LocalDateTime now, RunStats stats) {
+        List<LeadScoreUpdate> updates = new ArrayList<>();
+        for (LeadScoringRow row : rows) {
+            int before = row.score() != null ? row.score() : 0;
+            int after = rules.score(row, now);
+            if (stats != null) {
+                stats.record(before, after);
+            }
+            if (after != before) {
+                updates.add(new LeadScoreUpdate(row.id(), row.version(), after));
+            }
+        }
+        return updates;
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory workerFactory() {
+        return pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("lead-rescore-" + thread.getPoolIndex());
+            // Les workers fork/join n'héritent pas du class loader de l'application (jar exécutable)
+            thread.setContextClassLoader(ScoringService.class.getClassLoader());
+            return thread;
+        };
+    }
+
+    /**
+     * Découpe récursive de la plage d'IDs jusqu'à la taille d'un paquet
+     */
+    private final class RangeTask extends RecursiveAction {
+
+        private final long afterId;
+        private final long toId;
+        private final LocalDateTime now;
+        private final boolean dryRun;
+        private final RunStats stats;
+
+        RangeTask(long afterId, long toId, LocalDateTime now, boolean dryRun, RunStats stats) {
+            this.afterId = afterId;
+            this.toId = toId;
+            this.now = now;
+            this.dryRun = dryRun;
+            this.stats = stats;
+        }
+
+        @Override
+        protected void compute() {
+            if (toId - afterId <= properties.getChunkSize()) {
+                rescoreRange(afterId, toId, now, dryRun, stats);
+                return;
+            }
+            long middle = afterId + (toId - afterId) / 2;
+            invokeAll(new RangeTask(afterId, middle, now, dryRun, stats),
+                    new RangeTask(middle, toId, now, dryRun, stats));
+        }
+    }
+
+    private record PageResult(List<LeadScoringRow> rows, List<LeadScoreUpdate> updates, boolean[] applied) {
+    }
+
+    /**
+     * Compteurs partagés par les workers (sans verrou)
+     */
+    private static final class RunStats {
+
+        final LongAdder scanned = new LongAdder();
+        final LongAdder changed = new LongAdder();
+        final LongAdder increased = new LongAdder();
+        final LongAdder decreased = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder sumBefore = new LongAdder();
+        final LongAdder sumAfter = new LongAdder();
+        final AtomicLongArray before = new AtomicLongArray(BUCKETS);
+        final AtomicLongArray after = new AtomicLongArray(BUCKETS);
+
+        void record(int scoreBefore, int scoreAfter) {
+            scanned.increment();
+            sumBefore.add(scoreBefore);
+            sumAfter.add(scoreAfter);
+            before.incrementAndGet(bucket(scoreBefore));
+            after.incrementAndGet(bucket(scoreAfter));
+            if (scoreAfter > scoreBefore) {
+                changed.increment();
+                increased.increment();
+            } else if (scoreAfter < scoreBefore) {
+                changed.increment();
+                decreased.increment();
+            }
+        }
+
+        ScoringRunDTO toDTO(boolean dryRun, LocalDateTime startedAt, long durationMillis) {
+            long count = scanned.sum();
+            return ScoringRunDTO.builder()
+                    .dryRun(dryRun)
+                    .startedAt(startedAt)
+                    .completedAt(LocalDateTime.now())
+                    .durationMillis(durationMillis)
+                    .scanned(count)
+                    .changed(changed.sum())
+                    .increased(increased.sum())
+                    .decreased(decreased.sum())
+                    .conflicts(conflicts.sum())
+                    .averageBefore(count == 0 ? 0.0 : (double) sumBefore.sum() / count)
+                    .averageAfter(count == 0 ? 0.0 : (double) sumAfter.sum() / count)
+                    .distributionBefore(toList(before))
+                    .distributionAfter(toList(after))
+                    .build();
+        }
+
+        private static int bucket(int score) {
+            return Math.max(0, Math.min(BUCKETS - 1, score / 10));
+        }
+
+        private static List<Long> toList(AtomicLongArray values) {
+            List<Long> list = new ArrayList<>(values.length());
+            for (int i = 0; i < values.length(); i++) {
+                list.add(values.get(i));
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.crm.leadscontacts.search.controller;
+
+import com.crm.leadscontacts.search.dto.SearchResultDTO;
+import com.crm.leadscontacts.search.service.ISearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Recherche", description = "Recherche plein texte sur les leads et contacts")
+public class SearchController {
+
+    private final ISearchService searchService;
+
+    @GetMapping
+    @Operation(summary = "Rechercher des leads et contacts",
+            description = "Nom, prénom, email, entreprise, poste et notes ; le dernier mot peut être incomplet")
+    public ResponseEntity<SearchResultDTO> search(
+            @Parameter(description = "Texte recherché") @RequestParam String q,
+            @Parameter(description = "Numéro de page (à partir de 0)") @RequestParam(required = false) Integer page,
+            @Parameter(description = "Taille de la page (max 100)") @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(searchService.search(q, page, size));
+    }
+}
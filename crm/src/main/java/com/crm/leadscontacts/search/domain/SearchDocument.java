@@ -0,0 +1,17 @@
+package com.crm.leadscontacts.search.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'un lead ou d'un contact limitée aux colonnes indexées
+ */
+public record SearchDocument(Long id,
+                             String firstName,
+                             String lastName,
+                             String email,
+                             String company,
+                             String jobTitle,
+                             String notes,
+                             Boolean active,
+                             LocalDateTime updatedAt) {
+}
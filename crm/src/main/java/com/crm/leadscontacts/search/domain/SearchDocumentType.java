@@ -0,0 +1,9 @@
+package com.crm.leadscontacts.search.domain;
+
+/**
+ * Nature d'un document de l'index de recherche
+ */
+public enum SearchDocumentType {
+    LEAD,
+    CONTACT
+}
@@ -0,0 +1,38 @@
+package com.crm.leadscontacts.search.dto;
+
+import com.crm.leadscontacts.search.domain.SearchDocumentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "SearchHitDTO", description = "Lead ou contact correspondant à une recherche")
+public class SearchHitDTO {
+
+    @Schema(description = "Nature du résultat", example = "LEAD")
+    private SearchDocumentType type;
+
+    @Schema(description = "Identifiant du lead ou du contact", example = "15")
+    private Long id;
+
+    @Schema(description = "Prénom", example = "Aymen")
+    private String firstName;
+
+    @Schema(description = "Nom", example = "Abid")
+    private String lastName;
+
+    @Schema(description = "Adresse email", example = "aymen.abid@example.com")
+    private String email;
+
+    @Schema(description = "Entreprise", example = "Techify")
+    private String company;
+
+    @Schema(description = "Poste", example = "CTO")
+    private String jobTitle;
+
+    @Schema(description = "Pertinence (plus élevé = plus pertinent)", example = "7.42")
+    private float score;
+}
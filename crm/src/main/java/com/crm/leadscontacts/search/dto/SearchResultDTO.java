@@ -0,0 +1,39 @@
+package com.crm.leadscontacts.search.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "SearchResultDTO", description = "Page de résultats de recherche, triés par pertinence")
+public class SearchResultDTO {
+
+    @Schema(description = "Texte recherché", example = "abid techify")
+    private String query;
+
+    @Schema(description = "Numéro de page (à partir de 0)", example = "0")
+    private int page;
+
+    @Schema(description = "Taille de la page", example = "20")
+    private int size;
+
+    @Schema(description = "Nombre de résultats (borne inférieure si totalHitsExact = false)", example = "42")
+    private long totalHits;
+
+    @Schema(description = "Indique si totalHits est exact", example = "true")
+    private boolean totalHitsExact;
+
+    @Schema(description = "Indique s'il existe une page suivante", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Durée de la recherche dans l'index (ms)", example = "2")
+    private long tookMillis;
+
+    @Schema(description = "Résultats de la page")
+    private List<SearchHitDTO> items;
+}
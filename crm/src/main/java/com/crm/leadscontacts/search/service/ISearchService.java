@@ -0,0 +1,16 @@
+package com.crm.leadscontacts.search.service;
+
+import com.crm.leadscontacts.search.dto.SearchResultDTO;
+
+/**
+ * Interface du service de recherche plein texte
+ *
+ * Principe SOLID: DIP - le contrôleur dépend de l'abstraction
+ */
+public interface ISearchService {
+
+    /**
+     * Recherche dans les leads et contacts actifs, résultats triés par pertinence
+     */
+    SearchResultDTO search(String query, Integer page, Integer size);
+}
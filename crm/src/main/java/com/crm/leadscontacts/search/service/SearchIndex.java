@@ -0,0 +1,272 @@
+package com.crm.leadscontacts.search.service;
+
+import com.crm.leadscontacts.search.domain.SearchDocument;
+import com.crm.leadscontacts.search.domain.SearchDocumentType;
+import com.crm.leadscontacts.search.dto.SearchHitDTO;
+import com.crm.leadscontacts.search.dto.SearchResultDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.*;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.*;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index inversé (Lucene) des leads et contacts, persisté dans un répertoire local
+ *
+ * Champs indexés : prénom, nom, email, entreprise, poste et notes (notes non stockées).
+ * Chaque terme de la requête doit apparaître dans au moins un champ ; le dernier mot
+ * saisi peut être incomplet (recherche par préfixe, à partir de 3 caractères).
+ *
+ * Design Pattern: Facade (masque l'API Lucene au reste de l'application)
+ */
+@Slf4j
+@RequiredArgsConstructor
+class SearchIndex {
+
+    static final String WATERMARK_KEY = "watermark";
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+
+    // Pondération des champs : un nom compte plus qu'une mention dans les notes
+    private static final Map<String, Float> FIELD_BOOSTS = new LinkedHashMap<>();
+
+    static {
+        FIELD_BOOSTS.put("lastName", 3.0f);
+        FIELD_BOOSTS.put("firstName", 2.5f);
+        FIELD_BOOSTS.put("email", 2.0f);
+        FIELD_BOOSTS.put("company", 2.0f);
+        FIELD_BOOSTS.put("jobTitle", 1.5f);
+        FIELD_BOOSTS.put("notes", 1.0f);
+    }
+
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final Path path;
+
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    void open() {
+        try {
+            directory = FSDirectory.open(path);
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            writer = new IndexWriter(directory, config);
+            searcherManager = new SearcherManager(writer, null);
+            log.info("Index de recherche ouvert: {} ({} documents)", path, writer.getDocStats().numDocs);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ouverture de l'index de recherche impossible: " + path, e);
+        }
+    }
+
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    void upsert(SearchDocumentType type, SearchDocument source) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(FIELD_KEY, key(type, source.id()), Field.Store.NO));
+        document.add(new StringField(FIELD_TYPE, type.name(), Field.Store.YES));
+        document.add(new StoredField(FIELD_ID, source.id()));
+        addText(document, "firstName", source.firstName(), Field.Store.YES);
+        addText(document, "lastName", source.lastName(), Field.Store.YES);
+        addText(document, "email", source.email(), Field.Store.YES);
+        addText(document, "company", source.company(), Field.Store.YES);
+        addText(document, "jobTitle", source.jobTitle(), Field.Store.YES);
+        addText(document, "notes", source.notes(), Field.Store.NO);
+        writer.updateDocument(new Term(FIELD_KEY, key(type, source.id())), document);
+    }
+
+    void delete(SearchDocumentType type, Long id) throws IOException {
+        writer.deleteDocuments(new Term(FIELD_KEY, key(type, id)));
+    }
+
+    /**
+     * Rend les modifications visibles aux recherches (lecteur quasi temps réel, sans fsync)
+     */
+    void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    boolean hasUncommittedChanges() {
+        return writer.hasUncommittedChanges();
+    }
+
+    /**
+     * Persiste les modifications ; le watermark (null = inchangé) est enregistré avec le commit
+     */
+    void commit(LocalDateTime watermark) throws IOException {
+        if (watermark != null) {
+            writer.setLiveCommitData(Map.of(WATERMARK_KEY, watermark.toString()).entrySet());
+        }
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Watermark du dernier commit : les écritures antérieures sont déjà indexées
+     */
+    Optional<LocalDateTime> watermark() {
+        Iterable<Map.Entry<String, String>> data = writer.getLiveCommitData();
+        if (data != null) {
+            for (Map.Entry<String, String> entry : data) {
+                if (WATERMARK_KEY.equals(entry.getKey())) {
+                    return Optional.of(LocalDateTime.parse(entry.getValue()));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    long documentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    SearchResultDTO search(String text, int page, int size) throws IOException {
+        long start = System.nanoTime();
+        Query query = buildQuery(text);
+        // En long : une page très lointaine ne doit pas déborder en fenêtre négative
+        long offset = (long) page * size;
+        int window = (int) Math.min(offset + size, MAX_RESULT_WINDOW);
+        if (query == null || offset >= window) {
+            return SearchResultDTO.builder()
+                    .query(text).page(page).size(size)
+                    .totalHitsExact(true)
+                    .items(List.of())
+                    .build();
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query, window);
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHitDTO> items = new ArrayList<>(size);
+            for (int i = (int) offset; i < top.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                items.add(toHit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+            }
+            long totalHits = top.totalHits.value;
+            return SearchResultDTO.builder()
+                    .query(text)
+                    .page(page)
+                    .size(size)
+                    .totalHits(totalHits)
+                    .totalHitsExact(top.totalHits.relation == TotalHits.Relation.EQUAL_TO)
+                    .hasNext(totalHits > offset + size && window < MAX_RESULT_WINDOW)
+                    .tookMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                    .items(items)
+                    .build();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Un terme = (champ1:terme OR champ2:terme ...), tous les termes obligatoires ;
+     * le dernier terme accepte aussi un préfixe (saisie en cours), hors notes
+     */
+    private Query buildQuery(String text) throws IOException {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            boolean prefix = i == terms.size() - 1 && term.length() >= MIN_PREFIX_LENGTH;
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            FIELD_BOOSTS.forEach((field, boost) -> {
+                anyField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD);
+                if (prefix && !"notes".equals(field)) {
+                    // Score constant et plus faible : un mot complet l'emporte sur un préfixe
+                    anyField.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost * 0.5f),
+                            BooleanClause.Occur.SHOULD);
+                }
+            });
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return List.of();
+        }
+        try (TokenStream stream = analyzer.tokenStream("query", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private static SearchHitDTO toHit(Document document, float score) {
+        return SearchHitDTO.builder()
+                .type(SearchDocumentType.valueOf(document.get(FIELD_TYPE)))
+                .id(document.getField(FIELD_ID).numericValue().longValue())
+                .firstName(document.get("firstName"))
+                .lastName(document.get("lastName"))
+                .email(document.get("email"))
+                .company(document.get("company"))
+                .jobTitle(document.get("jobTitle"))
+                .score(score)
+                .build();
+    }
+
+    private static void addText(Document document, String field, String value, Field.Store store) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, store));
+        }
+    }
+
+    private static String key(SearchDocumentType type, Long id) {
+        return type.name() + ":" + id;
+    }
+
+    /**
+     * Découpage Unicode, minuscules, suppression des accents (« Aymèn » == « aymen »)
+     */
+    private static final class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream result = new ASCIIFoldingFilter(new LowerCaseFilter(source));
+            return new TokenStreamComponents(source, result);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
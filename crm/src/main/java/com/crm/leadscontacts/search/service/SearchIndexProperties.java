@@ -0,0 +1,40 @@
+package com.crm.leadscontacts.search.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Paramètres de l'index de recherche plein texte (préfixe crm.search)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.search")
+public class SearchIndexProperties {
+
+    /**
+     * Répertoire local de l'index (conservé entre deux redémarrages)
+     */
+    private String indexDirectory = System.getProperty("java.io.tmpdir") + "/crm-search-index";
+
+    /**
+     * Marge relue avant le dernier point de synchronisation au redémarrage
+     * (couvre les transactions longues validées après ce point)
+     */
+    private Duration catchUpMargin = Duration.ofMinutes(5);
+
+    /**
+     * Intervalle des commits durables de l'index (fsync + watermark) ; entre deux commits, les changements
+     * sont visibles aux recherches (lecteur quasi temps réel) et rejoués au redémarrage par le rattrapage
+     */
+    private Duration commitInterval = Duration.ofMinutes(1);
+
+    /**
+     * Nombre de lignes lues par requête lors d'une reconstruction ou d'un rattrapage
+     */
+    private int loadPageSize = 1000;
+}
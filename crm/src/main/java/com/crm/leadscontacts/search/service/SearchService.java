@@ -0,0 +1,305 @@
+package com.crm.leadscontacts.search.service;
+
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.contact.repository.IContactRepository;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.search.domain.SearchDocument;
+import com.crm.leadscontacts.search.domain.SearchDocumentType;
+import com.crm.leadscontacts.search.dto.SearchResultDTO;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Recherche plein texte sur les leads et contacts
+ *
+ * L'index est tenu à jour de façon incrémentale : chaque écriture validée (EntityChangedEvent)
+ * est mise en file puis relue en base et indexée par lots, visible aussitôt (lecteur quasi temps réel).
+ * L'index n'est rendu durable (commit Lucene, fsync) qu'à intervalle régulier et à l'arrêt : au démarrage,
+ * seules les lignes modifiées depuis le dernier commit sont relues ; un index vide est reconstruit.
+ *
+ * Design Pattern: Observer Pattern (mise à jour sur événement) + Service Layer Pattern
+ * Principe SOLID: SRP - orchestration (le stockage Lucene est délégué à SearchIndex)
+ */
+@Slf4j
+@Service
+public class SearchService implements ISearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ILeadRepository leadRepository;
+    private final IContactRepository contactRepository;
+    private final SearchIndexProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SearchIndex index;
+
+    private final Queue<PendingChange> pending = new ConcurrentLinkedQueue<>();
+    private final ExecutorService catchUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-catch-up");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // IndexWriter.commit attend les fusions dans un bloc synchronized : jamais sur un thread virtuel
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Le watermark n'avance qu'une fois le rattrapage terminé
+    private volatile boolean caughtUp;
+    // Début du dernier lot indexé : watermark du prochain commit (écritures antérieures déjà dans l'index)
+    private LocalDateTime indexedUpTo;
+
+    public SearchService(ILeadRepository leadRepository,
+                         IContactRepository contactRepository,
+                         SearchIndexProperties properties,
+                         PlatformTransactionManager transactionManager) {
+        this.leadRepository = leadRepository;
+        this.contactRepository = contactRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.index = new SearchIndex(Path.of(properties.getIndexDirectory()));
+    }
+
+    @PostConstruct
+    void open() {
+        index.open();
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        catchUpExecutor.shutdownNow();
+        flushExecutor.shutdownNow();
+        synchronized (index) {
+            index.commit(indexedUpTo);
+            index.close();
+        }
+    }
+
+    @Override
+    public SearchResultDTO search(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessException("Le paramètre de recherche q est obligatoire");
+        }
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        try {
+            return index.search(query.trim(), pageNumber, pageSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.entityType() == Lead.class) {
+            pending.add(new PendingChange(SearchDocumentType.LEAD, event.id()));
+        } else if (event.entityType() == Contact.class) {
+            pending.add(new PendingChange(SearchDocumentType.CONTACT, event.id()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCatchUp() {
+        catchUpExecutor.submit(this::runCatchUp);
+    }
+
+    /**
+     * Indexe les changements en attente et les rend visibles aux recherches (sans commit)
+     */
+    @Scheduled(fixedDelayString = "${crm.search.refresh-interval:PT1S}")
+    public void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Le planificateur (thread virtuel si spring.threads.virtual.enabled) attend la fin du lot
+        try {
+            flushExecutor.submit(this::flush).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Échec de la mise à jour de l'index de recherche", e.getCause());
+        }
+    }
+
+    private void flush() {
+        LocalDateTime flushStartedAt = LocalDateTime.now();
+        Map<SearchDocumentType, Set<Long>> ids = new EnumMap<>(SearchDocumentType.class);
+        PendingChange change;
+        while ((change = pending.poll()) != null) {
+            ids.computeIfAbsent(change.type(), type -> new HashSet<>()).add(change.id());
+        }
+
+        synchronized (index) {
+            try {
+                reindex(SearchDocumentType.LEAD, ids.getOrDefault(SearchDocumentType.LEAD, Set.of()),
+                        leadRepository::findSearchDocumentsByIds);
+                reindex(SearchDocumentType.CONTACT, ids.getOrDefault(SearchDocumentType.CONTACT, Set.of()),
+                        contactRepository::findSearchDocumentsByIds);
+                index.refresh();
+                if (caughtUp) {
+                    indexedUpTo = flushStartedAt;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Échec de la mise à jour de l'index de recherche", e);
+                ids.forEach((type, set) -> set.forEach(id -> pending.add(new PendingChange(type, id))));
+            }
+        }
+    }
+
+    /**
+     * Commit durable des changements indexés depuis le précédent, avec leur watermark
+     */
+    @Scheduled(fixedDelayString = "${crm.search.commit-interval:PT1M}")
+    public void commitIndex() {
+        try {
+            flushExecutor.submit(() -> {
+                synchronized (index) {
+                    if (index.hasUncommittedChanges()) {
+                        index.commit(indexedUpTo);
+                    }
+                }
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Échec du commit de l'index de recherche", e.getCause());
+        }
+    }
+
+    private void reindex(SearchDocumentType type, Set<Long> ids,
+                         Function<Collection<Long>, List<SearchDocument>> loader) throws IOException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> remaining = new ArrayList<>(ids);
+        for (int from = 0; from < remaining.size(); from += properties.getLoadPageSize()) {
+            List<Long> chunk = remaining.subList(from, Math.min(from + properties.getLoadPageSize(), remaining.size()));
+            Set<Long> missing = new HashSet<>(chunk);
+            for (SearchDocument document : readOnlyTransaction.execute(status -> loader.apply(chunk))) {
+                missing.remove(document.id());
+                apply(type, document);
+            }
+            // Suppressions physiques (fusion de doublons)
+            for (Long id : missing) {
+                index.delete(type, id);
+            }
+        }
+    }
+
+    /**
+     * Reconstruit un index vide, ou relit les lignes modifiées depuis le dernier watermark
+     */
+    private void runCatchUp() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            Optional<LocalDateTime> watermark = index.watermark();
+            if (watermark.isEmpty() || index.documentCount() == 0) {
+                long count = rebuild(SearchDocumentType.LEAD, leadRepository::findActiveSearchDocumentsAfter)
+                        + rebuild(SearchDocumentType.CONTACT, contactRepository::findActiveSearchDocumentsAfter);
+                log.info("Index de recherche reconstruit: {} documents", count);
+            } else {
+                LocalDateTime since = watermark.get().minus(properties.getCatchUpMargin());
+                long count = catchUp(SearchDocumentType.LEAD, since, leadRepository::findSearchDocumentsUpdatedAfter)
+                        + catchUp(SearchDocumentType.CONTACT, since, contactRepository::findSearchDocumentsUpdatedAfter);
+                log.info("Index de recherche rattrapé depuis {}: {} documents relus", since, count);
+            }
+            synchronized (index) {
+                index.commit(startedAt);
+                indexedUpTo = startedAt;
+            }
+            caughtUp = true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Échec du rattrapage de l'index de recherche", e);
+        }
+    }
+
+    private long rebuild(SearchDocumentType type,
+                         BiFunction<Long, Limit, List<SearchDocument>> pageLoader) throws IOException {
+        Limit limit = Limit.of(properties.getLoadPageSize());
+        long afterId = 0;
+        long count = 0;
+        List<SearchDocument> documents;
+        do {
+            long from = afterId;
+            synchronized (index) {
+                documents = readOnlyTransaction.execute(status -> pageLoader.apply(from, limit));
+                for (SearchDocument document : documents) {
+                    index.upsert(type, document);
+                }
+            }
+            count += documents.size();
+            afterId = documents.isEmpty() ? afterId : documents.get(documents.size() - 1).id();
+        } while (documents.size() == limit.max());
+        return count;
+    }
+
+    private long catchUp(SearchDocumentType type, LocalDateTime since,
+                         UpdatedAfterLoader pageLoader) throws IOException {
+        Limit limit = Limit.of(properties.getLoadPageSize());
+        LocalDateTime afterUpdatedAt = since;
+        long afterId = 0;
+        long count = 0;
+        List<SearchDocument> documents;
+        do {
+            LocalDateTime fromUpdatedAt = afterUpdatedAt;
+            long fromId = afterId;
+            synchronized (index) {
+                documents = readOnlyTransaction.execute(status -> pageLoader.load(fromUpdatedAt, fromId, limit));
+                for (SearchDocument document : documents) {
+                    apply(type, document);
+                }
+            }
+            count += documents.size();
+            if (!documents.isEmpty()) {
+                SearchDocument last = documents.get(documents.size() - 1);
+                afterUpdatedAt = last.updatedAt();
+                afterId = last.id();
+            }
+        } while (documents.size() == limit.max());
+        return count;
+    }
+
+    private void apply(SearchDocumentType type, SearchDocument document) throws IOException {
+        if (Boolean.TRUE.equals(document.active())) {
+            index.upsert(type, document);
+        } else {
+            index.delete(type, document.id());
+        }
+    }
+
+    @FunctionalInterface
+    private interface UpdatedAfterLoader {
+        List<SearchDocument> load(LocalDateTime since, Long afterId, Limit limit);
+    }
+
+    private record PendingChange(SearchDocumentType type, Long id) {
+    }
+}
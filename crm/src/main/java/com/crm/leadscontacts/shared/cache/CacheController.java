@@ -0,0 +1,28 @@
+package com.crm.leadscontacts.shared.cache;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "Supervision des caches d'entités")
+public class CacheController {
+
+    private final List<VersionedEntityCache<?>> caches;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Succès, échecs et évictions de chaque cache")
+    public ResponseEntity<List<CacheStatsDTO>> getStats() {
+        return ResponseEntity.ok(caches.stream()
+                .map(VersionedEntityCache::getStats)
+                .toList());
+    }
+}
@@ -0,0 +1,31 @@
+package com.crm.leadscontacts.shared.cache;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "CacheStatsDTO", description = "Statistiques d'un cache d'entités")
+public class CacheStatsDTO {
+
+    @Schema(description = "Nom du cache", example = "leads")
+    private String name;
+
+    @Schema(description = "Nombre estimé d'entrées", example = "8420")
+    private long size;
+
+    @Schema(description = "Lectures servies par le cache", example = "120344")
+    private long hitCount;
+
+    @Schema(description = "Lectures ayant nécessité un accès en base", example = "9120")
+    private long missCount;
+
+    @Schema(description = "Taux de succès (0..1)", example = "0.93")
+    private double hitRate;
+
+    @Schema(description = "Entrées évincées (taille ou durée de vie)", example = "310")
+    private long evictionCount;
+}
@@ -0,0 +1,28 @@
+package com.crm.leadscontacts.shared.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Paramètres des caches d'entités (préfixe crm.cache.entities)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.cache.entities")
+public class EntityCacheProperties {
+
+    /**
+     * Nombre maximal d'entrées par cache
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Durée de vie d'une entrée après son chargement
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
@@ -0,0 +1,7 @@
+package com.crm.leadscontacts.shared.cache;
+
+/**
+ * Valeur accompagnée de la version (@Version) de l'entité dont elle est issue
+ */
+public record Versioned<V>(long version, V value) {
+}
@@ -0,0 +1,112 @@
+package com.crm.leadscontacts.shared.cache;
+
+import com.crm.leadscontacts.shared.domain.BaseEntity;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache en lecture (read-through) borné en taille et en durée, indexé par ID d'entité
+ *
+ * Chaque entrée porte la version (@Version) de l'entité lue. Après chaque commit d'une écriture,
+ * l'entrée est remplacée par un marqueur « version minimale » : une lecture concurrente
+ * qui tenterait de remettre en cache une version plus ancienne est ignorée.
+ *
+ * Design Pattern: Proxy (cache) + Observer (invalidation sur EntityChangedEvent)
+ */
+public class VersionedEntityCache<V> {
+
+    private final String name;
+    private final Class<? extends BaseEntity> entityType;
+    private final Cache<Long, Entry<V>> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VersionedEntityCache(String name, Class<? extends BaseEntity> entityType,
+                                long maximumSize, Duration timeToLive) {
+        this.name = name;
+        this.entityType = entityType;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()  // utilisé pour le comptage des évictions
+                .build();
+    }
+
+    /**
+     * Renvoie la valeur en cache ou la charge (et la met en cache) via le loader
+     */
+    public V get(Long id, Supplier<Versioned<V>> loader) {
+        Entry<V> entry = cache.getIfPresent(id);
+        if (entry != null && entry.value() != null) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        Versioned<V> loaded = loader.get();
+        cache.asMap().compute(id, (key, current) ->
+                current == null || current.version() <= loaded.version()
+                        ? new Entry<>(loaded.version(), loaded.value())
+                        : current);
+        return loaded.value();
+    }
+
+    /**
+     * Version de la valeur en cache, null si absente ou invalidée (ne compte ni succès ni échec)
+     */
+    public Long peekVersion(Long id) {
+        Entry<V> entry = cache.getIfPresent(id);
+        return entry != null && entry.value() != null ? entry.version() : null;
+    }
+
+    /**
+     * Invalide l'entrée : seules les versions >= minVersion pourront être remises en cache
+     */
+    public void invalidate(Long id, long minVersion) {
+        cache.asMap().merge(id, new Entry<>(minVersion, null),
+                (current, marker) -> new Entry<>(Math.max(current.version(), minVersion), null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.entityType() != entityType || event.id() == null
+                || event.kind() == EntityChangedEvent.ChangeKind.CREATED) {
+            return;
+        }
+        if (event.kind() == EntityChangedEvent.ChangeKind.DELETED || event.version() == null) {
+            invalidate(event.id(), Long.MAX_VALUE);
+        } else {
+            invalidate(event.id(), event.version());
+        }
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CacheStatsDTO getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return CacheStatsDTO.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(hitCount)
+                .missCount(missCount)
+                .hitRate(total == 0 ? 0.0 : (double) hitCount / total)
+                .evictionCount(cache.stats().evictionCount())
+                .build();
+    }
+
+    private record Entry<V>(long version, V value) {
+    }
+}
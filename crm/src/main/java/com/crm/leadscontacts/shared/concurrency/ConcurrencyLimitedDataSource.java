@@ -0,0 +1,124 @@
+package com.crm.leadscontacts.shared.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Plafond de connexions JDBC empruntées simultanément (sémaphore équitable)
+ *
+ * Avec des threads virtuels, le nombre de requêtes en cours n'est plus borné par le pool Tomcat :
+ * des milliers de threads peuvent attendre le pool Hikari. Le sémaphore les met en file dans
+ * l'ordre d'arrivée et échoue proprement (503) au-delà de jdbc-acquire-timeout.
+ * Le permis est rendu à la fermeture de la connexion.
+ *
+ * Design Pattern: Decorator (enveloppe la source de données de l'application)
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Timer acquireTimer;
+    private final Timer rejectedTimer;
+
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrent, Duration acquireTimeout,
+                                        MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+        this.acquireTimer = acquireTimer(meterRegistry, "acquired");
+        this.rejectedTimer = acquireTimer(meterRegistry, "rejected");
+        Gauge.builder("crm.jdbc.permits.available", permits, Semaphore::availablePermits)
+                .description("Permis JDBC disponibles")
+                .register(meterRegistry);
+        Gauge.builder("crm.jdbc.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads en attente d'un permis JDBC")
+                .register(meterRegistry);
+    }
+
+    private static Timer acquireTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("crm.jdbc.permits.wait")
+                .description("Attente d'un permis JDBC")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Attente d'un permis JDBC interrompue", e);
+        }
+        (acquired ? acquireTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            throw new SQLTransientConnectionException(
+                    "Limite de connexions JDBC simultanées atteinte (attente > " + acquireTimeout.toMillis() + " ms)");
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
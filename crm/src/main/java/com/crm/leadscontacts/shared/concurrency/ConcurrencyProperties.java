@@ -0,0 +1,35 @@
+package com.crm.leadscontacts.shared.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Garde-fous du mode threads virtuels (préfixe crm.concurrency)
+ *
+ * Le mode lui-même est activé par spring.threads.virtual.enabled=true.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.concurrency")
+public class ConcurrencyProperties {
+
+    /**
+     * Connexions JDBC empruntées simultanément au maximum (0 = taille du pool primaire)
+     */
+    private int jdbcMaxConcurrent = 0;
+
+    /**
+     * Attente maximale d'un permis JDBC avant de répondre 503
+     */
+    private Duration jdbcAcquireTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Durée à partir de laquelle un thread virtuel épinglé sur son thread porteur est signalé
+     */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
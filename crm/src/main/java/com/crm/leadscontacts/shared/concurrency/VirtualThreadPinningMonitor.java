@@ -0,0 +1,102 @@
+package com.crm.leadscontacts.shared.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Détection des threads virtuels épinglés sur leur thread porteur (événement JFR jdk.VirtualThreadPinned)
+ *
+ * Un thread virtuel qui bloque dans un bloc synchronized (ou du code natif) immobilise son porteur :
+ * au-delà de quelques épinglages simultanés, tout le mode virtuel se fige. Chaque épinglage plus long
+ * que crm.concurrency.pinned-threshold est mesuré (crm.virtual_threads.pinned, par site applicatif)
+ * et la pile est journalisée une fois par site.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.crm.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final ConcurrencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(ConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(properties.getPinnedThreshold()).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Surveillance de l'épinglage des threads virtuels active (seuil {} ms)",
+                properties.getPinnedThreshold().toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames()
+                : List.of();
+        String site = applicationSite(frames);
+        Timer.builder("crm.virtual_threads.pinned")
+                .description("Durée d'épinglage des threads virtuels sur leur porteur")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        if (reportedSites.add(site)) {
+            log.warn("Thread virtuel épinglé {} ms ({}):\n{}", event.getDuration().toMillis(), site,
+                    format(event.getStackTrace()));
+        }
+    }
+
+    /**
+     * Première méthode applicative de la pile (sinon la première méthode tout court) : cardinalité bornée
+     */
+    private static String applicationSite(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().filter(RecordedFrame::isJavaFrame).findFirst())
+                .map(frame -> simpleName(frame.getMethod().getType().getName()) + "." + frame.getMethod().getName())
+                .orElse("inconnu");
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(pile indisponible)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
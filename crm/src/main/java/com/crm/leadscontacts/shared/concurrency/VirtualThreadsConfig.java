@@ -0,0 +1,59 @@
+package com.crm.leadscontacts.shared.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Garde-fous actifs uniquement en mode threads virtuels (spring.threads.virtual.enabled=true)
+ *
+ * Spring Boot exécute alors les requêtes Tomcat, les tâches @Scheduled et les exports asynchrones
+ * sur des threads virtuels ; cette configuration ajoute le plafond JDBC et la détection d'épinglage.
+ *
+ * Principe SOLID: OCP - le mode s'active par configuration, sans modifier les services
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(ConcurrencyProperties properties,
+                                                                   MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(properties, meterRegistry);
+    }
+
+    /**
+     * Enveloppe la source de données de l'application (Hikari ou routage lecture/écriture)
+     */
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiter(ObjectProvider<ConcurrencyProperties> properties,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+                int maxConcurrent = properties.getObject().getJdbcMaxConcurrent();
+                if (maxConcurrent <= 0) {
+                    HikariDataSource pool = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+                    // Pool non démarré : taille configurée, sinon valeur par défaut de Hikari (10)
+                    maxConcurrent = pool != null && pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : 10;
+                }
+                log.info("Connexions JDBC simultanées plafonnées à {}", maxConcurrent);
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrent,
+                        properties.getObject().getJdbcAcquireTimeout(), meterRegistry.getObject());
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.crm.leadscontacts.shared.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routage lecture/écriture : primaire (spring.datasource.*) + réplicas (crm.datasource.routing.*)
+ *
+ * Inactif par défaut : la configuration automatique de Spring Boot crée alors la source unique.
+ * Les pools (primaire et réplicas) publient leurs métriques Hikari avec leur nom de pool.
+ *
+ * Principe SOLID: OCP - le routage s'ajoute sans modifier services ni repositories
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "crm.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    static final String PRIMARY_POOL_NAME = "crm-primary";
+
+    @Bean
+    @Primary
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                 DataSourceRoutingProperties routing,
+                                                 Environment environment,
+                                                 MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName(PRIMARY_POOL_NAME);
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        for (int i = 0; i < routing.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = routing.getReplicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("crm-replica-" + (i + 1));
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setDriverClassName(replica.getDriverClassName() != null
+                    ? replica.getDriverClassName()
+                    : dataSourceProperties.determineDriverClassName());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            // Un réplica indisponible ne bloque ni le démarrage ni les lectures (éjection rapide)
+            pool.setInitializationFailTimeout(-1);
+            pool.setConnectionTimeout(Math.max(routing.getHealthCheckTimeout().toMillis(), 250));
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicaPools.add(pool);
+        }
+
+        ReplicaRouter router = new ReplicaRouter(primary, replicaPools,
+                routing.getHealthCheckInterval(), routing.getHealthCheckTimeout(), meterRegistry);
+        return new ReadWriteRoutingDataSource(primary, router,
+                ReplicaRouter.connections(meterRegistry, ReplicaRouter.PRIMARY, "read-write"));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(DataSourceRoutingProperties routing) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(routing.getStickyWindow(), routing.getStickyCookieSameSite()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+
+    /**
+     * Exports en flux (StreamingResponseBody) : la tâche asynchrone hérite du mode de la requête
+     */
+    @Bean
+    public TaskDecorator readRoutingTaskDecorator() {
+        return runnable -> {
+            ReadRoutingContext.Mode mode = ReadRoutingContext.current();
+            return () -> {
+                ReadRoutingContext.set(mode);
+                try {
+                    runnable.run();
+                } finally {
+                    ReadRoutingContext.clear();
+                }
+            };
+        };
+    }
+}
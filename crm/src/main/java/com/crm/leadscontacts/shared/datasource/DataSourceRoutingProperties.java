@@ -0,0 +1,69 @@
+package com.crm.leadscontacts.shared.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paramètres du routage lecture/écriture vers les réplicas (préfixe crm.datasource.routing)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Active le routage (sinon : source de données unique configurée par spring.datasource.*)
+     */
+    private boolean enabled = false;
+
+    /**
+     * Réplicas en lecture seule ; sans réplica sain, les lectures retombent sur le primaire
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Durée pendant laquelle un client lit sur le primaire après sa propre écriture
+     */
+    private Duration stickyWindow = Duration.ofSeconds(2);
+
+    /**
+     * Attribut SameSite du cookie de collage : Lax quand le frontend partage le site de l'API,
+     * None (cookie alors marqué Secure, HTTPS requis) quand il est servi depuis un autre domaine
+     */
+    private String stickyCookieSameSite = "Lax";
+
+    /**
+     * Intervalle de vérification de l'état des réplicas
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Délai maximal d'obtention / validation d'une connexion réplica avant éjection
+     */
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Pilote JDBC (par défaut celui du primaire)
+         */
+        private String driverClassName;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,58 @@
+package com.crm.leadscontacts.shared.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Éligibilité du thread courant aux lectures sur réplica
+ *
+ * Seules les requêtes HTTP (ReadYourWritesFilter) lisent sur les réplicas. Les traitements
+ * de fond (index de recherche, scoring, doublons, statistiques) relisent des écritures tout
+ * juste validées et restent sur le primaire, de même qu'un client qui vient d'écrire.
+ */
+public final class ReadRoutingContext {
+
+    public enum Mode {
+        /** Hors requête HTTP : primaire */
+        BACKGROUND,
+        /** Requête HTTP : réplica */
+        REPLICA,
+        /** Requête d'un client ayant écrit récemment, ou lecture qui exige le primaire : primaire */
+        STICKY
+    }
+
+    private static final ThreadLocal<Mode> MODE = new ThreadLocal<>();
+
+    private ReadRoutingContext() {
+    }
+
+    public static Mode current() {
+        Mode mode = MODE.get();
+        return mode != null ? mode : Mode.BACKGROUND;
+    }
+
+    public static void set(Mode mode) {
+        MODE.set(mode);
+    }
+
+    public static void clear() {
+        MODE.remove();
+    }
+
+    /**
+     * Exécute des lectures sur le primaire quel que soit le mode courant, puis rétablit celui-ci
+     * La connexion étant obtenue à la première requête SQL, l'appel doit précéder toute lecture
+     * de la transaction (et, avec open-in-view, de la requête HTTP)
+     */
+    public static <T> T onPrimary(Supplier<T> reads) {
+        Mode previous = MODE.get();
+        if (previous != Mode.REPLICA) {
+            return reads.get();
+        }
+        MODE.set(Mode.STICKY);
+        try {
+            return reads.get();
+        } finally {
+            MODE.set(previous);
+        }
+    }
+}
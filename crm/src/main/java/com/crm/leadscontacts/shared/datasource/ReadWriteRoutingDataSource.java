@@ -0,0 +1,53 @@
+package com.crm.leadscontacts.shared.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Source de données de l'application quand le routage est actif
+ *
+ * La connexion physique n'est obtenue qu'à la première requête SQL : une transaction
+ * @Transactional(readOnly = true) a alors déjà marqué la connexion en lecture seule et
+ * celle-ci est demandée au ReplicaRouter ; toute autre connexion vient du primaire.
+ * Avec open-in-view, la connexion est conservée pour toute la requête HTTP : la première
+ * transaction de la requête en fixe la cible.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final ReplicaRouter replicaRouter;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, ReplicaRouter replicaRouter, Counter readWriteConnections) {
+        super(new CountingDataSource(primary, readWriteConnections));
+        this.primary = primary;
+        this.replicaRouter = replicaRouter;
+        setReadOnlyDataSource(replicaRouter);
+    }
+
+    @Override
+    public void close() {
+        replicaRouter.close();
+        primary.close();
+    }
+
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private final Counter counter;
+
+        private CountingDataSource(HikariDataSource target, Counter counter) {
+            super(target);
+            this.counter = counter;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            counter.increment();
+            return super.getConnection();
+        }
+    }
+}
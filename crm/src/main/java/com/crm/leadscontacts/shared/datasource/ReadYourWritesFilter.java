@@ -0,0 +1,82 @@
+package com.crm.leadscontacts.shared.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Lecture de ses propres écritures (read-your-writes) malgré le retard des réplicas
+ *
+ * Une requête d'écriture (POST, PUT, PATCH, DELETE) dépose un cookie portant l'échéance de
+ * la fenêtre de collage ; tant qu'elle n'est pas dépassée, les lectures de ce client sont
+ * servies par le primaire. Les autres requêtes HTTP sont éligibles aux réplicas.
+ * Un frontend servi depuis un autre site doit envoyer ses requêtes avec credentials (withCredentials)
+ * et le cookie doit alors être SameSite=None; Secure, sans quoi le navigateur ne le renvoie pas.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "crm_primary_until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration stickyWindow;
+    private final String sameSite;
+
+    public ReadYourWritesFilter(Duration stickyWindow, String sameSite) {
+        this.stickyWindow = stickyWindow;
+        this.sameSite = sameSite;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // Déposé avant l'exécution : la réponse peut être validée (commit HTTP) pendant le traitement
+            ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(now + stickyWindow.toMillis()))
+                    .path("/")
+                    .maxAge(Duration.ofSeconds(Math.max(1, (stickyWindow.toMillis() + 999) / 1000)))
+                    .httpOnly(true)
+                    .sameSite(sameSite)
+                    // SameSite=None n'est accepté par les navigateurs que sur un cookie Secure
+                    .secure(request.isSecure() || "None".equalsIgnoreCase(sameSite))
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+
+        ReadRoutingContext.set(write || stickyUntil(request) > now
+                ? ReadRoutingContext.Mode.STICKY
+                : ReadRoutingContext.Mode.REPLICA);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRoutingContext.clear();
+        }
+    }
+
+    private static long stickyUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
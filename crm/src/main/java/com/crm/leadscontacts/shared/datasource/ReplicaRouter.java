@@ -0,0 +1,172 @@
+package com.crm.leadscontacts.shared.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Source des connexions en lecture seule : répartition sur les réplicas sains, repli sur le primaire
+ *
+ * Les réplicas sont choisis à tour de rôle. Un réplica dont la connexion échoue est écarté
+ * immédiatement ; une vérification périodique (Connection.isValid) l'écarte ou le réintègre.
+ * Chaque connexion servie est comptée par cible et par motif (crm.datasource.connections).
+ *
+ * Design Pattern: Strategy (choix de la cible) + Circuit Breaker simplifié (éjection / réintégration)
+ */
+@Slf4j
+public class ReplicaRouter extends AbstractDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration healthCheckTimeout;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    private final Counter stickyReads;
+    private final Counter backgroundReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRouter(DataSource primary, List<HikariDataSource> replicaPools,
+                         Duration healthCheckInterval, Duration healthCheckTimeout, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.healthCheckTimeout = healthCheckTimeout;
+        this.replicas = replicaPools.stream().map(pool -> new Replica(pool, meterRegistry)).toList();
+        this.stickyReads = connections(meterRegistry, PRIMARY, "sticky");
+        this.backgroundReads = connections(meterRegistry, PRIMARY, "background");
+        this.fallbackReads = connections(meterRegistry, PRIMARY, "fallback");
+        Gauge.builder("crm.datasource.replicas.healthy", replicas,
+                        list -> list.stream().filter(replica -> replica.healthy).count())
+                .register(meterRegistry);
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(healthCheckInterval.toMillis(), 100);
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    static Counter connections(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("crm.datasource.connections")
+                .description("Connexions servies par cible et motif de routage")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        switch (ReadRoutingContext.current()) {
+            case STICKY -> {
+                stickyReads.increment();
+                return primary.getConnection();
+            }
+            case BACKGROUND -> {
+                backgroundReads.increment();
+                return primary.getConnection();
+            }
+            default -> {
+                // Tour de rôle à partir du réplica suivant, en sautant les réplicas écartés
+                int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+                for (int i = 0; i < replicas.size(); i++) {
+                    Replica replica = replicas.get((start + i) % replicas.size());
+                    if (!replica.healthy) {
+                        continue;
+                    }
+                    try {
+                        Connection connection = replica.pool.getConnection();
+                        replica.served.increment();
+                        return connection;
+                    } catch (SQLException e) {
+                        replica.eject(e);
+                    }
+                }
+                fallbackReads.increment();
+                return primary.getConnection();
+            }
+        }
+    }
+
+    /**
+     * Identifiants explicites : servis par le primaire (ceux des réplicas sont fixés par leurs pools)
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    void checkHealth() {
+        int timeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (connection.isValid(timeoutSeconds)) {
+                    replica.reinstate();
+                } else {
+                    // Retirée du pool : la prochaine vérification ouvrira une nouvelle connexion
+                    replica.pool.evictConnection(connection);
+                    replica.eject(null);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.eject(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private final Counter served;
+        private final Counter ejections;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource pool, MeterRegistry meterRegistry) {
+            this.pool = pool;
+            this.served = connections(meterRegistry, pool.getPoolName(), "read-only");
+            this.ejections = Counter.builder("crm.datasource.replicas.ejections")
+                    .tag("target", pool.getPoolName())
+                    .register(meterRegistry);
+        }
+
+        private void eject(Exception cause) {
+            if (healthy) {
+                healthy = false;
+                ejections.increment();
+                // Les connexions inactives du pool visent un serveur perdu : elles seront recréées
+                if (pool.getHikariPoolMXBean() != null) {
+                    pool.getHikariPoolMXBean().softEvictConnections();
+                }
+                log.warn("Réplica {} écarté du routage: {}", pool.getPoolName(),
+                        cause != null ? cause.getMessage() : "connexion invalide");
+            }
+        }
+
+        private void reinstate() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Réplica {} réintégré au routage", pool.getPoolName());
+            }
+        }
+    }
+}
@@ -7,12 +7,16 @@ import java.time.LocalDateTime;
 
 /**
  * Value Object pour les pièces jointes
- * Utilisé pour stocker des fichiers liés aux entités
+ * Utilisé pour stocker des fichiers liés aux entités (lead ou contact)
+ * Le contenu est conservé une seule fois dans le stockage adressé par empreinte (contentHash)
  *
  * Design Pattern: Value Object
  */
 @Entity
-@Table(name = "attachments")
+// Index créé par les migrations (db/migration), repris ici pour les schémas générés
+@Table(name = "attachments", indexes = {
+        @Index(name = "idx_attachments_owner", columnList = "ownerType, ownerId, active, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,6 +24,13 @@ import java.time.LocalDateTime;
 @Builder
 public class Attachment extends BaseEntity {
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AttachmentOwner ownerType;
+
+    @Column(nullable = false)
+    private Long ownerId;
+
     @Column(nullable = false)
     private String fileName;
 
@@ -32,6 +43,12 @@ public class Attachment extends BaseEntity {
     @Column(nullable = false)
     private String storagePath;
 
+    /**
+     * Empreinte SHA-256 (hexadécimal) du contenu, reprise dans l'ETag
+     */
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
     private String description;
 
     @Column(nullable = false)
@@ -0,0 +1,27 @@
+package com.crm.leadscontacts.shared.domain;
+
+import com.crm.leadscontacts.shared.handlers.ResourceNotFoundException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Type d'entité propriétaire d'une pièce jointe, avec son segment d'URL (/api/leads, /api/contacts)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AttachmentOwner {
+    LEAD("leads", "Lead"),
+    CONTACT("contacts", "Contact");
+
+    private final String pathSegment;
+    private final String resourceName;
+
+    public static AttachmentOwner fromPathSegment(String segment) {
+        for (AttachmentOwner owner : values()) {
+            if (owner.pathSegment.equals(segment)) {
+                return owner;
+            }
+        }
+        throw new ResourceNotFoundException("Type de ressource inconnu: " + segment);
+    }
+}
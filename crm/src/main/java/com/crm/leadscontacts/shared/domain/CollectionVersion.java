@@ -0,0 +1,10 @@
+package com.crm.leadscontacts.shared.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Empreinte d'un ensemble de lignes : nombre de lignes et date de la dernière modification
+ * Toute écriture sur l'ensemble (ajout, modification, sortie du filtre) change l'une des deux
+ */
+public record CollectionVersion(Long count, LocalDateTime lastUpdatedAt) {
+}
@@ -0,0 +1,96 @@
+package com.crm.leadscontacts.shared.domain;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Publie un EntityChangedEvent pour chaque INSERT/UPDATE/DELETE d'une BaseEntity passant par Hibernate
+ * Les écritures SQL directes (lots JDBC, UPDATE ensemblistes) doivent publier l'événement elles-mêmes
+ *
+ * Design Pattern: Observer Pattern
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityChangeTracker implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String ACTIVE_PROPERTY = "active";
+    // Cycle de vie : statut d'un lead, type d'un contact
+    private static final Set<String> TRANSITION_PROPERTIES = Set.of("status", "type");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getEntity(), EntityChangedEvent.ChangeKind.CREATED);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getEntity(), updateKind(event));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getEntity(), EntityChangedEvent.ChangeKind.DELETED);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Qualifie la mise à jour d'après les propriétés modifiées (UPDATED si elles sont inconnues)
+     */
+    private static EntityChangedEvent.ChangeKind updateKind(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            return EntityChangedEvent.ChangeKind.UPDATED;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        EntityChangedEvent.ChangeKind kind = EntityChangedEvent.ChangeKind.UPDATED;
+        for (int i = 0; i < names.length; i++) {
+            if (Objects.equals(oldState[i], event.getState()[i])) {
+                continue;
+            }
+            if (ACTIVE_PROPERTY.equals(names[i]) && Boolean.FALSE.equals(event.getState()[i])) {
+                return EntityChangedEvent.ChangeKind.DEACTIVATED;
+            }
+            if (TRANSITION_PROPERTIES.contains(names[i])) {
+                kind = EntityChangedEvent.ChangeKind.TRANSITIONED;
+            }
+        }
+        return kind;
+    }
+
+    private void publish(Object entity, EntityChangedEvent.ChangeKind kind) {
+        if (entity instanceof BaseEntity baseEntity) {
+            eventPublisher.publishEvent(new EntityChangedEvent(
+                    baseEntity.getClass(),
+                    baseEntity.getId(),
+                    kind == EntityChangedEvent.ChangeKind.DELETED ? null : baseEntity.getVersion(),
+                    kind));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.crm.leadscontacts.shared.domain;
+
+/**
+ * Événement publié à chaque écriture d'une entité du CRM (création, mise à jour, suppression)
+ *
+ * @param entityType classe de l'entité modifiée
+ * @param id         identifiant de l'entité
+ * @param version    version après l'écriture (null pour une suppression)
+ */
+public record EntityChangedEvent(Class<? extends BaseEntity> entityType,
+                                 Long id,
+                                 Long version,
+                                 ChangeKind kind) {
+
+    public enum ChangeKind {
+        CREATED,
+        UPDATED,
+        /** Changement de statut (lead) ou de type (contact) */
+        TRANSITIONED,
+        /** Suppression logique (active = false) ; la ligne reste en base */
+        DEACTIVATED,
+        /** Score recalculé par le moteur de scoring (aucun autre champ modifié) */
+        RESCORED,
+        DELETED
+    }
+}
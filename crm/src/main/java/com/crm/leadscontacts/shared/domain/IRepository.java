@@ -27,6 +27,11 @@ public interface IRepository<T> extends JpaRepository<T, Long> {
      */
     Optional<T> findByIdAndActiveTrue(Long id);
 
+    /**
+     * Vérifie qu'une entité existe et est active
+     */
+    boolean existsByIdAndActiveTrue(Long id);
+
     /**
      * Compte les entités actives
      */
@@ -0,0 +1,74 @@
+package com.crm.leadscontacts.shared.export;
+
+import com.crm.leadscontacts.shared.wire.WireFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.function.Consumer;
+
+/**
+ * Écrit un flux d'objets directement dans la réponse HTTP, sans jamais matérialiser la liste complète
+ *
+ * Encodage négocié (WireFormat) : JSON délimité par des retours à la ligne (NDJSON) par défaut,
+ * documents Smile concaténés ou séquence CBOR sur demande (Accept).
+ *
+ * Principe SOLID: SRP - sérialisation des exports uniquement
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportStreamer {
+
+    private final JsonMapper jsonMapper;
+    private final SmileMapper smileMapper;
+    private final CBORMapper cborMapper;
+
+    /**
+     * @param baseName nom proposé au client pour le fichier exporté, sans extension
+     * @param accept   en-tête Accept de la requête (null pour NDJSON)
+     * @param source   parcourt les éléments et les passe un par un au consommateur
+     */
+    public <T> ResponseEntity<StreamingResponseBody> export(String baseName, String accept,
+                                                            Consumer<Consumer<T>> source) {
+        WireFormat format = WireFormat.negotiate(accept);
+        ObjectMapper mapper = switch (format) {
+            case JSON -> jsonMapper;
+            case SMILE -> smileMapper;
+            case CBOR -> cborMapper;
+        };
+        boolean lineDelimited = format == WireFormat.JSON;
+        ObjectWriter writer = mapper.writer()
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        ObjectWriter sequenceWriter = lineDelimited ? writer.withRootValueSeparator("\n") : writer;
+
+        StreamingResponseBody body = out -> {
+            long[] written = {0};
+            try (SequenceWriter sequence = sequenceWriter.writeValues(out)) {
+                source.accept(item -> {
+                    sequence.write(item);
+                    written[0]++;
+                });
+            }
+            if (lineDelimited && written[0] > 0) {
+                out.write('\n');
+            }
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(format.getExportMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + baseName + "." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,15 @@
+package com.crm.leadscontacts.shared.handlers;
+
+/**
+ * Exception pour les écritures concurrentes non résolues (conflit de version persistant, requête en cours)
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.crm.leadscontacts.shared.handlers;
+
+/**
+ * Exception pour une clé d'idempotence déjà utilisée par une autre requête
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String key, String originalRequest) {
+        super(String.format("La clé d'idempotence %s a déjà été utilisée pour %s", key, originalRequest));
+    }
+}
@@ -0,0 +1,12 @@
+package com.crm.leadscontacts.shared.handlers;
+
+/**
+ * Exception pour les requêtes conditionnelles dont la précondition (If-Match) n'est plus vérifiée
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String resourceName, Long id, Long expectedVersion, Long currentVersion) {
+        super(String.format("%s avec l'ID %d modifié entre-temps (version attendue %d, version actuelle %d)",
+                resourceName, id, expectedVersion, currentVersion));
+    }
+}
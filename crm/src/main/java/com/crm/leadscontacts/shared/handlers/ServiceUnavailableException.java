@@ -0,0 +1,11 @@
+package com.crm.leadscontacts.shared.handlers;
+
+/**
+ * Exception pour une capacité momentanément épuisée (le client peut réessayer plus tard)
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
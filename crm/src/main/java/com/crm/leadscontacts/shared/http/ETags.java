@@ -0,0 +1,156 @@
+package com.crm.leadscontacts.shared.http;
+
+import com.crm.leadscontacts.shared.domain.CollectionVersion;
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import com.crm.leadscontacts.shared.wire.WireFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * ETags forts et requêtes conditionnelles (If-None-Match / If-Match)
+ *
+ * - ressource unitaire : "v{version}", la version @Version de l'entité ;
+ * - liste : "{nombre}-{max(updatedAt) en µs}", calculé par une requête d'agrégat
+ *   avant la lecture des lignes, pour décider du 304 sans mapping ni sérialisation.
+ * - contenu de fichier : "sha256-{empreinte}", identique pour deux contenus identiques.
+ *
+ * Un ETag fort désigne une représentation exacte : les réponses Smile et CBOR portent l'ETag
+ * suffixé de leur encodage ("v3+cbor"), JSON garde l'ETag nu (voir forRepresentation).
+ *
+ * Principe SOLID: SRP - format et comparaison des ETags uniquement
+ */
+public final class ETags {
+
+    private static final String VERSION_PREFIX = "v";
+    private static final String CONTENT_PREFIX = "sha256-";
+    private static final char FORMAT_SEPARATOR = '+';
+
+    private ETags() {
+    }
+
+    public static String ofVersion(Long version) {
+        return quote(VERSION_PREFIX + (version != null ? version : 0L));
+    }
+
+    public static String ofCollection(CollectionVersion collection) {
+        long lastUpdated = collection.lastUpdatedAt() == null ? 0L
+                : ChronoUnit.MICROS.between(Instant.EPOCH, collection.lastUpdatedAt().toInstant(ZoneOffset.UTC));
+        return quote(collection.count() + "-" + lastUpdated);
+    }
+
+    public static String ofContent(String contentHash) {
+        return quote(CONTENT_PREFIX + contentHash);
+    }
+
+    /**
+     * ETag de la représentation négociée pour la requête en cours (en-tête Accept)
+     */
+    public static String forRepresentation(String etag) {
+        String accept = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getHeader(HttpHeaders.ACCEPT)
+                : null;
+        return forRepresentation(etag, WireFormat.negotiate(accept));
+    }
+
+    static String forRepresentation(String etag, WireFormat format) {
+        if (format == WireFormat.JSON) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + FORMAT_SEPARATOR + format.getFileExtension() + "\"";
+    }
+
+    /**
+     * If-None-Match : comparaison faible (RFC 9110), "*" ou liste de valeurs acceptés,
+     * avec l'ETag de la représentation négociée pour la requête en cours
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        return matches(ifNoneMatch, etag, forRepresentation(etag));
+    }
+
+    /**
+     * If-None-Match sur un contenu non négocié (fichier) : l'ETag est comparé tel quel
+     */
+    public static boolean matchesContent(String ifNoneMatch, String etag) {
+        return matches(ifNoneMatch, etag, etag);
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag, String representationEtag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value)) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(representationEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Match : version attendue par le client, null si aucune précondition (absent ou "*")
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/") || value.contains(",")) {
+            throw new BusinessException("If-Match doit contenir un seul ETag fort");
+        }
+        value = value.startsWith("\"") && value.endsWith("\"") && value.length() >= 2
+                ? value.substring(1, value.length() - 1) : value;
+        // Même version quel que soit l'encodage de la représentation lue
+        int separator = value.indexOf(FORMAT_SEPARATOR);
+        if (separator >= 0) {
+            value = value.substring(0, separator);
+        }
+        if (!value.startsWith(VERSION_PREFIX)) {
+            throw new BusinessException("ETag invalide dans If-Match: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(value.substring(VERSION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("ETag invalide dans If-Match: " + ifMatch);
+        }
+    }
+
+    /**
+     * 200 avec ETag ; no-cache : le client garde la réponse mais la revalide à chaque usage.
+     * Vary: Accept, le corps étant JSON, Smile ou CBOR selon la négociation : un cache garde
+     * une entrée par encodage, chacune avec son propre ETag.
+     */
+    public static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(forRepresentation(etag))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(forRepresentation(etag))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
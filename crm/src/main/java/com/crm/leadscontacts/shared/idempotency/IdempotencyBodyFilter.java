@@ -0,0 +1,42 @@
+package com.crm.leadscontacts.shared.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+
+/**
+ * Conserve le corps des requêtes portant un en-tête Idempotency-Key
+ *
+ * Le corps est recopié au fil de sa lecture par le convertisseur (@RequestBody) ; IdempotencyStore
+ * en calcule l'empreinte pour refuser une clé rejouée avec un autre contenu. Les requêtes sans clé
+ * (téléversements de pièces jointes compris) ne sont pas enveloppées et restent lues en flux.
+ *
+ * Design Pattern: Decorator (requête enveloppée)
+ */
+@Component
+public class IdempotencyBodyFilter extends OncePerRequestFilter {
+
+    private final IdempotencyProperties properties;
+
+    public IdempotencyBodyFilter(IdempotencyProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IdempotencyStore.HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        int limit = (int) Math.min(Integer.MAX_VALUE, properties.getMaxBodySize().toBytes());
+        filterChain.doFilter(new ContentCachingRequestWrapper(request, limit), response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.crm.leadscontacts.shared.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Paramètres du registre des clés d'idempotence (préfixe crm.idempotency)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Nombre maximal de réponses conservées (les plus anciennes sont évincées)
+     */
+    private long maximumSize = 50_000;
+
+    /**
+     * Durée pendant laquelle un rejeu de la même clé reçoit la réponse d'origine
+     */
+    private Duration timeToLive = Duration.ofHours(24);
+
+    /**
+     * Attente maximale d'un doublon concurrent sur la requête d'origine encore en cours
+     */
+    private Duration inFlightTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Taille de corps conservée pour l'empreinte ; au-delà, seuls ce préfixe et la longueur annoncée comptent
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(10);
+}
@@ -0,0 +1,168 @@
+package com.crm.leadscontacts.shared.idempotency;
+
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import com.crm.leadscontacts.shared.handlers.ConflictException;
+import com.crm.leadscontacts.shared.handlers.IdempotencyKeyReusedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Registre local des clés d'idempotence (en-tête Idempotency-Key) des requêtes d'écriture
+ *
+ * La première requête portant une clé est exécutée et sa réponse conservée (cache borné en taille
+ * et en durée) ; un rejeu de la même clé reçoit cette réponse sans nouvelle exécution, avec l'en-tête
+ * Idempotent-Replayed. Un doublon qui arrive pendant l'exécution (double clic) attend son résultat.
+ * Une requête en échec n'est pas conservée : le client peut la rejouer avec la même clé.
+ * Une clé réutilisée pour une autre requête (méthode + URI) ou avec un autre corps (empreinte SHA-256
+ * conservée par IdempotencyBodyFilter) est refusée (422).
+ *
+ * Design Pattern: Proxy (réponse mémorisée devant l'action) + Registry
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final Cache<String, Entry> responses;
+    private final Counter replays;
+
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .build();
+        this.replays = Counter.builder("crm.idempotency.replays").register(meterRegistry);
+        Gauge.builder("crm.idempotency.entries", responses, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * Exécute l'action une seule fois par clé ; sans clé, l'action est simplement exécutée
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String key, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("L'en-tête " + HEADER + " doit contenir entre 1 et " + MAX_KEY_LENGTH + " caractères");
+        }
+        HttpServletRequest current = currentRequest();
+        String request = describe(current);
+        String bodyDigest = bodyDigest(current);
+
+        Entry created = new Entry(request, bodyDigest, new CompletableFuture<>());
+        Entry existing = responses.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            if (!existing.request().equals(request)) {
+                throw new IdempotencyKeyReusedException(key, existing.request());
+            }
+            if (!existing.bodyDigest().equals(bodyDigest)) {
+                throw new IdempotencyKeyReusedException(key, existing.request() + " avec un autre corps");
+            }
+            return (ResponseEntity<T>) replay(key, existing);
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            created.response().complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            responses.asMap().remove(key, created);
+            created.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest();
+        }
+        return null;
+    }
+
+    /**
+     * Méthode + URI (paramètres compris) de la requête HTTP en cours
+     */
+    private static String describe(HttpServletRequest request) {
+        if (request == null) {
+            return "";
+        }
+        String query = request.getQueryString();
+        return request.getMethod() + " " + request.getRequestURI() + (query != null ? "?" + query : "");
+    }
+
+    /**
+     * Empreinte SHA-256 du corps déjà lu (@RequestBody désérialisé avant l'appel) et de sa longueur annoncée
+     */
+    static String bodyDigest(HttpServletRequest request) {
+        ContentCachingRequestWrapper wrapper = request != null
+                ? WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class)
+                : null;
+        if (wrapper == null) {
+            return "";
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(wrapper.getContentAsByteArray());
+            digest.update(Long.toString(request.getContentLengthLong()).getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResponseEntity<?> replay(String key, Entry entry) {
+        ResponseEntity<?> original;
+        try {
+            original = entry.response().get(properties.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ConflictException("Une requête avec la clé d'idempotence " + key + " est toujours en cours");
+        } catch (ExecutionException e) {
+            // Doublon concurrent d'une requête en échec : même erreur
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Attente de la requête d'origine interrompue");
+        }
+        replays.increment();
+        log.debug("Rejeu de la clé d'idempotence {} ({})", key, entry.request());
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private record Entry(String request, String bodyDigest, CompletableFuture<ResponseEntity<?>> response) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.crm.leadscontacts.shared.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Mesure le nombre de lignes renvoyées par chaque méthode de repository (crm.repository.rows)
+ * Les durées sont déjà publiées par Spring Boot (spring.data.repository.invocations)
+ *
+ * Design Pattern: Proxy (intercepteur ajouté au proxy des repositories Spring Data)
+ */
+public class RepositoryRowCountPostProcessor implements BeanPostProcessor {
+
+    public static final String METRIC_NAME = "crm.repository.rows";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryRowCountPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(new RowCountInterceptor(meterRegistry,
+                                    repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private static final class RowCountInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String repository;
+        private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        private RowCountInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String repository) {
+            this.meterRegistry = meterRegistry;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            if (result instanceof Stream<?> stream) {
+                // Flux : comptage au fil de la lecture, enregistré à la fermeture
+                DistributionSummary summary = summary(invocation.getMethod());
+                AtomicLong rows = new AtomicLong();
+                return stream.peek(row -> rows.incrementAndGet()).onClose(() -> summary.record(rows.get()));
+            }
+            long rows = rowCount(result);
+            if (rows >= 0) {
+                summary(invocation.getMethod()).record(rows);
+            }
+            return result;
+        }
+
+        private DistributionSummary summary(Method method) {
+            return summaries.computeIfAbsent(method, m -> DistributionSummary.builder(METRIC_NAME)
+                    .description("Lignes renvoyées par méthode de repository")
+                    .baseUnit("rows")
+                    .tag("repository", repository)
+                    .tag("method", m.getName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry.getObject()));
+        }
+
+        /**
+         * -1 pour les résultats qui ne sont pas des lignes (compteurs, void)
+         */
+        private static long rowCount(Object result) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (result == null || result instanceof Number || result instanceof Boolean) {
+                return -1;
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.crm.leadscontacts.shared.notification;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+@Tag(name = "Notifications", description = "Supervision du dispatcher de notifications")
+public class NotificationController {
+
+    private final NotificationDispatcher dispatcher;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Profondeur de file et latence de livraison des notifications")
+    public ResponseEntity<NotificationDispatcherStatsDTO> getStats() {
+        return ResponseEntity.ok(dispatcher.getStats());
+    }
+}
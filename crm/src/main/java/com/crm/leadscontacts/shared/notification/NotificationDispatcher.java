@@ -0,0 +1,308 @@
+package com.crm.leadscontacts.shared.notification;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dispatcher asynchrone des notifications
+ *
+ * Les notifications émises dans une transaction sont retenues jusqu'au commit (abandonnées en cas de rollback),
+ * puis déposées dans une file bornée vidée par un pool de threads de livraison.
+ * La durée des requêtes et l'occupation du pool JDBC ne dépendent plus de la vitesse du canal de notification.
+ *
+ * Design Pattern: Observer Pattern + Decorator (enveloppe le canal de livraison réel)
+ * Principe SOLID: OCP - ajoute l'asynchronisme sans modifier NotificationService
+ */
+@Slf4j
+@Primary
+@Service
+public class NotificationDispatcher implements INotifier {
+
+    private static final long WORKER_POLL_MILLIS = 200;
+    private static final long SPILL_DRAIN_INTERVAL_MILLIS = 500;
+
+    private final INotifier channel;
+    private final NotificationDispatcherProperties properties;
+    private final BlockingQueue<PendingNotification> queue;
+    private final boolean virtualThreads;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private ExecutorService workers;
+    private ScheduledExecutorService spillDrainer;
+    private NotificationSpillStore spillStore;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder totalLatencyMillis = new LongAdder();
+    private final LongAccumulator maxLatencyMillis = new LongAccumulator(Math::max, 0);
+
+    // Latence publication -> livraison (crm.notifications.latency), par issue
+    private final Timer deliveredLatency;
+    private final Timer failedLatency;
+
+    public NotificationDispatcher(@Qualifier("notificationService") INotifier channel,
+                                  NotificationDispatcherProperties properties,
+                                  MeterRegistry meterRegistry,
+                                  Environment environment) {
+        this.channel = channel;
+        this.properties = properties;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.deliveredLatency = latencyTimer(meterRegistry, "delivered");
+        this.failedLatency = latencyTimer(meterRegistry, "failed");
+
+        Gauge.builder("crm.notifications.queue.depth", queue, BlockingQueue::size)
+                .description("Notifications en attente dans la file mémoire")
+                .register(meterRegistry);
+        Gauge.builder("crm.notifications.spill.pending", this,
+                        dispatcher -> dispatcher.spillStore != null ? dispatcher.spillStore.pendingCount() : 0)
+                .description("Notifications en attente dans le débordement disque")
+                .register(meterRegistry);
+        FunctionCounter.builder("crm.notifications.dropped", dropped, LongAdder::sum)
+                .description("Notifications perdues (file pleine ou arrêt)")
+                .register(meterRegistry);
+        FunctionCounter.builder("crm.notifications.spilled", spilled, LongAdder::sum)
+                .description("Notifications écrites sur disque faute de place en file")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running.set(true);
+
+        // Mode threads virtuels : une livraison bloquée (canal lent) ne retient aucun thread porteur
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadFactory workerFactory = virtualThreads
+                ? Thread.ofVirtual().name("notification-worker-", 1).factory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, "notification-worker-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        workers = Executors.newFixedThreadPool(properties.getWorkers(), workerFactory);
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.submit(this::deliveryLoop);
+        }
+
+        if (properties.getOverflowPolicy() == OverflowPolicy.SPILL_TO_DISK) {
+            spillStore = new NotificationSpillStore(Path.of(properties.getSpillDirectory()));
+            spillDrainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "notification-spill-drainer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            spillDrainer.scheduleWithFixedDelay(this::drainSpill,
+                    SPILL_DRAIN_INTERVAL_MILLIS, SPILL_DRAIN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        log.info("Dispatcher de notifications démarré: file={}, workers={}{}, débordement={}",
+                properties.getQueueCapacity(), properties.getWorkers(), virtualThreads ? " (virtuels)" : "",
+                properties.getOverflowPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        running.set(false);
+        if (spillDrainer != null) {
+            spillDrainer.shutdownNow();
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        List<PendingNotification> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (spillStore != null) {
+            remaining.forEach(spillStore::append);
+            spillStore.close();
+        } else if (!remaining.isEmpty()) {
+            dropped.add(remaining.size());
+            log.warn("{} notification(s) perdue(s) à l'arrêt", remaining.size());
+        }
+    }
+
+    @Override
+    public void sendNotification(String userId, String message, NotificationType type) {
+        publish(PendingNotification.forUser(userId, message, type));
+    }
+
+    @Override
+    public void sendAlert(String message, AlertPriority priority) {
+        publish(PendingNotification.alert(message, priority));
+    }
+
+    @Override
+    public void notifyUsers(List<String> userIds, String message, NotificationType type) {
+        publish(PendingNotification.forUsers(userIds, message, type));
+    }
+
+    /**
+     * Retient la notification jusqu'au commit si une transaction est en cours
+     */
+    private void publish(PendingNotification notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(notification);
+                }
+            });
+        } else {
+            enqueue(notification);
+        }
+    }
+
+    private void enqueue(PendingNotification notification) {
+        // Débordement non vide : la notification passe derrière lui pour conserver l'ordre FIFO
+        boolean spillAhead = spillStore != null && spillStore.pendingCount() > 0;
+        if (!spillAhead && queue.offer(notification)) {
+            return;
+        }
+
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(notification, properties.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                        dropped.increment();
+                        log.warn("File de notifications pleine, notification abandonnée: {}", notification.message());
+                    }
+                } catch (InterruptedException e) {
+                    dropped.increment();
+                    Thread.currentThread().interrupt();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(notification)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+            }
+            case SPILL_TO_DISK -> {
+                try {
+                    spillStore.append(notification);
+                    spilled.increment();
+                } catch (UncheckedIOException e) {
+                    // Appelé après commit : l'échec disque ne doit pas remonter à l'appelant
+                    dropped.increment();
+                    log.error("Débordement disque impossible, notification abandonnée: {} ({})",
+                            notification.message(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void deliveryLoop() {
+        while (running.get() || !queue.isEmpty()) {
+            try {
+                PendingNotification notification = queue.poll(WORKER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (notification != null) {
+                    deliver(notification);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void deliver(PendingNotification notification) {
+        boolean success = false;
+        try {
+            notification.deliverTo(channel);
+            delivered.increment();
+            success = true;
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Échec de livraison de la notification '{}': {}", notification.message(), e.getMessage());
+        } finally {
+            long latency = System.currentTimeMillis() - notification.enqueuedAt();
+            totalLatencyMillis.add(latency);
+            maxLatencyMillis.accumulate(latency);
+            (success ? deliveredLatency : failedLatency).record(latency, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Réinjecte le débordement disque dès que la file est à moitié vide
+     * Le segment n'est acquitté qu'après réinjection : une interruption (arrêt) laisse le reste sur disque.
+     */
+    private void drainSpill() {
+        try {
+            while (running.get() && spillStore.pendingCount() > 0
+                    && queue.remainingCapacity() >= properties.getQueueCapacity() / 2) {
+                NotificationSpillStore.Segment segment = spillStore.readOldestSegment();
+                if (segment == null) {
+                    return;
+                }
+                int requeued = 0;
+                try {
+                    for (PendingNotification notification : segment.notifications()) {
+                        queue.put(notification);
+                        requeued++;
+                    }
+                } finally {
+                    spillStore.acknowledge(segment, requeued);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Réinjection du débordement impossible: {}", e.getMessage());
+        }
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("crm.notifications.latency")
+                .description("Délai entre la publication d'une notification et sa livraison")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public NotificationDispatcherStatsDTO getStats() {
+        long completed = delivered.sum() + failed.sum();
+        return NotificationDispatcherStatsDTO.builder()
+                .overflowPolicy(properties.getOverflowPolicy())
+                .queueDepth(queue.size())
+                .queueCapacity(properties.getQueueCapacity())
+                .spilledPending(spillStore != null ? spillStore.pendingCount() : 0)
+                .delivered(delivered.sum())
+                .failed(failed.sum())
+                .dropped(dropped.sum())
+                .spilled(spilled.sum())
+                .averageLatencyMillis(completed > 0 ? (double) totalLatencyMillis.sum() / completed : 0)
+                .maxLatencyMillis(maxLatencyMillis.get())
+                .build();
+    }
+}
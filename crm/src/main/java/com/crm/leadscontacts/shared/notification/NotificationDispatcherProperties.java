@@ -0,0 +1,45 @@
+package com.crm.leadscontacts.shared.notification;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Paramètres du dispatcher asynchrone de notifications (préfixe crm.notifications.dispatcher)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.notifications.dispatcher")
+public class NotificationDispatcherProperties {
+
+    /**
+     * Capacité de la file en mémoire
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Nombre de threads de livraison
+     */
+    private int workers = 4;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SPILL_TO_DISK;
+
+    /**
+     * Attente maximale de l'appelant avec la politique BLOCK avant abandon de la notification
+     */
+    private Duration blockTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Répertoire du débordement sur disque (politique SPILL_TO_DISK)
+     */
+    private String spillDirectory = System.getProperty("java.io.tmpdir") + "/crm-notifications-spill";
+
+    /**
+     * Délai maximal pour vider la file à l'arrêt de l'application
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,43 @@
+package com.crm.leadscontacts.shared.notification;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "NotificationDispatcherStatsDTO", description = "État de la file de notifications asynchrone")
+public class NotificationDispatcherStatsDTO {
+
+    @Schema(description = "Politique de débordement active", example = "SPILL_TO_DISK")
+    private OverflowPolicy overflowPolicy;
+
+    @Schema(description = "Notifications en attente dans la file", example = "12")
+    private int queueDepth;
+
+    @Schema(description = "Capacité de la file", example = "10000")
+    private int queueCapacity;
+
+    @Schema(description = "Notifications en attente sur disque", example = "0")
+    private long spilledPending;
+
+    @Schema(description = "Notifications livrées", example = "15230")
+    private long delivered;
+
+    @Schema(description = "Livraisons en échec", example = "3")
+    private long failed;
+
+    @Schema(description = "Notifications abandonnées (file pleine)", example = "0")
+    private long dropped;
+
+    @Schema(description = "Notifications écrites sur disque depuis le démarrage", example = "0")
+    private long spilled;
+
+    @Schema(description = "Latence moyenne entre publication et livraison (ms)", example = "4.2")
+    private double averageLatencyMillis;
+
+    @Schema(description = "Latence maximale observée (ms)", example = "180")
+    private long maxLatencyMillis;
+}
@@ -0,0 +1,226 @@
+package com.crm.leadscontacts.shared.notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Débordement sur disque des notifications qui ne tiennent pas dans la file
+ * Les notifications sont écrites dans des segments (un fichier par segment, une ligne par notification)
+ * puis relues segment par segment, du plus ancien au plus récent. Un segment relu n'est supprimé
+ * qu'une fois toutes ses notifications réinjectées ; le reste éventuel est réécrit à sa place.
+ */
+@Slf4j
+class NotificationSpillStore {
+
+    private static final String SEGMENT_PREFIX = "spill-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String NULL = "-";
+
+    private final Path directory;
+    private final AtomicLong pending = new AtomicLong();
+    // E/S fichier verrou tenu : ReentrantLock plutôt que synchronized (threads virtuels non épinglés)
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextSegment;
+    private BufferedWriter currentWriter;
+    private Path currentSegment;
+
+    NotificationSpillStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            // Reprise des segments laissés par une exécution précédente
+            List<Path> existing = segments();
+            for (Path segment : existing) {
+                try (Stream<String> lines = Files.lines(segment, StandardCharsets.UTF_8)) {
+                    pending.addAndGet(lines.count());
+                }
+            }
+            nextSegment = existing.isEmpty() ? 0 : sequenceOf(existing.get(existing.size() - 1)) + 1;
+            if (pending.get() > 0) {
+                log.info("{} notification(s) en attente sur disque dans {}", pending.get(), directory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Répertoire de débordement inutilisable: " + directory, e);
+        }
+    }
+
+    void append(PendingNotification notification) {
+        lock.lock();
+        try {
+            if (currentWriter == null) {
+                currentSegment = directory.resolve(SEGMENT_PREFIX + String.format("%019d", nextSegment++) + SEGMENT_SUFFIX);
+                currentWriter = Files.newBufferedWriter(currentSegment, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            currentWriter.write(encode(notification));
+            currentWriter.newLine();
+            currentWriter.flush();
+            pending.incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture du débordement impossible", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Relit le segment le plus ancien sans le retirer (le segment en cours d'écriture est d'abord fermé)
+     */
+    Segment readOldestSegment() {
+        lock.lock();
+        try {
+            closeCurrentSegment();
+            List<Path> segments = segments();
+            if (segments.isEmpty()) {
+                return null;
+            }
+            Path oldest = segments.get(0);
+            List<PendingNotification> notifications = new ArrayList<>();
+            for (String line : Files.readAllLines(oldest, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    notifications.add(decode(line));
+                }
+            }
+            return new Segment(oldest, notifications);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du débordement impossible", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acquitte les {@code requeued} premières notifications du segment : supprimé s'il est entièrement
+     * réinjecté, sinon réécrit (fichier temporaire puis renommage atomique) avec le reste seulement
+     */
+    void acknowledge(Segment segment, int requeued) {
+        if (requeued <= 0 && !segment.notifications().isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            List<PendingNotification> remaining =
+                    segment.notifications().subList(requeued, segment.notifications().size());
+            if (remaining.isEmpty()) {
+                Files.delete(segment.path());
+            } else {
+                Path temporary = segment.path().resolveSibling(segment.path().getFileName() + ".tmp");
+                Files.write(temporary, remaining.stream().map(NotificationSpillStore::encode).toList(),
+                        StandardCharsets.UTF_8);
+                Files.move(temporary, segment.path(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            pending.addAndGet(-requeued);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Acquittement du débordement impossible", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long pendingCount() {
+        return pending.get();
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closeCurrentSegment();
+        } catch (IOException e) {
+            log.warn("Fermeture du segment de débordement impossible: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeCurrentSegment() throws IOException {
+        if (currentWriter != null) {
+            currentWriter.close();
+            currentWriter = null;
+            currentSegment = null;
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    record Segment(Path path, List<PendingNotification> notifications) {
+    }
+
+    private static String encode(PendingNotification n) {
+        return String.join("\t",
+                n.kind().name(),
+                users(n.userIds()),
+                field(n.message()),
+                n.type() != null ? n.type().name() : NULL,
+                n.priority() != null ? n.priority().name() : NULL,
+                Long.toString(n.enqueuedAt()));
+    }
+
+    private static PendingNotification decode(String line) {
+        String[] parts = line.split("\t", -1);
+        return new PendingNotification(
+                PendingNotification.Kind.valueOf(parts[0]),
+                unusers(parts[1]),
+                unfield(parts[2]),
+                NULL.equals(parts[3]) ? null : NotificationType.valueOf(parts[3]),
+                NULL.equals(parts[4]) ? null : AlertPriority.valueOf(parts[4]),
+                Long.parseLong(parts[5]));
+    }
+
+    /**
+     * Destinataires : nombre puis chaque identifiant encodé ("0", "1:-" pour un destinataire null,
+     * "1:" pour un identifiant vide) ; null, vide et liste vide restent distincts
+     */
+    private static String users(List<String> userIds) {
+        StringBuilder encoded = new StringBuilder().append(userIds.size());
+        for (String userId : userIds) {
+            encoded.append(':').append(field(userId));
+        }
+        return encoded.toString();
+    }
+
+    private static List<String> unusers(String value) {
+        String[] parts = value.split(":", -1);
+        List<String> userIds = new ArrayList<>(Integer.parseInt(parts[0]));
+        for (int i = 1; i < parts.length; i++) {
+            userIds.add(unfield(parts[i]));
+        }
+        return userIds;
+    }
+
+    private static String field(String value) {
+        return value == null ? NULL
+                : Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String unfield(String value) {
+        return NULL.equals(value) ? null
+                : new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,19 @@
+package com.crm.leadscontacts.shared.notification;
+
+/**
+ * Comportement du dispatcher lorsque la file de notifications est pleine
+ */
+public enum OverflowPolicy {
+    /**
+     * Bloque l'appelant jusqu'à libération d'une place (dans la limite de blockTimeout)
+     */
+    BLOCK,
+    /**
+     * Retire la plus ancienne notification en attente pour faire place à la nouvelle
+     */
+    DROP_OLDEST,
+    /**
+     * Écrit le surplus sur disque, réinjecté dans la file dès qu'elle se libère
+     */
+    SPILL_TO_DISK
+}
@@ -0,0 +1,47 @@
+package com.crm.leadscontacts.shared.notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Notification capturée en attente de livraison
+ *
+ * @param enqueuedAt horodatage (epoch ms) de publication, pour mesurer la latence de livraison
+ */
+record PendingNotification(Kind kind,
+                           List<String> userIds,
+                           String message,
+                           NotificationType type,
+                           AlertPriority priority,
+                           long enqueuedAt) {
+
+    enum Kind {
+        USER,
+        USERS,
+        ALERT
+    }
+
+    static PendingNotification forUser(String userId, String message, NotificationType type) {
+        return new PendingNotification(Kind.USER, Collections.singletonList(userId), message, type, null, System.currentTimeMillis());
+    }
+
+    static PendingNotification forUsers(List<String> userIds, String message, NotificationType type) {
+        return new PendingNotification(Kind.USERS, new ArrayList<>(userIds), message, type, null, System.currentTimeMillis());
+    }
+
+    static PendingNotification alert(String message, AlertPriority priority) {
+        return new PendingNotification(Kind.ALERT, List.of(), message, null, priority, System.currentTimeMillis());
+    }
+
+    /**
+     * Livre la notification via le canal réel
+     */
+    void deliverTo(INotifier channel) {
+        switch (kind) {
+            case USER -> channel.sendNotification(userIds.get(0), message, type);
+            case USERS -> channel.notifyUsers(userIds, message, type);
+            case ALERT -> channel.sendAlert(message, priority);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.crm.leadscontacts.shared.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "CursorPage", description = "Page de résultats paginée par curseur (keyset)")
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    @Schema(description = "Éléments de la page")
+    private List<T> items;
+
+    @Schema(description = "Nombre d'éléments dans la page", example = "50")
+    private int size;
+
+    @Schema(description = "Jeton opaque pour obtenir la page suivante, null s'il n'y en a pas",
+            example = "djE6OjEwMjQ")
+    private String nextCursor;
+
+    @Schema(description = "Indique s'il reste des éléments après cette page")
+    private boolean hasNext;
+
+    /**
+     * Borne la taille demandée par le client
+     */
+    public static int clampSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    /**
+     * Construit une page à partir de (size + 1) lignes lues : la ligne en trop
+     * signale l'existence d'une page suivante sans requête COUNT
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size,
+                                          Function<E, KeysetCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null;
+
+        return CursorPage.<T>builder()
+                .items(pageRows.stream().map(mapper).toList())
+                .size(pageRows.size())
+                .nextCursor(next)
+                .hasNext(hasNext)
+                .build();
+    }
+}
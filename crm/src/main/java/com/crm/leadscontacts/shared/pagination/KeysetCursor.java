@@ -0,0 +1,61 @@
+package com.crm.leadscontacts.shared.pagination;
+
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Curseur de pagination par clé (keyset) : position (sortKey, id) de la dernière ligne servie
+ * Le jeton transmis au client est opaque (Base64 URL)
+ *
+ * Principe SOLID: SRP - encode/décode uniquement la position d'une page
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final String PREFIX = "v1:";
+
+    /**
+     * Clé de tri secondaire (ex: score), null si le tri se fait uniquement sur l'ID
+     */
+    private final Long sortKey;
+
+    private final Long id;
+
+    public static KeysetCursor ofId(Long id) {
+        return new KeysetCursor(null, id);
+    }
+
+    public String encode() {
+        String raw = PREFIX + (sortKey != null ? sortKey : "") + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton reçu du client, null si aucun jeton (première page)
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new BusinessException("Curseur de pagination invalide");
+            }
+            String[] parts = raw.substring(PREFIX.length()).split(":", -1);
+            if (parts.length != 2) {
+                throw new BusinessException("Curseur de pagination invalide");
+            }
+            Long sortKey = parts[0].isEmpty() ? null : Long.parseLong(parts[0]);
+            return new KeysetCursor(sortKey, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Curseur de pagination invalide", e);
+        }
+    }
+}
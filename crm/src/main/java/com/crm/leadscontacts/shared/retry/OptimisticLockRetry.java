@@ -0,0 +1,79 @@
+package com.crm.leadscontacts.shared.retry;
+
+import com.crm.leadscontacts.shared.handlers.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Exécute une écriture dans sa propre transaction et la rejoue sur conflit de version
+ *
+ * Chaque tentative relit les données (nouvelle transaction) : un conflit @Version ou un verrou
+ * non obtenu ne remonte plus en erreur 500 mais provoque une nouvelle tentative, après une attente
+ * aléatoire (« full jitter ») dont le plafond double à chaque échec, pour désynchroniser les
+ * requêtes concurrentes sur la même ligne. Après la dernière tentative : ConflictException (409).
+ * Les événements et notifications étant publiés après commit, une tentative annulée n'a aucun effet.
+ *
+ * Design Pattern: Template Method (transaction + boucle de tentatives autour de l'action)
+ */
+@Slf4j
+@Component
+public class OptimisticLockRetry {
+
+    private final OptimisticLockRetryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public OptimisticLockRetry(OptimisticLockRetryProperties properties,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retries = Counter.builder("crm.optimistic_lock.retries").register(meterRegistry);
+        this.exhausted = Counter.builder("crm.optimistic_lock.exhausted").register(meterRegistry);
+    }
+
+    /**
+     * L'appelant ne doit pas être déjà dans une transaction : le conflit n'apparaît qu'au commit
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        int maxAttempts = Math.max(properties.getMaxAttempts(), 1);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("{} : conflit de version persistant après {} tentatives", operation, attempt);
+                    throw new ConflictException(
+                            "Ressource modifiée simultanément par une autre requête, veuillez réessayer", e);
+                }
+                retries.increment();
+                log.debug("{} : conflit de version (tentative {}/{}), nouvelle tentative", operation, attempt, maxAttempts);
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        long ceiling = Math.min(properties.getMaxBackoff().toMillis(),
+                properties.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Nouvelle tentative interrompue", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.crm.leadscontacts.shared.retry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Paramètres des nouvelles tentatives sur conflit de version (préfixe crm.retry.optimistic-lock)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.retry.optimistic-lock")
+public class OptimisticLockRetryProperties {
+
+    /**
+     * Nombre total de tentatives (première exécution comprise)
+     */
+    private int maxAttempts = 6;
+
+    /**
+     * Plafond du délai avant la deuxième tentative ; doublé à chaque échec
+     */
+    private Duration initialBackoff = Duration.ofMillis(25);
+
+    /**
+     * Plafond absolu du délai entre deux tentatives
+     */
+    private Duration maxBackoff = Duration.ofSeconds(1);
+}
@@ -0,0 +1,99 @@
+package com.crm.leadscontacts.shared.sync;
+
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Séquence de modification attribuée dans l'ordre des commits (synchronisation incrémentale)
+ *
+ * Chaque transaction qui écrit une SyncedEntity (EntityChangedEvent, écritures SQL directes comprises)
+ * prend, après le flush final d'Hibernate et juste avant le commit, la valeur suivante du compteur
+ * sync_sequence et l'inscrit dans la colonne change_seq des lignes écrites. La ligne du compteur reste
+ * verrouillée jusqu'au commit : les valeurs deviennent visibles dans l'ordre croissant, et une lecture
+ * qui voit la valeur n voit aussi toutes les précédentes, quelle que soit la durée des transactions
+ * (paquets des traitements de masse, recalcul des scores, réaffectation).
+ * Contrepartie : la fin des transactions d'écriture (estampillage puis commit) est sérialisée.
+ *
+ * Design Pattern: Observer Pattern (EntityChangedEvent) + Unit of Work (une valeur par transaction)
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeSequencer {
+
+    private static final String NEXT_SQL =
+            "UPDATE sync_sequence SET current_value = current_value + 1 WHERE name = 'changes'";
+    private static final String CURRENT_SQL = "SELECT current_value FROM sync_sequence WHERE name = 'changes'";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Class<?>, String> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Retient la ligne écrite ; la première écriture de la transaction inscrit l'estampillage
+     * auprès de la session Hibernate (exécuté après son flush final, y compris celui du commit)
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.entityType() == null || !SyncedEntity.class.isAssignableFrom(event.entityType())
+                || event.id() == null || event.kind() == EntityChangedEvent.ChangeKind.DELETED
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Stamp stamp = (Stamp) TransactionSynchronizationManager.getResource(session);
+        if (stamp == null) {
+            stamp = new Stamp(session);
+            TransactionSynchronizationManager.bindResource(session, stamp);
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) stamp);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) stamp);
+        }
+        stamp.written.computeIfAbsent(table(event.entityType()), table -> new LinkedHashSet<>()).add(event.id());
+    }
+
+    private String table(Class<?> entityType) {
+        return tables.computeIfAbsent(entityType, type -> type.getAnnotation(Table.class).name());
+    }
+
+    /**
+     * Lignes écrites par une transaction, estampillées d'une seule valeur avant son commit
+     */
+    private final class Stamp implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+        private final SessionImplementor session;
+        private final Map<String, Set<Long>> written = new LinkedHashMap<>();
+
+        private Stamp(SessionImplementor session) {
+            this.session = session;
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor completing) {
+            // Verrou de la ligne compteur tenu jusqu'au commit : ordre des valeurs = ordre des commits
+            jdbcTemplate.update(NEXT_SQL);
+            Long sequence = jdbcTemplate.queryForObject(CURRENT_SQL, Long.class);
+            written.forEach((table, ids) -> {
+                List<Object[]> arguments = new ArrayList<>(ids.size());
+                ids.forEach(id -> arguments.add(new Object[]{sequence, id}));
+                jdbcTemplate.batchUpdate("UPDATE " + table + " SET change_seq = ? WHERE id = ?", arguments);
+            });
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor completed) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(session);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.crm.leadscontacts.shared.sync;
+
+/**
+ * Ligne lue par la synchronisation incrémentale : la projection et la séquence de sa dernière écriture
+ */
+public record ChangedRow<T>(Long changeSeq, T item) {
+}
@@ -0,0 +1,74 @@
+package com.crm.leadscontacts.shared.sync;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "DeltaPage", description = "Modifications depuis un jeton de synchronisation (suppressions logiques incluses)")
+public class DeltaPage<T> {
+
+    @Schema(description = "Éléments créés ou modifiés, à insérer ou remplacer dans le cache local")
+    private List<T> items;
+
+    @Schema(description = "Identifiants désactivés (suppression logique), à retirer du cache local")
+    private List<Long> deletedIds;
+
+    @Schema(description = "Jeton à renvoyer dans since lors de la prochaine synchronisation",
+            example = "czE6MTczOTAwMDAwMDAwMDAwMDoxMg")
+    private String nextToken;
+
+    @Schema(description = "Indique s'il reste des modifications : rappeler immédiatement avec nextToken")
+    private boolean hasMore;
+
+    /**
+     * Construit une réponse à partir de (size + 1) lignes lues dans l'ordre (changeSeq, id) :
+     * la ligne en trop signale la suite ; sans modification, le jeton reçu est renvoyé tel quel
+     *
+     * @param inactiveIds identifiants désactivés parmi ceux de la page (appelé seulement si la page n'est pas vide)
+     */
+    public static <T> DeltaPage<T> of(List<ChangedRow<T>> rows, int size, SyncToken since,
+                                      Function<T, Long> idOf,
+                                      Function<Collection<Long>, Collection<Long>> inactiveIds) {
+        boolean hasMore = rows.size() > size;
+        List<ChangedRow<T>> pageRows = hasMore ? rows.subList(0, size) : rows;
+        if (pageRows.isEmpty()) {
+            return DeltaPage.<T>builder()
+                    .items(List.of())
+                    .deletedIds(List.of())
+                    .nextToken(since.encode())
+                    .hasMore(false)
+                    .build();
+        }
+
+        Set<Long> inactive = new HashSet<>(inactiveIds.apply(
+                pageRows.stream().map(row -> idOf.apply(row.item())).toList()));
+        List<T> items = new ArrayList<>(pageRows.size());
+        List<Long> deletedIds = new ArrayList<>();
+        for (ChangedRow<T> row : pageRows) {
+            if (inactive.contains(idOf.apply(row.item()))) {
+                deletedIds.add(idOf.apply(row.item()));
+            } else {
+                items.add(row.item());
+            }
+        }
+        ChangedRow<T> last = pageRows.get(pageRows.size() - 1);
+
+        return DeltaPage.<T>builder()
+                .items(items)
+                .deletedIds(deletedIds)
+                .nextToken(new SyncToken(last.changeSeq(), idOf.apply(last.item())).encode())
+                .hasMore(hasMore)
+                .build();
+    }
+}
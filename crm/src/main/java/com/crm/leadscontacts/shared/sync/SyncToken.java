@@ -0,0 +1,65 @@
+package com.crm.leadscontacts.shared.sync;
+
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Jeton de synchronisation incrémentale : position (changeSeq, id) de la dernière modification servie
+ * Le jeton transmis au client est opaque (Base64 URL) ; changeSeq suit l'ordre des commits (ChangeSequencer)
+ *
+ * Principe SOLID: SRP - encode/décode uniquement la position d'une synchronisation
+ */
+@Getter
+@AllArgsConstructor
+public class SyncToken {
+
+    private static final String PREFIX = "s2:";
+
+    // Jetons (updatedAt, id) émis avant la séquence de modification
+    private static final String LEGACY_PREFIX = "s1:";
+
+    /**
+     * Position de départ : aucune synchronisation préalable, toutes les lignes sont renvoyées
+     */
+    public static final SyncToken START = new SyncToken(0L, 0L);
+
+    private final Long changeSeq;
+
+    private final Long id;
+
+    public String encode() {
+        String raw = PREFIX + changeSeq + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton reçu du client, START si aucun jeton (première synchronisation)
+     * ou si le jeton date d'avant la séquence de modification (resynchronisation complète)
+     */
+    public static SyncToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (raw.startsWith(LEGACY_PREFIX)) {
+                return START;
+            }
+            if (!raw.startsWith(PREFIX)) {
+                throw new BusinessException("Jeton de synchronisation invalide");
+            }
+            String[] parts = raw.substring(PREFIX.length()).split(":", -1);
+            if (parts.length != 2) {
+                throw new BusinessException("Jeton de synchronisation invalide");
+            }
+            return new SyncToken(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Jeton de synchronisation invalide", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.crm.leadscontacts.shared.sync;
+
+/**
+ * Entité servie par la synchronisation incrémentale : sa table porte la colonne change_seq,
+ * estampillée par ChangeSequencer à chaque transaction qui écrit la ligne
+ */
+public interface SyncedEntity {
+
+    Long getChangeSeq();
+}
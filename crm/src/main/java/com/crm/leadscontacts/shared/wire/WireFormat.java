@@ -0,0 +1,86 @@
+package com.crm.leadscontacts.shared.wire;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Encodages proposés par négociation de contenu (Accept) sur les listes et les exports
+ *
+ * - JSON : par défaut, dates ISO-8601 ; export NDJSON (un document par ligne).
+ * - SMILE : JSON binaire de Jackson, noms de champs et valeurs répétées référencés une seule fois.
+ * - CBOR : RFC 8949, décodable sans Jackson ; export en séquence CBOR (RFC 8742).
+ *
+ * Les encodages binaires écrivent les dates en millisecondes depuis l'epoch et omettent les champs null.
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON, MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"), "smile"),
+    CBOR(MediaType.APPLICATION_CBOR, MediaType.parseMediaType("application/cbor-seq"), "cbor");
+
+    private final MediaType mediaType;
+    private final MediaType exportMediaType;
+    private final String fileExtension;
+
+    /**
+     * Format dont les documents se concatènent tels quels (export du même type que les réponses)
+     */
+    WireFormat(MediaType mediaType, String fileExtension) {
+        this(mediaType, mediaType, fileExtension);
+    }
+
+    WireFormat(MediaType mediaType, MediaType exportMediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.exportMediaType = exportMediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Type d'un export : suite de documents concaténés, lue élément par élément
+     */
+    public MediaType getExportMediaType() {
+        return exportMediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Encodage d'un export : qualité la plus haute, puis ordre de l'en-tête ; JSON par défaut
+     * (Accept absent, invalide ou sans encodage connu)
+     */
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        WireFormat best = JSON;
+        double bestQuality = 0;
+        for (MediaType type : accepted) {
+            double quality = type.getQualityValue();
+            if (quality <= bestQuality) {
+                continue;
+            }
+            for (WireFormat format : values()) {
+                if (type.includes(format.exportMediaType) || type.includes(format.mediaType)) {
+                    best = format;
+                    bestQuality = quality;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+}
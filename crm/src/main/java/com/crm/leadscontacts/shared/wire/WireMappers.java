@@ -0,0 +1,96 @@
+package com.crm.leadscontacts.shared.wire;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.cfg.MapperBuilder;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.cbor.CBORWriteFeature;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Mappers Jackson des encodages binaires (Smile, CBOR), partagés par les réponses, les exports et les benchmarks
+ *
+ * - LocalDateTime en millisecondes depuis l'epoch (fuseau du serveur, celui des dates stockées) :
+ *   un entier de 5 à 9 octets au lieu d'une chaîne ISO d'une trentaine d'octets ;
+ * - champs null omis : le client les retrouve à null en décodant vers les mêmes DTO.
+ */
+public final class WireMappers {
+
+    private WireMappers() {
+    }
+
+    public static SmileMapper smile() {
+        return configure(SmileMapper.builder()
+                // Statuts, sources, commerciaux : valeurs courtes répétées sur chaque ligne
+                .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES))
+                .build();
+    }
+
+    public static CBORMapper cbor() {
+        return configure(CBORMapper.builder()
+                // Montants sans perte en float32 écrits sur 5 octets au lieu de 9
+                .enable(CBORWriteFeature.WRITE_MINIMAL_DOUBLES))
+                .build();
+    }
+
+    private static <B extends MapperBuilder<?, B>> B configure(B builder) {
+        ZoneId zone = ZoneId.systemDefault();
+        SimpleModule epochTimestamps = new SimpleModule("EpochTimestamps")
+                .addSerializer(LocalDateTime.class, new EpochMillisSerializer(zone))
+                .addDeserializer(LocalDateTime.class, new EpochMillisDeserializer(zone));
+        return builder
+                .addModule(epochTimestamps)
+                .changeDefaultPropertyInclusion(inclusion -> inclusion.withValueInclusion(JsonInclude.Include.NON_NULL));
+    }
+
+    private static final class EpochMillisSerializer extends ValueSerializer<LocalDateTime> {
+
+        private final ZoneId zone;
+
+        private EpochMillisSerializer(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializationContext context)
+                throws JacksonException {
+            generator.writeNumber(value.atZone(zone).toInstant().toEpochMilli());
+        }
+    }
+
+    /**
+     * Millisecondes depuis l'epoch, ou chaîne ISO-8601 (corps envoyés par un client JSON converti)
+     */
+    private static final class EpochMillisDeserializer extends ValueDeserializer<LocalDateTime> {
+
+        private final ZoneId zone;
+
+        private EpochMillisDeserializer(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws JacksonException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), zone);
+            }
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                return LocalDateTime.parse(parser.getString());
+            }
+            return (LocalDateTime) context.handleUnexpectedToken(LocalDateTime.class, parser);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.crm.leadscontacts.stream.controller;
+
+import com.crm.leadscontacts.stream.service.IChangeStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@Tag(name = "Flux", description = "Notifications en temps réel des modifications (Server-Sent Events)")
+public class ChangeStreamController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final IChangeStreamService changeStreamService;
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "S'abonner aux créations, modifications, transitions et suppressions de leads et contacts")
+    public SseEmitter streamChanges(
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        // L'en-tête est posé par EventSource à la reconnexion ; le paramètre sert à la première ouverture
+        return changeStreamService.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
@@ -0,0 +1,30 @@
+package com.crm.leadscontacts.stream.dto;
+
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ChangeEventDTO", description = "Modification validée d'un lead ou d'un contact (flux SSE)")
+public class ChangeEventDTO {
+
+    @Schema(description = "Type d'entité", example = "lead", allowableValues = {"lead", "contact"})
+    private String entity;
+
+    @Schema(description = "Identifiant de l'entité", example = "42")
+    private Long id;
+
+    @Schema(description = "Version après l'écriture (absente pour une suppression physique)", example = "7")
+    private Long version;
+
+    @Schema(description = "Nature du changement", example = "TRANSITIONED")
+    private EntityChangedEvent.ChangeKind kind;
+}
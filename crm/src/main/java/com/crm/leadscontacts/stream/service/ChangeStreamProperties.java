@@ -0,0 +1,48 @@
+package com.crm.leadscontacts.stream.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Paramètres du flux de changements SSE (préfixe crm.stream)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "crm.stream")
+public class ChangeStreamProperties {
+
+    /**
+     * Derniers événements conservés pour la reprise (Last-Event-ID)
+     */
+    private int replaySize = 10_000;
+
+    /**
+     * Événements en attente par connexion ; au-delà, le client trop lent est déconnecté puis reprend
+     */
+    private int subscriberBuffer = 256;
+
+    /**
+     * Connexions simultanées maximales
+     */
+    private int maxSubscribers = 10_000;
+
+    /**
+     * Intervalle des commentaires de maintien (proxys, détection des clients partis)
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Durée de vie d'une connexion ; le navigateur se reconnecte seul avec Last-Event-ID
+     */
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Threads d'écriture partagés par toutes les connexions (mode threads plateforme)
+     */
+    private int writerThreads = 4;
+}
@@ -0,0 +1,295 @@
+package com.crm.leadscontacts.stream.service;
+
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
+import com.crm.leadscontacts.shared.handlers.ServiceUnavailableException;
+import com.crm.leadscontacts.stream.dto.ChangeEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Diffusion des modifications de leads et contacts aux navigateurs abonnés (Server-Sent Events)
+ *
+ * Chaque écriture validée (EntityChangedEvent, après commit) reçoit un numéro de séquence et entre
+ * dans un anneau de reprise en mémoire, puis dans le tampon borné de chaque abonné. Un petit pool
+ * d'écriture vide les tampons : une connexion inactive ne coûte ni thread ni tampon alloué.
+ * Un abonné dont le tampon déborde est déconnecté ; il reprend avec Last-Event-ID depuis l'anneau.
+ * Identifiants d'événement : "<époque>-<séquence>" (l'époque change à chaque démarrage).
+ *
+ * Design Pattern: Observer Pattern (EntityChangedEvent) + Publish/Subscribe
+ * Principe SOLID: SRP - diffusion seulement (la détection des changements reste dans EntityChangeTracker)
+ */
+@Slf4j
+@Service
+public class ChangeStreamService implements IChangeStreamService {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESET_EVENT = "reset";
+
+    // Marqueurs placés dans le tampon d'un abonné
+    private static final Object HEARTBEAT = new Object();
+    private static final Object RESET = new Object();
+
+    private final ChangeStreamProperties properties;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // Anneau de reprise et séquence : modifiés sous verrou (ordre global des événements)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Entry[] ring;
+    private long sequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers;
+    private final ScheduledExecutorService heartbeats;
+
+    private final LongAdder sent = new LongAdder();
+    private final Counter published;
+    private final Counter overflows;
+    private final Counter resets;
+
+    public ChangeStreamService(ChangeStreamProperties properties, MeterRegistry meterRegistry, Environment environment) {
+        this.properties = properties;
+        this.ring = new Entry[Math.max(properties.getReplaySize(), 1)];
+        this.writers = Threading.VIRTUAL.isActive(environment)
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-stream-", 1).factory())
+                : Executors.newFixedThreadPool(properties.getWriterThreads(), daemon("change-stream-writer"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemon("change-stream-heartbeat"));
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("crm.stream.subscribers", subscribers, Set::size)
+                .description("Connexions SSE ouvertes")
+                .register(meterRegistry);
+        FunctionCounter.builder("crm.stream.events.sent", sent, LongAdder::sum)
+                .description("Événements écrits aux abonnés (toutes connexions)")
+                .register(meterRegistry);
+        this.published = Counter.builder("crm.stream.events.published")
+                .description("Modifications diffusées")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("crm.stream.overflows")
+                .description("Abonnés déconnectés sur tampon plein")
+                .register(meterRegistry);
+        this.resets = Counter.builder("crm.stream.resets")
+                .description("Reprises impossibles (identifiant trop ancien ou autre démarrage)")
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void close() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.close(false));
+        writers.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ServiceUnavailableException("Nombre maximal d'abonnés au flux atteint, veuillez réessayer");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(properties.getConnectionTimeout().toMillis()));
+        lock.lock();
+        try {
+            subscriber.backlog = replayAfter(lastEventId);
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        subscriber.schedule();
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        String entity = entityName(event.entityType());
+        if (entity == null || event.id() == null) {
+            return;
+        }
+        ChangeEventDTO change = ChangeEventDTO.builder()
+                .entity(entity)
+                .id(event.id())
+                .version(event.version())
+                .kind(event.kind())
+                .build();
+
+        List<Subscriber> overflowed = null;
+        lock.lock();
+        try {
+            Entry entry = new Entry(++sequence, change);
+            ring[(int) (entry.sequence() % ring.length)] = entry;
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.buffer.offer(entry)) {
+                    if (overflowed == null) {
+                        overflowed = new ArrayList<>();
+                    }
+                    overflowed.add(subscriber);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        published.increment();
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.schedule();
+        }
+        if (overflowed != null) {
+            overflows.increment(overflowed.size());
+            overflowed.forEach(subscriber -> subscriber.close(true));
+        }
+    }
+
+    /**
+     * Événements postérieurs à lastEventId ; RESET si la reprise est impossible (appelé sous verrou)
+     */
+    private Deque<Object> replayAfter(String lastEventId) {
+        Deque<Object> backlog = new ArrayDeque<>();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return backlog;
+        }
+        long oldest = Math.max(1, sequence - ring.length + 1);
+        long after = parseSequence(lastEventId);
+        if (after < 0 || after > sequence || after + 1 < oldest) {
+            resets.increment();
+            backlog.add(RESET);
+            return backlog;
+        }
+        for (long s = after + 1; s <= sequence; s++) {
+            backlog.add(ring[(int) (s % ring.length)]);
+        }
+        return backlog;
+    }
+
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator <= 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buffer.isEmpty() && subscriber.buffer.offer(HEARTBEAT)) {
+                subscriber.schedule();
+            }
+        }
+    }
+
+    private static String entityName(Class<?> entityType) {
+        if (entityType == Lead.class) {
+            return "lead";
+        }
+        if (entityType == Contact.class) {
+            return "contact";
+        }
+        return null;
+    }
+
+    private record Entry(long sequence, ChangeEventDTO change) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        // Tampon chaîné borné : rien n'est alloué tant que la connexion reste inactive
+        private final BlockingQueue<Object> buffer = new LinkedBlockingQueue<>(properties.getSubscriberBuffer());
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Reprise (Last-Event-ID), envoyée avant le tampon ; lue uniquement par le thread d'écriture
+        private Deque<Object> backlog;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            emitter.onCompletion(() -> close(false));
+            emitter.onTimeout(() -> close(false));
+            emitter.onError(error -> close(false));
+        }
+
+        private void schedule() {
+            if (!closed.get() && draining.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                while (!closed.get() && (item = next()) != null) {
+                    send(item);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client parti : la connexion est libérée, il se reconnectera avec Last-Event-ID
+                close(false);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !buffer.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private Object next() {
+            Object item = backlog != null ? backlog.poll() : null;
+            return item != null ? item : buffer.poll();
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else if (item == RESET) {
+                emitter.send(SseEmitter.event().name(RESET_EVENT).data(Map.of(), MediaType.APPLICATION_JSON));
+            } else {
+                Entry entry = (Entry) item;
+                emitter.send(SseEmitter.event()
+                        .id(epoch + "-" + entry.sequence())
+                        .name(CHANGE_EVENT)
+                        .data(entry.change(), MediaType.APPLICATION_JSON));
+            }
+            sent.increment();
+        }
+
+        private void close(boolean complete) {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                buffer.clear();
+                if (complete) {
+                    emitter.complete();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.crm.leadscontacts.stream.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Flux des modifications validées (Server-Sent Events)
+ */
+public interface IChangeStreamService {
+
+    /**
+     * Ouvre un abonnement ; lastEventId (facultatif) rejoue les événements manqués depuis cet identifiant
+     */
+    SseEmitter subscribe(String lastEventId);
+}
@@ -0,0 +1,80 @@
+-- Schéma initial (identique au DDL géré à la main jusqu'ici).
+-- Les bases existantes sont marquées à cette version sans exécution (baseline-on-migrate).
+-- Le SQL reste compatible MySQL 8 et H2 en mode MySQL (tests, benchmarks).
+
+CREATE TABLE leads (
+    id                      BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name              VARCHAR(255) NOT NULL,
+    last_name               VARCHAR(255) NOT NULL,
+    email                   VARCHAR(255) NOT NULL,
+    phone                   VARCHAR(255),
+    company                 VARCHAR(255),
+    job_title               VARCHAR(255),
+    status                  ENUM ('CONTACTED','CONVERTED','NEW','QUALIFIED','UNQUALIFIED') NOT NULL,
+    source                  ENUM ('EMAIL_CAMPAIGN','OTHER','PARTNER','PHONE_CALL','REFERRAL','SOCIAL_MEDIA','TRADE_SHOW','WEBSITE'),
+    score                   INTEGER      NOT NULL,
+    street                  VARCHAR(255),
+    city                    VARCHAR(255),
+    state                   VARCHAR(255),
+    zip_code                VARCHAR(255),
+    country                 VARCHAR(255),
+    notes                   VARCHAR(2000),
+    last_contact_date       DATETIME(6)  NOT NULL,
+    qualified_date          DATETIME(6),
+    converted_date          DATETIME(6),
+    converted_to_contact_id BIGINT,
+    assigned_to             VARCHAR(255) NOT NULL,
+    created_at              DATETIME(6)  NOT NULL,
+    updated_at              DATETIME(6)  NOT NULL,
+    created_by              VARCHAR(255),
+    last_modified_by        VARCHAR(255),
+    version                 BIGINT,
+    active                  BIT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_leads_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE contacts (
+    id                    BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name            VARCHAR(255) NOT NULL,
+    last_name             VARCHAR(255) NOT NULL,
+    email                 VARCHAR(255) NOT NULL,
+    phone                 VARCHAR(255),
+    company               VARCHAR(255),
+    job_title             VARCHAR(255),
+    type                  ENUM ('CUSTOMER','LEAD','PARTNER','VENDOR') NOT NULL,
+    street                VARCHAR(255),
+    city                  VARCHAR(255),
+    state                 VARCHAR(255),
+    zip_code              VARCHAR(255),
+    country               VARCHAR(255),
+    notes                 VARCHAR(2000),
+    last_interaction_date DATETIME(6)  NOT NULL,
+    assigned_to           VARCHAR(255) NOT NULL,
+    lifetime_value        FLOAT(53),
+    created_at            DATETIME(6)  NOT NULL,
+    updated_at            DATETIME(6)  NOT NULL,
+    created_by            VARCHAR(255),
+    last_modified_by      VARCHAR(255),
+    version               BIGINT,
+    active                BIT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_contacts_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE attachments (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    file_name        VARCHAR(255) NOT NULL,
+    file_type        VARCHAR(255) NOT NULL,
+    file_size        BIGINT       NOT NULL,
+    storage_path     VARCHAR(255) NOT NULL,
+    description      VARCHAR(255),
+    uploaded_at      DATETIME(6)  NOT NULL,
+    created_at       DATETIME(6)  NOT NULL,
+    updated_at       DATETIME(6)  NOT NULL,
+    created_by       VARCHAR(255),
+    last_modified_by VARCHAR(255),
+    version          BIGINT,
+    active           BIT          NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
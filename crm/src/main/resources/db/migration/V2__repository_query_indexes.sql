@@ -0,0 +1,45 @@
+-- Index composites conçus pour les requêtes de ILeadRepository et IContactRepository.
+-- Colonne d'égalité d'abord, puis la colonne de tri / de plage ; id en dernier pour
+-- les paginations keyset (implicite avec InnoDB, explicite pour H2).
+-- Vérifiés par RepositoryQueryPlanTests (plans d'exécution sur H2 en mode MySQL).
+
+-- findByStatus*, countByStatus, findByStatusAndActiveTrueOrderByScoreDesc,
+-- keyset (score DESC, id) par statut, empreinte ETag par statut
+CREATE INDEX idx_leads_status_active_score ON leads (status, active, score DESC, id);
+
+-- findByAssignedTo*, keyset par commercial, empreinte ETag par commercial
+CREATE INDEX idx_leads_assigned_to ON leads (assigned_to, id);
+
+-- countByActiveTrue, countActiveGroupByStatus, empreinte ETag des actifs (index couvrant)
+CREATE INDEX idx_leads_active_status_updated ON leads (active, status, updated_at);
+
+-- findByScoreGreaterThanEqual
+CREATE INDEX idx_leads_score ON leads (score);
+
+-- findByLastContactDateBefore
+CREATE INDEX idx_leads_last_contact_date ON leads (last_contact_date);
+
+-- findByEmailOrPhone (l'email est déjà couvert par la contrainte unique)
+CREATE INDEX idx_leads_phone ON leads (phone);
+
+-- Rattrapage de l'index de recherche : keyset (updated_at, id)
+CREATE INDEX idx_leads_updated_at ON leads (updated_at, id);
+
+-- findByType*, countByType, findByTypeAndActiveTrueOrderByLastInteractionDateDesc,
+-- empreinte ETag par type
+CREATE INDEX idx_contacts_type_active_interaction ON contacts (type, active, last_interaction_date);
+
+-- findByAssignedTo*
+CREATE INDEX idx_contacts_assigned_to ON contacts (assigned_to, id);
+
+-- findByCompany
+CREATE INDEX idx_contacts_company ON contacts (company);
+
+-- findByLastInteractionDateBefore
+CREATE INDEX idx_contacts_last_interaction_date ON contacts (last_interaction_date);
+
+-- countByActiveTrue, empreinte ETag des actifs (index couvrant)
+CREATE INDEX idx_contacts_active_updated ON contacts (active, updated_at);
+
+-- Rattrapage de l'index de recherche : keyset (updated_at, id)
+CREATE INDEX idx_contacts_updated_at ON contacts (updated_at, id);
@@ -0,0 +1,9 @@
+-- Pièces jointes rattachées à un lead ou un contact ; contenu stocké une seule fois,
+-- adressé par son empreinte SHA-256 (storage_path est dérivé de content_hash).
+-- La table est vide jusqu'ici (aucun stockage n'existait) : colonnes NOT NULL sans valeur par défaut.
+ALTER TABLE attachments ADD COLUMN owner_type ENUM ('CONTACT','LEAD') NOT NULL;
+ALTER TABLE attachments ADD COLUMN owner_id BIGINT NOT NULL;
+ALTER TABLE attachments ADD COLUMN content_hash VARCHAR(64) NOT NULL;
+
+-- Pièces jointes actives d'un lead / contact, par ID
+CREATE INDEX idx_attachments_owner ON attachments (owner_type, owner_id, active, id);
@@ -0,0 +1,11 @@
+-- Agrégats quotidiens de l'activité des leads (courbes de tendance).
+-- Une ligne par (indicateur, jour, dimension) : la lecture d'une période coûte le nombre de jours
+-- et non le nombre de leads. Alimentés après chaque commit et reconstruits par le rattrapage historique.
+
+CREATE TABLE lead_activity_rollups (
+    metric      ENUM ('CREATED','STATUS_ENTERED','CONVERTED') NOT NULL,
+    bucket_date DATE         NOT NULL,
+    dimension   VARCHAR(255) NOT NULL,
+    event_count BIGINT       NOT NULL,
+    PRIMARY KEY (metric, bucket_date, dimension)
+) ENGINE = InnoDB;
@@ -0,0 +1,21 @@
+-- Synchronisation incrémentale : séquence de modification attribuée dans l'ordre des commits.
+-- Chaque transaction qui écrit des leads ou des contacts incrémente le compteur juste avant son commit
+-- (ligne verrouillée jusqu'au commit) et inscrit la valeur obtenue dans change_seq des lignes écrites.
+-- Les lignes existantes partent de 0 : elles sont toutes renvoyées à une première synchronisation.
+
+CREATE TABLE sync_sequence (
+    name          VARCHAR(64) NOT NULL,
+    current_value BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+INSERT INTO sync_sequence (name, current_value) VALUES ('changes', 0);
+
+ALTER TABLE leads ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE contacts ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- findDtoChangedAfter : keyset (change_seq, id)
+CREATE INDEX idx_leads_change_seq ON leads (change_seq, id);
+
+CREATE INDEX idx_contacts_change_seq ON contacts (change_seq, id);
@@ -0,0 +1,132 @@
+package com.crm.leadscontacts;
+
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.dto.LeadCreateDTO;
+import com.crm.leadscontacts.lead.dto.LeadDTO;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.lead.service.ILeadService;
+import com.crm.leadscontacts.shared.sync.DeltaPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Synchronisation incrémentale : une transaction validée après l'émission d'un jeton apparaît
+ * à la synchronisation suivante, même si elle a écrit avant les lignes déjà servies
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:delta-sync;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.openapi.dev-url=http://localhost:8080",
+        "crm.search.index-directory=${java.io.tmpdir}/crm-delta-sync-index"
+})
+class DeltaSyncTests {
+
+    @Autowired
+    private ILeadService leadService;
+
+    @Autowired
+    private ILeadRepository leadRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void longTransactionCommittedAfterTokenIsNotMissed() throws Exception {
+        Long slowId = create("slow@example.com").getId();
+        String token = drain(null, new ArrayList<>());
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    Lead lead = leadRepository.findById(slowId).orElseThrow();
+                    lead.setNotes("écrit avant, validé après");
+                    leadRepository.saveAndFlush(lead);
+                    written.countDown();
+                    await(release);
+                }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+
+        // Écrite et validée pendant la transaction lente : servie avec un jeton qui la dépasse
+        Long fastId = create("fast@example.com").getId();
+        List<Long> first = new ArrayList<>();
+        token = drain(token, first);
+        assertEquals(List.of(fastId), first);
+
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+
+        List<Long> second = new ArrayList<>();
+        drain(token, second);
+        assertEquals(List.of(slowId), second);
+    }
+
+    @Test
+    void changesFlushedAtCommitAreSequenced() {
+        Long id = create("commit-flush@example.com").getId();
+        String token = drain(null, new ArrayList<>());
+
+        // Aucun flush explicite : l'UPDATE est émis par le flush du commit
+        leadService.markLeadAsContacted(id);
+
+        List<Long> changed = new ArrayList<>();
+        drain(token, changed);
+        assertEquals(List.of(id), changed);
+    }
+
+    @Test
+    void upToDateTokenReturnsNothing() {
+        create("idle@example.com");
+        String token = drain(null, new ArrayList<>());
+
+        DeltaPage<LeadDTO> page = leadService.getLeadChanges(token, 10);
+
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.isHasMore());
+        assertEquals(token, page.getNextToken());
+    }
+
+    private LeadDTO create(String email) {
+        return leadService.createLead(LeadCreateDTO.builder()
+                .firstName("Delta").lastName("Sync").email(email).assignedTo("rep1").build());
+    }
+
+    /**
+     * Enchaîne les pages jusqu'à hasMore = false ; renvoie le dernier jeton
+     */
+    private String drain(String token, List<Long> changedIds) {
+        DeltaPage<LeadDTO> page;
+        do {
+            page = leadService.getLeadChanges(token, 2);
+            page.getItems().forEach(lead -> changedIds.add(lead.getId()));
+            changedIds.addAll(page.getDeletedIds());
+            token = page.getNextToken();
+        } while (page.isHasMore());
+        return token;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
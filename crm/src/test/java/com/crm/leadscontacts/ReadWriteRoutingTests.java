@@ -0,0 +1,185 @@
+package com.crm.leadscontacts;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routage lecture/écriture : primaire H2 en mémoire, réplica H2 servi par un serveur TCP
+ *
+ * Un lead présent uniquement sur le réplica indique quelle base a servi la lecture.
+ * L'arrêt du serveur TCP simule la panne du réplica (éjection puis repli sur le primaire).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.openapi.dev-url=http://localhost:8080",
+        "crm.search.index-directory=${java.io.tmpdir}/crm-routing-index",
+        "crm.datasource.routing.enabled=true",
+        "crm.datasource.routing.sticky-window=1m",
+        "crm.datasource.routing.health-check-interval=200ms",
+        "crm.datasource.routing.health-check-timeout=1s"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadWriteRoutingTests {
+
+    private static final String REPLICA_ONLY_USER = "replica-only-user";
+    private static final String STICKY_COOKIE = "crm_primary_until";
+
+    private static Server replicaServer;
+    private static int replicaPort;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FilterRegistrationBean<? extends Filter> readYourWritesFilter;
+
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) throws SQLException {
+        replicaServer = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        replicaPort = replicaServer.getPort();
+        String url = replicaUrl();
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        new JdbcTemplate(new DriverManagerDataSource(url, "sa", "")).update(
+                "INSERT INTO leads (first_name, last_name, email, status, source, score, assigned_to, " +
+                        "last_contact_date, created_at, updated_at, version, active) VALUES ('Réplica', 'Seulement', " +
+                        "'replica-only@example.com', 'NEW', 'WEBSITE', 0, ?, " +
+                        "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, TRUE)",
+                REPLICA_ONLY_USER);
+        // Une liste indexée est liée depuis une seule source : tout le réplica est déclaré ici
+        registry.add("crm.datasource.routing.replicas[0].url", ReadWriteRoutingTests::replicaUrl);
+        registry.add("crm.datasource.routing.replicas[0].username", () -> "sa");
+        registry.add("crm.datasource.routing.replicas[0].password", () -> "");
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:h2:tcp://localhost:" + replicaPort + "/mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    }
+
+    @BeforeAll
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilter(readYourWritesFilter.getFilter(), "/api/*")
+                .build();
+    }
+
+    @AfterAll
+    void stopReplica() {
+        replicaServer.stop();
+    }
+
+    @Test
+    @Order(1)
+    void readsAreRoutedToReplicaUnlessClientJustWrote() throws Exception {
+        MvcResult write = mockMvc.perform(post("/api/leads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Ada\",\"lastName\":\"Primaire\",\"email\":\"ada.primaire@example.com\"," +
+                                "\"assignedTo\":\"" + REPLICA_ONLY_USER + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie sticky = write.getResponse().getCookie(STICKY_COOKIE);
+        assertNotNull(sticky, "une écriture doit poser le cookie de lecture sur le primaire");
+
+        // Sans cookie : le réplica ne connaît que son propre lead
+        assertTrue(readAssignedLeads(get("/api/leads/assigned/" + REPLICA_ONLY_USER)).contains("replica-only@example.com"));
+
+        // Avec cookie : le primaire voit l'écriture du client, pas le lead du réplica
+        String sticked = readAssignedLeads(get("/api/leads/assigned/" + REPLICA_ONLY_USER).cookie(sticky));
+        assertTrue(sticked.contains("ada.primaire@example.com"));
+        assertTrue(!sticked.contains("replica-only@example.com"));
+
+        assertTrue(connections("crm-replica-1", "read-only") > 0);
+        assertTrue(connections("primary", "sticky") > 0);
+    }
+
+    @Test
+    @Order(2)
+    void unhealthyReplicaIsEjectedThenReinstated() throws Exception {
+        replicaServer.stop();
+        try {
+            // Les connexions déjà ouvertes sont perdues : la vérification périodique écarte le réplica
+            awaitHealthyReplicas(0);
+            double fallbacks = connections("primary", "fallback");
+            String body = readAssignedLeads(get("/api/leads/assigned/" + REPLICA_ONLY_USER));
+            assertTrue(!body.contains("replica-only@example.com"), "la lecture doit retomber sur le primaire");
+            assertTrue(connections("primary", "fallback") > fallbacks);
+            assertTrue(meterRegistry.get("crm.datasource.replicas.ejections").counter().count() >= 1);
+        } finally {
+            replicaServer = Server.createTcpServer("-tcpPort", String.valueOf(replicaPort), "-ifNotExists").start();
+        }
+
+        awaitHealthyReplicas(1);
+        assertTrue(readAssignedLeads(get("/api/leads/assigned/" + REPLICA_ONLY_USER)).contains("replica-only@example.com"));
+    }
+
+    private void awaitHealthyReplicas(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (healthyReplicas() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, healthyReplicas());
+    }
+
+    private int healthyReplicas() {
+        return (int) meterRegistry.get("crm.datasource.replicas.healthy").gauge().value();
+    }
+
+    private String readAssignedLeads(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private double connections(String target, String reason) {
+        return meterRegistry.get("crm.datasource.connections")
+                .tag("target", target)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,319 @@
+package com.crm.leadscontacts;
+
+import com.crm.leadscontacts.contact.domain.ContactType;
+import com.crm.leadscontacts.contact.repository.IContactRepository;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import com.crm.leadscontacts.shared.domain.IRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Plans d'exécution des requêtes de ILeadRepository et IContactRepository
+ *
+ * Le schéma est créé par les migrations Flyway sur une base H2 (mode MySQL) peuplée puis analysée.
+ * Chaque méthode déclarée est appelée ; le SQL émis par Hibernate est capturé et passé à EXPLAIN.
+ * Le test échoue si un plan parcourt toute la table (tableScan) ou tout un index sans condition.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.crm.leadscontacts.RepositoryQueryPlanTests$CapturingStatementInspector",
+        "app.openapi.dev-url=http://localhost:8080",
+        "crm.search.index-directory=${java.io.tmpdir}/crm-query-plans-index"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTests {
+
+    private static final int SEEDED_ROWS = 5_000;
+
+    // Commentaire de plan H2 : /* PUBLIC.INDEX: CONDITION */ ou /* PUBLIC.TABLE.tableScan */
+    private static final Pattern PLAN_ACCESS = Pattern.compile("/\\* PUBLIC\\.([A-Z0-9_.]+?)(\\.tableScan)?(:[^*]*)? \\*/");
+
+    @Autowired
+    private ILeadRepository leadRepository;
+
+    @Autowired
+    private IContactRepository contactRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO leads (first_name, last_name, email, phone, company, job_title, status, source, " +
+                "score, country, last_contact_date, assigned_to, created_at, updated_at, version, active, change_seq) " +
+                "SELECT 'Prénom' || x, 'Nom' || x, 'lead' || x || '@example.com', '+33' || x, 'Entreprise ' || MOD(x, 500), " +
+                "'Poste', ARRAY['NEW','CONTACTED','QUALIFIED','UNQUALIFIED','CONVERTED'][MOD(x, 5) + 1], 'WEBSITE', " +
+                "MOD(x, 101), 'France', DATEADD('DAY', -MOD(x, 365), CURRENT_TIMESTAMP), 'user' || MOD(x, 50), " +
+                "CURRENT_TIMESTAMP, DATEADD('SECOND', -x, CURRENT_TIMESTAMP), 0, MOD(x, 10) <> 0, x " +
+                "FROM SYSTEM_RANGE(1, ?)", SEEDED_ROWS);
+        jdbcTemplate.update("INSERT INTO contacts (first_name, last_name, email, phone, company, job_title, type, country, " +
+                "last_interaction_date, assigned_to, lifetime_value, created_at, updated_at, version, active, change_seq) " +
+                "SELECT 'Prénom' || x, 'Nom' || x, 'contact' || x || '@example.com', '+33' || x, 'Entreprise ' || MOD(x, 500), " +
+                "'Poste', ARRAY['LEAD','CUSTOMER','PARTNER','VENDOR'][MOD(x, 4) + 1], 'France', " +
+                "DATEADD('DAY', -MOD(x, 365), CURRENT_TIMESTAMP), 'user' || MOD(x, 50), x, " +
+                "CURRENT_TIMESTAMP, DATEADD('SECOND', -x, CURRENT_TIMESTAMP), 0, MOD(x, 10) <> 0, x " +
+                "FROM SYSTEM_RANGE(1, ?)", SEEDED_ROWS);
+        // Statistiques de sélectivité utilisées par l'optimiseur
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        return probes().entrySet().stream()
+                .map(probe -> DynamicTest.dynamicTest(probe.getKey(), () -> assertIndexed(probe.getKey(), probe.getValue())));
+    }
+
+    /**
+     * Toute nouvelle méthode de repository doit être ajoutée à probes()
+     */
+    @Test
+    void everyRepositoryMethodIsProbed() {
+        Set<String> expected = new TreeSet<>();
+        for (Class<?> repository : List.of(ILeadRepository.class, IContactRepository.class)) {
+            for (Class<?> declaring : List.of(repository, IRepository.class)) {
+                for (Method method : declaring.getDeclaredMethods()) {
+                    if (!method.isDefault() && !method.isSynthetic()) {
+                        expected.add(repository.getSimpleName() + "." + method.getName());
+                    }
+                }
+            }
+        }
+        expected.removeAll(probes().keySet());
+        assertEquals(Set.of(), expected, "Méthodes de repository sans vérification de plan");
+    }
+
+    private Map<String, Runnable> probes() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = List.of(10L, 20L, 30L);
+        List<LeadStatus> scorable = List.of(LeadStatus.NEW, LeadStatus.CONTACTED);
+        Limit page = Limit.of(50);
+
+        Map<String, Runnable> probes = new LinkedHashMap<>();
+        String lead = ILeadRepository.class.getSimpleName() + ".";
+        probes.put(lead + "findByActiveTrue", leadRepository::findByActiveTrue);
+        probes.put(lead + "existsByIdAndActiveTrue", () -> leadRepository.existsByIdAndActiveTrue(10L));
+        probes.put(lead + "findByIdAndActiveTrue", () -> leadRepository.findByIdAndActiveTrue(10L));
+        probes.put(lead + "countByActiveTrue", leadRepository::countByActiveTrue);
+        probes.put(lead + "findByStatus", () -> leadRepository.findByStatus(LeadStatus.QUALIFIED));
+        probes.put(lead + "findByAssignedTo", () -> leadRepository.findByAssignedTo("user7"));
+        probes.put(lead + "findByStatusAndAssignedTo",
+                () -> leadRepository.findByStatusAndAssignedTo(LeadStatus.NEW, "user7"));
+        probes.put(lead + "findByEmail", () -> leadRepository.findByEmail("lead42@example.com"));
+        probes.put(lead + "findByScoreGreaterThanEqual", () -> leadRepository.findByScoreGreaterThanEqual(95));
+        probes.put(lead + "findByLastContactDateBefore",
+                () -> leadRepository.findByLastContactDateBefore(now.minusDays(350)));
+        probes.put(lead + "findByStatusAndActiveTrueOrderByScoreDesc",
+                () -> leadRepository.findByStatusAndActiveTrueOrderByScoreDesc(LeadStatus.QUALIFIED));
+        probes.put(lead + "countByStatus", () -> leadRepository.countByStatus(LeadStatus.QUALIFIED));
+        probes.put(lead + "countActiveGroupByStatus", leadRepository::countActiveGroupByStatus);
+        probes.put(lead + "findByEmailOrPhone",
+                () -> leadRepository.findByEmailOrPhone("lead42@example.com", "+3343"));
+        probes.put(lead + "findDtoByActiveTrue", leadRepository::findDtoByActiveTrue);
+        probes.put(lead + "findDtoByStatus", () -> leadRepository.findDtoByStatus(LeadStatus.QUALIFIED));
+        probes.put(lead + "findDtoByAssignedTo", () -> leadRepository.findDtoByAssignedTo("user7"));
+        probes.put(lead + "findDtoByEmailOrPhone",
+                () -> leadRepository.findDtoByEmailOrPhone("lead42@example.com", "+3343"));
+        probes.put(lead + "findDtoByActiveTrueAfter", () -> leadRepository.findDtoByActiveTrueAfter(100L, page));
+        probes.put(lead + "findDtoByStatusAndActiveTrueAfter",
+                () -> leadRepository.findDtoByStatusAndActiveTrueAfter(LeadStatus.NEW, 50, 100L, page));
+        probes.put(lead + "findDtoByAssignedToAfter",
+                () -> leadRepository.findDtoByAssignedToAfter("user7", 100L, page));
+        probes.put(lead + "findDtoChangedAfter",
+                () -> leadRepository.findDtoChangedAfter((long) SEEDED_ROWS - 100, 0L, page));
+        probes.put(lead + "findInactiveIdsIn", () -> leadRepository.findInactiveIdsIn(ids));
+        probes.put(lead + "findVersionById", () -> leadRepository.findVersionById(10L));
+        probes.put(lead + "findActiveCollectionVersion", leadRepository::findActiveCollectionVersion);
+        probes.put(lead + "findCollectionVersionByStatus",
+                () -> leadRepository.findCollectionVersionByStatus(LeadStatus.QUALIFIED));
+        probes.put(lead + "findCollectionVersionByAssignedTo",
+                () -> leadRepository.findCollectionVersionByAssignedTo("user7"));
+        probes.put(lead + "streamDtoByActiveTrue", () -> {
+            try (var rows = leadRepository.streamDtoByActiveTrue()) {
+                rows.limit(10).forEach(row -> { });
+            }
+        });
+        probes.put(lead + "findDuplicateScanRows", () -> leadRepository.findDuplicateScanRows(100L, page));
+        probes.put(lead + "findLifecycleRowsForUpdate", () -> leadRepository.findLifecycleRowsForUpdate(ids));
+        probes.put(lead + "findAllByIdForUpdate", () -> leadRepository.findAllByIdForUpdate(ids));
+        probes.put(lead + "findActiveIdsByFilter",
+                () -> leadRepository.findActiveIdsByFilter(LeadStatus.NEW, "user7", page));
+        probes.put(lead + "bulkQualify", () -> leadRepository.bulkQualify(ids, 80, now));
+        probes.put(lead + "bulkDisqualify",
+                () -> leadRepository.bulkDisqualify(ids, "Hors cible", Lead.NOTES_SEPARATOR, now));
+        probes.put(lead + "bulkMarkContacted", () -> leadRepository.bulkMarkContacted(ids, now));
+        probes.put(lead + "bulkDeactivate", () -> leadRepository.bulkDeactivate(ids, now));
+        probes.put(lead + "findReassignmentCandidates", () -> leadRepository.findReassignmentCandidates("user7"));
+        probes.put(lead + "findAssignmentRowsForUpdate",
+                () -> leadRepository.findAssignmentRowsForUpdate(ids, "user7"));
+        probes.put(lead + "bulkReassign", () -> leadRepository.bulkReassign(ids, "user8", now));
+        probes.put(lead + "findScoringIdRange", () -> leadRepository.findScoringIdRange(scorable));
+        probes.put(lead + "findScoringRowsInRange",
+                () -> leadRepository.findScoringRowsInRange(scorable, 100L, 2_100L, page));
+        probes.put(lead + "findScoringRowsByIds", () -> leadRepository.findScoringRowsByIds(scorable, ids));
+        probes.put(lead + "findExistingEmails",
+                () -> leadRepository.findExistingEmails(List.of("lead1@example.com", "lead2@example.com")));
+        probes.put(lead + "findSearchDocumentsByIds", () -> leadRepository.findSearchDocumentsByIds(ids));
+        probes.put(lead + "findActiveSearchDocumentsAfter",
+                () -> leadRepository.findActiveSearchDocumentsAfter(100L, page));
+        probes.put(lead + "findSearchDocumentsUpdatedAfter",
+                () -> leadRepository.findSearchDocumentsUpdatedAfter(now.minusMinutes(10), 0L, page));
+        probes.put(lead + "findActiveAnalyticsRowsAfter",
+                () -> leadRepository.findActiveAnalyticsRowsAfter(100L, page));
+        probes.put(lead + "findAnalyticsRowsUpdatedAfter",
+                () -> leadRepository.findAnalyticsRowsUpdatedAfter(now.minusMinutes(10), 0L, page));
+        probes.put(lead + "findIdRange", leadRepository::findIdRange);
+        probes.put(lead + "countCreatedByDayAndSource", () -> leadRepository.countCreatedByDayAndSource(100L, 2_100L));
+        probes.put(lead + "countQualifiedByDay", () -> leadRepository.countQualifiedByDay(100L, 2_100L));
+        probes.put(lead + "countConvertedByDayAndAssignee",
+                () -> leadRepository.countConvertedByDayAndAssignee(100L, 2_100L));
+
+        String contact = IContactRepository.class.getSimpleName() + ".";
+        probes.put(contact + "findByActiveTrue", contactRepository::findByActiveTrue);
+        probes.put(contact + "existsByIdAndActiveTrue", () -> contactRepository.existsByIdAndActiveTrue(10L));
+        probes.put(contact + "findByIdAndActiveTrue", () -> contactRepository.findByIdAndActiveTrue(10L));
+        probes.put(contact + "countByActiveTrue", contactRepository::countByActiveTrue);
+        probes.put(contact + "findByEmail", () -> contactRepository.findByEmail("contact42@example.com"));
+        probes.put(contact + "findByType", () -> contactRepository.findByType(ContactType.PARTNER));
+        probes.put(contact + "findByAssignedTo", () -> contactRepository.findByAssignedTo("user7"));
+        probes.put(contact + "findByCompany", () -> contactRepository.findByCompany("Entreprise 42"));
+        probes.put(contact + "findByLastInteractionDateBefore",
+                () -> contactRepository.findByLastInteractionDateBefore(now.minusDays(350)));
+        probes.put(contact + "findByTypeAndActiveTrueOrderByLastInteractionDateDesc",
+                () -> contactRepository.findByTypeAndActiveTrueOrderByLastInteractionDateDesc(ContactType.PARTNER));
+        probes.put(contact + "countByType", () -> contactRepository.countByType(ContactType.PARTNER));
+        probes.put(contact + "findDtoByActiveTrue", contactRepository::findDtoByActiveTrue);
+        probes.put(contact + "findDtoByType", () -> contactRepository.findDtoByType(ContactType.PARTNER));
+        probes.put(contact + "findDtoByAssignedTo", () -> contactRepository.findDtoByAssignedTo("user7"));
+        probes.put(contact + "findDtoByActiveTrueAfter", () -> contactRepository.findDtoByActiveTrueAfter(100L, page));
+        probes.put(contact + "findDtoChangedAfter",
+                () -> contactRepository.findDtoChangedAfter((long) SEEDED_ROWS - 100, 0L, page));
+        probes.put(contact + "findInactiveIdsIn", () -> contactRepository.findInactiveIdsIn(ids));
+        probes.put(contact + "findVersionById", () -> contactRepository.findVersionById(10L));
+        probes.put(contact + "findActiveCollectionVersion", contactRepository::findActiveCollectionVersion);
+        probes.put(contact + "findCollectionVersionByType",
+                () -> contactRepository.findCollectionVersionByType(ContactType.PARTNER));
+        probes.put(contact + "findExistingEmails",
+                () -> contactRepository.findExistingEmails(List.of("contact1@example.com", "contact2@example.com")));
+        probes.put(contact + "findDuplicateScanRows", () -> contactRepository.findDuplicateScanRows(100L, page));
+        probes.put(contact + "streamDtoByActiveTrue", () -> {
+            try (var rows = contactRepository.streamDtoByActiveTrue()) {
+                rows.limit(10).forEach(row -> { });
+            }
+        });
+        probes.put(contact + "findSearchDocumentsByIds", () -> contactRepository.findSearchDocumentsByIds(ids));
+        probes.put(contact + "findActiveSearchDocumentsAfter",
+                () -> contactRepository.findActiveSearchDocumentsAfter(100L, page));
+        probes.put(contact + "findSearchDocumentsUpdatedAfter",
+                () -> contactRepository.findSearchDocumentsUpdatedAfter(now.minusMinutes(10), 0L, page));
+        probes.put(contact + "findActiveAnalyticsRowsAfter",
+                () -> contactRepository.findActiveAnalyticsRowsAfter(100L, page));
+        probes.put(contact + "findAnalyticsRowsUpdatedAfter",
+                () -> contactRepository.findAnalyticsRowsUpdatedAfter(now.minusMinutes(10), 0L, page));
+        probes.put(contact + "findReassignmentCandidates", () -> contactRepository.findReassignmentCandidates("user7"));
+        probes.put(contact + "findAssignmentRowsForUpdate",
+                () -> contactRepository.findAssignmentRowsForUpdate(ids, "user7"));
+        probes.put(contact + "bulkReassign", () -> contactRepository.bulkReassign(ids, "user8", now));
+        return probes;
+    }
+
+    private void assertIndexed(String name, Runnable probe) {
+        List<String> statements = new ArrayList<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            CapturingStatementInspector.start(statements);
+            try {
+                probe.run();
+            } finally {
+                CapturingStatementInspector.stop();
+                // Les UPDATE en lot ne doivent pas modifier le jeu de données partagé
+                status.setRollbackOnly();
+            }
+        });
+
+        assertFalse(statements.isEmpty(), name + " n'a émis aucune requête");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            Matcher access = PLAN_ACCESS.matcher(plan);
+            boolean found = false;
+            while (access.find()) {
+                found = true;
+                if (access.group(2) != null || access.group(3) == null) {
+                    fail(name + " parcourt " + access.group(1) + " sans condition d'index :\n" + sql + "\n" + plan);
+                }
+            }
+            if (!found) {
+                fail(name + " : plan non reconnu :\n" + plan);
+            }
+        }
+    }
+
+    /**
+     * EXPLAIN avec des paramètres nuls : H2 choisit l'index à la préparation, sans connaître les valeurs
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            int count = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= count; i++) {
+                statement.setObject(i, null);
+            }
+        }, rs -> rs.next() ? rs.getString(1) : "");
+    }
+
+    /**
+     * Capture le SQL émis par Hibernate sur le thread du test uniquement
+     * (les tâches de fond de l'application utilisent la même SessionFactory)
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+        static void start(List<String> target) {
+            CAPTURED.set(target);
+        }
+
+        static void stop() {
+            CAPTURED.remove();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> target = CAPTURED.get();
+            if (target != null) {
+                target.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.crm.leadscontacts.assignment.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Stratégies de répartition : tour à tour dans l'ordre reçu, serpentin par poids décroissant
+ */
+class AssignmentStrategyTests {
+
+    private static final List<String> ASSIGNEES = List.of("A", "B", "C");
+
+    @Test
+    void roundRobinCyclesInReceivedOrder() {
+        List<ReassignmentCandidate> candidates = List.of(
+                candidate(1, 90), candidate(2, 10), candidate(3, 50), candidate(4, 70), candidate(5, 30));
+
+        assertArrayEquals(new String[]{"A", "B", "C", "A", "B"},
+                AssignmentStrategy.ROUND_ROBIN.assign(candidates, ASSIGNEES));
+    }
+
+    @Test
+    void byScoreSnakesThroughDescendingWeights() {
+        // Poids 100 à 10 dans le désordre : rangs A B C C B A A B C C
+        List<ReassignmentCandidate> candidates = List.of(
+                candidate(1, 40), candidate(2, 100), candidate(3, 10), candidate(4, 70), candidate(5, 90),
+                candidate(6, 20), candidate(7, 60), candidate(8, 80), candidate(9, 30), candidate(10, 50));
+
+        String[] targets = AssignmentStrategy.BY_SCORE.assign(candidates, ASSIGNEES);
+
+        assertArrayEquals(new String[]{"A", "A", "C", "C", "B", "C", "B", "C", "B", "A"}, targets);
+    }
+
+    @Test
+    void byScoreBreaksTiesById() {
+        List<ReassignmentCandidate> candidates = List.of(candidate(3, 50), candidate(1, 50), candidate(2, 50));
+
+        assertArrayEquals(new String[]{"C", "A", "B"}, AssignmentStrategy.BY_SCORE.assign(candidates, ASSIGNEES));
+    }
+
+    @Test
+    void byScoreKeepsCountsWithinOneAndTotalsClose() {
+        List<ReassignmentCandidate> candidates = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            candidates.add(candidate(i, i));
+        }
+
+        String[] targets = AssignmentStrategy.BY_SCORE.assign(candidates, ASSIGNEES);
+
+        int[] counts = new int[ASSIGNEES.size()];
+        double[] totals = new double[ASSIGNEES.size()];
+        for (int i = 0; i < targets.length; i++) {
+            int assignee = ASSIGNEES.indexOf(targets[i]);
+            counts[assignee]++;
+            totals[assignee] += candidates.get(i).weight();
+        }
+        assertArrayEquals(new int[]{33, 33, 34}, counts);
+        // Tour à tour sur le même ordre : 1717 / 1683 / 1650 ; en serpentin, un point d'écart au plus
+        assertArrayEquals(new double[]{1684, 1683, 1683}, totals);
+    }
+
+    private static ReassignmentCandidate candidate(long id, Number weight) {
+        return new ReassignmentCandidate(id, weight);
+    }
+}
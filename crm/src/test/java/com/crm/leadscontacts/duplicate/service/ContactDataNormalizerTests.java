@@ -0,0 +1,64 @@
+package com.crm.leadscontacts.duplicate.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Normalisation des coordonnées : formes équivalentes réduites à une même clé, valeurs inexploitables à null
+ */
+class ContactDataNormalizerTests {
+
+    @Test
+    void emailIsLowercasedAndLosesPlusTag() {
+        assertEquals("jane.doe@example.com", ContactDataNormalizer.email("  Jane.Doe+crm@Example.COM "));
+    }
+
+    @Test
+    void gmailIgnoresDotsAndAliasesGooglemail() {
+        assertEquals("janedoe@gmail.com", ContactDataNormalizer.email("Jane.Doe+news@googlemail.com"));
+        assertEquals("janedoe@gmail.com", ContactDataNormalizer.email("j.a.n.e.d.o.e@gmail.com"));
+    }
+
+    @Test
+    void malformedEmailIsNull() {
+        assertNull(ContactDataNormalizer.email(null));
+        assertNull(ContactDataNormalizer.email("no-at-sign"));
+        assertNull(ContactDataNormalizer.email("@example.com"));
+        assertNull(ContactDataNormalizer.email("jane@"));
+    }
+
+    @Test
+    void nationalPhoneTakesDefaultCountryCode() {
+        assertEquals("+21671234567", ContactDataNormalizer.phone("071 234 567", "216"));
+        assertEquals("+21671234567", ContactDataNormalizer.phone("71.234.567", "216"));
+    }
+
+    @Test
+    void internationalPrefixesAreEquivalent() {
+        assertEquals("+33612345678", ContactDataNormalizer.phone("+33 6 12 34 56 78", "216"));
+        assertEquals("+33612345678", ContactDataNormalizer.phone("0033 (6) 12-34-56-78", "216"));
+    }
+
+    @Test
+    void tooShortPhoneIsNull() {
+        assertNull(ContactDataNormalizer.phone(null, "216"));
+        assertNull(ContactDataNormalizer.phone("+12 34", "216"));
+    }
+
+    @Test
+    void nameDropsAccentsCaseAndPunctuation() {
+        assertEquals("helene d amour", ContactDataNormalizer.name("  Hélène", "D'Amour "));
+        assertEquals("dupont", ContactDataNormalizer.name(null, "Dupont"));
+        assertNull(ContactDataNormalizer.name(null, " - "));
+    }
+
+    @Test
+    void companyDropsLegalForms() {
+        assertEquals("acme", ContactDataNormalizer.company("ACME SARL"));
+        assertEquals("acme", ContactDataNormalizer.company("Acme, Inc."));
+        assertEquals("societe generale", ContactDataNormalizer.company("Société Générale SA"));
+        assertNull(ContactDataNormalizer.company("SARL"));
+    }
+}
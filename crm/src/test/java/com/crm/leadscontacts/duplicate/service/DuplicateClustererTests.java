@@ -0,0 +1,92 @@
+package com.crm.leadscontacts.duplicate.service;
+
+import com.crm.leadscontacts.duplicate.domain.DuplicateRecord;
+import com.crm.leadscontacts.duplicate.domain.DuplicateSourceType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Regroupement des doublons : email exact, téléphone partagé confirmé par le nom, noms proches, union transitive
+ */
+class DuplicateClustererTests {
+
+    private final DuplicateClusterer clusterer = new DuplicateClusterer(0.85, 200);
+
+    @Test
+    void sameEmailClustersWhateverTheName() {
+        List<DuplicateRecord> records = List.of(
+                record("jane@example.com", null, "jane doe", null),
+                record("other@example.com", null, "john smith", null),
+                record("jane@example.com", null, "j d", null));
+
+        assertEquals(List.of(List.of(0, 2)), clusters(clusterer.cluster(records)));
+    }
+
+    @Test
+    void sharedPhoneNeedsSimilarNames() {
+        List<DuplicateRecord> records = List.of(
+                record(null, "+21671234567", "mohamed ben ali", null),
+                record(null, "+21671234567", "mohamed ben ali", "acme"),
+                record(null, "+21671234567", "sarah martin", null));
+
+        assertEquals(List.of(List.of(0, 1)), clusters(clusterer.cluster(records)));
+    }
+
+    @Test
+    void identicalNamesAtTheSameCompanyCluster() {
+        List<DuplicateRecord> records = List.of(
+                record("a@example.com", null, "alexandre dumas", "acme"),
+                record("b@example.com", null, "victor hugo", "acme"),
+                record("c@example.com", null, "alexandre dumas", "acme"));
+
+        assertEquals(List.of(List.of(0, 2)), clusters(clusterer.cluster(records)));
+    }
+
+    @Test
+    void differentCompaniesLowerTheScoreBelowThreshold() {
+        List<DuplicateRecord> records = List.of(
+                record(null, null, "alexandre dumas", "acme"),
+                record(null, null, "alexandre dumas", "globex"));
+
+        assertEquals(List.of(), clusters(clusterer.cluster(records)));
+    }
+
+    @Test
+    void matchesAreMergedTransitively() {
+        List<DuplicateRecord> records = List.of(
+                record("jane@example.com", "+21671234567", "jane doe", null),
+                record("jane@example.com", null, "jane doe", null),
+                record(null, "+21671234567", "jane doe", null),
+                record(null, null, "john smith", null));
+
+        assertEquals(List.of(List.of(0, 1, 2)), clusters(clusterer.cluster(records)));
+    }
+
+    @Test
+    void oversizedBlocksAreSkippedButExactEmailsStillMatch() {
+        DuplicateClusterer smallBlocks = new DuplicateClusterer(0.85, 2);
+        List<DuplicateRecord> records = List.of(
+                record("x@example.com", null, "jane doe", null),
+                record(null, null, "jane doe", null),
+                record("x@example.com", null, "jane doe", null));
+
+        assertEquals(List.of(List.of(0, 2)), clusters(smallBlocks.cluster(records)));
+    }
+
+    private static DuplicateRecord record(String email, String phone, String name, String company) {
+        return new DuplicateRecord(DuplicateSourceType.LEAD, null, email, phone, name, company);
+    }
+
+    // Clusters triés (ordre des groupes non garanti) pour une comparaison stable
+    private static List<List<Integer>> clusters(List<int[]> groups) {
+        return groups.stream()
+                .map(group -> Arrays.stream(group).sorted().boxed().toList())
+                .sorted(Comparator.comparing(group -> group.get(0)))
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.crm.leadscontacts.lead.domain;
+
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Règles de statut partagées : un lead converti ne change plus de statut, quel que soit le chemin
+ */
+class LeadTransitionTests {
+
+    @Test
+    void convertedLeadRefusesEveryStatusChange() {
+        Lead lead = lead(LeadStatus.CONVERTED);
+
+        assertThrows(BusinessException.class, () -> lead.qualify(80));
+        assertThrows(BusinessException.class, () -> lead.disqualify("Hors cible"));
+        assertThrows(BusinessException.class, lead::markAsContacted);
+        assertThrows(BusinessException.class, () -> lead.convertToContact(1L));
+        assertEquals(LeadStatus.CONVERTED, lead.getStatus());
+    }
+
+    @Test
+    void onlyQualifiedLeadsConvert() {
+        assertThrows(BusinessException.class, () -> lead(LeadStatus.CONTACTED).convertToContact(1L));
+
+        Lead qualified = lead(LeadStatus.QUALIFIED);
+        qualified.convertToContact(7L);
+        assertEquals(LeadStatus.CONVERTED, qualified.getStatus());
+        assertEquals(7L, qualified.getConvertedToContactId());
+    }
+
+    @Test
+    void unitAndBulkPathsShareTheSameRefusals() {
+        assertEquals("Un lead converti ne peut plus changer de statut",
+                LeadTransition.DISQUALIFY.refusalFrom(LeadStatus.CONVERTED));
+        assertEquals("Un lead converti ne peut plus changer de statut",
+                assertThrows(BusinessException.class, lead(LeadStatus.CONVERTED)::markAsContacted).getMessage());
+        assertNull(LeadTransition.MARK_CONTACTED.refusalFrom(LeadStatus.UNQUALIFIED));
+        assertNull(LeadTransition.DEACTIVATE.refusalFrom(LeadStatus.CONVERTED));
+    }
+
+    private static Lead lead(LeadStatus status) {
+        Lead lead = new Lead();
+        lead.setStatus(status);
+        return lead;
+    }
+}
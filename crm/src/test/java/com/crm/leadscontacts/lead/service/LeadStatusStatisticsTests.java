@@ -0,0 +1,71 @@
+package com.crm.leadscontacts.lead.service;
+
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.domain.LeadStatusChangedEvent;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compteurs par statut : transitions appliquées, réconciliation par écart sans perdre une transition concurrente
+ */
+class LeadStatusStatisticsTests {
+
+    private final ILeadRepository leadRepository = mock(ILeadRepository.class);
+    private final LeadStatusStatistics statistics = new LeadStatusStatistics(leadRepository);
+
+    @Test
+    void transitionsMoveCounts() {
+        counts(LeadStatus.NEW, 5L);
+        statistics.seed();
+
+        statistics.onStatusChanged(new LeadStatusChangedEvent(LeadStatus.NEW, LeadStatus.CONTACTED, 2));
+        statistics.onStatusChanged(LeadStatusChangedEvent.created(LeadStatus.NEW, 1));
+
+        assertEquals(4L, statistics.snapshot().get(LeadStatus.NEW));
+        assertEquals(2L, statistics.snapshot().get(LeadStatus.CONTACTED));
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        counts(LeadStatus.NEW, 5L);
+        statistics.seed();
+        // Écriture SQL directe : aucun événement
+        counts(LeadStatus.NEW, 3L, LeadStatus.QUALIFIED, 2L);
+
+        statistics.reconcile();
+
+        assertEquals(3L, statistics.snapshot().get(LeadStatus.NEW));
+        assertEquals(2L, statistics.snapshot().get(LeadStatus.QUALIFIED));
+    }
+
+    @Test
+    void transitionAppliedDuringTheQueryIsKept() {
+        counts(LeadStatus.NEW, 5L);
+        statistics.seed();
+        // La requête lit l'état d'avant la transition ; l'événement arrive pendant son exécution
+        when(leadRepository.countActiveGroupByStatus()).thenAnswer(invocation -> {
+            statistics.onStatusChanged(new LeadStatusChangedEvent(LeadStatus.NEW, LeadStatus.CONTACTED, 1));
+            return List.<Object[]>of(new Object[]{LeadStatus.NEW, 5L});
+        });
+
+        statistics.reconcile();
+
+        assertEquals(4L, statistics.snapshot().get(LeadStatus.NEW));
+        assertEquals(1L, statistics.snapshot().get(LeadStatus.CONTACTED));
+    }
+
+    private void counts(Object... statusAndCount) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < statusAndCount.length; i += 2) {
+            rows.add(new Object[]{statusAndCount[i], statusAndCount[i + 1]});
+        }
+        when(leadRepository.countActiveGroupByStatus()).thenReturn(rows);
+    }
+}
@@ -0,0 +1,92 @@
+package com.crm.leadscontacts.scoring.service;
+
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.scoring.domain.LeadScoringRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Règles de scoring : chaque critère isolé sur un lead vide, puis bornes et décroissance de la récence
+ */
+class LeadScoringRulesTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final LeadScoringRules rules = new LeadScoringRules(new ScoringProperties());
+
+    @Test
+    void emptyLeadScoresZero() {
+        assertEquals(0, rules.score(row(null, null, null, null, null, null, null), NOW));
+    }
+
+    @Test
+    void sourceAddsConfiguredPoints() {
+        assertEquals(25, rules.score(row(LeadSource.REFERRAL, null, null, null, null, null, null), NOW));
+        assertEquals(5, rules.score(row(LeadSource.SOCIAL_MEDIA, null, null, null, null, null, null), NOW));
+    }
+
+    @Test
+    void bestJobTitleKeywordWinsIgnoringCaseAndAccents() {
+        assertEquals(30, rules.score(row(null, "Founder & CEO", null, null, null, null, null), NOW));
+        assertEquals(20, rules.score(row(null, "DIRECTEUR commercial", null, null, null, null, null), NOW));
+        assertEquals(10, rules.score(row(null, "Responsable achats", null, null, null, null, null), NOW));
+        // Mot entier uniquement : "headhunter" ne vaut pas "head"
+        assertEquals(0, rules.score(row(null, "Headhunter", null, null, null, null, null), NOW));
+    }
+
+    @Test
+    void accentedKeywordMatchesUnaccentedTitle() {
+        ScoringProperties properties = new ScoringProperties();
+        properties.setJobTitlePoints(Map.of("développeur", 7));
+        LeadScoringRules custom = new LeadScoringRules(properties);
+
+        assertEquals(7, custom.score(row(null, "Developpeur Java", null, null, null, null, null), NOW));
+    }
+
+    @Test
+    void businessEmailScoresButFreeMailboxDoesNot() {
+        assertEquals(10, rules.score(row(null, null, null, "jane@acme.io", null, null, null), NOW));
+        assertEquals(0, rules.score(row(null, null, null, "jane@Gmail.com", null, null, null), NOW));
+        assertEquals(0, rules.score(row(null, null, null, "not-an-email", null, null, null), NOW));
+        assertEquals(0, rules.score(row(null, null, null, "jane@", null, null, null), NOW));
+    }
+
+    @Test
+    void companyPhoneAndTargetCountryRequireText() {
+        assertEquals(10, rules.score(row(null, null, "Acme", null, null, null, null), NOW));
+        assertEquals(0, rules.score(row(null, null, "   ", null, null, null, null), NOW));
+        assertEquals(5, rules.score(row(null, null, null, null, "+216 71 000 000", null, null), NOW));
+        assertEquals(10, rules.score(row(null, null, null, null, null, " France ", null), NOW));
+        assertEquals(0, rules.score(row(null, null, null, null, null, "Canada", null), NOW));
+    }
+
+    @Test
+    void recencyDecaysLinearlyOverTheWindow() {
+        assertEquals(20, rules.score(row(null, null, null, null, null, null, NOW), NOW));
+        assertEquals(10, rules.score(row(null, null, null, null, null, null, NOW.minusDays(45)), NOW));
+        assertEquals(0, rules.score(row(null, null, null, null, null, null, NOW.minusDays(90)), NOW));
+        // Date future (horloges décalées) : traitée comme un contact du jour
+        assertEquals(20, rules.score(row(null, null, null, null, null, null, NOW.plusHours(1)), NOW));
+    }
+
+    @Test
+    void scoreIsClampedToBounds() {
+        LeadScoringRow best = row(LeadSource.REFERRAL, "CEO", "Acme", "ceo@acme.io", "+33 1 00 00 00 00", "France", NOW);
+        assertEquals(LeadScoringRules.MAX_SCORE, rules.score(best, NOW));
+
+        ScoringProperties properties = new ScoringProperties();
+        properties.setSourcePoints(Map.of(LeadSource.OTHER, -40));
+        LeadScoringRules penalizing = new LeadScoringRules(properties);
+        assertEquals(LeadScoringRules.MIN_SCORE,
+                penalizing.score(row(LeadSource.OTHER, null, "Acme", null, null, null, null), NOW));
+    }
+
+    private static LeadScoringRow row(LeadSource source, String jobTitle, String company, String email,
+                                      String phone, String country, LocalDateTime lastContactDate) {
+        return new LeadScoringRow(1L, 0L, 0, source, jobTitle, company, email, phone, country, lastContactDate);
+    }
+}
@@ -0,0 +1,66 @@
+package com.crm.leadscontacts.scoring.service;
+
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.lead.domain.LeadSource;
+import com.crm.leadscontacts.lead.domain.LeadStatus;
+import com.crm.leadscontacts.lead.repository.ILeadRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Score à l'écriture : calculé sur l'entité, sans requête ni écriture séparée, statuts figés respectés
+ */
+class ScoringServiceTests {
+
+    private final ILeadRepository leadRepository = mock(ILeadRepository.class);
+    private final ScoringService service = new ScoringService(leadRepository, new ScoringProperties(),
+            mock(ApplicationEventPublisher.class), mock(PlatformTransactionManager.class));
+
+    @Test
+    void newLeadIsScoredAsContactedAtCreation() {
+        Lead lead = lead(null);
+
+        service.applyScore(lead);
+
+        // source 25 + entreprise 10 + email professionnel 10 + téléphone 5 + récence pleine 20
+        assertEquals(70, lead.getScore());
+        verifyNoInteractions(leadRepository);
+    }
+
+    @Test
+    void recencyFollowsLastContactDate() {
+        Lead lead = lead(LeadStatus.CONTACTED);
+        lead.setLastContactDate(LocalDateTime.now().minusDays(200));
+
+        service.applyScore(lead);
+
+        assertEquals(50, lead.getScore());
+    }
+
+    @Test
+    void frozenStatusKeepsItsScore() {
+        Lead lead = lead(LeadStatus.QUALIFIED);
+        lead.setScore(12);
+
+        service.applyScore(lead);
+
+        assertEquals(12, lead.getScore());
+    }
+
+    private static Lead lead(LeadStatus status) {
+        return Lead.builder()
+                .email("jane@acme.com")
+                .phone("+216 70 000 000")
+                .company("Acme")
+                .source(LeadSource.REFERRAL)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.crm.leadscontacts.search.service;
+
+import com.crm.leadscontacts.search.domain.SearchDocument;
+import com.crm.leadscontacts.search.domain.SearchDocumentType;
+import com.crm.leadscontacts.search.dto.SearchResultDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pagination de l'index : pages successives, pages au-delà de la fenêtre de résultats (sans débordement)
+ */
+class SearchIndexTests {
+
+    @TempDir
+    Path directory;
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void open() throws IOException {
+        index = new SearchIndex(directory);
+        index.open();
+        for (long id = 1; id <= 3; id++) {
+            index.upsert(SearchDocumentType.LEAD, new SearchDocument(
+                    id, "Jane", "Doe" + id, "jane" + id + "@example.com", "Acme", null, null, true, null));
+        }
+        index.refresh();
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void pagesFollowEachOther() throws IOException {
+        SearchResultDTO first = index.search("jane", 0, 2);
+        SearchResultDTO second = index.search("jane", 1, 2);
+
+        assertEquals(2, first.getItems().size());
+        assertTrue(first.isHasNext());
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasNext());
+    }
+
+    @Test
+    void pageBeyondResultWindowIsEmpty() throws IOException {
+        assertTrue(index.search("jane", 100, 100).getItems().isEmpty());
+        // page * size dépasse Integer.MAX_VALUE
+        assertTrue(index.search("jane", 200_000_000, 100).getItems().isEmpty());
+        assertTrue(index.search("jane", Integer.MAX_VALUE, 100).getItems().isEmpty());
+    }
+}
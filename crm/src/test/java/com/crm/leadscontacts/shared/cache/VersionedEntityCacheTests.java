@@ -0,0 +1,94 @@
+package com.crm.leadscontacts.shared.cache;
+
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent.ChangeKind;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Cache versionné : lecture unique, invalidation après écriture, version plus ancienne jamais remise en cache
+ */
+class VersionedEntityCacheTests {
+
+    private final VersionedEntityCache<String> cache =
+            new VersionedEntityCache<>("leads", Lead.class, 100, Duration.ofMinutes(5));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void secondReadIsServedFromCache() {
+        assertEquals("v1", cache.get(1L, () -> load(1, "v1")));
+        assertEquals("v1", cache.get(1L, () -> load(1, "other")));
+
+        assertEquals(1, loads.get());
+        assertEquals(1L, cache.peekVersion(1L));
+        assertEquals(1, cache.getStats().getHitCount());
+        assertEquals(1, cache.getStats().getMissCount());
+    }
+
+    @Test
+    void updateEventInvalidatesEntry() {
+        cache.get(1L, () -> load(1, "v1"));
+
+        cache.onEntityChanged(new EntityChangedEvent(Lead.class, 1L, 2L, ChangeKind.UPDATED));
+
+        assertNull(cache.peekVersion(1L));
+        assertEquals("v2", cache.get(1L, () -> load(2, "v2")));
+        assertEquals(2L, cache.peekVersion(1L));
+    }
+
+    @Test
+    void staleReadAfterInvalidationIsNotCached() {
+        cache.get(1L, () -> load(1, "v1"));
+        cache.onEntityChanged(new EntityChangedEvent(Lead.class, 1L, 3L, ChangeKind.UPDATED));
+
+        // Lecture concurrente commencée avant le commit : renvoyée à l'appelant, pas mise en cache
+        assertEquals("v2", cache.get(1L, () -> load(2, "v2")));
+        assertNull(cache.peekVersion(1L));
+
+        assertEquals("v3", cache.get(1L, () -> load(3, "v3")));
+        assertEquals(3L, cache.peekVersion(1L));
+    }
+
+    @Test
+    void invalidationNeverLowersTheMinimumVersion() {
+        cache.invalidate(1L, 5);
+        cache.invalidate(1L, 3);
+
+        cache.get(1L, () -> load(4, "v4"));
+
+        assertNull(cache.peekVersion(1L));
+    }
+
+    @Test
+    void deletedEntityIsNeverCachedAgain() {
+        cache.get(1L, () -> load(1, "v1"));
+
+        cache.onEntityChanged(new EntityChangedEvent(Lead.class, 1L, 2L, ChangeKind.DELETED));
+        cache.get(1L, () -> load(Long.MAX_VALUE - 1, "late"));
+
+        assertNull(cache.peekVersion(1L));
+    }
+
+    @Test
+    void eventsOfOtherTypesAndCreationsAreIgnored() {
+        cache.get(1L, () -> load(1, "v1"));
+
+        cache.onEntityChanged(new EntityChangedEvent(Contact.class, 1L, 2L, ChangeKind.UPDATED));
+        cache.onEntityChanged(new EntityChangedEvent(Lead.class, 1L, 2L, ChangeKind.CREATED));
+        cache.onEntityChanged(new EntityChangedEvent(Lead.class, null, 2L, ChangeKind.UPDATED));
+
+        assertEquals(1L, cache.peekVersion(1L));
+    }
+
+    private Versioned<String> load(long version, String value) {
+        loads.incrementAndGet();
+        return new Versioned<>(version, value);
+    }
+}
@@ -0,0 +1,120 @@
+package com.crm.leadscontacts.shared.http;
+
+import com.crm.leadscontacts.shared.domain.CollectionVersion;
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import com.crm.leadscontacts.shared.wire.WireFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ETags : format, comparaison If-None-Match par représentation négociée, lecture de If-Match
+ */
+class ETagsTests {
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void formats() {
+        assertEquals("\"v3\"", ETags.ofVersion(3L));
+        assertEquals("\"v0\"", ETags.ofVersion(null));
+        assertEquals("\"sha256-abc\"", ETags.ofContent("abc"));
+        assertEquals("\"2-1000001\"", ETags.ofCollection(
+                new CollectionVersion(2L, LocalDateTime.of(1970, 1, 1, 0, 0, 1, 1000))));
+        assertEquals("\"0-0\"", ETags.ofCollection(new CollectionVersion(0L, null)));
+    }
+
+    @Test
+    void binaryRepresentationsCarryTheirEncoding() {
+        assertEquals("\"v3\"", ETags.forRepresentation("\"v3\"", WireFormat.JSON));
+        assertEquals("\"v3+smile\"", ETags.forRepresentation("\"v3\"", WireFormat.SMILE));
+        assertEquals("\"v3+cbor\"", ETags.forRepresentation("\"v3\"", WireFormat.CBOR));
+    }
+
+    @Test
+    void representationFollowsAcceptOfCurrentRequest() {
+        assertEquals("\"v3\"", ETags.forRepresentation("\"v3\""));
+
+        accept("application/cbor");
+        assertEquals("\"v3+cbor\"", ETags.forRepresentation("\"v3\""));
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparisonAndLists() {
+        assertTrue(ETags.matches("\"v3\"", "\"v3\""));
+        assertTrue(ETags.matches("W/\"v3\"", "\"v3\""));
+        assertTrue(ETags.matches("\"v1\", \"v3\"", "\"v3\""));
+        assertTrue(ETags.matches("*", "\"v3\""));
+        assertFalse(ETags.matches("\"v2\"", "\"v3\""));
+        assertFalse(ETags.matches(null, "\"v3\""));
+        assertFalse(ETags.matches(" ", "\"v3\""));
+    }
+
+    @Test
+    void ifNoneMatchComparesTheNegotiatedRepresentation() {
+        accept("application/cbor");
+        assertTrue(ETags.matches("\"v3+cbor\"", "\"v3\""));
+        assertFalse(ETags.matches("\"v3\"", "\"v3\""));
+        assertFalse(ETags.matches("\"v3+smile\"", "\"v3\""));
+    }
+
+    @Test
+    void contentIsComparedAsIs() {
+        accept("application/cbor");
+        assertTrue(ETags.matchesContent("\"sha256-abc\"", "\"sha256-abc\""));
+        assertFalse(ETags.matchesContent("\"sha256-abc+cbor\"", "\"sha256-abc\""));
+    }
+
+    @Test
+    void ifMatchIgnoresTheEncodingSuffix() {
+        assertEquals(3L, ETags.expectedVersion("\"v3\""));
+        assertEquals(3L, ETags.expectedVersion(" \"v3+cbor\" "));
+        assertEquals(3L, ETags.expectedVersion("\"v3+smile\""));
+        assertNull(ETags.expectedVersion(null));
+        assertNull(ETags.expectedVersion("*"));
+    }
+
+    @Test
+    void ifMatchRejectsWeakListsAndForeignTags() {
+        assertThrows(BusinessException.class, () -> ETags.expectedVersion("W/\"v3\""));
+        assertThrows(BusinessException.class, () -> ETags.expectedVersion("\"v3\", \"v4\""));
+        assertThrows(BusinessException.class, () -> ETags.expectedVersion("\"2-1000\""));
+        assertThrows(BusinessException.class, () -> ETags.expectedVersion("\"vX\""));
+    }
+
+    @Test
+    void responsesCarryRepresentationTagAndVaryByAccept() {
+        accept("application/x-jackson-smile");
+
+        ResponseEntity<String> ok = ETags.ok("\"v3\"", "body");
+        assertEquals("\"v3+smile\"", ok.getHeaders().getETag());
+        assertEquals("no-cache", ok.getHeaders().getCacheControl());
+        assertEquals(HttpHeaders.ACCEPT, ok.getHeaders().getFirst(HttpHeaders.VARY));
+
+        ResponseEntity<Object> notModified = ETags.notModified("\"v3\"");
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals("\"v3+smile\"", notModified.getHeaders().getETag());
+    }
+
+    private static void accept(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, accept);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
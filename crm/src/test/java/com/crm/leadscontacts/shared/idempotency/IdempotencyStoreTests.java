@@ -0,0 +1,188 @@
+package com.crm.leadscontacts.shared.idempotency;
+
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import com.crm.leadscontacts.shared.handlers.ConflictException;
+import com.crm.leadscontacts.shared.handlers.IdempotencyKeyReusedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Registre d'idempotence : exécution unique par clé, rejeu marqué, clé réutilisée refusée, échec non conservé
+ */
+class IdempotencyStoreTests {
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotencyStore store = new IdempotencyStore(properties, meterRegistry);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void withoutKeyEveryCallExecutes() {
+        request("POST", "/api/leads", "{\"a\":1}");
+
+        store.execute(null, this::created);
+        store.execute(null, this::created);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void replayReturnsOriginalResponseWithoutExecuting() {
+        request("POST", "/api/leads", "{\"a\":1}");
+        ResponseEntity<String> first = store.execute("k1", this::created);
+
+        request("POST", "/api/leads", "{\"a\":1}");
+        ResponseEntity<String> replay = store.execute("k1", this::created);
+
+        assertEquals(1, executions.get());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals(first.getBody(), replay.getBody());
+        assertEquals(1.0, meterRegistry.counter("crm.idempotency.replays").count());
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        request("POST", "/api/leads", "{\"a\":1}");
+        store.execute("k1", this::created);
+
+        request("POST", "/api/contacts", "{\"a\":1}");
+        assertThrows(IdempotencyKeyReusedException.class, () -> store.execute("k1", this::created));
+    }
+
+    @Test
+    void keyReusedWithAnotherBodyIsRejected() {
+        request("POST", "/api/leads", "{\"a\":1}");
+        store.execute("k1", this::created);
+
+        request("POST", "/api/leads", "{\"a\":2}");
+        assertThrows(IdempotencyKeyReusedException.class, () -> store.execute("k1", this::created));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void failedRequestCanBeRetriedWithTheSameKey() {
+        request("POST", "/api/leads", "{\"a\":1}");
+        assertThrows(IllegalStateException.class, () -> store.execute("k1", () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+
+        store.execute("k1", this::created);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void invalidKeyIsRejected() {
+        assertThrows(BusinessException.class, () -> store.execute(" ", this::created));
+        assertThrows(BusinessException.class, () -> store.execute("k".repeat(256), this::created));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheOriginal() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> original = inRequest(() -> store.execute("k1", () -> {
+            started.countDown();
+            await(release);
+            return created();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<ResponseEntity<String>> duplicate = inRequest(() -> store.execute("k1", this::created));
+        release.countDown();
+
+        assertEquals(original.get(5, TimeUnit.SECONDS).getBody(), duplicate.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void duplicateGivesUpAfterInFlightTimeout() throws Exception {
+        properties.setInFlightTimeout(Duration.ofMillis(50));
+        IdempotencyStore impatient = new IdempotencyStore(properties, new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> original = inRequest(() -> impatient.execute("k1", () -> {
+            started.countDown();
+            await(release);
+            return created();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        request("POST", "/api/leads", "{\"a\":1}");
+        assertThrows(ConflictException.class, () -> impatient.execute("k1", this::created));
+
+        release.countDown();
+        original.get(5, TimeUnit.SECONDS);
+    }
+
+    private ResponseEntity<String> created() {
+        return ResponseEntity.status(HttpStatus.CREATED).body("lead-" + executions.incrementAndGet());
+    }
+
+    /**
+     * Requête en cours, corps déjà lu comme par la désérialisation de @RequestBody
+     */
+    private static void request(String method, String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request, 1024);
+        try {
+            wrapper.getInputStream().readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(wrapper));
+    }
+
+    /**
+     * Même requête exécutée sur un autre thread (double clic)
+     */
+    private static <T> CompletableFuture<T> inRequest(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            request("POST", "/api/leads", "{\"a\":1}");
+            try {
+                return call.get();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.crm.leadscontacts.shared.notification;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Débordement sur disque : aller-retour exact des notifications, acquittement partiel, reprise au redémarrage
+ */
+class NotificationSpillStoreTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void notificationsRoundTripUnchanged() {
+        List<PendingNotification> written = List.of(
+                PendingNotification.forUser("rep1", "Lead assigné", NotificationType.TASK_ASSIGNED),
+                // Lead sans commercial assigné : destinataire null, distinct d'une liste vide
+                PendingNotification.forUser(null, "Lead assigné", NotificationType.TASK_ASSIGNED),
+                PendingNotification.forUsers(List.of(), "Personne", NotificationType.TASK_ASSIGNED),
+                PendingNotification.forUsers(Arrays.asList("a", "", null), "Trois\tlignes\nici", NotificationType.TASK_ASSIGNED),
+                PendingNotification.alert(null, AlertPriority.HIGH));
+        NotificationSpillStore store = new NotificationSpillStore(directory);
+        written.forEach(store::append);
+
+        List<PendingNotification> read = store.readOldestSegment().notifications();
+
+        assertEquals(written, read);
+        assertEquals(1, read.get(1).userIds().size());
+        assertNull(read.get(1).userIds().get(0));
+    }
+
+    @Test
+    void partialAcknowledgeKeepsRemainderAcrossRestart() {
+        NotificationSpillStore store = new NotificationSpillStore(directory);
+        for (int i = 0; i < 3; i++) {
+            store.append(PendingNotification.forUser("rep" + i, "message " + i, NotificationType.TASK_ASSIGNED));
+        }
+
+        store.acknowledge(store.readOldestSegment(), 2);
+        store.close();
+        NotificationSpillStore reopened = new NotificationSpillStore(directory);
+
+        assertEquals(1, reopened.pendingCount());
+        assertEquals(List.of("rep2"), reopened.readOldestSegment().notifications().get(0).userIds());
+    }
+
+    @Test
+    void fullyAcknowledgedSegmentIsRemoved() {
+        NotificationSpillStore store = new NotificationSpillStore(directory);
+        store.append(PendingNotification.alert("Disque plein", AlertPriority.HIGH));
+
+        store.acknowledge(store.readOldestSegment(), 1);
+
+        assertEquals(0, store.pendingCount());
+        assertNull(store.readOldestSegment());
+    }
+}
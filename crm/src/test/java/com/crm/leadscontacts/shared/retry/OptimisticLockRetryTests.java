@@ -0,0 +1,110 @@
+package com.crm.leadscontacts.shared.retry;
+
+import com.crm.leadscontacts.shared.handlers.ConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Nouvelles tentatives : une transaction par tentative, conflit rejoué, 409 après la dernière, autres erreurs propagées
+ */
+class OptimisticLockRetryTests {
+
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void conflictsAreRetriedInFreshTransactions() {
+        OptimisticLockRetry retry = retry(6);
+
+        String result = retry.execute("test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("version");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, transactionManager.begun.get());
+        assertEquals(2, transactionManager.rolledBack.get());
+        assertEquals(1, transactionManager.committed.get());
+        assertEquals(2.0, meterRegistry.counter("crm.optimistic_lock.retries").count());
+    }
+
+    @Test
+    void persistentConflictBecomesConflictException() {
+        OptimisticLockRetry retry = retry(4);
+
+        ConflictException e = assertThrows(ConflictException.class, () -> retry.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new PessimisticLockingFailureException("lock");
+        }));
+
+        assertEquals(4, attempts.get());
+        assertEquals(PessimisticLockingFailureException.class, e.getCause().getClass());
+        assertEquals(1.0, meterRegistry.counter("crm.optimistic_lock.exhausted").count());
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        OptimisticLockRetry retry = retry(6);
+
+        assertThrows(DataIntegrityViolationException.class, () -> retry.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, meterRegistry.counter("crm.optimistic_lock.retries").count());
+    }
+
+    @Test
+    void atLeastOneAttemptIsMade() {
+        OptimisticLockRetry retry = retry(0);
+
+        assertEquals("ok", retry.execute("test", () -> "ok"));
+        assertEquals(1, transactionManager.committed.get());
+    }
+
+    private OptimisticLockRetry retry(int maxAttempts) {
+        OptimisticLockRetryProperties properties = new OptimisticLockRetryProperties();
+        properties.setMaxAttempts(maxAttempts);
+        properties.setInitialBackoff(Duration.ZERO);
+        return new OptimisticLockRetry(properties, transactionManager, meterRegistry);
+    }
+
+    private static final class CountingTransactionManager implements PlatformTransactionManager {
+        private final AtomicInteger begun = new AtomicInteger();
+        private final AtomicInteger committed = new AtomicInteger();
+        private final AtomicInteger rolledBack = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            begun.incrementAndGet();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            committed.incrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rolledBack.incrementAndGet();
+        }
+    }
+}
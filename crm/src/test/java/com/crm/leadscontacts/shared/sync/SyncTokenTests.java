@@ -0,0 +1,66 @@
+package com.crm.leadscontacts.shared.sync;
+
+import com.crm.leadscontacts.shared.handlers.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Jeton de synchronisation : aller-retour, jeton absent ou antérieur à la séquence, jetons altérés
+ */
+class SyncTokenTests {
+
+    @Test
+    void roundTripKeepsPosition() {
+        SyncToken decoded = SyncToken.decode(new SyncToken(9_000_000_000L, 42L).encode());
+
+        assertEquals(9_000_000_000L, decoded.getChangeSeq());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void tokenIsOpaqueAndUrlSafe() {
+        String token = new SyncToken(1234L, 7L).encode();
+
+        assertFalse(token.contains(":"));
+        assertFalse(token.contains("="));
+        assertFalse(token.contains("/"));
+        assertFalse(token.contains("+"));
+    }
+
+    @Test
+    void missingTokenStartsFromTheBeginning() {
+        assertSame(SyncToken.START, SyncToken.decode(null));
+        assertSame(SyncToken.START, SyncToken.decode(" "));
+
+        SyncToken start = SyncToken.decode(SyncToken.START.encode());
+        assertEquals(0L, start.getChangeSeq());
+        assertEquals(0L, start.getId());
+    }
+
+    @Test
+    void tokenFromBeforeTheSequenceRestartsFullSync() {
+        // Jeton (updatedAt en microsecondes, id) émis par les versions précédentes
+        assertSame(SyncToken.START, SyncToken.decode(encode("s1:1772368215123456:42")));
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        assertThrows(BusinessException.class, () -> SyncToken.decode("not base64!"));
+        assertThrows(BusinessException.class, () -> SyncToken.decode(encode("s3:100:1")));
+        assertThrows(BusinessException.class, () -> SyncToken.decode(encode("s2:100")));
+        assertThrows(BusinessException.class, () -> SyncToken.decode(encode("s2:100:1:2")));
+        assertThrows(BusinessException.class, () -> SyncToken.decode(encode("s2:abc:1")));
+        assertThrows(BusinessException.class, () -> SyncToken.decode(encode("s2:100:")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,175 @@
+package com.crm.leadscontacts.stream.service;
+
+import com.crm.leadscontacts.contact.domain.Contact;
+import com.crm.leadscontacts.lead.domain.Lead;
+import com.crm.leadscontacts.shared.domain.BaseEntity;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent;
+import com.crm.leadscontacts.shared.domain.EntityChangedEvent.ChangeKind;
+import com.crm.leadscontacts.shared.handlers.ServiceUnavailableException;
+import com.crm.leadscontacts.stream.controller.ChangeStreamController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Flux de modifications : diffusion en direct, reprise depuis Last-Event-ID, reset si la reprise est impossible
+ */
+class ChangeStreamServiceTests {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+    private static final Pattern EVENT_NAME = Pattern.compile("^event:(\\S+)$", Pattern.MULTILINE);
+
+    private final ChangeStreamProperties properties = new ChangeStreamProperties();
+    private ChangeStreamService service;
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void close() {
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    @Test
+    void liveSubscriberReceivesChangesInOrder() throws Exception {
+        start(16);
+        MockHttpServletResponse stream = open(null);
+
+        publish(Lead.class, 1L);
+        publish(Contact.class, 2L);
+
+        List<String> ids = awaitEvents(stream, 2);
+        assertEquals(List.of("1", "2"), ids.stream().map(ChangeStreamServiceTests::sequence).toList());
+        assertTrue(stream.getContentAsString().contains("\"entity\":\"contact\""));
+    }
+
+    @Test
+    void reconnectionReplaysOnlyMissedChanges() throws Exception {
+        start(16);
+        MockHttpServletResponse first = open(null);
+        publish(Lead.class, 1L);
+        String lastSeen = awaitEvents(first, 1).get(0);
+
+        publish(Lead.class, 2L);
+        publish(Lead.class, 3L);
+        MockHttpServletResponse resumed = open(lastSeen);
+
+        assertEquals(List.of("2", "3"),
+                awaitEvents(resumed, 2).stream().map(ChangeStreamServiceTests::sequence).toList());
+    }
+
+    @Test
+    void upToDateSubscriberGetsNoBacklog() throws Exception {
+        start(16);
+        MockHttpServletResponse first = open(null);
+        publish(Lead.class, 1L);
+        String lastSeen = awaitEvents(first, 1).get(0);
+
+        MockHttpServletResponse resumed = open(lastSeen);
+        publish(Lead.class, 2L);
+
+        assertEquals(List.of("2"), awaitEvents(resumed, 1).stream().map(ChangeStreamServiceTests::sequence).toList());
+    }
+
+    @Test
+    void evictedPositionTriggersReset() throws Exception {
+        start(2);
+        MockHttpServletResponse first = open(null);
+        publish(Lead.class, 1L);
+        String lastSeen = awaitEvents(first, 1).get(0);
+
+        publish(Lead.class, 2L);
+        publish(Lead.class, 3L);
+        publish(Lead.class, 4L);
+
+        assertEquals(List.of(ChangeStreamService.RESET_EVENT), awaitNames(open(lastSeen), 1));
+    }
+
+    @Test
+    void idFromAnotherStartTriggersReset() throws Exception {
+        start(16);
+        publish(Lead.class, 1L);
+
+        assertEquals(List.of(ChangeStreamService.RESET_EVENT), awaitNames(open("previous-1"), 1));
+    }
+
+    @Test
+    void otherEntitiesAreNotStreamed() throws Exception {
+        start(16);
+        MockHttpServletResponse stream = open(null);
+
+        service.onEntityChanged(new EntityChangedEvent(null, 1L, 1L, ChangeKind.UPDATED));
+        publish(Lead.class, 2L);
+
+        assertEquals(List.of("1"), awaitEvents(stream, 1).stream().map(ChangeStreamServiceTests::sequence).toList());
+    }
+
+    @Test
+    void subscriberLimitIsEnforced() {
+        properties.setMaxSubscribers(1);
+        start(16);
+        service.subscribe(null);
+
+        assertThrows(ServiceUnavailableException.class, () -> service.subscribe(null));
+    }
+
+    private void start(int replaySize) {
+        properties.setReplaySize(replaySize);
+        properties.setWriterThreads(1);
+        service = new ChangeStreamService(properties, new SimpleMeterRegistry(), new MockEnvironment());
+        mockMvc = MockMvcBuilders.standaloneSetup(new ChangeStreamController(service)).build();
+    }
+
+    private MockHttpServletResponse open(String lastEventId) throws Exception {
+        return lastEventId == null
+                ? mockMvc.perform(get("/api/stream/changes")).andReturn().getResponse()
+                : mockMvc.perform(get("/api/stream/changes").header("Last-Event-ID", lastEventId))
+                        .andReturn().getResponse();
+    }
+
+    private void publish(Class<? extends BaseEntity> type, long id) {
+        service.onEntityChanged(new EntityChangedEvent(type, id, 1L, ChangeKind.UPDATED));
+    }
+
+    private static List<String> awaitEvents(MockHttpServletResponse stream, int count) throws Exception {
+        return await(stream, EVENT_ID, count);
+    }
+
+    private static List<String> awaitNames(MockHttpServletResponse stream, int count) throws Exception {
+        return await(stream, EVENT_NAME, count);
+    }
+
+    /**
+     * Valeurs des champs SSE écrits par le pool d'écriture, dès que count sont arrivés (5 s au plus)
+     */
+    private static List<String> await(MockHttpServletResponse stream, Pattern field, int count) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        List<String> values;
+        do {
+            Matcher matcher = field.matcher(stream.getContentAsString());
+            values = matcher.results().map(result -> result.group(1)).toList();
+            if (values.size() >= count) {
+                return values;
+            }
+            Thread.sleep(10);
+        } while (System.nanoTime() < deadline);
+        return values;
+    }
+
+    private static String sequence(String eventId) {
+        return eventId.substring(eventId.lastIndexOf('-') + 1);
+    }
+}